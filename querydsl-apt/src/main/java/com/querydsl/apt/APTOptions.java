@@ -56,6 +56,11 @@ public final class APTOptions {
      */
     public static final String QUERYDSL_ENTITY_ACCESSORS = "querydsl.entityAccessors";
 
+    /**
+     * enable lazily created property paths (default: false)
+     */
+    public static final String QUERYDSL_LAZY_PATHS = "querydsl.lazyPaths";
+
     /**
      * Set whether fields are used as metadata source (default: true)
      */
@@ -96,6 +101,11 @@ public final class APTOptions {
      */
     public static final String QUERYDSL_VARIABLE_NAME_FUNCTION_CLASS = "querydsl.variableNameFunctionClass";
 
+    /**
+     * skip the rendering of query types with unchanged models, not used in Gradle builds (default: false)
+     */
+    public static final String QUERYDSL_INCREMENTAL = "querydsl.incremental";
+
     private APTOptions() { }
 
 }
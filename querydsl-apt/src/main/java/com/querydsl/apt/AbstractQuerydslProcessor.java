@@ -18,6 +18,7 @@ import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.util.*;
 
+import javax.annotation.Nullable;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
@@ -63,11 +64,19 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
 
     private Context context;
 
+    @Nullable
+    private Fingerprints fingerprints;
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Running " + getClass().getSimpleName());
 
-        if (roundEnv.processingOver() || annotations.size() == 0) {
+        if (roundEnv.processingOver()) {
+            storeFingerprints();
+            return ALLOW_OTHER_PROCESSORS_TO_CLAIM_ANNOTATIONS;
+        }
+
+        if (annotations.size() == 0) {
             return ALLOW_OTHER_PROCESSORS_TO_CLAIM_ANNOTATIONS;
         }
 
@@ -84,6 +93,9 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
         this.typeFactory = new ExtendedTypeFactory(processingEnv, entityAnnotations, typeMappings, queryTypeFactory, conf.getVariableNameFunction());
         elementHandler = new TypeElementHandler(conf, typeFactory, typeMappings, queryTypeFactory);
         this.roundEnv = roundEnv;
+        if (isIncremental() && fingerprints == null && Fingerprints.isSupported(processingEnv.getFiler())) {
+            fingerprints = new Fingerprints(processingEnv.getFiler(), getClass().getName());
+        }
 
         // process annotations
         processAnnotations();
@@ -96,6 +108,15 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
         return ALLOW_OTHER_PROCESSORS_TO_CLAIM_ANNOTATIONS;
     }
 
+    private boolean isIncremental() {
+        // custom configurations don't expose the option
+        if (conf instanceof DefaultConfiguration) {
+            return ((DefaultConfiguration) conf).isIncremental();
+        } else {
+            return Boolean.valueOf(processingEnv.getOptions().get(APTOptions.QUERYDSL_INCREMENTAL));
+        }
+    }
+
     private void processAnnotations() {
         processExclusions();
 
@@ -565,12 +586,18 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
                     }
                 }
 
+                SerializerConfig serializerConfig = conf.getSerializerConfig(model);
+                Element[] originatingElements = elements.toArray(new Element[elements.size()]);
+                if (fingerprints != null && fingerprints.reuse(className,
+                        Fingerprints.of(model, serializer, serializerConfig), originatingElements)) {
+                    processingEnv.getMessager().printMessage(Kind.NOTE, "Reusing unchanged " + className);
+                    continue;
+                }
+
                 processingEnv.getMessager().printMessage(Kind.NOTE, "Generating " + className + " for " + elements);
-                JavaFileObject fileObject = processingEnv.getFiler().createSourceFile(className,
-                        elements.toArray(new Element[elements.size()]));
+                JavaFileObject fileObject = processingEnv.getFiler().createSourceFile(className, originatingElements);
                 Writer writer = fileObject.openWriter();
                 try {
-                    SerializerConfig serializerConfig = conf.getSerializerConfig(model);
                     serializer.serialize(model, serializerConfig, new JavaWriter(writer));
                 } finally {
                     if (writer != null) {
@@ -586,6 +613,17 @@ public abstract class AbstractQuerydslProcessor extends AbstractProcessor {
     }
 
 
+    private void storeFingerprints() {
+        if (fingerprints != null) {
+            try {
+                fingerprints.store();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Kind.WARNING, "Storing fingerprints failed: " + e.getMessage());
+            }
+            fingerprints = null;
+        }
+    }
+
     protected abstract Configuration createConfiguration(RoundEnvironment roundEnv);
 
 }
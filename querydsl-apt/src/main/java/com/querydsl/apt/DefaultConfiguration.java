@@ -75,6 +75,8 @@ public class DefaultConfiguration implements Configuration {
 
     private boolean strictMode;
 
+    private boolean incremental;
+
     private Function<EntityType, String> variableNameFunction;
 
     public DefaultConfiguration(
@@ -121,6 +123,7 @@ public class DefaultConfiguration implements Configuration {
         boolean entityAccessors = false;
         boolean listAccessors = false;
         boolean mapAccessors = false;
+        boolean lazyPaths = false;
         boolean createDefaultVariable = true;
 
         if (options.containsKey(QUERYDSL_ENTITY_ACCESSORS)) {
@@ -132,6 +135,9 @@ public class DefaultConfiguration implements Configuration {
         if (options.containsKey(QUERYDSL_MAP_ACCESSORS)) {
             mapAccessors = Boolean.valueOf(options.get(QUERYDSL_MAP_ACCESSORS));
         }
+        if (options.containsKey(QUERYDSL_LAZY_PATHS)) {
+            lazyPaths = Boolean.valueOf(options.get(QUERYDSL_LAZY_PATHS));
+        }
         if (options.containsKey(QUERYDSL_CREATE_DEFAULT_VARIABLE)) {
             createDefaultVariable = Boolean.valueOf(options.get(QUERYDSL_CREATE_DEFAULT_VARIABLE));
         }
@@ -147,6 +153,9 @@ public class DefaultConfiguration implements Configuration {
         if (options.containsKey(QUERYDSL_UNKNOWN_AS_EMBEDDABLE)) {
             unknownAsEmbedded = Boolean.valueOf(options.get(QUERYDSL_UNKNOWN_AS_EMBEDDABLE));
         }
+        if (options.containsKey(QUERYDSL_INCREMENTAL)) {
+            incremental = Boolean.valueOf(options.get(QUERYDSL_INCREMENTAL));
+        }
 
         if (options.containsKey(QUERYDSL_EXCLUDED_PACKAGES)) {
             String packageString = options.get(QUERYDSL_EXCLUDED_PACKAGES);
@@ -214,7 +223,7 @@ public class DefaultConfiguration implements Configuration {
         }
 
         defaultSerializerConfig = new SimpleSerializerConfig(entityAccessors, listAccessors,
-                mapAccessors, createDefaultVariable, "");
+                mapAccessors, lazyPaths, createDefaultVariable, "");
 
     }
 
@@ -491,6 +500,14 @@ public class DefaultConfiguration implements Configuration {
         strictMode = s;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     public void setUnknownAsEmbedded(boolean unknownAsEmbedded) {
         this.unknownAsEmbedded = unknownAsEmbedded;
     }
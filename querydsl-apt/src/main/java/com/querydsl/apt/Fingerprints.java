@@ -0,0 +1,260 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.apt;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import com.mysema.codegen.model.Constructor;
+import com.mysema.codegen.model.Parameter;
+import com.mysema.codegen.model.Type;
+import com.querydsl.codegen.*;
+
+/**
+ * {@code Fingerprints} keeps track of the fingerprints of the generated query types between
+ * compilations
+ *
+ * <p>The fingerprint of a query type is the hash of its model, which includes the properties,
+ * supertypes, delegates and projection constructors, the categories of the referenced types and
+ * the serializer configuration. It is computed before the query type is rendered. The
+ * fingerprints are stored as a resource next to the generated sources.</p>
+ *
+ * <p>The sources of unchanged query types are handed to the {@link Filer} again with their
+ * previous content and modification time, so that they are compiled and tracked as outputs
+ * of the current compilation.</p>
+ */
+class Fingerprints {
+
+    private static final int MAX_DEPTH = 3;
+
+    /**
+     * Get whether fingerprints can be used with the given Filer
+     *
+     * <p>Gradle runs the processors as aggregating processors and deletes their outputs before
+     * processing, so the previous sources are never available.</p>
+     *
+     * @param filer filer
+     * @return true, if fingerprints can be used
+     */
+    static boolean isSupported(Filer filer) {
+        return !filer.getClass().getName().startsWith("org.gradle.");
+    }
+
+    private final Filer filer;
+
+    private final String resourceName;
+
+    private final Properties previous = new Properties();
+
+    private final Properties current = new Properties();
+
+    Fingerprints(Filer filer, String processorName) {
+        this.filer = filer;
+        this.resourceName = processorName + ".fingerprints";
+        try {
+            FileObject resource = filer.getResource(StandardLocation.SOURCE_OUTPUT, "", resourceName);
+            InputStream in = resource.openInputStream();
+            try {
+                previous.load(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            // no previous compilation
+        } catch (IllegalArgumentException e) {
+            // unsupported location
+        }
+    }
+
+    /**
+     * Create the fingerprint of the given model
+     *
+     * @param model model of the query type
+     * @param serializer serializer of the query type
+     * @param config serializer config
+     * @return fingerprint
+     */
+    static String of(EntityType model, Serializer serializer, SerializerConfig config) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(Fingerprints.class.getPackage().getImplementationVersion()).append('\n');
+        builder.append(serializer.getClass().getName()).append('\n');
+        builder.append(config.useEntityAccessors()).append(' ')
+               .append(config.useListAccessors()).append(' ')
+               .append(config.useMapAccessors()).append(' ')
+               .append(config instanceof SimpleSerializerConfig
+                       && ((SimpleSerializerConfig) config).useLazyPaths()).append(' ')
+               .append(config.createDefaultVariable()).append(' ')
+               .append(config.defaultVariableName()).append('\n');
+        appendModel(builder, model);
+        for (Property property : model.getProperties()) {
+            builder.append(property.getName()).append(' ').append(property.getEscapedName()).append(' ')
+                   .append(property.isInherited()).append(' ').append(property.getInits()).append(' ');
+            appendType(builder, property.getType(), 0);
+            builder.append(' ').append(sorted(property.getAnnotations())).append('\n');
+        }
+        List<String> members = new ArrayList<String>();
+        for (Delegate delegate : model.getDelegates()) {
+            StringBuilder member = new StringBuilder();
+            member.append(delegate.getName()).append(' ');
+            appendType(member, delegate.getDelegateType(), 0);
+            member.append(' ');
+            appendType(member, delegate.getReturnType(), 0);
+            appendParameters(member, delegate.getParameters());
+            members.add(member.toString());
+        }
+        for (Constructor constructor : model.getConstructors()) {
+            StringBuilder member = new StringBuilder();
+            appendParameters(member, constructor.getParameters());
+            members.add(member.toString());
+        }
+        Collections.sort(members);
+        builder.append(members);
+        return Hashing.murmur3_128().hashString(builder, Charsets.UTF_8).toString();
+    }
+
+    private static void appendModel(StringBuilder builder, EntityType model) {
+        builder.append(model.getCategory()).append(' ').append(model.getOriginalCategory()).append(' ')
+               .append(model.getFullName()).append(' ').append(model.getModifiedSimpleName()).append(' ')
+               .append(model.hasEntityFields()).append(' ').append(sorted(model.getAnnotations())).append('\n');
+        for (Supertype supertype : model.getSuperTypes()) {
+            builder.append("extends ");
+            appendType(builder, supertype.getType(), 0);
+            builder.append('\n');
+            if (supertype.getEntityType() != null) {
+                appendModel(builder, supertype.getEntityType());
+            }
+        }
+    }
+
+    private static void appendType(StringBuilder builder, Type type, int depth) {
+        builder.append(type.getCategory()).append(':').append(type.getFullName());
+        if (type instanceof EntityType) {
+            builder.append(':').append(((EntityType) type).hasEntityFields());
+        }
+        if (depth < MAX_DEPTH && !type.getParameters().isEmpty()) {
+            builder.append('<');
+            for (Type parameter : type.getParameters()) {
+                if (parameter != null) {
+                    appendType(builder, parameter, depth + 1);
+                }
+                builder.append(',');
+            }
+            builder.append('>');
+        }
+    }
+
+    private static void appendParameters(StringBuilder builder, Collection<Parameter> parameters) {
+        builder.append('(');
+        for (Parameter parameter : parameters) {
+            builder.append(parameter.getName()).append(' ');
+            appendType(builder, parameter.getType(), 0);
+            builder.append(',');
+        }
+        builder.append(')');
+    }
+
+    private static List<String> sorted(Collection<Annotation> annotations) {
+        List<String> rv = new ArrayList<String>(annotations.size());
+        for (Annotation annotation : annotations) {
+            rv.add(annotation.toString());
+        }
+        Collections.sort(rv);
+        return rv;
+    }
+
+    /**
+     * Record the fingerprint of the given query type and hand its previous source to the
+     * Filer, if the fingerprint has not changed
+     *
+     * @param className query type name
+     * @param fingerprint fingerprint of the model
+     * @param originatingElements originating elements of the query type
+     * @return true, if the previous source has been reused
+     * @throws IOException
+     */
+    boolean reuse(String className, String fingerprint, Element... originatingElements) throws IOException {
+        current.setProperty(className, fingerprint);
+        if (!fingerprint.equals(previous.getProperty(className))) {
+            return false;
+        }
+        int index = className.lastIndexOf('.');
+        String packageName = index > -1 ? className.substring(0, index) : "";
+        String fileName = className.substring(index + 1) + ".java";
+        String source;
+        long lastModified;
+        try {
+            FileObject file = filer.getResource(StandardLocation.SOURCE_OUTPUT, packageName, fileName);
+            source = file.getCharContent(true).toString();
+            lastModified = file.getLastModified();
+        } catch (IOException e) {
+            return false;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        JavaFileObject fileObject = filer.createSourceFile(className, originatingElements);
+        Writer writer = fileObject.openWriter();
+        try {
+            writer.write(source);
+        } finally {
+            writer.close();
+        }
+        keepLastModified(fileObject, lastModified);
+        return true;
+    }
+
+    private static void keepLastModified(FileObject fileObject, long lastModified) {
+        if (lastModified > 0 && "file".equals(fileObject.toUri().getScheme())) {
+            new File(fileObject.toUri()).setLastModified(lastModified);
+        }
+    }
+
+    /**
+     * Store the fingerprints of the previous and the current compilation
+     *
+     * @throws IOException
+     */
+    void store() throws IOException {
+        if (current.isEmpty()) {
+            return;
+        }
+        Properties merged = new Properties();
+        merged.putAll(previous);
+        merged.putAll(current);
+        FileObject resource = filer.createResource(StandardLocation.SOURCE_OUTPUT, "", resourceName);
+        OutputStream out = resource.openOutputStream();
+        try {
+            merged.store(out, null);
+        } finally {
+            out.close();
+        }
+    }
+
+}
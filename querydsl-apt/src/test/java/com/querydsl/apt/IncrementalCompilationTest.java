@@ -17,44 +17,112 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Collections;
+import java.io.InputStream;
+import java.util.*;
 
-import org.junit.Ignore;
 import org.junit.Test;
 
+import com.google.common.base.Charsets;
 import com.google.common.io.Files;
 
-@Ignore
 public class IncrementalCompilationTest extends AbstractProcessorTest {
 
     private static final String packagePath = "src/test/java/com/querydsl/apt/domain/";
 
     @Test
     public void does_not_overwrite_unchanged_files() throws IOException, InterruptedException {
-        File source = new File(packagePath, "ExampleEntity.java");
-        String path = source.getPath();
+        File source = new File("target/overwrite-src/com/querydsl/apt/domain/ExampleEntity.java");
+        Files.createParentDirs(source);
+        Files.copy(new File(packagePath, "ExampleEntity.java"), source);
+        List<String> paths = Collections.singletonList(source.getPath());
         File qType = new File("target/overwrite/com/querydsl/apt/domain/QExampleEntity.java");
 
-        // QTestEntity is generated
-        process(QuerydslAnnotationProcessor.class, Collections.singletonList(path), "overwrite");
+        // QExampleEntity is generated
+        process(QuerydslAnnotationProcessor.class, paths, "overwrite");
         assertTrue(qType.exists());
+        assertTrue(new File("target/overwrite/" + QuerydslAnnotationProcessor.class.getName() + ".fingerprints").exists());
         long modified = qType.lastModified();
         Thread.sleep(1000);
 
-        // TestEntity has not changed, QTestEntity is not overwritten
-        compile(QuerydslAnnotationProcessor.class, Collections.singletonList(path), "overwrite");
+        // ExampleEntity has not changed, QExampleEntity is not overwritten
+        compile(QuerydslAnnotationProcessor.class, paths, "overwrite");
         assertEquals(modified, qType.lastModified());
 
-        // TestEntity is updated, QTestEntity is overwritten
+        // ExampleEntity is touched without changes to the model, QExampleEntity is not overwritten
         Files.touch(source);
-        compile(QuerydslAnnotationProcessor.class, Collections.singletonList(path), "overwrite");
+        compile(QuerydslAnnotationProcessor.class, paths, "overwrite");
+        assertEquals(modified, qType.lastModified());
+
+        // ExampleEntity is updated, QExampleEntity is overwritten
+        String content = Files.toString(source, Charsets.UTF_8);
+        Files.write(content.replace("String name;", "String name;\n\n    String description;"), source, Charsets.UTF_8);
+        compile(QuerydslAnnotationProcessor.class, paths, "overwrite");
         assertTrue("" + modified + " >= " + qType.lastModified(), modified < qType.lastModified());
+        assertTrue(Files.toString(qType, Charsets.UTF_8).contains("description"));
 
-        // QTestEntity is deleted and regenerated
+        // QExampleEntity is deleted and regenerated
         assertTrue(qType.delete());
-        compile(QuerydslAnnotationProcessor.class, Collections.singletonList(path), "overwrite");
+        compile(QuerydslAnnotationProcessor.class, paths, "overwrite");
         assertTrue(qType.exists());
     }
 
+    @Test
+    public void regenerates_subtypes_of_changed_supertypes() throws IOException, InterruptedException {
+        List<String> paths = Arrays.asList(
+                write("supertype", "Parent", "@QuerySupertype public class Parent { String name; }"),
+                write("supertype", "Child", "@QueryEntity public class Child extends Parent { String value; }"));
+        File qType = new File("target/supertype/com/querydsl/apt/incremental/QChild.java");
+
+        process(QuerydslAnnotationProcessor.class, paths, "supertype");
+        long modified = qType.lastModified();
+        Thread.sleep(1000);
+
+        write("supertype", "Parent", "@QuerySupertype public class Parent { String name; String description; }");
+        compile(QuerydslAnnotationProcessor.class, paths, "supertype");
+        assertTrue(modified < qType.lastModified());
+        assertTrue(Files.toString(qType, Charsets.UTF_8).contains("description"));
+    }
+
+    @Test
+    public void keeps_fingerprints_of_unprocessed_types() throws IOException, InterruptedException {
+        List<String> paths = Arrays.asList(
+                write("merge", "First", "@QueryEntity public class First { String name; }"),
+                write("merge", "Second", "@QueryEntity public class Second { String name; }"));
+        File qType = new File("target/merge/com/querydsl/apt/incremental/QFirst.java");
+
+        process(QuerydslAnnotationProcessor.class, paths, "merge");
+        long modified = qType.lastModified();
+        Thread.sleep(1000);
+
+        // only Second is processed, the fingerprint of QFirst is kept
+        compile(QuerydslAnnotationProcessor.class, paths.subList(1, 2), "merge");
+        Properties fingerprints = new Properties();
+        InputStream in = new FileInputStream("target/merge/" + QuerydslAnnotationProcessor.class.getName() + ".fingerprints");
+        try {
+            fingerprints.load(in);
+        } finally {
+            in.close();
+        }
+        assertTrue(fingerprints.containsKey("com.querydsl.apt.incremental.QFirst"));
+        assertTrue(fingerprints.containsKey("com.querydsl.apt.incremental.QSecond"));
+
+        compile(QuerydslAnnotationProcessor.class, paths, "merge");
+        assertEquals(modified, qType.lastModified());
+    }
+
+    private static String write(String target, String className, String body) throws IOException {
+        File source = new File("target/" + target + "-src/com/querydsl/apt/incremental/" + className + ".java");
+        Files.createParentDirs(source);
+        Files.write("package com.querydsl.apt.incremental;\n\n"
+                + "import com.querydsl.core.annotations.*;\n\n" + body + "\n", source, Charsets.UTF_8);
+        return source.getPath();
+    }
+
+    @Override
+    protected Collection<String> getAPTOptions() {
+        return Collections.singletonList("-Aquerydsl.incremental=true");
+    }
+
 }
@@ -17,6 +17,7 @@ import static com.mysema.codegen.Symbols.*;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.util.*;
 
 import javax.annotation.Generated;
@@ -25,6 +26,7 @@ import javax.inject.Named;
 
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.mysema.codegen.CodeWriter;
@@ -48,6 +50,20 @@ public class EntitySerializer implements Serializer {
 
     private static final ClassType PATH_INITS_TYPE = new ClassType(PathInits.class);
 
+    private static final Set<String> PATH_METHODS = getNoArgMethods(EntityPathBase.class);
+
+    private static Set<String> getNoArgMethods(Class<?> cl) {
+        ImmutableSet.Builder<String> methods = ImmutableSet.builder();
+        for (Class<?> c = cl; c != null; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.getParameterTypes().length == 0) {
+                    methods.add(method.getName());
+                }
+            }
+        }
+        return methods.build();
+    }
+
     protected final TypeMappings typeMappings;
 
     protected final Collection<String> keywords;
@@ -208,13 +224,66 @@ public class EntitySerializer implements Serializer {
         if (field.isInherited()) {
             writer.line("// inherited");
         }
-        if (config.useEntityAccessors()) {
+        if (isLazy(config, field)) {
+            volatileField(queryType, field.getEscapedName(), writer);
+        } else if (config.useEntityAccessors()) {
             writer.protectedField(queryType, field.getEscapedName());
         } else {
             writer.publicFinal(queryType, field.getEscapedName());
         }
     }
 
+    /**
+     * Get whether the path of the given property is created lazily via an accessor method.
+     * Custom paths and properties whose name clashes with a method of the query type are
+     * created eagerly.
+     *
+     * @param config serializer config
+     * @param field property
+     * @return true, if the path is created lazily
+     */
+    protected boolean isLazy(SerializerConfig config, Property field) {
+        TypeCategory category = field.getType().getCategory();
+        if (!useLazyPaths(config) || category == TypeCategory.CUSTOM
+                || (typeMappings.isRegistered(field.getType()) && category != TypeCategory.ENTITY)) {
+            return false;
+        }
+        return !PATH_METHODS.contains(field.getEscapedName());
+    }
+
+    private static boolean useLazyPaths(SerializerConfig config) {
+        return config instanceof SimpleSerializerConfig
+            && ((SimpleSerializerConfig) config).useLazyPaths();
+    }
+
+    protected void lazyField(EntityType model, Property field, Type type, CodeWriter writer,
+            String factoryMethod, String... args) throws IOException {
+        StringBuilder value = new StringBuilder();
+        value.append(factoryMethod + "(\"" + field.getName() + QUOTE);
+        for (String arg : args) {
+            value.append(COMMA + arg);
+        }
+        value.append(")");
+
+        String escapedName = field.getEscapedName();
+        if (field.isInherited()) {
+            writer.line("//inherited");
+        }
+        volatileField(type, escapedName, writer);
+        writer.beginPublicMethod(type, escapedName);
+        writer.line("if (", escapedName, " == null) {");
+        writer.line("    ", escapedName, ASSIGN, value.toString(), SEMICOLON);
+        writer.line("}");
+        writer.line(RETURN, escapedName, SEMICOLON);
+        writer.end();
+    }
+
+    private static void volatileField(Type type, String name, CodeWriter writer) throws IOException {
+        // volatile for safe publication, concurrent first calls may create equal paths
+        writer.line("protected volatile ", writer.getGenericName(true, type), " ", name, SEMICOLON);
+        writer.nl();
+    }
+
     protected boolean hasOwnEntityProperties(EntityType model) {
         if (model.hasEntityFields()) {
             for (Property property : model.getProperties()) {
@@ -241,7 +310,8 @@ public class EntitySerializer implements Serializer {
             if (field.getType().getCategory() == TypeCategory.ENTITY) {
                 initEntityField(writer, config, model, field);
 
-            } else if (field.isInherited() && superType != null && superType.getEntityType().hasEntityFields()) {
+            } else if (field.isInherited() && superType != null && superType.getEntityType().hasEntityFields()
+                    && !isLazy(config, field)) {
                 writer.line("this.", field.getEscapedName(), " = _super.", field.getEscapedName(), SEMICOLON);
             }
         }
@@ -250,7 +320,10 @@ public class EntitySerializer implements Serializer {
     protected void initEntityField(CodeWriter writer, SerializerConfig config, EntityType model,
             Property field) throws IOException {
         Type queryType = typeMappings.getPathType(field.getType(), model, false);
-        if (!field.isInherited()) {
+        if (isLazy(config, field)) {
+            // created on first access
+            return;
+        } else if (!field.isInherited()) {
             boolean hasEntityFields = field.getType() instanceof EntityType
                     && ((EntityType) field.getType()).hasEntityFields();
             writer.line("this." + field.getEscapedName() + ASSIGN,
@@ -275,6 +348,7 @@ public class EntitySerializer implements Serializer {
 
         introFactoryMethods(writer, model);
         introInits(writer, model);
+        introPathFactory(writer, model);
         if (config.createDefaultVariable()) {
             introDefaultInstance(writer, model, config.defaultVariableName());
         }
@@ -323,6 +397,23 @@ public class EntitySerializer implements Serializer {
         writer.privateStaticFinal(Types.LONG_P, "serialVersionUID", serialVersionUID + "L");
     }
 
+    protected void introPathFactory(CodeWriter writer, EntityType model) throws IOException {
+        String queryType = typeMappings.getPathType(model, model, true).getSimpleName();
+        boolean hasEntityFields = model.hasEntityFields() || superTypeHasEntityFields(model);
+        writer.line("public static final PathFactory<", queryType, "> ", PathFactories.FIELD_NAME,
+                " = new PathFactory<", queryType, ">() {");
+        writer.line("    @Override");
+        writer.line("    public ", queryType, " newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {");
+        if (hasEntityFields) {
+            writer.line("        return inits != null ? new ", queryType, "(metadata, inits) : new ", queryType, "(metadata);");
+        } else {
+            writer.line("        return new ", queryType, "(metadata);");
+        }
+        writer.line("    }");
+        writer.line("};");
+        writer.nl();
+    }
+
     protected void introDefaultInstance(CodeWriter writer, EntityType model, String defaultName) throws IOException {
         String simpleName = !defaultName.isEmpty() ? defaultName : model.getModifiedSimpleName();
         Type queryType = typeMappings.getPathType(model, model, true);
@@ -533,27 +624,35 @@ public class EntitySerializer implements Serializer {
     }
 
     protected void listAccessor(EntityType model, Property field, CodeWriter writer) throws IOException {
+        listAccessor(model, field, field.getEscapedName(), writer);
+    }
+
+    private void listAccessor(EntityType model, Property field, String path, CodeWriter writer) throws IOException {
         String escapedName = field.getEscapedName();
         Type queryType = typeMappings.getPathType(field.getParameter(0), model, false);
 
         writer.beginPublicMethod(queryType, escapedName, new Parameter("index", Types.INT));
-        writer.line(RETURN + escapedName + ".get(index);").end();
+        writer.line(RETURN + path + ".get(index);").end();
 
         writer.beginPublicMethod(queryType, escapedName, new Parameter("index",
                 new ClassType(Expression.class, Types.INTEGER)));
-        writer.line(RETURN + escapedName + ".get(index);").end();
+        writer.line(RETURN + path + ".get(index);").end();
     }
 
     protected void mapAccessor(EntityType model, Property field, CodeWriter writer) throws IOException {
+        mapAccessor(model, field, field.getEscapedName(), writer);
+    }
+
+    private void mapAccessor(EntityType model, Property field, String path, CodeWriter writer) throws IOException {
         String escapedName = field.getEscapedName();
         Type queryType = typeMappings.getPathType(field.getParameter(1), model, false);
 
         writer.beginPublicMethod(queryType, escapedName, new Parameter("key", field.getParameter(0)));
-        writer.line(RETURN + escapedName + ".get(key);").end();
+        writer.line(RETURN + path + ".get(key);").end();
 
         writer.beginPublicMethod(queryType, escapedName, new Parameter("key",
                 new ClassType(Expression.class, field.getParameter(0))));
-        writer.line(RETURN + escapedName + ".get(key);").end();
+        writer.line(RETURN + path + ".get(key);").end();
     }
 
     private void delegate(final EntityType model, Delegate delegate, SerializerConfig config,
@@ -607,11 +706,13 @@ public class EntitySerializer implements Serializer {
         // property accessors
         for (Property property : model.getProperties()) {
             TypeCategory category = property.getType().getCategory();
+            boolean lazy = isLazy(config, property);
+            String path = lazy ? property.getEscapedName() + "()" : property.getEscapedName();
             if (category == TypeCategory.MAP && config.useMapAccessors()) {
-                mapAccessor(model, property, writer);
+                mapAccessor(model, property, path, writer);
             } else if (category == TypeCategory.LIST && config.useListAccessors()) {
-                listAccessor(model, property, writer);
-            } else if (category == TypeCategory.ENTITY && config.useEntityAccessors()) {
+                listAccessor(model, property, path, writer);
+            } else if (category == TypeCategory.ENTITY && (config.useEntityAccessors() || lazy)) {
                 entityAccessor(model, property, writer);
             }
         }
@@ -646,6 +747,15 @@ public class EntitySerializer implements Serializer {
         }
     }
 
+    private void pathField(EntityType model, Property field, SerializerConfig config, Type type,
+            CodeWriter writer, String factoryMethod, String... args) throws IOException {
+        if (isLazy(config, field)) {
+            lazyField(model, field, type, writer, factoryMethod, args);
+        } else {
+            serialize(model, field, type, writer, factoryMethod, args);
+        }
+    }
+
     protected void customField(EntityType model, Property field, SerializerConfig config,
             CodeWriter writer) throws IOException {
         Type queryType = typeMappings.getPathType(field.getType(), model, false);
@@ -708,39 +818,39 @@ public class EntitySerializer implements Serializer {
 
             switch (property.getType().getCategory()) {
             case STRING:
-                serialize(model, property, queryType, writer, "createString");
+                pathField(model, property, config, queryType, writer, "createString");
                 break;
 
             case BOOLEAN:
-                serialize(model, property, queryType, writer, "createBoolean");
+                pathField(model, property, config, queryType, writer, "createBoolean");
                 break;
 
             case SIMPLE:
-                serialize(model, property, queryType, writer, "createSimple", writer.getClassConstant(localRawName));
+                pathField(model, property, config, queryType, writer, "createSimple", writer.getClassConstant(localRawName));
                 break;
 
             case COMPARABLE:
-                serialize(model, property, queryType, writer, "createComparable", writer.getClassConstant(localRawName));
+                pathField(model, property, config, queryType, writer, "createComparable", writer.getClassConstant(localRawName));
                 break;
 
             case ENUM:
-                serialize(model, property, queryType, writer, "createEnum", writer.getClassConstant(localRawName));
+                pathField(model, property, config, queryType, writer, "createEnum", writer.getClassConstant(localRawName));
                 break;
 
             case DATE:
-                serialize(model, property, queryType, writer, "createDate", writer.getClassConstant(localRawName));
+                pathField(model, property, config, queryType, writer, "createDate", writer.getClassConstant(localRawName));
                 break;
 
             case DATETIME:
-                serialize(model, property, queryType, writer, "createDateTime", writer.getClassConstant(localRawName));
+                pathField(model, property, config, queryType, writer, "createDateTime", writer.getClassConstant(localRawName));
                 break;
 
             case TIME:
-                serialize(model, property, queryType, writer, "createTime", writer.getClassConstant(localRawName));
+                pathField(model, property, config, queryType, writer, "createTime", writer.getClassConstant(localRawName));
                 break;
 
             case NUMERIC:
-                serialize(model, property, queryType, writer, "createNumber", writer.getClassConstant(localRawName));
+                pathField(model, property, config, queryType, writer, "createNumber", writer.getClassConstant(localRawName));
                 break;
 
             case CUSTOM:
@@ -748,7 +858,7 @@ public class EntitySerializer implements Serializer {
                 break;
 
             case ARRAY:
-                serialize(model, property, new ClassType(ArrayPath.class,
+                pathField(model, property, config, new ClassType(ArrayPath.class,
                         property.getType(),
                         wrap(property.getType().getComponentType())),
                         writer, "createArray", writer.getClassConstant(localRawName));
@@ -760,7 +870,7 @@ public class EntitySerializer implements Serializer {
                 localRawName = writer.getRawName(property.getParameter(0));
                 queryType = typeMappings.getPathType(property.getParameter(0), model, true);
 
-                serialize(model, property, new ClassType(CollectionPath.class, getRaw(property.getParameter(0)), genericQueryType),
+                pathField(model, property, config, new ClassType(CollectionPath.class, getRaw(property.getParameter(0)), genericQueryType),
                         writer, "this.<" + genericKey + COMMA + writer.getGenericName(true, genericQueryType) + ">createCollection",
                         writer.getClassConstant(localRawName), writer.getClassConstant(writer.getRawName(queryType)), inits);
                 break;
@@ -771,7 +881,7 @@ public class EntitySerializer implements Serializer {
                 localRawName = writer.getRawName(property.getParameter(0));
                 queryType = typeMappings.getPathType(property.getParameter(0), model, true);
 
-                serialize(model, property, new ClassType(SetPath.class, getRaw(property.getParameter(0)), genericQueryType),
+                pathField(model, property, config, new ClassType(SetPath.class, getRaw(property.getParameter(0)), genericQueryType),
                         writer, "this.<" + genericKey + COMMA + writer.getGenericName(true, genericQueryType) + ">createSet",
                         writer.getClassConstant(localRawName), writer.getClassConstant(writer.getRawName(queryType)), inits);
                 break;
@@ -782,7 +892,7 @@ public class EntitySerializer implements Serializer {
                 localRawName = writer.getRawName(property.getParameter(0));
                 queryType = typeMappings.getPathType(property.getParameter(0), model, true);
 
-                serialize(model, property, new ClassType(ListPath.class, getRaw(property.getParameter(0)), genericQueryType),
+                pathField(model, property, config, new ClassType(ListPath.class, getRaw(property.getParameter(0)), genericQueryType),
                         writer, "this.<" + genericKey + COMMA + writer.getGenericName(true, genericQueryType) + ">createList",
                         writer.getClassConstant(localRawName), writer.getClassConstant(writer.getRawName(queryType)), inits);
                 break;
@@ -795,7 +905,7 @@ public class EntitySerializer implements Serializer {
                 String valueType = writer.getRawName(property.getParameter(1));
                 queryType = typeMappings.getPathType(property.getParameter(1), model, true);
 
-                serialize(model, property, new ClassType(MapPath.class, getRaw(property.getParameter(0)),
+                pathField(model, property, config, new ClassType(MapPath.class, getRaw(property.getParameter(0)),
                         getRaw(property.getParameter(1)), genericQueryType),
                         writer, "this.<" + genericKey + COMMA + genericValue + COMMA +
                             writer.getGenericName(true, genericQueryType) + ">createMap",
@@ -30,11 +30,12 @@ public final class SimpleSerializerConfig implements SerializerConfig {
                 annotation.entityAccessors(),
                 annotation.listAccessors(),
                 annotation.mapAccessors(),
+                annotation.lazyPaths(),
                 annotation.createDefaultVariable(),
                 annotation.defaultVariableName());
     }
 
-    private final boolean entityAccessors, listAccessors, mapAccessors, createDefaultVariable;
+    private final boolean entityAccessors, listAccessors, mapAccessors, lazyPaths, createDefaultVariable;
 
     private final String defaultVariableName;
 
@@ -44,9 +45,20 @@ public final class SimpleSerializerConfig implements SerializerConfig {
             boolean mapAccessors,
             boolean createDefaultVariable,
             String defaultVariableName) {
+        this(entityAccessors, listAccessors, mapAccessors, false, createDefaultVariable, defaultVariableName);
+    }
+
+    public SimpleSerializerConfig(
+            boolean entityAccessors,
+            boolean listAccessors,
+            boolean mapAccessors,
+            boolean lazyPaths,
+            boolean createDefaultVariable,
+            String defaultVariableName) {
         this.entityAccessors = entityAccessors;
         this.listAccessors = listAccessors;
         this.mapAccessors = mapAccessors;
+        this.lazyPaths = lazyPaths;
         this.createDefaultVariable = createDefaultVariable;
         this.defaultVariableName = defaultVariableName;
     }
@@ -66,6 +78,15 @@ public final class SimpleSerializerConfig implements SerializerConfig {
         return mapAccessors;
     }
 
+    /**
+     * property paths are created lazily via accessor methods
+     *
+     * @return if property paths are created lazily
+     */
+    public boolean useLazyPaths() {
+        return lazyPaths;
+    }
+
     @Override
     public boolean createDefaultVariable() {
         return createDefaultVariable;
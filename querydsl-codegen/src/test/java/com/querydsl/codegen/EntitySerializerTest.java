@@ -13,6 +13,7 @@
  */
 package com.querydsl.codegen;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -21,6 +22,7 @@ import java.sql.Time;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
@@ -164,6 +166,44 @@ public class EntitySerializerTest {
         CompileUtils.assertCompiles("QEntity", writer.toString());
     }
 
+    @Test
+    public void lazyPaths() throws IOException {
+        SimpleType type = new SimpleType(TypeCategory.ENTITY, "Entity", "", "Entity",false,false);
+        EntityType entityType = new EntityType(type);
+        entityType.addProperty(new Property(entityType, "entity", entityType));
+        entityType.addProperty(new Property(entityType, "i", new ClassType(TypeCategory.NUMERIC, Integer.class)));
+        entityType.addProperty(new Property(entityType, "s", new ClassType(TypeCategory.STRING, String.class)));
+        entityType.addProperty(new Property(entityType, "count", new ClassType(TypeCategory.NUMERIC, Long.class)));
+        entityType.addProperty(new Property(entityType, "l", new ClassType(TypeCategory.LIST, List.class, Types.STRING)));
+        typeMappings.register(entityType, queryTypeFactory.create(entityType));
+
+        SerializerConfig config = new SimpleSerializerConfig(false, true, false, true, true, "");
+        serializer.serialize(entityType, config, new JavaWriter(writer));
+        String source = writer.toString();
+        assertTrue(source.contains("protected volatile StringPath s;"));
+        assertTrue(source.contains("protected volatile QEntity entity;"));
+        assertTrue(source.contains("public StringPath s() {"));
+        assertTrue(source.contains("public QEntity entity() {"));
+        assertTrue(source.contains("return l().get(index);"));
+        // clashes with SimpleExpression.count()
+        assertTrue(source.contains("public final NumberPath<Long> count"));
+        assertFalse(source.contains("this.entity = inits.isInitialized"));
+        CompileUtils.assertCompiles("QEntity", source);
+    }
+
+    @Test
+    public void pathFactory() throws IOException {
+        SimpleType type = new SimpleType(TypeCategory.ENTITY, "Entity", "", "Entity",false,false);
+        EntityType entityType = new EntityType(type);
+        entityType.addProperty(new Property(entityType, "entity", entityType));
+        typeMappings.register(entityType, queryTypeFactory.create(entityType));
+
+        serializer.serialize(entityType, SimpleSerializerConfig.DEFAULT, new JavaWriter(writer));
+        assertTrue(writer.toString().contains("public static final PathFactory<QEntity> FACTORY = new PathFactory<QEntity>() {"));
+        assertTrue(writer.toString().contains("return inits != null ? new QEntity(metadata, inits) : new QEntity(metadata);"));
+        CompileUtils.assertCompiles("QEntity", writer.toString());
+    }
+
     @Test
     public void superType() throws IOException {
         EntityType superType = new EntityType(new SimpleType(TypeCategory.ENTITY, "Entity2", "", "Entity2",false,false));
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.codegen;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Stopwatch;
+import com.google.common.io.Files;
+import com.mysema.codegen.JavaWriter;
+import com.mysema.codegen.SimpleCompiler;
+import com.mysema.codegen.model.ClassType;
+import com.mysema.codegen.model.SimpleType;
+import com.mysema.codegen.model.TypeCategory;
+import com.querydsl.core.testutil.Benchmark;
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.testutil.Runner;
+
+@Ignore
+@Category(Performance.class)
+public class LazyPathsPerformanceTest {
+
+    private static final int ENTITIES = 200;
+
+    private static final int PROPERTIES = 50;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ClassLoader generate(SerializerConfig config) throws IOException {
+        TypeMappings typeMappings = new JavaTypeMappings();
+        QueryTypeFactory queryTypeFactory = new QueryTypeFactoryImpl("Q", "", "");
+        EntitySerializer serializer = new EntitySerializer(typeMappings, Collections.<String>emptySet());
+
+        List<EntityType> entityTypes = new ArrayList<EntityType>();
+        for (int i = 0; i < ENTITIES; i++) {
+            EntityType entityType = new EntityType(new SimpleType(TypeCategory.ENTITY,
+                    "test.Entity" + i, "test", "Entity" + i, false, false));
+            typeMappings.register(entityType, queryTypeFactory.create(entityType));
+            entityTypes.add(entityType);
+        }
+        for (int i = 0; i < ENTITIES; i++) {
+            EntityType entityType = entityTypes.get(i);
+            for (int j = 0; j < PROPERTIES; j++) {
+                if (j % 10 == 0) {
+                    entityType.addProperty(new Property(entityType, "ref" + j,
+                            entityTypes.get((i + j + 1) % ENTITIES)));
+                } else if (j % 2 == 0) {
+                    entityType.addProperty(new Property(entityType, "num" + j,
+                            new ClassType(TypeCategory.NUMERIC, Integer.class)));
+                } else {
+                    entityType.addProperty(new Property(entityType, "str" + j,
+                            new ClassType(TypeCategory.STRING, String.class)));
+                }
+            }
+        }
+
+        File root = folder.newFolder();
+        File sources = new File(root, "test");
+        sources.mkdirs();
+        List<String> args = new ArrayList<String>();
+        args.add("-d");
+        args.add(root.getPath());
+        for (EntityType entityType : entityTypes) {
+            File entity = new File(sources, entityType.getSimpleName() + ".java");
+            Files.write("package test; public class " + entityType.getSimpleName() + " { }",
+                    entity, Charsets.UTF_8);
+            File queryType = new File(sources, "Q" + entityType.getSimpleName() + ".java");
+            Writer writer = Files.newWriter(queryType, Charsets.UTF_8);
+            try {
+                serializer.serialize(entityType, config, new JavaWriter(writer));
+            } finally {
+                writer.close();
+            }
+            args.add(entity.getPath());
+            args.add(queryType.getPath());
+        }
+        assertEquals(0, new SimpleCompiler().run(null, null, null, args.toArray(new String[args.size()])));
+        return new URLClassLoader(new URL[]{root.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    private void run(String label, SerializerConfig config) throws Exception {
+        ClassLoader classLoader = generate(config);
+
+        // class loading and initialization of the default variables
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        for (int i = 0; i < ENTITIES; i++) {
+            Class.forName("test.QEntity" + i, true, classLoader);
+        }
+        System.err.println(label + " startup " + stopwatch.stop().toString());
+
+        final Constructor<?> constructor = Class.forName("test.QEntity0", true, classLoader)
+                .getConstructor(String.class);
+        Runner.run(label + " instantiation", new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                for (int i = 0; i < times; i++) {
+                    constructor.newInstance("entity");
+                }
+            }
+        });
+    }
+
+    @Test
+    public void eager() throws Exception {
+        run("eager", SimpleSerializerConfig.DEFAULT);
+    }
+
+    @Test
+    public void lazy() throws Exception {
+        run("lazy", new SimpleSerializerConfig(false, false, false, true, true, ""));
+    }
+
+}
@@ -18,6 +18,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 import com.mysema.commons.lang.CloseableIterator;
 import com.mysema.commons.lang.IteratorAdapter;
 import com.querydsl.core.*;
@@ -40,6 +42,9 @@ public abstract class AbstractCollQuery<T, Q extends AbstractCollQuery<T, Q>> ex
 
     private final QueryEngine queryEngine;
 
+    @Nullable
+    private EvaluationMode mode;
+
     public AbstractCollQuery(QueryMetadata metadata, QueryEngine queryEngine) {
         super(new CollQueryMixin<Q>(metadata));
         @SuppressWarnings("unchecked") // Q is this + subtype
@@ -94,28 +99,62 @@ public abstract class AbstractCollQuery<T, Q extends AbstractCollQuery<T, Q>> ex
 
     @Override
     public Q groupBy(Expression<?> e) {
-        throw new UnsupportedOperationException();
+        return queryMixin.groupBy(e);
     }
 
     @Override
     public Q groupBy(Expression<?>... o) {
-        throw new UnsupportedOperationException();
+        return queryMixin.groupBy(o);
     }
 
     @Override
     public Q having(Predicate e) {
-        throw new UnsupportedOperationException();
+        return queryMixin.having(e);
     }
 
     @Override
     public Q having(Predicate... e) {
-        throw new UnsupportedOperationException();
+        return queryMixin.having(e);
     }
 
     protected QueryEngine getQueryEngine() {
         return queryEngine;
     }
 
+    /**
+     * Set the evaluation mode of this query, the mode is only supported by {@link DefaultQueryEngine}
+     *
+     * @param mode evaluation mode or null for the default mode of the query engine
+     * @return current object
+     */
+    public Q mode(@Nullable EvaluationMode mode) {
+        this.mode = mode;
+        return queryMixin.getSelf();
+    }
+
+    /**
+     * Evaluate this query lazily, see {@link EvaluationMode#STREAMING}
+     *
+     * @return current object
+     */
+    public Q streaming() {
+        return mode(EvaluationMode.STREAMING);
+    }
+
+    /**
+     * Evaluate this query in parallel, see {@link EvaluationMode#PARALLEL}
+     *
+     * @return current object
+     */
+    public Q parallel() {
+        return mode(EvaluationMode.PARALLEL);
+    }
+
+    @Nullable
+    protected EvaluationMode getMode() {
+        return mode;
+    }
+
     /**
      * Define an inner join from the Collection typed path to the alias
      *
@@ -172,14 +211,27 @@ public abstract class AbstractCollQuery<T, Q extends AbstractCollQuery<T, Q>> ex
     public CloseableIterator<T> iterate() {
         @SuppressWarnings("unchecked") // This is the built type
         Expression<T> projection = (Expression<T>) queryMixin.getMetadata().getProjection();
-        return new IteratorAdapter<T>(queryEngine.list(getMetadata(), iterables, projection).iterator());
+        if (queryEngine instanceof DefaultQueryEngine) {
+            return new IteratorAdapter<T>(((DefaultQueryEngine) queryEngine)
+                    .iterate(getMetadata(), iterables, projection, mode));
+        } else {
+            return new IteratorAdapter<T>(queryEngine.list(getMetadata(), iterables, projection).iterator());
+        }
     }
 
     @Override
     public List<T> fetch() {
         @SuppressWarnings("unchecked") // This is the built type
         Expression<T> projection = (Expression<T>) queryMixin.getMetadata().getProjection();
-        return queryEngine.list(getMetadata(), iterables, projection);
+        return list(projection);
+    }
+
+    private List<T> list(Expression<T> projection) {
+        if (queryEngine instanceof DefaultQueryEngine) {
+            return ((DefaultQueryEngine) queryEngine).list(getMetadata(), iterables, projection, mode);
+        } else {
+            return queryEngine.list(getMetadata(), iterables, projection);
+        }
     }
 
     @Override
@@ -188,7 +240,7 @@ public abstract class AbstractCollQuery<T, Q extends AbstractCollQuery<T, Q>> ex
         Expression<T> projection = (Expression<T>) queryMixin.getMetadata().getProjection();
         long count = queryEngine.count(getMetadata(), iterables);
         if (count > 0L) {
-            List<T> list = queryEngine.list(getMetadata(), iterables, projection);
+            List<T> list = list(projection);
             return new QueryResults<T>(list, getMetadata().getModifiers(), count);
         } else {
             return QueryResults.<T>emptyResults();
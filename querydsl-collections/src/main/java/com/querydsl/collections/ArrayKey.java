@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import java.util.Arrays;
+
+/**
+ * {@code ArrayKey} is a hash key which compares array rows by their elements without copying them
+ */
+final class ArrayKey {
+
+    private final Object[] array;
+
+    private final int hashCode;
+
+    ArrayKey(Object[] array) {
+        this.array = array;
+        this.hashCode = Arrays.hashCode(array);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (obj instanceof ArrayKey) {
+            ArrayKey other = (ArrayKey) obj;
+            return hashCode == other.hashCode && Arrays.equals(array, other.array);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+}
@@ -78,7 +78,7 @@ public class CollQuery<T> extends AbstractCollQuery<T, CollQuery<T>> implements
      */
     @Override
     public CollQuery<T> clone() {
-        return new CollQuery<T>(queryMixin.getMetadata().clone(), getQueryEngine());
+        return new CollQuery<T>(queryMixin.getMetadata().clone(), getQueryEngine()).mode(getMode());
     }
 
     @Override
@@ -13,15 +13,20 @@
  */
 package com.querydsl.collections;
 
+import java.lang.reflect.Modifier;
 import java.net.URLClassLoader;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import javax.annotation.Nullable;
 import javax.tools.JavaCompiler;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.common.primitives.Primitives;
 import com.mysema.codegen.ECJEvaluatorFactory;
 import com.mysema.codegen.Evaluator;
@@ -31,6 +36,7 @@ import com.mysema.codegen.model.*;
 import com.mysema.codegen.support.ClassUtils;
 import com.querydsl.core.JoinExpression;
 import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryException;
 import com.querydsl.core.QueryMetadata;
 import com.querydsl.core.support.CollectionAnyVisitor;
 import com.querydsl.core.support.Context;
@@ -39,31 +45,54 @@ import com.querydsl.core.types.*;
 /**
  * {@code DefaultEvaluatorFactory} provides Java source templates for evaluation of {@link CollQuery} queries
  *
+ * <p>The constants of the queries are passed to the compiled evaluators as parameters and the evaluators
+ * are kept in a bounded LRU cache keyed by the generated source, so queries of the same shape share
+ * the compiled evaluator regardless of their constant values.</p>
+ *
  * @author tiwe
  *
  */
 public class DefaultEvaluatorFactory {
 
+    private static final int DEFAULT_CACHE_SIZE = 256;
+
+    private static final Map<String, Object> NO_CONSTANTS = Collections.emptyMap();
+
     private final EvaluatorFactory factory;
 
     private final CollQueryTemplates templates;
 
     private final CollectionAnyVisitor collectionAnyVisitor = new CollectionAnyVisitor();
 
+    private final Cache<List<Object>, Evaluator<?>> cache;
+
     public DefaultEvaluatorFactory(CollQueryTemplates templates) {
         this(templates,
         Thread.currentThread().getContextClassLoader());
     }
 
     public DefaultEvaluatorFactory(CollQueryTemplates templates, EvaluatorFactory factory) {
+        this(templates, factory, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Create a new DefaultEvaluatorFactory instance
+     *
+     * @param templates templates
+     * @param factory evaluator factory
+     * @param cacheSize maximum amount of compiled evaluators to be cached
+     */
+    public DefaultEvaluatorFactory(CollQueryTemplates templates, EvaluatorFactory factory, int cacheSize) {
         this.templates = templates;
         this.factory = factory;
+        this.cache = createCache(cacheSize);
     }
 
     protected DefaultEvaluatorFactory(CollQueryTemplates templates,
             URLClassLoader classLoader, JavaCompiler compiler) {
         this.templates = templates;
         this.factory = new JDKEvaluatorFactory(classLoader, compiler);
+        this.cache = createCache(DEFAULT_CACHE_SIZE);
     }
 
     protected DefaultEvaluatorFactory(CollQueryTemplates templates, ClassLoader classLoader) {
@@ -74,6 +103,28 @@ public class DefaultEvaluatorFactory {
             // for OSGi compatibility
             this.factory = new ECJEvaluatorFactory(classLoader);
         }
+        this.cache = createCache(DEFAULT_CACHE_SIZE);
+    }
+
+    private static Cache<List<Object>, Evaluator<?>> createCache(int cacheSize) {
+        return CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build();
+    }
+
+    /**
+     * Get the statistics of the evaluator cache, the load counts and times are the
+     * compilations of evaluators
+     *
+     * @return cache statistics
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Discard all cached evaluators
+     */
+    public void clearCache() {
+        cache.invalidateAll();
     }
 
     /**
@@ -116,7 +167,7 @@ public class DefaultEvaluatorFactory {
             }
         }
 
-        return factory.createEvaluator(serializer.toString(), projection.getType(), names,
+        return getEvaluator(serializer.toString(), projection.getType(), names,
                 types, constants);
     }
 
@@ -148,7 +199,7 @@ public class DefaultEvaluatorFactory {
         Type sourceType = new ClassType(TypeCategory.SIMPLE, source.getType());
         ClassType sourceListType = new ClassType(TypeCategory.SIMPLE, Iterable.class, sourceType);
 
-        return factory.createEvaluator(
+        return getEvaluator(
                 ser.toString(),
                 sourceListType,
                 new String[]{source + "_"},
@@ -157,6 +208,86 @@ public class DefaultEvaluatorFactory {
                 constants);
     }
 
+    /**
+     * Create an Evaluator which evaluates the given expression for each element of the source
+     *
+     * @param metadata query metadata
+     * @param source source of the query
+     * @param expr expression to evaluate
+     * @param npeValue value to be used for elements where the evaluation fails with a NullPointerException
+     * @return evaluator
+     */
+    public Evaluator<List<Object>> createValueEvaluator(QueryMetadata metadata,
+            Expression<?> source, Expression<?> expr, Object npeValue) {
+        String typeName = ClassUtils.getName(source.getType());
+        CollQuerySerializer ser = new CollQuerySerializer(templates);
+        ser.append("java.util.List<Object> rv = new java.util.ArrayList<Object>();\n");
+        ser.append("for (" + typeName + " " + source + " : " + source + "_) {\n");
+        ser.append("    try {\n");
+        ser.append("        rv.add(").handle(expr).append(");\n");
+        ser.append("    } catch (NullPointerException npe) {\n");
+        ser.append("        rv.add(");
+        ser.visitConstant(npeValue);
+        ser.append(");\n");
+        ser.append("    }\n");
+        ser.append("}\n");
+        ser.append("return rv;");
+
+        Map<Object,String> constantToLabel = ser.getConstantToLabel();
+        Map<String, Object> constants = getConstants(metadata, constantToLabel);
+
+        Type sourceType = new ClassType(TypeCategory.SIMPLE, source.getType());
+        ClassType sourceListType = new ClassType(TypeCategory.SIMPLE, Iterable.class, sourceType);
+        ClassType projectionType = new ClassType(TypeCategory.LIST, List.class, Types.OBJECT);
+
+        return getEvaluator(
+                ser.toString(),
+                projectionType,
+                new String[]{source + "_"},
+                new Type[]{sourceListType},
+                new Class<?>[]{Iterable.class},
+                constants);
+    }
+
+    /**
+     * Create an Evaluator which filters rows of the given sources
+     *
+     * @param metadata query metadata
+     * @param sources sources of the rows
+     * @param filter filter of the query
+     * @return evaluator
+     */
+    public Evaluator<List<Object[]>> createRowEvaluator(QueryMetadata metadata,
+            List<? extends Expression<?>> sources, Predicate filter) {
+        CollQuerySerializer ser = new CollQuerySerializer(templates);
+        ser.append("java.util.List<Object[]> rv = new java.util.ArrayList<Object[]>();\n");
+        ser.append("for (Object[] row_ : rows_) {\n");
+        for (int i = 0; i < sources.size(); i++) {
+            Expression<?> source = sources.get(i);
+            String typeName = ClassUtils.getName(source.getType());
+            ser.append("    " + typeName + " " + source + " = (" + typeName + ") row_[" + i + "];\n");
+        }
+        ser.append("    try {\n");
+        ser.append("        if (").handle(filter).append(") {\n");
+        ser.append("            rv.add(row_);\n");
+        ser.append("        }\n");
+        ser.append("    } catch (NullPointerException npe) { }\n");
+        ser.append("}\n");
+        ser.append("return rv;");
+
+        Map<Object,String> constantToLabel = ser.getConstantToLabel();
+        Map<String, Object> constants = getConstants(metadata, constantToLabel);
+
+        ClassType projectionType = new ClassType(TypeCategory.LIST, List.class, Types.OBJECTS);
+        return getEvaluator(
+                ser.toString(),
+                projectionType,
+                new String[]{"rows_"},
+                new Type[]{new SimpleType(Types.ITERABLE, Types.OBJECTS)},
+                new Class<?>[]{Iterable.class},
+                constants);
+    }
+
     /**
      * Create an Evaluator for the given sources and the given optional filter
      *
@@ -259,7 +390,7 @@ public class DefaultEvaluatorFactory {
         Map<String, Object> constants = getConstants(metadata, constantToLabel);
 
         ClassType projectionType = new ClassType(TypeCategory.LIST, List.class, Types.OBJECTS);
-        return factory.createEvaluator(
+        return getEvaluator(
                 ser.toString(),
                 projectionType,
                 sourceNames.toArray(new String[sourceNames.size()]),
@@ -268,9 +399,93 @@ public class DefaultEvaluatorFactory {
                 constants);
     }
 
+    private <T> Evaluator<T> getEvaluator(final String source, final Class<? extends T> projectionType,
+            String[] names, Class<?>[] classes, Map<String, Object> constants) {
+        int size = names.length + constants.size();
+        final String[] allNames = Arrays.copyOf(names, size);
+        final Class<?>[] allClasses = Arrays.copyOf(classes, size);
+        Object[] values = new Object[constants.size()];
+        int i = names.length;
+        for (Map.Entry<String, Object> entry : constants.entrySet()) {
+            allNames[i] = entry.getKey();
+            allClasses[i] = getConstantType(entry.getValue());
+            values[i - names.length] = entry.getValue();
+            i++;
+        }
+        List<Object> key = Arrays.<Object>asList(source, projectionType,
+                Arrays.asList(allNames), Arrays.asList(allClasses));
+        return getEvaluator(key, new Callable<Evaluator<?>>() {
+            @Override
+            public Evaluator<?> call() {
+                return factory.createEvaluator(source, projectionType, allNames, allClasses, NO_CONSTANTS);
+            }
+        }, values);
+    }
+
+    private <T> Evaluator<T> getEvaluator(final String source, final ClassType projection,
+            String[] names, Type[] types, Class<?>[] classes, Map<String, Object> constants) {
+        int size = names.length + constants.size();
+        final String[] allNames = Arrays.copyOf(names, size);
+        final Type[] allTypes = Arrays.copyOf(types, size);
+        final Class<?>[] allClasses = Arrays.copyOf(classes, size);
+        Object[] values = new Object[constants.size()];
+        int i = names.length;
+        for (Map.Entry<String, Object> entry : constants.entrySet()) {
+            allNames[i] = entry.getKey();
+            allClasses[i] = getConstantType(entry.getValue());
+            allTypes[i] = new ClassType(TypeCategory.SIMPLE, allClasses[i]);
+            values[i - names.length] = entry.getValue();
+            i++;
+        }
+        List<String> typeNames = new ArrayList<String>(size);
+        for (Type type : allTypes) {
+            typeNames.add(type.getGenericName(false));
+        }
+        List<Object> key = Arrays.<Object>asList(source, projection.getGenericName(false),
+                Arrays.asList(allNames), typeNames);
+        return getEvaluator(key, new Callable<Evaluator<?>>() {
+            @Override
+            public Evaluator<?> call() {
+                return factory.createEvaluator(source, projection, allNames, allTypes, allClasses, NO_CONSTANTS);
+            }
+        }, values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Evaluator<T> getEvaluator(List<Object> key, Callable<Evaluator<?>> compiler, Object[] constants) {
+        Evaluator<T> evaluator;
+        try {
+            evaluator = (Evaluator<T>) cache.get(key, compiler);
+        } catch (ExecutionException e) {
+            throw new QueryException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw new QueryException(e.getCause());
+            }
+        } catch (ExecutionError e) {
+            throw (Error) e.getCause();
+        }
+        if (constants.length == 0) {
+            return evaluator;
+        } else {
+            return new ConstantBindingEvaluator<T>(evaluator, constants);
+        }
+    }
+
+    private static Class<?> getConstantType(Object constant) {
+        Class<?> type = ClassUtils.normalize(constant.getClass());
+        while (!Modifier.isPublic(type.getModifiers())) {
+            type = type.getSuperclass();
+        }
+        return type;
+    }
+
     private Map<String, Object> getConstants(QueryMetadata metadata,
             Map<Object, String> constantToLabel) {
-        Map<String,Object> constants = new HashMap<String,Object>();
+        // sorted by label to get the same parameter order for queries of the same shape
+        Map<String,Object> constants = new TreeMap<String,Object>();
         for (Map.Entry<Object,String> entry : constantToLabel.entrySet()) {
             if (entry.getKey() instanceof ParamExpression<?>) {
                 Object value = metadata.getParams().get(entry.getKey());
@@ -285,4 +500,32 @@ public class DefaultEvaluatorFactory {
         return constants;
     }
 
+    /**
+     * Appends the constants of a query to the arguments of a cached evaluator
+     */
+    private static final class ConstantBindingEvaluator<T> implements Evaluator<T> {
+
+        private final Evaluator<T> evaluator;
+
+        private final Object[] constants;
+
+        ConstantBindingEvaluator(Evaluator<T> evaluator, Object[] constants) {
+            this.evaluator = evaluator;
+            this.constants = constants;
+        }
+
+        @Override
+        public T evaluate(Object... args) {
+            Object[] allArgs = Arrays.copyOf(args, args.length + constants.length);
+            System.arraycopy(constants, 0, allArgs, args.length, constants.length);
+            return evaluator.evaluate(allArgs);
+        }
+
+        @Override
+        public Class<? extends T> getType() {
+            return evaluator.getType();
+        }
+
+    }
+
 }
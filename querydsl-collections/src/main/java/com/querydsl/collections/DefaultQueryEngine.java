@@ -14,13 +14,20 @@
 package com.querydsl.collections;
 
 import java.util.*;
+import java.util.concurrent.*;
 
+import javax.annotation.Nullable;
+
+import com.google.common.base.Function;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mysema.codegen.Evaluator;
 import com.mysema.commons.lang.IteratorAdapter;
 import com.querydsl.core.JoinExpression;
 import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryException;
 import com.querydsl.core.QueryMetadata;
 import com.querydsl.core.QueryModifiers;
 import com.querydsl.core.types.*;
@@ -28,14 +35,23 @@ import com.querydsl.core.types.*;
 /**
  * Default implementation of the {@link QueryEngine} interface
  *
+ * <p>Queries are evaluated in the {@link EvaluationMode} given per query or in the default mode
+ * of the engine.</p>
+ *
  * @author tiwe
  *
  */
 @SuppressWarnings("unchecked")
 public class DefaultQueryEngine implements QueryEngine {
 
+    private static final int STREAM_CHUNK_SIZE = 128;
+
+    private static final int MIN_PARTITION_SIZE = 1024;
+
     private static transient volatile QueryEngine defaultQueryEngine;
 
+    private static transient volatile ExecutorService defaultExecutor;
+
     public static QueryEngine getDefault() {
         if (defaultQueryEngine == null) {
             defaultQueryEngine = new DefaultQueryEngine(new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT));
@@ -43,18 +59,60 @@ public class DefaultQueryEngine implements QueryEngine {
         return defaultQueryEngine;
     }
 
+    private static ExecutorService getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            synchronized (DefaultQueryEngine.class) {
+                if (defaultExecutor == null) {
+                    defaultExecutor = Executors.newFixedThreadPool(
+                            Runtime.getRuntime().availableProcessors(),
+                            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("querydsl-collections-%d").build());
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
     private final DefaultEvaluatorFactory evaluatorFactory;
 
+    private final HashJoinEvaluator hashJoinEvaluator;
+
+    private final GroupByEvaluator groupByEvaluator;
+
+    private final EvaluationMode defaultMode;
+
+    @Nullable
+    private final ExecutorService executor;
+
     public DefaultQueryEngine(DefaultEvaluatorFactory evaluatorFactory) {
+        this(evaluatorFactory, EvaluationMode.DEFAULT);
+    }
+
+    public DefaultQueryEngine(DefaultEvaluatorFactory evaluatorFactory, EvaluationMode defaultMode) {
+        this(evaluatorFactory, defaultMode, null);
+    }
+
+    /**
+     * Create a new DefaultQueryEngine instance
+     *
+     * @param evaluatorFactory evaluator factory
+     * @param defaultMode evaluation mode of queries without an explicit mode
+     * @param executor executor for the parallel evaluation or null to use a shared daemon thread pool
+     */
+    public DefaultQueryEngine(DefaultEvaluatorFactory evaluatorFactory, EvaluationMode defaultMode,
+            @Nullable ExecutorService executor) {
         this.evaluatorFactory = evaluatorFactory;
+        this.hashJoinEvaluator = new HashJoinEvaluator(evaluatorFactory);
+        this.groupByEvaluator = new GroupByEvaluator(evaluatorFactory);
+        this.defaultMode = defaultMode;
+        this.executor = executor;
     }
 
     @Override
     public long count(QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables) {
         if (metadata.getJoins().size() == 1) {
-            return evaluateSingleSource(metadata, iterables, true).size();
+            return evaluateSingleSource(metadata, iterables, true, false).size();
         } else {
-            return evaluateMultipleSources(metadata, iterables, true).size();
+            return evaluateMultipleSources(metadata, iterables, true, false).size();
         }
     }
 
@@ -64,9 +122,9 @@ public class DefaultQueryEngine implements QueryEngine {
         metadata.setLimit(1L);
         try {
             if (metadata.getJoins().size() == 1) {
-                return !evaluateSingleSource(metadata, iterables, true).isEmpty();
+                return !evaluateSingleSource(metadata, iterables, true, false).isEmpty();
             } else {
-                return !evaluateMultipleSources(metadata, iterables, true).isEmpty();
+                return !evaluateMultipleSources(metadata, iterables, true, false).isEmpty();
             }
         } finally {
             metadata.setModifiers(modifiers);
@@ -76,98 +134,191 @@ public class DefaultQueryEngine implements QueryEngine {
     @Override
     public <T> List<T> list(QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables,
             Expression<T> projection) {
+        return list(metadata, iterables, projection, defaultMode);
+    }
+
+    /**
+     * Evaluate the given query in the given mode and return the projection as a list
+     *
+     * @param metadata query metadata
+     * @param iterables source contents
+     * @param projection projection
+     * @param mode evaluation mode or null for the default mode of this engine
+     * @return matching rows
+     */
+    public <T> List<T> list(QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables,
+            Expression<T> projection, @Nullable EvaluationMode mode) {
+        if (mode == null) {
+            mode = defaultMode;
+        }
+        if (mode == EvaluationMode.STREAMING && !isAggregation(metadata)) {
+            return Lists.newArrayList(stream(metadata, iterables));
+        }
+        boolean parallel = mode == EvaluationMode.PARALLEL;
         if (metadata.getJoins().size() == 1) {
-            return evaluateSingleSource(metadata, iterables, false);
+            return evaluateSingleSource(metadata, iterables, false, parallel);
         } else {
-            return evaluateMultipleSources(metadata, iterables, false);
+            return evaluateMultipleSources(metadata, iterables, false, parallel);
         }
     }
 
-    private <T> List<T> distinct(List<T> list) {
-        List<T> rv = new ArrayList<T>(list.size());
-        if (!list.isEmpty() && list.get(0) != null && list.get(0).getClass().isArray()) {
-            Set set = new HashSet(list.size());
-            for (T o : list) {
-                if (set.add(ImmutableList.copyOf((Object[]) o))) {
-                    rv.add(o);
-                }
+    /**
+     * Evaluate the given query in the given mode and return the projection as an iterator
+     *
+     * <p>In streaming mode the rows are filtered and projected while iterating.</p>
+     *
+     * @param metadata query metadata
+     * @param iterables source contents
+     * @param projection projection
+     * @param mode evaluation mode or null for the default mode of this engine
+     * @return matching rows
+     */
+    public <T> Iterator<T> iterate(QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables,
+            Expression<T> projection, @Nullable EvaluationMode mode) {
+        if (mode == null) {
+            mode = defaultMode;
+        }
+        if (mode == EvaluationMode.STREAMING && !isAggregation(metadata)) {
+            return stream(metadata, iterables);
+        } else {
+            return list(metadata, iterables, projection, mode).iterator();
+        }
+    }
+
+    private static <T> Iterator<T> distinct(Iterator<T> rows) {
+        final Set<Object> seen = new HashSet<Object>();
+        return Iterators.filter(rows, new com.google.common.base.Predicate<T>() {
+            @Override
+            public boolean apply(T input) {
+                return seen.add(input instanceof Object[] ? new ArrayKey((Object[]) input) : input);
+            }
+        });
+    }
+
+    private static <T> Iterator<T> restrict(Iterator<T> rows, QueryModifiers modifiers) {
+        if (modifiers.getOffset() != null) {
+            Iterators.advance(rows, modifiers.getOffsetAsInteger());
+        }
+        if (modifiers.getLimit() != null) {
+            rows = Iterators.limit(rows, modifiers.getLimitAsInteger());
+        }
+        return rows;
+    }
+
+    private List<?> group(QueryMetadata metadata, List<Expression<?>> sources, List<?> list, boolean count) {
+        boolean distinct = metadata.isDistinct();
+        Iterator<?> rows = groupByEvaluator.evaluate(metadata, sources, list, !count, !count || distinct).iterator();
+        if (distinct) {
+            rows = distinct(rows);
+        }
+        if (!count) {
+            rows = restrict(rows, metadata.getModifiers());
+        }
+        return Lists.newArrayList(rows);
+    }
+
+    private List<?> restrictAndProject(QueryMetadata metadata, List<Expression<?>> sources, List<?> list,
+            boolean project, boolean parallel) {
+        QueryModifiers modifiers = metadata.getModifiers();
+        if (isAggregation(metadata.getProjection())) {
+            list = project(metadata, sources, list, parallel);
+            return modifiers.isRestricting() ? modifiers.subList(list) : list;
+        } else if (metadata.isDistinct()) {
+            // limit + offset apply to the distinct rows, the projection stops once the limit is reached
+            Iterator<?> rows;
+            if (project && parallel) {
+                rows = project(metadata, sources, list, true).iterator();
+            } else if (project) {
+                Evaluator projectionEvaluator = evaluatorFactory.create(metadata, sources, metadata.getProjection());
+                rows = Iterators.transform(list.iterator(), new EvaluatorFunction(projectionEvaluator));
+            } else {
+                rows = list.iterator();
             }
-            return rv;
+            return Lists.newArrayList(restrict(distinct(rows), modifiers));
         } else {
-            for (T o : list) {
-                if (!rv.contains(o)) {
-                    rv.add(o);
-                }
+            if (modifiers.isRestricting()) {
+                list = modifiers.subList(list);
             }
+            return project ? project(metadata, sources, list, parallel) : list;
         }
-        return rv;
     }
 
     private List evaluateMultipleSources(QueryMetadata metadata, Map<Expression<?>,
-            Iterable<?>> iterables, boolean count) {
+            Iterable<?>> iterables, boolean count, boolean parallel) {
         // from where
-        Evaluator<List<Object[]>> ev = evaluatorFactory.createEvaluator(metadata, metadata.getJoins(), metadata.getWhere());
+        List<Expression<?>> roots = new ArrayList<Expression<?>>(metadata.getJoins().size());
         List<Iterable<?>> iterableList = new ArrayList<Iterable<?>>(metadata.getJoins().size());
         for (JoinExpression join : metadata.getJoins()) {
             if (join.getType() == JoinType.DEFAULT) {
+                roots.add(join.getTarget());
                 iterableList.add(iterables.get(join.getTarget()));
             }
         }
-        List<?> list = ev.evaluate(iterableList.toArray());
-
-        if (!count && !list.isEmpty()) {
-            List<Expression<?>> sources = new ArrayList<Expression<?>>(metadata.getJoins().size());
-            for (JoinExpression join : metadata.getJoins()) {
-                if (join.getType() == JoinType.DEFAULT) {
-                    sources.add(join.getTarget());
-                } else {
-                    Operation target = (Operation) join.getTarget();
-                    sources.add(target.getArg(1));
-                }
+        List<?> list = null;
+        if (metadata.getWhere() != null && roots.size() == metadata.getJoins().size()) {
+            list = hashJoinEvaluator.evaluate(metadata, roots, iterableList, metadata.getWhere(), !count);
+        }
+        if (list == null) {
+            final Evaluator<List<Object[]>> ev = evaluatorFactory.createEvaluator(metadata, metadata.getJoins(), metadata.getWhere());
+            if (parallel) {
+                // partition the first source
+                final Object[] args = iterableList.toArray();
+                list = inParallel(asList(iterableList.get(0)), new Function<List<?>, List<Object[]>>() {
+                    @Override
+                    public List<Object[]> apply(List<?> partition) {
+                        Object[] partitionArgs = args.clone();
+                        partitionArgs[0] = partition;
+                        return ev.evaluate(partitionArgs);
+                    }
+                });
+            } else {
+                list = ev.evaluate(iterableList.toArray());
             }
+        }
+
+        if (isGrouped(metadata)) {
+            return group(metadata, getSources(metadata), list, count);
+        } else if (!count && !list.isEmpty()) {
+            List<Expression<?>> sources = getSources(metadata);
             // ordered
             if (!metadata.getOrderBy().isEmpty()) {
                 order(metadata, sources, list);
             }
-            // projection
-            list = project(metadata, sources, list);
-            // limit + offset
-            if (metadata.getModifiers().isRestricting()) {
-                list = metadata.getModifiers().subList(list);
-            }
-            if (list.isEmpty()) {
-                return list;
-            }
-        }
-
-        // distinct
-        if (metadata.isDistinct()) {
-            list = distinct(list);
+            // limit + offset, projection, distinct
+            list = restrictAndProject(metadata, sources, list, true, parallel);
+        } else if (count && metadata.isDistinct()) {
+            list = Lists.newArrayList(distinct(list.iterator()));
         }
 
         return list;
     }
 
     private List evaluateSingleSource(QueryMetadata metadata, Map<Expression<?>,
-            Iterable<?>> iterables, boolean count) {
+            Iterable<?>> iterables, boolean count, boolean parallel) {
         final Expression<?> source = metadata.getJoins().get(0).getTarget();
         final List<Expression<?>> sources = Collections.<Expression<?>>singletonList(source);
         final Iterable<?> iterable = iterables.values().iterator().next();
-        List<?> list;
-        if (iterable instanceof List) {
-            list = (List) iterable;
-        } else {
-            list = IteratorAdapter.asList(iterable.iterator());
-        }
+        List<?> list = asList(iterable);
 
         // from & where
         if (metadata.getWhere() != null) {
-            Evaluator<List<?>> evaluator = (Evaluator) evaluatorFactory
+            final Evaluator<List<?>> evaluator = (Evaluator) evaluatorFactory
                     .createEvaluator(metadata, source, metadata.getWhere());
-            list = evaluator.evaluate(list);
+            if (parallel) {
+                list = inParallel(list, new Function<List<?>, List<Object>>() {
+                    @Override
+                    public List<Object> apply(List<?> partition) {
+                        return (List<Object>) evaluator.evaluate(partition);
+                    }
+                });
+            } else {
+                list = evaluator.evaluate(list);
+            }
         }
 
-        if (!count && !list.isEmpty()) {
+        if (isGrouped(metadata)) {
+            return group(metadata, sources, list, count);
+        } else if (!count && !list.isEmpty()) {
             // ordered
             if (!metadata.getOrderBy().isEmpty()) {
                 // clone list
@@ -176,26 +327,162 @@ public class DefaultQueryEngine implements QueryEngine {
                 }
                 order(metadata, sources, list);
             }
-            // projection
-            if (metadata.getProjection() != null && !metadata.getProjection().equals(source)) {
-                list = project(metadata, sources, list);
+            // limit + offset, projection, distinct
+            boolean project = metadata.getProjection() != null && !metadata.getProjection().equals(source);
+            list = restrictAndProject(metadata, sources, list, project, parallel);
+        } else if (count && metadata.isDistinct()) {
+            list = Lists.newArrayList(distinct(list.iterator()));
+        }
+
+        return list;
+
+    }
+
+    private Iterator stream(QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables) {
+        List<Expression<?>> sources = getSources(metadata);
+        QueryModifiers modifiers = metadata.getModifiers();
+        Iterator<?> rows = streamRows(metadata, iterables);
+
+        // ordered
+        if (!metadata.getOrderBy().isEmpty()) {
+            long maxSize = -1;
+            if (modifiers.getLimit() != null && !metadata.isDistinct()) {
+                maxSize = modifiers.getLimit() + (modifiers.getOffset() != null ? modifiers.getOffset() : 0L);
             }
-            // limit + offset
-            if (metadata.getModifiers().isRestricting()) {
-                list = metadata.getModifiers().subList(list);
+            rows = order(metadata, sources, rows, maxSize).iterator();
+        }
+        // limit + offset, projection, distinct
+        if (!metadata.isDistinct()) {
+            rows = restrict(rows, modifiers);
+        }
+        Expression<?> projection = metadata.getProjection();
+        if (projection != null && !(metadata.getJoins().size() == 1 && projection.equals(sources.get(0)))) {
+            Evaluator projectionEvaluator = evaluatorFactory.create(metadata, sources, projection);
+            rows = Iterators.transform(rows, new EvaluatorFunction(projectionEvaluator));
+        }
+        if (metadata.isDistinct()) {
+            rows = restrict(distinct(rows), modifiers);
+        }
+        return rows;
+    }
+
+    private Iterator<?> streamRows(QueryMetadata metadata, Map<Expression<?>, Iterable<?>> iterables) {
+        if (metadata.getJoins().size() == 1) {
+            Expression<?> source = metadata.getJoins().get(0).getTarget();
+            Iterator<?> iterator = iterables.get(source).iterator();
+            if (metadata.getWhere() == null) {
+                return iterator;
+            }
+            final Evaluator<List<?>> evaluator = (Evaluator) evaluatorFactory
+                    .createEvaluator(metadata, source, metadata.getWhere());
+            return Iterators.concat(Iterators.transform(Iterators.partition(iterator, STREAM_CHUNK_SIZE),
+                    new Function<List<?>, Iterator<?>>() {
+                @Override
+                public Iterator<?> apply(List<?> chunk) {
+                    return evaluator.evaluate(chunk).iterator();
+                }
+            }));
+        }
+
+        List<Expression<?>> roots = new ArrayList<Expression<?>>(metadata.getJoins().size());
+        List<Iterable<?>> iterableList = new ArrayList<Iterable<?>>(metadata.getJoins().size());
+        for (JoinExpression join : metadata.getJoins()) {
+            if (join.getType() == JoinType.DEFAULT) {
+                roots.add(join.getTarget());
+                iterableList.add(iterables.get(join.getTarget()));
             }
-            if (list.isEmpty()) {
-                return list;
+        }
+        if (metadata.getWhere() != null && roots.size() == metadata.getJoins().size()) {
+            Iterator<Object[]> rows = hashJoinEvaluator.stream(metadata, roots, iterableList, metadata.getWhere(),
+                    STREAM_CHUNK_SIZE);
+            if (rows != null) {
+                return rows;
             }
         }
+        // chunks of the first source are evaluated against the other sources
+        final Evaluator<List<Object[]>> ev = evaluatorFactory.createEvaluator(metadata, metadata.getJoins(), metadata.getWhere());
+        final Object[] args = iterableList.toArray();
+        return Iterators.concat(Iterators.transform(Iterators.partition(iterableList.get(0).iterator(), STREAM_CHUNK_SIZE),
+                new Function<List<?>, Iterator<?>>() {
+            @Override
+            public Iterator<?> apply(List<?> chunk) {
+                Object[] chunkArgs = args.clone();
+                chunkArgs[0] = chunk;
+                return ev.evaluate(chunkArgs).iterator();
+            }
+        }));
+    }
 
-        // distinct
-        if (metadata.isDistinct()) {
-            list = distinct(list);
+    private List<Expression<?>> getSources(QueryMetadata metadata) {
+        List<Expression<?>> sources = new ArrayList<Expression<?>>(metadata.getJoins().size());
+        for (JoinExpression join : metadata.getJoins()) {
+            if (join.getType() == JoinType.DEFAULT) {
+                sources.add(join.getTarget());
+            } else {
+                Operation target = (Operation) join.getTarget();
+                sources.add(target.getArg(1));
+            }
         }
+        return sources;
+    }
 
-        return list;
+    private <T> List<T> inParallel(List<?> list, final Function<List<?>, List<T>> function) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        if (list.size() < 2 * MIN_PARTITION_SIZE || parallelism < 2) {
+            return function.apply(list);
+        }
+        int partitionSize = Math.max(MIN_PARTITION_SIZE, (list.size() + parallelism - 1) / parallelism);
+        ExecutorService executorService = executor != null ? executor : getDefaultExecutor();
+        List<Future<List<T>>> futures = new ArrayList<Future<List<T>>>();
+        for (final List<?> partition : Lists.partition(list, partitionSize)) {
+            futures.add(executorService.submit(new Callable<List<T>>() {
+                @Override
+                public List<T> call() {
+                    return function.apply(partition);
+                }
+            }));
+        }
+        List<T> rv = new ArrayList<T>(list.size());
+        try {
+            for (Future<List<T>> future : futures) {
+                rv.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryException(e);
+        } catch (ExecutionException e) {
+            for (Future<List<T>> future : futures) {
+                future.cancel(true);
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            } else {
+                throw new QueryException(e.getCause());
+            }
+        }
+        return rv;
+    }
+
+    private static List<?> asList(Iterable<?> iterable) {
+        if (iterable instanceof List) {
+            return (List) iterable;
+        } else {
+            return IteratorAdapter.asList(iterable.iterator());
+        }
+    }
+
+    private static boolean isAggregation(@Nullable Expression<?> projection) {
+        return projection instanceof Operation && Ops.aggOps.contains(((Operation) projection).getOperator());
+    }
+
+    private static boolean isAggregation(QueryMetadata metadata) {
+        return isGrouped(metadata) || isAggregation(metadata.getProjection());
+    }
 
+    private static boolean isGrouped(QueryMetadata metadata) {
+        return !metadata.getGroupBy().isEmpty() || metadata.getHaving() != null;
     }
 
     private void order(QueryMetadata metadata, List<Expression<?>> sources, List<?> list) {
@@ -212,18 +499,84 @@ public class DefaultQueryEngine implements QueryEngine {
         Collections.sort(list, new MultiComparator(orderEvaluator, directions));
     }
 
-    private List<?> project(QueryMetadata metadata, List<Expression<?>> sources, List<?> list) {
+    private List<?> order(QueryMetadata metadata, List<Expression<?>> sources, Iterator<?> rows,
+            long maxSize) {
+        List<OrderSpecifier<?>> orderBy = metadata.getOrderBy();
+        Expression<Object>[] orderByExpr = new Expression[orderBy.size()];
+        boolean[] directions = new boolean[orderBy.size()];
+        for (int i = 0; i < orderBy.size(); i++) {
+            orderByExpr[i] = (Expression) orderBy.get(i).getTarget();
+            directions[i] = orderBy.get(i).getOrder() == Order.ASC;
+        }
+        Expression<?> expr = new ArrayConstructorExpression<Object>(Object[].class, orderByExpr);
+        Evaluator orderEvaluator = evaluatorFactory.create(metadata, sources, expr);
+        EvaluatorFunction<Object, Object[]> keys = new EvaluatorFunction<Object, Object[]>(orderEvaluator);
+        final MultiComparator<Object> comparator = new MultiComparator<Object>(orderEvaluator, directions);
+        // ties are ordered by position to keep the sort stable
+        Comparator<Object[]> entryComparator = new Comparator<Object[]>() {
+            @Override
+            public int compare(Object[] o1, Object[] o2) {
+                int rv = comparator.innerCompare((Object[]) o1[0], (Object[]) o2[0]);
+                if (rv == 0) {
+                    rv = ((Long) o1[2]).compareTo((Long) o2[2]);
+                }
+                return rv;
+            }
+        };
+        List<Object[]> entries;
+        long position = 0;
+        if (maxSize >= 0 && maxSize < Integer.MAX_VALUE) {
+            // bounded heap with the worst entry at the head
+            PriorityQueue<Object[]> heap = new PriorityQueue<Object[]>((int) maxSize + 1,
+                    Collections.reverseOrder(entryComparator));
+            while (rows.hasNext() && maxSize > 0) {
+                Object row = rows.next();
+                heap.add(new Object[]{keys.apply(row), row, position++});
+                if (heap.size() > maxSize) {
+                    heap.poll();
+                }
+            }
+            entries = new ArrayList<Object[]>(heap);
+        } else {
+            entries = new ArrayList<Object[]>();
+            while (rows.hasNext()) {
+                Object row = rows.next();
+                entries.add(new Object[]{keys.apply(row), row, position++});
+            }
+        }
+        Collections.sort(entries, entryComparator);
+        List<Object> rv = new ArrayList<Object>(entries.size());
+        for (Object[] entry : entries) {
+            rv.add(entry[1]);
+        }
+        return rv;
+    }
+
+    private List<?> project(QueryMetadata metadata, List<Expression<?>> sources, List<?> list,
+            boolean parallel) {
         Expression<?> projection = metadata.getProjection();
         Operator aggregator = null;
-        if (projection instanceof Operation && Ops.aggOps.contains(((Operation) projection).getOperator())) {
+        if (isAggregation(projection)) {
             Operation<?> aggregation = (Operation<?>) projection;
             aggregator = aggregation.getOperator();
             projection = aggregation.getArg(0);
         }
         Evaluator projectionEvaluator = evaluatorFactory.create(metadata, sources, projection);
-        EvaluatorFunction transformer = new EvaluatorFunction(projectionEvaluator);
-        List target = new ArrayList();
-        Iterators.addAll(target, Iterators.transform(list.iterator(), transformer));
+        final EvaluatorFunction transformer = new EvaluatorFunction(projectionEvaluator);
+        List target;
+        if (parallel) {
+            target = inParallel(list, new Function<List<?>, List<Object>>() {
+                @Override
+                public List<Object> apply(List<?> partition) {
+                    List<Object> rv = new ArrayList<Object>(partition.size());
+                    Iterators.addAll(rv, Iterators.transform(partition.iterator(), transformer));
+                    return rv;
+                }
+            });
+        } else {
+            target = new ArrayList();
+            Iterators.addAll(target, Iterators.transform(list.iterator(), transformer));
+        }
         if (aggregator != null) {
             return ImmutableList.of(CollQueryFunctions.aggregate(target, projection, aggregator));
         } else {
@@ -231,6 +584,4 @@ public class DefaultQueryEngine implements QueryEngine {
         }
     }
 
-
-
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+/**
+ * {@code EvaluationMode} defines how {@link DefaultQueryEngine} evaluates queries
+ */
+public enum EvaluationMode {
+
+    /**
+     * Filter, order and project the full source contents into lists
+     */
+    DEFAULT,
+
+    /**
+     * Filter and project lazily and stop once the limit is reached, ordered queries
+     * with a limit keep only the top rows
+     */
+    STREAMING,
+
+    /**
+     * Filter and project partitions of the first source in parallel and merge the results
+     */
+    PARALLEL
+
+}
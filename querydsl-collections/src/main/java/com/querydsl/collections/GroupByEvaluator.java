@@ -0,0 +1,314 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+import com.mysema.codegen.Evaluator;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.group.GroupBy;
+import com.querydsl.core.group.GroupCollector;
+import com.querydsl.core.support.ReplaceVisitor;
+import com.querydsl.core.types.*;
+import com.querydsl.core.util.MathUtils;
+
+/**
+ * {@code GroupByEvaluator} evaluates the group by and having clauses of a query
+ *
+ * <p>The filtered rows are grouped in a hash table by the values of the group by expressions.
+ * Each group keeps its first row and one {@link GroupCollector} per aggregate expression of the
+ * projection, the having clause and the order, so the rows of a group are aggregated while
+ * they are read. The aggregates are then replaced by variables and the having clause, the
+ * order and the projection are evaluated against the first row and the aggregated values
+ * of each group.</p>
+ *
+ * <p>Groups are returned in the order of their first row unless the query is ordered.</p>
+ */
+@SuppressWarnings("unchecked")
+final class GroupByEvaluator {
+
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final DefaultEvaluatorFactory evaluatorFactory;
+
+    GroupByEvaluator(DefaultEvaluatorFactory evaluatorFactory) {
+        this.evaluatorFactory = evaluatorFactory;
+    }
+
+    /**
+     * Group the given filtered rows
+     *
+     * @param metadata query metadata
+     * @param sources query sources
+     * @param rows filtered rows
+     * @param order whether the groups should be ordered
+     * @param project whether the groups should be projected
+     * @return grouped rows
+     */
+    List<?> evaluate(QueryMetadata metadata, List<Expression<?>> sources, List<?> rows,
+            boolean order, boolean project) {
+        AggregateReplacer replacer = new AggregateReplacer();
+        Predicate having = metadata.getHaving() != null
+                ? (Predicate) metadata.getHaving().accept(replacer, null) : null;
+        List<OrderSpecifier<?>> orderBy = order ? metadata.getOrderBy() : Collections.<OrderSpecifier<?>>emptyList();
+        Expression<Object>[] orderByExpr = new Expression[orderBy.size()];
+        boolean[] directions = new boolean[orderBy.size()];
+        for (int i = 0; i < orderBy.size(); i++) {
+            orderByExpr[i] = (Expression) orderBy.get(i).getTarget().accept(replacer, null);
+            directions[i] = orderBy.get(i).getOrder() == Order.ASC;
+        }
+        Expression<?> projection = null;
+        if (project) {
+            projection = metadata.getProjection();
+            if (projection == null) {
+                projection = sources.size() == 1 ? sources.get(0) : new ArrayConstructorExpression<Object>(
+                        Object[].class, sources.toArray(new Expression[sources.size()]));
+            }
+            projection = projection.accept(replacer, null);
+        }
+
+        List<Object[]> groups = group(metadata, sources, rows, replacer.aggregates);
+
+        // the aggregated values are bound to variables after the query sources
+        List<Expression<?>> groupSources = new ArrayList<Expression<?>>(sources);
+        groupSources.addAll(replacer.variables);
+        if (having != null) {
+            Evaluator<Boolean> havingEvaluator = evaluatorFactory.create(metadata, groupSources, having);
+            List<Object[]> filtered = new ArrayList<Object[]>(groups.size());
+            for (Object[] group : groups) {
+                if (Boolean.TRUE.equals(havingEvaluator.evaluate(group))) {
+                    filtered.add(group);
+                }
+            }
+            groups = filtered;
+        }
+        if (orderByExpr.length > 0) {
+            Evaluator<Object[]> orderEvaluator = evaluatorFactory.create(metadata, groupSources,
+                    new ArrayConstructorExpression<Object>(Object[].class, orderByExpr));
+            Collections.sort(groups, new MultiComparator<Object[]>(orderEvaluator, directions));
+        }
+        if (projection != null) {
+            Evaluator<?> projectionEvaluator = evaluatorFactory.create(metadata, groupSources, projection);
+            List<Object> rv = new ArrayList<Object>(groups.size());
+            for (Object[] group : groups) {
+                rv.add(projectionEvaluator.evaluate(group));
+            }
+            return rv;
+        } else {
+            return groups;
+        }
+    }
+
+    private List<Object[]> group(QueryMetadata metadata, List<Expression<?>> sources, List<?> rows,
+            List<Operation<?>> aggregates) {
+        int sourceCount = sources.size();
+        int keyCount = metadata.getGroupBy().size();
+        // group by values followed by the arguments of the aggregates
+        List<Expression<?>> values = new ArrayList<Expression<?>>(metadata.getGroupBy());
+        for (Operation<?> aggregate : aggregates) {
+            if (!aggregate.getArgs().isEmpty()) {
+                values.add(aggregate.getArg(0));
+            }
+        }
+        EvaluatorFunction<Object, Object[]> valueFunction = null;
+        if (!values.isEmpty()) {
+            Evaluator<Object[]> valueEvaluator = evaluatorFactory.create(metadata, sources,
+                    new ArrayConstructorExpression<Object>(Object[].class, values.toArray(new Expression[values.size()])));
+            valueFunction = new EvaluatorFunction<Object, Object[]>(valueEvaluator);
+        }
+
+        Map<Object, Object[]> groups = new LinkedHashMap<Object, Object[]>();
+        Map<Object, GroupCollector<Object, ?>[]> collectors = new HashMap<Object, GroupCollector<Object, ?>[]>();
+        for (Object row : rows) {
+            Object[] rowValues = valueFunction != null ? valueFunction.apply(row) : NO_VALUES;
+            Object key;
+            if (keyCount == 1) {
+                key = rowValues[0];
+            } else {
+                key = new ArrayKey(Arrays.copyOf(rowValues, keyCount));
+            }
+            GroupCollector<Object, ?>[] groupCollectors = collectors.get(key);
+            if (groupCollectors == null) {
+                Object[] group = new Object[sourceCount + aggregates.size()];
+                if (sourceCount == 1) {
+                    group[0] = row;
+                } else {
+                    System.arraycopy(row, 0, group, 0, sourceCount);
+                }
+                groupCollectors = new GroupCollector[aggregates.size()];
+                for (int i = 0; i < groupCollectors.length; i++) {
+                    groupCollectors[i] = createCollector(aggregates.get(i));
+                }
+                groups.put(key, group);
+                collectors.put(key, groupCollectors);
+            }
+            int index = keyCount;
+            for (int i = 0; i < groupCollectors.length; i++) {
+                if (aggregates.get(i).getArgs().isEmpty()) {
+                    groupCollectors[i].add(row);
+                } else {
+                    groupCollectors[i].add(rowValues[index++]);
+                }
+            }
+        }
+
+        List<Object[]> rv = new ArrayList<Object[]>(groups.size());
+        for (Map.Entry<Object, Object[]> entry : groups.entrySet()) {
+            Object[] group = entry.getValue();
+            GroupCollector<Object, ?>[] groupCollectors = collectors.get(entry.getKey());
+            for (int i = 0; i < groupCollectors.length; i++) {
+                group[sourceCount + i] = groupCollectors[i].get();
+            }
+            rv.add(group);
+        }
+        return rv;
+    }
+
+    private static GroupCollector<Object, ?> createCollector(Operation<?> aggregate) {
+        Operator operator = aggregate.getOperator();
+        Class<?> type = aggregate.getType();
+        if (operator == Ops.AggOps.SUM_AGG) {
+            return GroupBy.sum((Expression) aggregate.getArg(0)).createGroupCollector();
+        } else if (operator == Ops.AggOps.MIN_AGG) {
+            return new NonNullCollector(GroupBy.min((Expression) aggregate.getArg(0)).createGroupCollector());
+        } else if (operator == Ops.AggOps.MAX_AGG) {
+            return new NonNullCollector(GroupBy.max((Expression) aggregate.getArg(0)).createGroupCollector());
+        } else if (operator == Ops.AggOps.AVG_AGG) {
+            return new AvgCollector((Class) type);
+        } else if (operator == Ops.AggOps.COUNT_AGG || operator == Ops.AggOps.COUNT_ALL_AGG) {
+            return new CountCollector((Class) type, null);
+        } else if (operator == Ops.AggOps.COUNT_DISTINCT_AGG || operator == Ops.AggOps.COUNT_DISTINCT_ALL_AGG) {
+            return new CountCollector((Class) type, new HashSet<Object>());
+        } else {
+            throw new IllegalArgumentException("Unknown operator " + operator);
+        }
+    }
+
+    /**
+     * Replaces aggregate operations with variables
+     */
+    private static class AggregateReplacer extends ReplaceVisitor<Void> {
+
+        private final List<Operation<?>> aggregates = new ArrayList<Operation<?>>();
+
+        private final List<Path<?>> variables = new ArrayList<Path<?>>();
+
+        @Override
+        public Expression<?> visit(Operation<?> expr, Void context) {
+            if (expr.getOperator() instanceof Ops.AggOps) {
+                int index = aggregates.indexOf(expr);
+                if (index == -1) {
+                    index = aggregates.size();
+                    aggregates.add(expr);
+                    variables.add(ExpressionUtils.path(expr.getType(), "_agg" + index));
+                }
+                return variables.get(index);
+            } else {
+                return super.visit(expr, context);
+            }
+        }
+
+    }
+
+    /**
+     * Skips null values
+     */
+    private static class NonNullCollector implements GroupCollector<Object, Object> {
+
+        private final GroupCollector<Object, ?> collector;
+
+        NonNullCollector(GroupCollector<Object, ?> collector) {
+            this.collector = collector;
+        }
+
+        @Override
+        public void add(Object o) {
+            if (o != null) {
+                collector.add(o);
+            }
+        }
+
+        @Override
+        public Object get() {
+            return collector.get();
+        }
+
+    }
+
+    /**
+     * Averages the values of a group the same way as {@link CollQueryFunctions#aggregate}
+     */
+    private static class AvgCollector implements GroupCollector<Object, Number> {
+
+        private final Class<Number> type;
+
+        private double sum;
+
+        private long count;
+
+        AvgCollector(Class<Number> type) {
+            this.type = type;
+        }
+
+        @Override
+        public void add(Object o) {
+            if (o != null) {
+                sum += ((Number) o).doubleValue();
+            }
+            count++;
+        }
+
+        @Override
+        public Number get() {
+            return MathUtils.cast(sum / count, type);
+        }
+
+    }
+
+    /**
+     * Counts the values or the distinct values of a group
+     */
+    private static class CountCollector implements GroupCollector<Object, Number> {
+
+        private final Class<Number> type;
+
+        @Nullable
+        private final Set<Object> distinct;
+
+        private long count;
+
+        CountCollector(Class<Number> type, @Nullable Set<Object> distinct) {
+            this.type = type;
+            this.distinct = distinct;
+        }
+
+        @Override
+        public void add(Object o) {
+            if (distinct == null) {
+                count++;
+            } else if (distinct.add(o instanceof Object[] ? new ArrayKey((Object[]) o) : o)) {
+                count++;
+            }
+        }
+
+        @Override
+        public Number get() {
+            return MathUtils.cast(count, type);
+        }
+
+    }
+
+}
@@ -0,0 +1,551 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+import com.mysema.codegen.Evaluator;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.support.PathsExtractor;
+import com.querydsl.core.types.*;
+
+/**
+ * {@code HashJoinEvaluator} evaluates the cross product of multiple query sources
+ * with equality conditions between the sources as hash joins.
+ *
+ * <p>The filter is split into its conjuncts. Conjuncts on a single source are applied to the
+ * source before joining, equality conditions between two sources are used as join keys and
+ * the remaining conjuncts are applied to the joined rows. The sources are joined smallest first,
+ * preferring sources which are connected to the already joined sources by a join key. The hash table
+ * of each join is built on the smaller side.</p>
+ *
+ * <p>The rows are returned in the same order as the nested loop evaluation would return them.</p>
+ *
+ * <p>When streaming, the first source is the probe side: the other sources are filtered and hashed
+ * once, the first source is read and joined in chunks.</p>
+ */
+final class HashJoinEvaluator {
+
+    private static final Object NO_KEY = new Object();
+
+    private final DefaultEvaluatorFactory evaluatorFactory;
+
+    HashJoinEvaluator(DefaultEvaluatorFactory evaluatorFactory) {
+        this.evaluatorFactory = evaluatorFactory;
+    }
+
+    /**
+     * Evaluate the filtered cross product of the given sources
+     *
+     * @param metadata query metadata
+     * @param sources query sources
+     * @param iterables contents of the sources
+     * @param filter filter of the query
+     * @param ordered whether the rows should be returned in nested loop order
+     * @return matching rows or null, if no join keys were found
+     */
+    @Nullable
+    List<Object[]> evaluate(QueryMetadata metadata, List<Expression<?>> sources,
+            List<Iterable<?>> iterables, Predicate filter, boolean ordered) {
+        int size = sources.size();
+        if (size < 2 || size > 31) {
+            return null;
+        }
+        List<List<Predicate>> localFilters = new ArrayList<List<Predicate>>(size);
+        List<JoinKey> joinKeys = new ArrayList<JoinKey>();
+        List<Predicate> residual = new ArrayList<Predicate>();
+        if (!classify(sources, filter, localFilters, joinKeys, residual)) {
+            return null;
+        }
+
+        // filter sources
+        List<List<?>> lists = new ArrayList<List<?>>(size);
+        for (int i = 0; i < size; i++) {
+            lists.add(filter(metadata, sources.get(i), iterables.get(i), localFilters.get(i)));
+        }
+
+        // join
+        int first = smallest(lists, 0, ~0);
+        List<int[]> rows = new ArrayList<int[]>(lists.get(first).size());
+        for (int i = 0; i < lists.get(first).size(); i++) {
+            int[] row = new int[size];
+            row[first] = i;
+            rows.add(row);
+        }
+        int joined = 1 << first;
+        while (joined != (1 << size) - 1 && !rows.isEmpty()) {
+            int connected = 0;
+            for (JoinKey joinKey : joinKeys) {
+                connected |= joinKey.next(joined);
+            }
+            int next = connected != 0 ? smallest(lists, joined, connected) : smallest(lists, joined, ~0);
+            List<JoinKey> keys = new ArrayList<JoinKey>();
+            for (JoinKey joinKey : joinKeys) {
+                if (joinKey.next(joined) == 1 << next) {
+                    keys.add(joinKey);
+                }
+            }
+            rows = join(metadata, sources, lists, rows, joined, next, keys);
+            joined |= 1 << next;
+        }
+
+        Evaluator<List<Object[]>> residualFilter = !residual.isEmpty()
+                ? evaluatorFactory.createRowEvaluator(metadata, sources, ExpressionUtils.allOf(residual)) : null;
+        return values(lists, rows, residualFilter, ordered);
+    }
+
+    /**
+     * Evaluate the filtered cross product of the given sources lazily
+     *
+     * <p>The hash tables are built on the other sources, the first source is read in chunks which
+     * are probed against them. The rows are returned in nested loop order.</p>
+     *
+     * @param metadata query metadata
+     * @param sources query sources
+     * @param iterables contents of the sources
+     * @param filter filter of the query
+     * @param chunkSize amount of elements of the first source to be joined at once
+     * @return matching rows or null, if no join keys were found
+     */
+    @Nullable
+    Iterator<Object[]> stream(final QueryMetadata metadata, final List<Expression<?>> sources,
+            List<Iterable<?>> iterables, Predicate filter, int chunkSize) {
+        final int size = sources.size();
+        if (size < 2 || size > 31) {
+            return null;
+        }
+        List<List<Predicate>> localFilters = new ArrayList<List<Predicate>>(size);
+        List<JoinKey> joinKeys = new ArrayList<JoinKey>();
+        List<Predicate> residual = new ArrayList<Predicate>();
+        if (!classify(sources, filter, localFilters, joinKeys, residual)) {
+            return null;
+        }
+
+        // filter the build sides, the first source is filtered per chunk
+        final List<List<?>> lists = new ArrayList<List<?>>(size);
+        lists.add(null);
+        for (int i = 1; i < size; i++) {
+            lists.add(filter(metadata, sources.get(i), iterables.get(i), localFilters.get(i)));
+        }
+        final Evaluator<List<Object>> firstFilter = !localFilters.get(0).isEmpty()
+                ? evaluatorFactory.<Object>createEvaluator(metadata, sources.get(0),
+                        ExpressionUtils.allOf(localFilters.get(0))) : null;
+        final Evaluator<List<Object[]>> residualFilter = !residual.isEmpty()
+                ? evaluatorFactory.createRowEvaluator(metadata, sources, ExpressionUtils.allOf(residual)) : null;
+
+        // plan the join order starting from the first source and hash the build sides
+        final List<Step> steps = new ArrayList<Step>(size - 1);
+        int joined = 1;
+        while (joined != (1 << size) - 1) {
+            int connected = 0;
+            for (JoinKey joinKey : joinKeys) {
+                connected |= joinKey.next(joined);
+            }
+            int next = connected != 0 ? smallest(lists, joined, connected) : smallest(lists, joined, ~0);
+            List<JoinKey> keys = new ArrayList<JoinKey>();
+            for (JoinKey joinKey : joinKeys) {
+                if (joinKey.next(joined) == 1 << next) {
+                    keys.add(joinKey);
+                }
+            }
+            Step step = new Step(next, keys.size());
+            List<List<Object>> elementValues = new ArrayList<List<Object>>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                JoinKey key = keys.get(i);
+                boolean leftJoined = (joined & (1 << key.leftSource)) != 0;
+                step.rowSources[i] = leftJoined ? key.leftSource : key.rightSource;
+                Expression<?> rowExpr = leftJoined ? key.left : key.right;
+                if (step.rowSources[i] == 0) {
+                    step.firstValues.add(evaluatorFactory.createValueEvaluator(metadata, sources.get(0),
+                            rowExpr, NO_KEY));
+                    step.rowValues.add(null);
+                } else {
+                    step.firstValues.add(null);
+                    step.rowValues.add(values(metadata, sources, lists, step.rowSources[i], rowExpr));
+                }
+                elementValues.add(values(metadata, sources, lists, next, leftJoined ? key.right : key.left));
+            }
+            if (!keys.isEmpty()) {
+                step.table = table(elementValues);
+            }
+            steps.add(step);
+            joined |= 1 << next;
+        }
+
+        return Iterators.concat(Iterators.transform(Iterators.partition(iterables.get(0).iterator(), chunkSize),
+                new Function<List<?>, Iterator<Object[]>>() {
+            @Override
+            public Iterator<Object[]> apply(List<?> chunk) {
+                List<List<?>> chunkLists = new ArrayList<List<?>>(lists);
+                List<?> first = firstFilter != null ? firstFilter.evaluate(chunk) : chunk;
+                chunkLists.set(0, first);
+                List<int[]> rows = new ArrayList<int[]>(first.size());
+                for (int i = 0; i < first.size(); i++) {
+                    rows.add(new int[size]);
+                    rows.get(i)[0] = i;
+                }
+                for (Step step : steps) {
+                    if (rows.isEmpty()) {
+                        break;
+                    }
+                    rows = step.join(chunkLists, first, rows);
+                }
+                return values(chunkLists, rows, residualFilter, true).iterator();
+            }
+        }));
+    }
+
+    /**
+     * Split the filter into local filters per source, join keys and residual conjuncts
+     *
+     * @return false, if unknown sources are referenced
+     */
+    private static boolean classify(List<Expression<?>> sources, Predicate filter,
+            List<List<Predicate>> localFilters, List<JoinKey> joinKeys, List<Predicate> residual) {
+        Map<Expression<?>, Integer> sourceIndex = new HashMap<Expression<?>, Integer>();
+        for (int i = 0; i < sources.size(); i++) {
+            sourceIndex.put(sources.get(i), i);
+            localFilters.add(new ArrayList<Predicate>());
+        }
+        for (Predicate conjunct : conjuncts(filter, new ArrayList<Predicate>())) {
+            int mask = sourceMask(conjunct, sourceIndex);
+            if (mask == -1) {
+                return false;
+            } else if (Integer.bitCount(mask) == 1) {
+                localFilters.get(Integer.numberOfTrailingZeros(mask)).add(conjunct);
+            } else {
+                JoinKey joinKey = joinKey(conjunct, sourceIndex);
+                if (joinKey != null) {
+                    joinKeys.add(joinKey);
+                } else {
+                    residual.add(conjunct);
+                }
+            }
+        }
+        return !joinKeys.isEmpty();
+    }
+
+    private List<?> filter(QueryMetadata metadata, Expression<?> source, Iterable<?> iterable,
+            List<Predicate> localFilters) {
+        if (!localFilters.isEmpty()) {
+            return evaluatorFactory.createEvaluator(metadata, source, ExpressionUtils.allOf(localFilters))
+                    .evaluate(iterable);
+        } else if (iterable instanceof List) {
+            return (List<?>) iterable;
+        } else {
+            List<Object> list = new ArrayList<Object>();
+            for (Object o : iterable) {
+                list.add(o);
+            }
+            return list;
+        }
+    }
+
+    private static List<Object[]> values(List<List<?>> lists, List<int[]> rows,
+            @Nullable Evaluator<List<Object[]>> residualFilter, boolean ordered) {
+        if (ordered) {
+            Collections.sort(rows, new Comparator<int[]>() {
+                @Override
+                public int compare(int[] o1, int[] o2) {
+                    for (int i = 0; i < o1.length; i++) {
+                        if (o1[i] != o2[i]) {
+                            return o1[i] < o2[i] ? -1 : 1;
+                        }
+                    }
+                    return 0;
+                }
+            });
+        }
+        List<Object[]> rv = new ArrayList<Object[]>(rows.size());
+        for (int[] row : rows) {
+            Object[] values = new Object[row.length];
+            for (int i = 0; i < row.length; i++) {
+                values[i] = lists.get(i).get(row[i]);
+            }
+            rv.add(values);
+        }
+        if (residualFilter != null && !rv.isEmpty()) {
+            rv = residualFilter.evaluate(rv);
+        }
+        return rv;
+    }
+
+    private List<int[]> join(QueryMetadata metadata, List<Expression<?>> sources, List<List<?>> lists,
+            List<int[]> rows, int joined, int next, List<JoinKey> keys) {
+        List<?> elements = lists.get(next);
+        List<int[]> rv = new ArrayList<int[]>();
+        if (keys.isEmpty()) {
+            for (int[] row : rows) {
+                for (int i = 0; i < elements.size(); i++) {
+                    rv.add(with(row, next, i));
+                }
+            }
+            return rv;
+        }
+
+        // evaluate the key values once per source element
+        int[] rowSources = new int[keys.size()];
+        List<List<Object>> rowValues = new ArrayList<List<Object>>(keys.size());
+        List<List<Object>> elementValues = new ArrayList<List<Object>>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            JoinKey key = keys.get(i);
+            boolean leftJoined = (joined & (1 << key.leftSource)) != 0;
+            rowSources[i] = leftJoined ? key.leftSource : key.rightSource;
+            rowValues.add(values(metadata, sources, lists, rowSources[i], leftJoined ? key.left : key.right));
+            elementValues.add(values(metadata, sources, lists, next, leftJoined ? key.right : key.left));
+        }
+
+        if (rows.size() <= elements.size()) {
+            Map<Object, List<int[]>> table = new HashMap<Object, List<int[]>>();
+            for (int[] row : rows) {
+                Object key = rowKey(rowValues, rowSources, row);
+                if (key != NO_KEY) {
+                    List<int[]> bucket = table.get(key);
+                    if (bucket == null) {
+                        bucket = new ArrayList<int[]>(1);
+                        table.put(key, bucket);
+                    }
+                    bucket.add(row);
+                }
+            }
+            for (int i = 0; i < elements.size(); i++) {
+                Object key = elementKey(elementValues, i);
+                List<int[]> bucket = key != NO_KEY ? table.get(key) : null;
+                if (bucket != null) {
+                    for (int[] row : bucket) {
+                        rv.add(with(row, next, i));
+                    }
+                }
+            }
+        } else {
+            probe(rows, rowValues, rowSources, table(elementValues), next, rv);
+        }
+        return rv;
+    }
+
+    private static Map<Object, List<Integer>> table(List<List<Object>> elementValues) {
+        Map<Object, List<Integer>> table = new HashMap<Object, List<Integer>>();
+        for (int i = 0; i < elementValues.get(0).size(); i++) {
+            Object key = elementKey(elementValues, i);
+            if (key != NO_KEY) {
+                List<Integer> bucket = table.get(key);
+                if (bucket == null) {
+                    bucket = new ArrayList<Integer>(1);
+                    table.put(key, bucket);
+                }
+                bucket.add(i);
+            }
+        }
+        return table;
+    }
+
+    private static void probe(List<int[]> rows, List<List<Object>> rowValues, int[] rowSources,
+            Map<Object, List<Integer>> table, int next, List<int[]> rv) {
+        for (int[] row : rows) {
+            Object key = rowKey(rowValues, rowSources, row);
+            List<Integer> bucket = key != NO_KEY ? table.get(key) : null;
+            if (bucket != null) {
+                for (Integer i : bucket) {
+                    rv.add(with(row, next, i));
+                }
+            }
+        }
+    }
+
+    private List<Object> values(QueryMetadata metadata, List<Expression<?>> sources, List<List<?>> lists,
+            int source, Expression<?> expr) {
+        return evaluatorFactory.createValueEvaluator(metadata, sources.get(source), expr, NO_KEY)
+                .evaluate(lists.get(source));
+    }
+
+    private static Object rowKey(List<List<Object>> values, int[] sources, int[] row) {
+        if (values.size() == 1) {
+            return values.get(0).get(row[sources[0]]);
+        }
+        Object[] key = new Object[values.size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = values.get(i).get(row[sources[i]]);
+            if (key[i] == NO_KEY) {
+                return NO_KEY;
+            }
+        }
+        return new ArrayKey(key);
+    }
+
+    private static Object elementKey(List<List<Object>> values, int index) {
+        if (values.size() == 1) {
+            return values.get(0).get(index);
+        }
+        Object[] key = new Object[values.size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = values.get(i).get(index);
+            if (key[i] == NO_KEY) {
+                return NO_KEY;
+            }
+        }
+        return new ArrayKey(key);
+    }
+
+    private static int[] with(int[] row, int source, int index) {
+        int[] rv = row.clone();
+        rv[source] = index;
+        return rv;
+    }
+
+    private static int smallest(List<List<?>> lists, int joined, int candidates) {
+        int rv = -1;
+        for (int i = 0; i < lists.size(); i++) {
+            if ((joined & (1 << i)) == 0 && (candidates & (1 << i)) != 0
+                    && (rv == -1 || lists.get(i).size() < lists.get(rv).size())) {
+                rv = i;
+            }
+        }
+        return rv;
+    }
+
+    private static List<Predicate> conjuncts(Predicate predicate, List<Predicate> conjuncts) {
+        if (predicate instanceof Operation && ((Operation<?>) predicate).getOperator() == Ops.AND
+                && ((Operation<?>) predicate).getArg(0) instanceof Predicate
+                && ((Operation<?>) predicate).getArg(1) instanceof Predicate) {
+            conjuncts((Predicate) ((Operation<?>) predicate).getArg(0), conjuncts);
+            conjuncts((Predicate) ((Operation<?>) predicate).getArg(1), conjuncts);
+        } else {
+            conjuncts.add(predicate);
+        }
+        return conjuncts;
+    }
+
+    /**
+     * @return bit mask of the referenced sources or -1 if unknown sources are referenced
+     */
+    private static int sourceMask(Expression<?> expr, Map<Expression<?>, Integer> sourceIndex) {
+        List<Path<?>> paths = new ArrayList<Path<?>>();
+        expr.accept(PathsExtractor.DEFAULT, paths);
+        int mask = 0;
+        for (Path<?> path : paths) {
+            Integer index = sourceIndex.get(path.getRoot());
+            if (index == null) {
+                return -1;
+            }
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    @Nullable
+    private static JoinKey joinKey(Predicate predicate, Map<Expression<?>, Integer> sourceIndex) {
+        if (!(predicate instanceof Operation) || ((Operation<?>) predicate).getOperator() != Ops.EQ) {
+            return null;
+        }
+        Operation<?> operation = (Operation<?>) predicate;
+        Expression<?> left = operation.getArg(0);
+        Expression<?> right = operation.getArg(1);
+        // hashing follows equals semantics, which differs from == for mixed and floating point types
+        if (!left.getType().equals(right.getType())
+            || Float.class.equals(left.getType()) || Double.class.equals(left.getType())) {
+            return null;
+        }
+        int leftMask = sourceMask(left, sourceIndex);
+        int rightMask = sourceMask(right, sourceIndex);
+        if (Integer.bitCount(leftMask) != 1 || Integer.bitCount(rightMask) != 1 || leftMask == rightMask) {
+            return null;
+        }
+        return new JoinKey(Integer.numberOfTrailingZeros(leftMask), left,
+                Integer.numberOfTrailingZeros(rightMask), right);
+    }
+
+    /**
+     * {@code Step} joins the next source to the rows of a streamed chunk
+     */
+    private static final class Step {
+
+        private final int next;
+
+        private final int[] rowSources;
+
+        private final List<List<Object>> rowValues;
+
+        private final List<Evaluator<List<Object>>> firstValues;
+
+        @Nullable
+        private Map<Object, List<Integer>> table;
+
+        Step(int next, int keys) {
+            this.next = next;
+            this.rowSources = new int[keys];
+            this.rowValues = new ArrayList<List<Object>>(keys);
+            this.firstValues = new ArrayList<Evaluator<List<Object>>>(keys);
+        }
+
+        List<int[]> join(List<List<?>> lists, List<?> first, List<int[]> rows) {
+            List<int[]> rv = new ArrayList<int[]>();
+            if (table == null) {
+                int elements = lists.get(next).size();
+                for (int[] row : rows) {
+                    for (int i = 0; i < elements; i++) {
+                        rv.add(with(row, next, i));
+                    }
+                }
+                return rv;
+            }
+            List<List<Object>> values = new ArrayList<List<Object>>(rowValues);
+            for (int i = 0; i < rowSources.length; i++) {
+                if (rowSources[i] == 0) {
+                    values.set(i, firstValues.get(i).evaluate(first));
+                }
+            }
+            probe(rows, values, rowSources, table, next, rv);
+            return rv;
+        }
+
+    }
+
+    /**
+     * {@code JoinKey} is an equality condition between two sources
+     */
+    private static final class JoinKey {
+
+        private final int leftSource, rightSource;
+
+        private final Expression<?> left, right;
+
+        JoinKey(int leftSource, Expression<?> left, int rightSource, Expression<?> right) {
+            this.leftSource = leftSource;
+            this.left = left;
+            this.rightSource = rightSource;
+            this.right = right;
+        }
+
+        /**
+         * @return bit mask of the source to be joined next with this key or 0
+         */
+        int next(int joined) {
+            boolean leftJoined = (joined & (1 << leftSource)) != 0;
+            boolean rightJoined = (joined & (1 << rightSource)) != 0;
+            if (leftJoined && !rightJoined) {
+                return 1 << rightSource;
+            } else if (rightJoined && !leftJoined) {
+                return 1 << leftSource;
+            } else {
+                return 0;
+            }
+        }
+
+    }
+
+}
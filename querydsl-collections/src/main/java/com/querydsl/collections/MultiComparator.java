@@ -51,7 +51,7 @@ public class MultiComparator<T> implements Comparator<T>, Serializable {
         }
     }
 
-    private int innerCompare(Object[] o1, Object[] o2) {
+    int innerCompare(Object[] o1, Object[] o2) {
         for (int i = 0; i < o1.length; i++) {
             int res;
             if (o1[i] == null) {
@@ -56,6 +56,23 @@ public class DistinctTest extends AbstractQueryTest {
         assertEquals(3, CollQueryFactory.from(intVar2, list2).distinct().fetchCount());
     }
 
+    @Test
+    public void limit_and_offset() {
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            assertEquals(Arrays.asList(2, 3),
+                CollQueryFactory.from(intVar1, list1).distinct().offset(1).limit(2).mode(mode).fetch());
+            assertEquals(Arrays.asList(4, 3),
+                CollQueryFactory.from(intVar1, list1).distinct().orderBy(intVar1.desc()).limit(2).mode(mode).fetch());
+        }
+    }
+
+    @Test
+    public void nulls_in_rows() {
+        List<Integer> list = Arrays.asList(null, 1, null);
+        assertEquals(4, CollQueryFactory.from(intVar1, list).from(intVar2, Arrays.asList(2, null, 2))
+            .distinct().fetchCount());
+    }
+
     @Test
     public void null_() {
         assertEquals(Arrays.asList(null, 1),
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Iterators;
+import com.mysema.commons.lang.CloseableIterator;
+
+public class EvaluationModeTest extends AbstractQueryTest {
+
+    private List<Cat> cats;
+
+    private int pulled;
+
+    private final Iterable<Cat> counting = new Iterable<Cat>() {
+        @Override
+        public Iterator<Cat> iterator() {
+            final Iterator<Cat> iterator = cats.iterator();
+            return new Iterator<Cat>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+                @Override
+                public Cat next() {
+                    pulled++;
+                    return iterator.next();
+                }
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    };
+
+    @Before
+    public void setUp() {
+        super.setUp();
+        cats = new ArrayList<Cat>();
+        for (int i = 0; i < 5000; i++) {
+            cats.add(new Cat("Cat" + (i % 100), i));
+        }
+        pulled = 0;
+    }
+
+    @Test
+    public void filter() {
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            assertEquals(1000, CollQueryFactory.from(cat, cats).where(cat.id.mod(5).eq(0))
+                    .mode(mode).fetch().size());
+        }
+    }
+
+    @Test
+    public void order_limit_offset() {
+        List<String> expected = CollQueryFactory.from(cat, cats)
+                .where(cat.id.gt(10))
+                .orderBy(cat.name.desc(), cat.id.asc())
+                .offset(20).limit(15)
+                .select(cat.name.concat(cat.id.stringValue())).fetch();
+        assertEquals(15, expected.size());
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            assertEquals(expected, CollQueryFactory.from(cat, cats)
+                    .where(cat.id.gt(10))
+                    .orderBy(cat.name.desc(), cat.id.asc())
+                    .offset(20).limit(15)
+                    .select(cat.name.concat(cat.id.stringValue()))
+                    .mode(mode).fetch());
+        }
+    }
+
+    @Test
+    public void order_is_stable() {
+        List<Cat> expected = CollQueryFactory.from(cat, cats).orderBy(cat.name.asc()).limit(120).fetch();
+        assertEquals(expected, CollQueryFactory.from(cat, cats).orderBy(cat.name.asc()).limit(120)
+                .streaming().fetch());
+    }
+
+    @Test
+    public void distinct() {
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            assertEquals(100, CollQueryFactory.from(cat, cats).distinct()
+                    .select(cat.name).mode(mode).fetch().size());
+        }
+    }
+
+    @Test
+    public void multiple_sources() {
+        List<Cat> others = cats.subList(0, 50);
+        List<Cat> expected = CollQueryFactory.from(cat, cats).from(otherCat, others)
+                .where(cat.name.eq(otherCat.name), cat.id.lt(otherCat.id.add(200)))
+                .orderBy(cat.id.desc())
+                .fetch();
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            assertEquals(expected, CollQueryFactory.from(cat, cats).from(otherCat, others)
+                    .where(cat.name.eq(otherCat.name), cat.id.lt(otherCat.id.add(200)))
+                    .orderBy(cat.id.desc())
+                    .mode(mode).fetch());
+            assertEquals(expected, CollQueryFactory.from(cat, cats).from(otherCat, others)
+                    .where(cat.name.eq(otherCat.name).or(cat.name.isNull()), cat.id.lt(otherCat.id.add(200)))
+                    .orderBy(cat.id.desc())
+                    .mode(mode).fetch());
+        }
+    }
+
+    @Test
+    public void aggregation() {
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            assertEquals(Integer.valueOf(4999), CollQueryFactory.from(cat, cats)
+                    .select(cat.id.max()).mode(mode).fetchOne());
+        }
+    }
+
+    @Test
+    public void streaming_stops_early() {
+        List<Cat> rv = new CollQuery<Void>().from(cat, counting)
+                .where(cat.name.startsWith("Cat1"))
+                .limit(3).select(cat)
+                .streaming().fetch();
+        assertEquals(3, rv.size());
+        assertTrue(pulled < cats.size());
+    }
+
+    @Test
+    public void streaming_join_stops_early() {
+        List<Cat> others = cats.subList(0, 50);
+        List<Cat> expected = CollQueryFactory.from(cat, cats).from(otherCat, others)
+                .where(cat.name.eq(otherCat.name))
+                .limit(3).select(cat).fetch();
+        List<Cat> rv = new CollQuery<Void>().from(cat, counting).from(otherCat, others)
+                .where(cat.name.eq(otherCat.name))
+                .limit(3).select(cat)
+                .streaming().fetch();
+        assertEquals(expected, rv);
+        assertTrue(pulled < cats.size());
+    }
+
+    @Test
+    public void streaming_iterate() {
+        CloseableIterator<Cat> iterator = new CollQuery<Void>().from(cat, counting)
+                .where(cat.id.mod(2).eq(0))
+                .select(cat).streaming().iterate();
+        assertEquals(0, cats.indexOf(iterator.next()));
+        assertEquals(2, cats.indexOf(iterator.next()));
+        assertTrue(pulled < cats.size());
+        assertEquals(2498, Iterators.size(iterator));
+    }
+
+    @Test
+    public void engine_default() {
+        QueryEngine engine = new DefaultQueryEngine(new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT),
+                EvaluationMode.STREAMING);
+        List<Cat> rv = new CollQuery<Void>(engine).from(cat, counting)
+                .limit(1).select(cat).fetch();
+        assertEquals(1, rv.size());
+        assertTrue(pulled < cats.size());
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.cache.CacheStats;
+import com.mysema.codegen.ECJEvaluatorFactory;
+import com.querydsl.core.types.dsl.Param;
+
+public class EvaluatorCacheTest extends AbstractQueryTest {
+
+    private DefaultEvaluatorFactory evaluatorFactory;
+
+    private QueryEngine queryEngine;
+
+    @Before
+    public void setUp() {
+        super.setUp();
+        evaluatorFactory = new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT);
+        queryEngine = new DefaultQueryEngine(evaluatorFactory);
+    }
+
+    private CollQuery<?> newQuery() {
+        return new CollQuery<Void>(queryEngine);
+    }
+
+    @Test
+    public void same_shape_with_different_constants() {
+        assertEquals(Arrays.asList(c1), newQuery().from(cat, cats).where(cat.name.eq("Kitty")).select(cat).fetch());
+        CacheStats stats = evaluatorFactory.getCacheStats();
+        assertEquals(1, stats.missCount());
+        assertEquals(0, stats.hitCount());
+        assertTrue(stats.totalLoadTime() > 0);
+
+        assertEquals(Arrays.asList(c2), newQuery().from(cat, cats).where(cat.name.eq("Bob")).select(cat).fetch());
+        assertEquals(Arrays.asList(c3), newQuery().from(cat, cats).where(cat.name.eq("Alex")).select(cat).fetch());
+        stats = evaluatorFactory.getCacheStats();
+        assertEquals(1, stats.missCount());
+        assertEquals(2, stats.hitCount());
+    }
+
+    @Test
+    public void projection_with_constants() {
+        List<String> names = newQuery().from(cat, cats).orderBy(cat.name.asc())
+                .select(cat.name.concat("!")).fetch();
+        assertEquals(Arrays.asList("Alex!", "Bob!", "Francis!", "Kitty!"), names);
+        names = newQuery().from(cat, cats).orderBy(cat.name.asc())
+                .select(cat.name.concat("?")).fetch();
+        assertEquals(Arrays.asList("Alex?", "Bob?", "Francis?", "Kitty?"), names);
+        assertEquals(2, evaluatorFactory.getCacheStats().hitCount());
+    }
+
+    @Test
+    public void different_shapes() {
+        newQuery().from(cat, cats).where(cat.name.eq("Kitty")).select(cat).fetch();
+        newQuery().from(cat, cats).where(cat.name.ne("Kitty")).select(cat).fetch();
+        newQuery().from(cat, cats).where(cat.name.eq("Kitty"), cat.name.eq("Kitty")).select(cat).fetch();
+        assertEquals(3, evaluatorFactory.getCacheStats().missCount());
+    }
+
+    @Test
+    public void collection_constants() {
+        assertEquals(2, newQuery().from(cat, cats).where(cat.name.in("Bob", "Alex")).fetchCount());
+        assertEquals(1, newQuery().from(cat, cats).where(cat.name.in(Arrays.asList("Kitty", "Tom"))).fetchCount());
+        assertEquals(1, evaluatorFactory.getCacheStats().missCount());
+    }
+
+    @Test
+    public void params() {
+        Param<String> name = new Param<String>(String.class, "name");
+        assertEquals(Arrays.asList(c4), newQuery().from(cat, cats).where(cat.name.eq(name))
+                .set(name, "Francis").select(cat).fetch());
+        assertEquals(Arrays.asList(c1), newQuery().from(cat, cats).where(cat.name.eq(name))
+                .set(name, "Kitty").select(cat).fetch());
+        assertEquals(1, evaluatorFactory.getCacheStats().hitCount());
+    }
+
+    @Test
+    public void bounded() {
+        DefaultEvaluatorFactory factory = new DefaultEvaluatorFactory(CollQueryTemplates.DEFAULT,
+                new ECJEvaluatorFactory(getClass().getClassLoader()), 1);
+        QueryEngine engine = new DefaultQueryEngine(factory);
+        new CollQuery<Void>(engine).from(cat, cats).where(cat.name.eq("Kitty")).select(cat).fetch();
+        new CollQuery<Void>(engine).from(cat, cats).where(cat.name.ne("Kitty")).select(cat).fetch();
+        new CollQuery<Void>(engine).from(cat, cats).where(cat.name.eq("Bob")).select(cat).fetch();
+        assertEquals(3, factory.getCacheStats().missCount());
+        assertTrue(factory.getCacheStats().evictionCount() > 0);
+    }
+
+}
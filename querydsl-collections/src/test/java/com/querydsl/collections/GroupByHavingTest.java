@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.Wildcard;
+
+public class GroupByHavingTest extends AbstractQueryTest {
+
+    private List<Cat> cats;
+
+    @Before
+    public void setUp() {
+        super.setUp();
+        cats = new ArrayList<Cat>();
+        for (int i = 0; i < 10; i++) {
+            cats.add(new Cat("Cat" + (i % 3), i));
+        }
+    }
+
+    @Test
+    public void aggregates() {
+        List<Tuple> rows = CollQueryFactory.from(cat, cats)
+                .groupBy(cat.name)
+                .select(cat.name, cat.id.sum(), cat.id.avg(), cat.id.min(), cat.id.max(), cat.id.count())
+                .fetch();
+        assertEquals(3, rows.size());
+        Tuple row = rows.get(0);
+        assertEquals("Cat0", row.get(cat.name));
+        assertEquals(Integer.valueOf(18), row.get(cat.id.sum()));
+        assertEquals(Double.valueOf(4.5), row.get(cat.id.avg()));
+        assertEquals(Integer.valueOf(0), row.get(cat.id.min()));
+        assertEquals(Integer.valueOf(9), row.get(cat.id.max()));
+        assertEquals(Long.valueOf(4), row.get(cat.id.count()));
+    }
+
+    @Test
+    public void count_all() {
+        assertEquals(Arrays.asList(4L, 3L, 3L), CollQueryFactory.from(cat, cats)
+                .groupBy(cat.name).select(Wildcard.count).fetch());
+    }
+
+    @Test
+    public void count_distinct() {
+        assertEquals(Arrays.asList(2L, 1L, 2L), CollQueryFactory.from(cat, cats)
+                .groupBy(cat.name).select(cat.id.gt(7).countDistinct()).fetch());
+    }
+
+    @Test
+    public void multiple_keys() {
+        assertEquals(6, CollQueryFactory.from(cat, cats)
+                .groupBy(cat.name, cat.id.mod(2))
+                .select(cat.name, cat.id.mod(2), cat.id.sum()).fetch().size());
+    }
+
+    @Test
+    public void having() {
+        assertEquals(Arrays.asList("Cat0", "Cat2"), CollQueryFactory.from(cat, cats)
+                .groupBy(cat.name)
+                .having(cat.id.sum().gt(12))
+                .select(cat.name).fetch());
+    }
+
+    @Test
+    public void having_on_aggregate_not_in_projection() {
+        assertEquals(Arrays.asList("Cat1"), CollQueryFactory.from(cat, cats)
+                .groupBy(cat.name)
+                .having(cat.id.min().eq(1), cat.id.count().eq(3L))
+                .select(cat.name).fetch());
+    }
+
+    @Test
+    public void order_by_aggregate() {
+        assertEquals(Arrays.asList("Cat0", "Cat2", "Cat1"), CollQueryFactory.from(cat, cats)
+                .groupBy(cat.name)
+                .orderBy(cat.id.sum().subtract(cat.id.count()).desc())
+                .select(cat.name).fetch());
+    }
+
+    @Test
+    public void where_limit_offset() {
+        assertEquals(Arrays.asList(4), CollQueryFactory.from(cat, cats)
+                .where(cat.id.gt(2))
+                .groupBy(cat.name)
+                .orderBy(cat.name.asc())
+                .offset(1).limit(1)
+                .select(cat.id.min()).fetch());
+    }
+
+    @Test
+    public void fetchCount() {
+        assertEquals(2, CollQueryFactory.from(cat, cats)
+                .groupBy(cat.name).having(cat.id.max().gt(7)).fetchCount());
+    }
+
+    @Test
+    public void distinct() {
+        assertEquals(Arrays.asList(4L, 3L), CollQueryFactory.from(cat, cats)
+                .groupBy(cat.name).orderBy(cat.id.count().desc()).distinct()
+                .select(cat.id.count()).fetch());
+    }
+
+    @Test
+    public void multiple_sources() {
+        List<Cat> others = cats.subList(0, 3);
+        assertEquals(Arrays.asList(18, 12, 15), CollQueryFactory.from(cat, cats).from(otherCat, others)
+                .where(cat.name.eq(otherCat.name))
+                .groupBy(otherCat.id)
+                .select(cat.id.sum()).fetch());
+    }
+
+    @Test
+    public void modes() {
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            assertEquals(Arrays.asList("Cat2"), CollQueryFactory.from(cat, cats)
+                    .groupBy(cat.name)
+                    .having(cat.id.avg().gt(4.5))
+                    .select(cat.name).mode(mode).fetch());
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.collections;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+
+public class HashJoinTest extends AbstractQueryTest {
+
+    private List<Cat> cats1, cats2, cats3;
+
+    @Before
+    public void setUp() {
+        super.setUp();
+        cats1 = new ArrayList<Cat>();
+        cats2 = new ArrayList<Cat>();
+        cats3 = new ArrayList<Cat>();
+        for (int i = 0; i < 30; i++) {
+            cats1.add(new Cat("Cat" + (i % 7), i % 5));
+        }
+        for (int i = 0; i < 20; i++) {
+            Cat c = new Cat("Cat" + (i % 4), i % 3);
+            if (i % 6 != 0) {
+                c.setMate(cats1.get(i));
+            }
+            cats2.add(c);
+        }
+        for (int i = 0; i < 10; i++) {
+            cats3.add(new Cat("Cat" + i, i));
+        }
+    }
+
+    @Test
+    public void equality() {
+        assertJoin(cat.name.eq(otherCat.name));
+    }
+
+    @Test
+    public void equality_reversed() {
+        assertJoin(otherCat.name.eq(cat.name));
+    }
+
+    @Test
+    public void composite_key() {
+        assertJoin(cat.name.eq(otherCat.name).and(cat.id.eq(otherCat.id)));
+    }
+
+    @Test
+    public void local_filters() {
+        assertJoin(cat.name.eq(otherCat.name).and(cat.id.gt(1)).and(otherCat.name.ne("Cat2")));
+    }
+
+    @Test
+    public void residual_filter() {
+        assertJoin(cat.name.eq(otherCat.name).and(cat.id.lt(otherCat.id)));
+    }
+
+    @Test
+    public void null_keys() {
+        assertJoin(otherCat.mate.name.eq(cat.name));
+    }
+
+    @Test
+    public void three_sources() {
+        assertJoin(cat.id.eq(otherCat.id).and(otherCat.name.eq(mate.name)));
+    }
+
+    @Test
+    public void three_sources_with_cross_product() {
+        assertJoin(cat.id.eq(otherCat.id).and(mate.id.gt(7)));
+    }
+
+    @Test
+    public void count() {
+        BooleanExpression condition = cat.name.eq(otherCat.name).and(cat.id.eq(otherCat.id));
+        assertEquals(
+                CollQueryFactory.from(cat, cats1).from(otherCat, cats2).from(mate, cats3)
+                    .where(condition.or(Expressions.FALSE)).fetchCount(),
+                CollQueryFactory.from(cat, cats1).from(otherCat, cats2).from(mate, cats3)
+                    .where(condition).fetchCount());
+    }
+
+    private void assertJoin(BooleanExpression condition) {
+        // disjunctions are not decomposed and are evaluated via nested loops
+        List<Tuple> expected = CollQueryFactory.from(cat, cats1).from(otherCat, cats2).from(mate, cats3)
+                .where(condition.or(Expressions.FALSE))
+                .select(cat, otherCat, mate).fetch();
+        List<Tuple> actual = CollQueryFactory.from(cat, cats1).from(otherCat, cats2).from(mate, cats3)
+                .where(condition)
+                .select(cat, otherCat, mate).fetch();
+        assertRows(expected, actual);
+        List<Tuple> streamed = CollQueryFactory.from(cat, cats1).from(otherCat, cats2).from(mate, cats3)
+                .where(condition)
+                .select(cat, otherCat, mate).streaming().fetch();
+        assertRows(expected, streamed);
+    }
+
+    private void assertRows(List<Tuple> expected, List<Tuple> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).get(cat), actual.get(i).get(cat));
+            assertEquals(expected.get(i).get(otherCat), actual.get(i).get(otherCat));
+            assertEquals(expected.get(i).get(mate), actual.get(i).get(mate));
+        }
+    }
+
+}
@@ -42,5 +42,33 @@ public class QueryPerformanceTest {
         });
     }
 
+    @Test
+    public void distinct() throws Exception {
+        Runner.run("distinct", new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                QCat cat = QCat.cat;
+                for (int i = 0; i < times; i++) {
+                    CollQueryFactory.from(cat, cats).distinct().select(cat.id.mod(100)).fetch();
+                }
+            }
+        });
+    }
+
+    @Test
+    public void join() throws Exception {
+        Runner.run("join", new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                QCat cat = QCat.cat;
+                QCat other = new QCat("other");
+                for (int i = 0; i < times; i++) {
+                    CollQueryFactory.from(cat, cats).from(other, cats)
+                        .where(cat.id.eq(other.id), cat.name.ne(String.valueOf(i % size)))
+                        .select(cat).fetch();
+                }
+            }
+        });
+    }
 
 }
@@ -47,6 +47,11 @@ public @interface Config {
      */
     boolean mapAccessors() default false;
 
+    /**
+     * Create property paths lazily via accessor methods
+     */
+    boolean lazyPaths() default false;
+
     /**
      * Create default variable in query type
      */
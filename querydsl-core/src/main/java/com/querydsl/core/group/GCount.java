@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+import com.querydsl.core.types.Expression;
+
+/**
+ * {@code GCount} counts the non-null values of an expression in a primitive long accumulator.
+ *
+ * @param <T> expression type
+ */
+class GCount<T> extends AbstractGroupExpression<T, Long> {
+
+    private static final long serialVersionUID = -1784358236893528431L;
+
+    public GCount(Expression<T> expr) {
+        super(Long.class, expr);
+    }
+
+    @Override
+    public GroupCollector<T, Long> createGroupCollector() {
+        return new GroupCollector<T, Long>() {
+            private long count;
+
+            @Override
+            public void add(T t) {
+                if (t != null) {
+                    count++;
+                }
+            }
+
+            @Override
+            public Long get() {
+                return count;
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import com.querydsl.core.types.Expression;
+
+/**
+ * {@code GDouble} aggregates the values of a number expression in a primitive double accumulator.
+ * Null values are skipped, the exact aggregations sum the values as {@link BigDecimal} instances.
+ *
+ * @param <T> expression type
+ */
+class GDouble<T extends Number> extends AbstractGroupExpression<T, Double> {
+
+    private static final long serialVersionUID = 6497311585536781233L;
+
+    private final NumberAggregation aggregation;
+
+    public GDouble(Expression<T> expr, NumberAggregation aggregation) {
+        super(Double.class, expr);
+        this.aggregation = aggregation;
+    }
+
+    @Override
+    public GroupCollector<T, Double> createGroupCollector() {
+        return new GroupCollector<T, Double>() {
+            private double value;
+            private long count;
+            private BigDecimal exact = BigDecimal.ZERO;
+
+            @Override
+            public void add(T t) {
+                if (t != null) {
+                    double d = t.doubleValue();
+                    switch (aggregation) {
+                    case MIN:
+                        value = count == 0 || d < value ? d : value;
+                        break;
+                    case MAX:
+                        value = count == 0 || d > value ? d : value;
+                        break;
+                    case SUM_EXACT:
+                    case AVG_EXACT:
+                        if (!Double.isNaN(d) && !Double.isInfinite(d)) {
+                            exact = exact.add(new BigDecimal(d));
+                        }
+                        value += d;
+                        break;
+                    default:
+                        value += d;
+                    }
+                    count++;
+                }
+            }
+
+            @Override
+            public Double get() {
+                boolean finite = !Double.isNaN(value) && !Double.isInfinite(value);
+                switch (aggregation) {
+                case MIN:
+                case MAX:
+                    return count > 0 ? value : null;
+                case AVG:
+                    return count > 0 ? value / count : null;
+                case SUM_EXACT:
+                    return finite ? exact.doubleValue() : value;
+                case AVG_EXACT:
+                    if (count == 0) {
+                        return null;
+                    }
+                    return finite ? exact.divide(BigDecimal.valueOf(count), MathContext.DECIMAL128).doubleValue()
+                            : value / count;
+                default:
+                    return value;
+                }
+            }
+
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && ((GDouble<?>) o).aggregation == aggregation;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + aggregation.ordinal();
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.util.MathUtils;
+
+/**
+ * {@code GLong} aggregates the values of a number expression in a primitive long accumulator.
+ * Null values are skipped.
+ *
+ * @param <T> expression type
+ * @param <R> result type
+ */
+class GLong<T extends Number, R extends Number> extends AbstractGroupExpression<T, R> {
+
+    private static final long serialVersionUID = -3493718281546301917L;
+
+    private final NumberAggregation aggregation;
+
+    public GLong(Class<R> type, Expression<T> expr, NumberAggregation aggregation) {
+        super(type, expr);
+        this.aggregation = aggregation;
+    }
+
+    @Override
+    public GroupCollector<T, R> createGroupCollector() {
+        return new GroupCollector<T, R>() {
+            private long value;
+            private long count;
+
+            @Override
+            public void add(T t) {
+                if (t != null) {
+                    long l = t.longValue();
+                    switch (aggregation) {
+                    case MIN:
+                        value = count == 0 || l < value ? l : value;
+                        break;
+                    case MAX:
+                        value = count == 0 || l > value ? l : value;
+                        break;
+                    case SUM_EXACT:
+                    case AVG_EXACT:
+                        long sum = value + l;
+                        if (((value ^ sum) & (l ^ sum)) < 0) {
+                            throw new ArithmeticException("long overflow");
+                        }
+                        value = sum;
+                        break;
+                    default:
+                        value += l;
+                    }
+                    count++;
+                }
+            }
+
+            @Override
+            public R get() {
+                switch (aggregation) {
+                case MIN:
+                case MAX:
+                    return count > 0 ? MathUtils.cast(value, getType()) : null;
+                case AVG:
+                case AVG_EXACT:
+                    return count > 0 ? MathUtils.cast((double) value / count, getType()) : null;
+                case SUM_EXACT:
+                    if (getType().equals(Integer.class) && (int) value != value) {
+                        throw new ArithmeticException("integer overflow");
+                    }
+                    return MathUtils.cast(value, getType());
+                default:
+                    return MathUtils.cast(value, getType());
+                }
+            }
+
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && ((GLong<?, ?>) o).aggregation == aggregation
+                && ((GLong<?, ?>) o).getType().equals(getType());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + aggregation.ordinal();
+    }
+
+}
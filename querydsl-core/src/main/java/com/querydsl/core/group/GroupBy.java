@@ -98,6 +98,189 @@ public final class GroupBy {
         return new GMax<E>(expression);
     }
 
+    /**
+     * Create a new aggregating sum expression which accumulates the values as int values
+     *
+     * @param expression expression for which the accumulated sum will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Integer> intSum(Expression<E> expression) {
+        return new GLong<E, Integer>(Integer.class, expression, NumberAggregation.SUM);
+    }
+
+    /**
+     * Create a new aggregating sum expression which accumulates the values as int values
+     * and throws an {@link ArithmeticException} on overflow
+     *
+     * @param expression expression for which the accumulated sum will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Integer> intSumExact(Expression<E> expression) {
+        return new GLong<E, Integer>(Integer.class, expression, NumberAggregation.SUM_EXACT);
+    }
+
+    /**
+     * Create a new aggregating min expression which compares the values as int values
+     *
+     * @param expression expression for which the minimum value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Integer> intMin(Expression<E> expression) {
+        return new GLong<E, Integer>(Integer.class, expression, NumberAggregation.MIN);
+    }
+
+    /**
+     * Create a new aggregating max expression which compares the values as int values
+     *
+     * @param expression expression for which the maximum value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Integer> intMax(Expression<E> expression) {
+        return new GLong<E, Integer>(Integer.class, expression, NumberAggregation.MAX);
+    }
+
+    /**
+     * Create a new aggregating avg expression which accumulates the values as int values
+     *
+     * @param expression expression for which the accumulated average value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Double> intAvg(Expression<E> expression) {
+        return new GLong<E, Double>(Double.class, expression, NumberAggregation.AVG);
+    }
+
+    /**
+     * Create a new aggregating sum expression which accumulates the values as long values
+     *
+     * @param expression expression for which the accumulated sum will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Long> longSum(Expression<E> expression) {
+        return new GLong<E, Long>(Long.class, expression, NumberAggregation.SUM);
+    }
+
+    /**
+     * Create a new aggregating sum expression which accumulates the values as long values
+     * and throws an {@link ArithmeticException} on overflow
+     *
+     * @param expression expression for which the accumulated sum will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Long> longSumExact(Expression<E> expression) {
+        return new GLong<E, Long>(Long.class, expression, NumberAggregation.SUM_EXACT);
+    }
+
+    /**
+     * Create a new aggregating min expression which compares the values as long values
+     *
+     * @param expression expression for which the minimum value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Long> longMin(Expression<E> expression) {
+        return new GLong<E, Long>(Long.class, expression, NumberAggregation.MIN);
+    }
+
+    /**
+     * Create a new aggregating max expression which compares the values as long values
+     *
+     * @param expression expression for which the maximum value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Long> longMax(Expression<E> expression) {
+        return new GLong<E, Long>(Long.class, expression, NumberAggregation.MAX);
+    }
+
+    /**
+     * Create a new aggregating avg expression which accumulates the values as long values
+     *
+     * @param expression expression for which the accumulated average value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Double> longAvg(Expression<E> expression) {
+        return new GLong<E, Double>(Double.class, expression, NumberAggregation.AVG);
+    }
+
+    /**
+     * Create a new aggregating avg expression which accumulates the values as long values
+     * and throws an {@link ArithmeticException} on overflow
+     *
+     * @param expression expression for which the accumulated average value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Double> longAvgExact(Expression<E> expression) {
+        return new GLong<E, Double>(Double.class, expression, NumberAggregation.AVG_EXACT);
+    }
+
+    /**
+     * Create a new aggregating sum expression which accumulates the values as double values
+     *
+     * @param expression expression for which the accumulated sum will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Double> doubleSum(Expression<E> expression) {
+        return new GDouble<E>(expression, NumberAggregation.SUM);
+    }
+
+    /**
+     * Create a new aggregating sum expression which accumulates the values without rounding errors
+     *
+     * @param expression expression for which the accumulated sum will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Double> doubleSumExact(Expression<E> expression) {
+        return new GDouble<E>(expression, NumberAggregation.SUM_EXACT);
+    }
+
+    /**
+     * Create a new aggregating min expression which compares the values as double values
+     *
+     * @param expression expression for which the minimum value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Double> doubleMin(Expression<E> expression) {
+        return new GDouble<E>(expression, NumberAggregation.MIN);
+    }
+
+    /**
+     * Create a new aggregating max expression which compares the values as double values
+     *
+     * @param expression expression for which the maximum value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Double> doubleMax(Expression<E> expression) {
+        return new GDouble<E>(expression, NumberAggregation.MAX);
+    }
+
+    /**
+     * Create a new aggregating avg expression which accumulates the values as double values
+     *
+     * @param expression expression for which the accumulated average value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Double> doubleAvg(Expression<E> expression) {
+        return new GDouble<E>(expression, NumberAggregation.AVG);
+    }
+
+    /**
+     * Create a new aggregating avg expression which accumulates the values without rounding errors
+     *
+     * @param expression expression for which the accumulated average value will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E extends Number> AbstractGroupExpression<E, Double> doubleAvgExact(Expression<E> expression) {
+        return new GDouble<E>(expression, NumberAggregation.AVG_EXACT);
+    }
+
+    /**
+     * Create a new aggregating count expression which counts the non-null values
+     *
+     * @param expression expression for which the amount of non-null values will be used in the group by projection
+     * @return wrapper expression
+     */
+    public static <E> AbstractGroupExpression<E, Long> count(Expression<E> expression) {
+        return new GCount<E>(expression);
+    }
+
     /**
      * Create a new aggregating list expression
      *
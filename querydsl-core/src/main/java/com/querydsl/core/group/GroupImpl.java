@@ -30,36 +30,38 @@ class GroupImpl implements Group {
 
     private final Map<Expression<?>, GroupCollector<?,?>> groupCollectorMap = new LinkedHashMap<Expression<?>, GroupCollector<?,?>>();
 
-    private final List<GroupExpression<?, ?>> groupExpressions;
+    private final Map<GroupExpression<?, ?>, GroupCollector<?,?>> definitionCollectorMap = new HashMap<GroupExpression<?, ?>, GroupCollector<?,?>>();
 
-    private final List<GroupCollector<?,?>> groupCollectors = new ArrayList<GroupCollector<?,?>>();
+    private final GroupCollector<?,?>[] groupCollectors;
 
     private final List<QPair<?, ?>> maps;
 
     public GroupImpl(List<GroupExpression<?, ?>> columnDefinitions,  List<QPair<?, ?>> maps) {
-        this.groupExpressions = columnDefinitions;
         this.maps = maps;
+        this.groupCollectors = new GroupCollector<?,?>[columnDefinitions.size()];
         for (int i = 0; i < columnDefinitions.size(); i++) {
             GroupExpression<?, ?> coldef = columnDefinitions.get(i);
-            GroupCollector<?,?> collector = groupCollectorMap.get(coldef.getExpression());
+            // different aggregations of the same expression get their own collectors
+            GroupCollector<?,?> collector = definitionCollectorMap.get(coldef);
             if (collector == null) {
                 collector = coldef.createGroupCollector();
+                definitionCollectorMap.put(coldef, collector);
                 Expression<?> coldefExpr = coldef.getExpression();
-                groupCollectorMap.put(coldefExpr, collector);
-                if (coldefExpr instanceof Operation && ((Operation) coldefExpr).getOperator() == Ops.ALIAS) {
-                    groupCollectorMap.put(((Operation) coldefExpr).getArg(1), collector);
+                if (!groupCollectorMap.containsKey(coldefExpr)) {
+                    groupCollectorMap.put(coldefExpr, collector);
+                    if (coldefExpr instanceof Operation && ((Operation) coldefExpr).getOperator() == Ops.ALIAS) {
+                        groupCollectorMap.put(((Operation) coldefExpr).getArg(1), collector);
+                    }
                 }
             }
-            groupCollectors.add(collector);
+            groupCollectors[i] = collector;
         }
     }
 
     @SuppressWarnings("unchecked")
     void add(Object[] row) {
-        int i = 0;
-        for (GroupCollector groupCollector : groupCollectors) {
-            groupCollector.add(row[i]);
-            i++;
+        for (int i = 0; i < groupCollectors.length; i++) {
+            ((GroupCollector<Object, ?>) groupCollectors[i]).add(row[i]);
         }
     }
 
@@ -75,10 +77,9 @@ class GroupImpl implements Group {
     @Override
     @SuppressWarnings("unchecked")
     public <T, R> R getGroup(GroupExpression<T, R> definition) {
-        for (GroupExpression<?, ?> def : groupExpressions) {
-            if (def.equals(definition)) {
-                return (R) groupCollectorMap.get(def.getExpression()).get();
-            }
+        GroupCollector<?, ?> col = definitionCollectorMap.get(definition);
+        if (col != null) {
+            return (R) col.get();
         }
         throw new NoSuchElementException(definition.toString());
     }
@@ -127,11 +128,11 @@ class GroupImpl implements Group {
 
     @Override
     public Object[] toArray() {
-        List<Object> arr = new ArrayList<Object>(groupCollectors.size());
-        for (GroupCollector<?,?> col : groupCollectors) {
-            arr.add(col.get());
+        Object[] arr = new Object[groupCollectors.length];
+        for (int i = 0; i < groupCollectors.length; i++) {
+            arr[i] = groupCollectors[i].get();
         }
-        return arr.toArray();
+        return arr;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+/**
+ * {@code NumberAggregation} defines the aggregations of {@link GLong} and {@link GDouble}
+ */
+enum NumberAggregation {
+
+    SUM,
+
+    /**
+     * Sum which fails on overflow or accumulates without rounding errors
+     */
+    SUM_EXACT,
+
+    MIN,
+
+    MAX,
+
+    AVG,
+
+    /**
+     * Average of a sum which fails on overflow or accumulates without rounding errors
+     */
+    AVG_EXACT
+
+}
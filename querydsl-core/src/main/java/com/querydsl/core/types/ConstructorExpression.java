@@ -23,9 +23,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.List;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 
 /**
@@ -68,6 +70,10 @@ public class ConstructorExpression<T> extends FactoryExpressionBase<T> {
 
     private final transient Iterable<Function<Object[], Object[]>> transformers;
 
+    // null until resolved, absent if reflection needs to be used
+    @Nullable
+    private transient volatile Optional<GeneratedAccessors.Instantiator> instantiator;
+
     protected ConstructorExpression(Class<? extends T> type, Expression<?>... args) {
         this(type, getParameterTypes(args), ImmutableList.copyOf(args));
     }
@@ -138,7 +144,17 @@ public class ConstructorExpression<T> extends FactoryExpressionBase<T> {
             for (Function<Object[], Object[]> transformer : transformers) {
                 args = transformer.apply(args);
             }
-            return (T) constructor.newInstance(args);
+            Optional<GeneratedAccessors.Instantiator> instantiator = this.instantiator;
+            if (instantiator == null) {
+                // generated on first use
+                instantiator = Optional.fromNullable(GeneratedAccessors.constructor(constructor));
+                this.instantiator = instantiator;
+            }
+            if (instantiator.isPresent()) {
+                return (T) instantiator.get().newInstance(args);
+            } else {
+                return (T) constructor.newInstance(args);
+            }
         } catch (SecurityException e) {
             throw new ExpressionException(e.getMessage(), e);
         } catch (InstantiationException e) {
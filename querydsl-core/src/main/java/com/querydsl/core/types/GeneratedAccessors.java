@@ -0,0 +1,238 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.google.common.primitives.Primitives;
+
+import net.sf.cglib.reflect.FastClass;
+
+/**
+ * {@code GeneratedAccessors} provides generated, non-reflective accessors for the population
+ * of projection instances
+ *
+ * <p>The accessors are created via cglib on first use and kept by the projection instances.
+ * cglib reuses the generated classes per class loader without holding on to the loaders.
+ * If cglib is not available or a member is not accessible to generated code, no accessor is
+ * provided and the projections fall back to reflection. Values which need a conversion, such as
+ * widening, are passed via reflection as well, so conversions and failures stay the same.</p>
+ */
+final class GeneratedAccessors {
+
+    private static final boolean AVAILABLE = isCglibAvailable();
+
+    private static volatile boolean enabled = AVAILABLE;
+
+    private static boolean isCglibAvailable() {
+        try {
+            Class.forName("net.sf.cglib.reflect.FastClass", false,
+                    GeneratedAccessors.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Enable or disable the usage of generated accessors, used by benchmarks and tests to
+     * compare with the reflective population
+     *
+     * @param enabled true, to use generated accessors, if available
+     */
+    static void setEnabled(boolean enabled) {
+        GeneratedAccessors.enabled = enabled && AVAILABLE;
+    }
+
+    /**
+     * Create the setter accessor for the given bean class
+     *
+     * @param type bean type
+     * @param setters setters in binding order, null for unbound properties
+     * @return accessor or null, if reflection needs to be used
+     */
+    @Nullable
+    static Setters setters(Class<?> type, List<Method> setters) {
+        return enabled ? Setters.create(type, setters) : null;
+    }
+
+    /**
+     * Create the accessor for the given constructor
+     *
+     * @param constructor constructor
+     * @return accessor or null, if reflection needs to be used
+     */
+    @Nullable
+    static Instantiator constructor(Constructor<?> constructor) {
+        return enabled ? Instantiator.create(constructor) : null;
+    }
+
+    @Nullable
+    private static FastClass createFastClass(Class<?> type) {
+        try {
+            return FastClass.create(type);
+        } catch (RuntimeException e) {
+            // the class is not accessible to generated code
+            return null;
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    private static boolean accepts(Class<?> type, @Nullable Object value) {
+        if (value == null) {
+            return !type.isPrimitive();
+        } else {
+            return Primitives.wrap(type).isInstance(value);
+        }
+    }
+
+    /**
+     * Bean population via generated setter invocations
+     */
+    static final class Setters {
+
+        @Nullable
+        static Setters create(Class<?> type, List<Method> setters) {
+            FastClass fastClass = createFastClass(type);
+            if (fastClass == null) {
+                return null;
+            }
+            Method[] methods = setters.toArray(new Method[setters.size()]);
+            Class<?>[] types = new Class<?>[methods.length];
+            int[] indices = new int[methods.length];
+            for (int i = 0; i < indices.length; i++) {
+                Method setter = methods[i];
+                if (setter != null) {
+                    types[i] = setter.getParameterTypes()[0];
+                    indices[i] = fastClass.getIndex(setter.getName(), setter.getParameterTypes());
+                    if (indices[i] < 0) {
+                        return null;
+                    }
+                } else {
+                    indices[i] = -1;
+                }
+            }
+            return new Setters(fastClass, methods, types, indices);
+        }
+
+        private final FastClass fastClass;
+
+        private final Method[] setters;
+
+        private final Class<?>[] types;
+
+        private final int[] indices;
+
+        private Setters(FastClass fastClass, Method[] setters, Class<?>[] types, int[] indices) {
+            this.fastClass = fastClass;
+            this.setters = setters;
+            this.types = types;
+            this.indices = indices;
+        }
+
+        /**
+         * Set the non-null values in binding order
+         *
+         * @param bean bean
+         * @param values values
+         * @throws IllegalAccessException
+         * @throws InvocationTargetException
+         */
+        void populate(Object bean, Object[] values) throws IllegalAccessException,
+                InvocationTargetException {
+            Object[] args = null;
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                int index = indices[i];
+                if (value == null || index < 0) {
+                    continue;
+                } else if (accepts(types[i], value)) {
+                    if (args == null) {
+                        args = new Object[1];
+                    }
+                    args[0] = value;
+                    fastClass.invoke(index, bean, args);
+                } else {
+                    setters[i].invoke(bean, value);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Instance creation via a generated constructor invocation
+     */
+    static final class Instantiator {
+
+        @Nullable
+        static Instantiator create(Constructor<?> constructor) {
+            FastClass fastClass = createFastClass(constructor.getDeclaringClass());
+            if (fastClass == null) {
+                return null;
+            }
+            int index = fastClass.getIndex(constructor.getParameterTypes());
+            return index >= 0 ? new Instantiator(fastClass, constructor, index) : null;
+        }
+
+        private final FastClass fastClass;
+
+        private final Constructor<?> constructor;
+
+        private final Class<?>[] parameterTypes;
+
+        private final int index;
+
+        private Instantiator(FastClass fastClass, Constructor<?> constructor, int index) {
+            this.fastClass = fastClass;
+            this.constructor = constructor;
+            this.parameterTypes = constructor.getParameterTypes();
+            this.index = index;
+        }
+
+        /**
+         * Create a new instance
+         *
+         * @param args constructor arguments
+         * @return new instance
+         * @throws InstantiationException
+         * @throws IllegalAccessException
+         * @throws InvocationTargetException
+         */
+        Object newInstance(Object[] args) throws InstantiationException, IllegalAccessException,
+                InvocationTargetException {
+            if (args.length != parameterTypes.length) {
+                return constructor.newInstance(args);
+            }
+            for (int i = 0; i < args.length; i++) {
+                if (!accepts(parameterTypes[i], args[i])) {
+                    return constructor.newInstance(args);
+                }
+            }
+            return fastClass.newInstance(index, args);
+        }
+
+    }
+
+    private GeneratedAccessors() { }
+
+}
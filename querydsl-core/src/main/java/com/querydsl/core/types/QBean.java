@@ -24,6 +24,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Primitives;
@@ -98,6 +101,10 @@ public class QBean<T> extends FactoryExpressionBase<T> {
 
     private final boolean fieldAccess;
 
+    // null until resolved, absent if reflection needs to be used
+    @Nullable
+    private transient volatile Optional<GeneratedAccessors.Setters> accessor;
+
     /**
      * Create a new QBean instance
      *
@@ -231,12 +238,17 @@ public class QBean<T> extends FactoryExpressionBase<T> {
                     }
                 }
             } else {
-                for (int i = 0; i < a.length; i++) {
-                    Object value = a[i];
-                    if (value != null) {
-                        Method setter = setters.get(i);
-                        if (setter != null) {
-                            setter.invoke(rv, value);
+                GeneratedAccessors.Setters accessor = getAccessor();
+                if (accessor != null) {
+                    accessor.populate(rv, a);
+                } else {
+                    for (int i = 0; i < a.length; i++) {
+                        Object value = a[i];
+                        if (value != null) {
+                            Method setter = setters.get(i);
+                            if (setter != null) {
+                                setter.invoke(rv, value);
+                            }
                         }
                     }
                 }
@@ -251,6 +263,17 @@ public class QBean<T> extends FactoryExpressionBase<T> {
         }
     }
 
+    @Nullable
+    private GeneratedAccessors.Setters getAccessor() {
+        Optional<GeneratedAccessors.Setters> rv = accessor;
+        if (rv == null) {
+            // generated on first use
+            rv = Optional.fromNullable(GeneratedAccessors.setters(getType(), setters));
+            accessor = rv;
+        }
+        return rv.orNull();
+    }
+
     protected <T> T create(Class<T> type) throws IllegalAccessException, InstantiationException {
         return type.newInstance();
     }
@@ -13,13 +13,10 @@
  */
 package com.querydsl.core.types.dsl;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 
 import javax.annotation.Nullable;
 
-import com.querydsl.core.types.ExpressionException;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.PathImpl;
 import com.querydsl.core.types.PathMetadata;
@@ -39,9 +36,7 @@ public abstract class CollectionPathBase<C extends Collection<E>, E, Q extends S
     private static final long serialVersionUID = -9004995667633601298L;
 
     @Nullable
-    private transient volatile Constructor<?> constructor;
-
-    private transient volatile boolean usePathInits = false;
+    private transient volatile PathFactory<Q> factory;
 
     private final PathInits inits;
 
@@ -57,51 +52,13 @@ public abstract class CollectionPathBase<C extends Collection<E>, E, Q extends S
      */
     public abstract Q any();
 
-    @SuppressWarnings("unchecked")
     protected Q newInstance(Class<Q> queryType, PathMetadata pm) {
-        try {
-            if (constructor == null) {
-                if (Constants.isTyped(queryType)) {
-                    try {
-                        constructor = queryType.getDeclaredConstructor(Class.class, PathMetadata.class, PathInits.class);
-                        usePathInits = true;
-                    } catch (NoSuchMethodException e) {
-                        constructor = queryType.getDeclaredConstructor(Class.class, PathMetadata.class);
-                    }
-                } else {
-                    try {
-                        constructor = queryType.getDeclaredConstructor(PathMetadata.class, PathInits.class);
-                        usePathInits = true;
-                    } catch (NoSuchMethodException e) {
-                        constructor = queryType.getDeclaredConstructor(PathMetadata.class);
-                    }
-                }
-                constructor.setAccessible(true);
-            }
-            if (Constants.isTyped(queryType)) {
-                if (usePathInits) {
-                    return (Q) constructor.newInstance(getElementType(), pm, inits);
-                } else {
-                    return (Q) constructor.newInstance(getElementType(), pm);
-                }
-
-            } else {
-                if (usePathInits) {
-                    return (Q) constructor.newInstance(pm, inits);
-                } else {
-                    return (Q) constructor.newInstance(pm);
-                }
-            }
-        } catch (NoSuchMethodException e) {
-            throw new ExpressionException(e);
-        } catch (InstantiationException e) {
-            throw new ExpressionException(e);
-        } catch (IllegalAccessException e) {
-            throw new ExpressionException(e);
-        } catch (InvocationTargetException e) {
-            throw new ExpressionException(e);
+        PathFactory<Q> f = factory;
+        if (f == null) {
+            f = PathFactories.get(queryType);
+            factory = f;
         }
-
+        return f.newInstance(getElementType(), pm, inits);
     }
 
 }
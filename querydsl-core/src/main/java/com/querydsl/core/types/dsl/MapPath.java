@@ -14,8 +14,6 @@
 package com.querydsl.core.types.dsl;
 
 import java.lang.reflect.AnnotatedElement;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 
 import javax.annotation.Nullable;
@@ -42,7 +40,7 @@ public class MapPath<K, V, E extends SimpleExpression<? super V>> extends MapExp
     private final Class<E> queryType;
 
     @Nullable
-    private transient Constructor<E> constructor;
+    private transient volatile PathFactory<E> factory;
 
     private final Class<V> valueType;
 
@@ -78,34 +76,14 @@ public class MapPath<K, V, E extends SimpleExpression<? super V>> extends MapExp
 
     @Override
     public E get(Expression<K> key) {
-        try {
-            PathMetadata md =  forMapAccess(key);
-            return newInstance(md);
-        } catch (NoSuchMethodException e) {
-            throw new ExpressionException(e);
-        } catch (InstantiationException e) {
-            throw new ExpressionException(e);
-        } catch (IllegalAccessException e) {
-            throw new ExpressionException(e);
-        } catch (InvocationTargetException e) {
-            throw new ExpressionException(e);
-        }
+        PathMetadata md =  forMapAccess(key);
+        return newInstance(md);
     }
 
     @Override
     public E get(K key) {
-        try {
-            PathMetadata md =  forMapAccess(key);
-            return newInstance(md);
-        } catch (NoSuchMethodException e) {
-            throw new ExpressionException(e);
-        } catch (InstantiationException e) {
-            throw new ExpressionException(e);
-        } catch (IllegalAccessException e) {
-            throw new ExpressionException(e);
-        } catch (InvocationTargetException e) {
-            throw new ExpressionException(e);
-        }
+        PathMetadata md =  forMapAccess(key);
+        return newInstance(md);
     }
 
     /**
@@ -141,22 +119,13 @@ public class MapPath<K, V, E extends SimpleExpression<? super V>> extends MapExp
         return pathMixin.getAnnotatedElement();
     }
 
-    private E newInstance(PathMetadata pm) throws NoSuchMethodException,
-        InstantiationException, IllegalAccessException,
-        InvocationTargetException {
-        if (constructor == null) {
-            if (Constants.isTyped(queryType)) {
-                constructor = queryType.getDeclaredConstructor(Class.class, PathMetadata.class);
-            } else {
-                constructor = queryType.getDeclaredConstructor(PathMetadata.class);
-            }
-            constructor.setAccessible(true);
-        }
-        if (Constants.isTyped(queryType)) {
-            return constructor.newInstance(getValueType(), pm);
-        } else {
-            return constructor.newInstance(pm);
+    private E newInstance(PathMetadata pm) {
+        PathFactory<E> f = factory;
+        if (f == null) {
+            f = PathFactories.get(queryType);
+            factory = f;
         }
+        return f.newInstance(getValueType(), pm, null);
     }
 
     @Override
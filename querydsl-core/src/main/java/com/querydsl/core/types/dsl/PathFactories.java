@@ -0,0 +1,227 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types.dsl;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import com.querydsl.core.types.ExpressionException;
+import com.querydsl.core.types.PathMetadata;
+
+/**
+ * {@code PathFactories} provides the {@link PathFactory} instances by query type
+ *
+ * <p>The factories are used by collection and map paths to create element paths without
+ * reflection. Factories for the simple path types are built in, generated query types declare
+ * their factory in a static {@value #FIELD_NAME} field. For other query types the element
+ * paths are created via reflection.</p>
+ *
+ * <p>The factories of query types are looked up when the first element path is created and
+ * cached with weak keys and values, so that query types and their class loaders can be
+ * unloaded.</p>
+ */
+public final class PathFactories {
+
+    /**
+     * Name of the static field which holds the factory of a query type
+     */
+    public static final String FIELD_NAME = "FACTORY";
+
+    private static final Map<Class<?>, PathFactory<?>> builtIn = Maps.newHashMap();
+
+    private static final ConcurrentMap<Class<?>, PathFactory<?>> factories =
+            new MapMaker().weakKeys().weakValues().makeMap();
+
+    static {
+        register(StringPath.class, new PathFactory<StringPath>() {
+            @Override
+            public StringPath newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                return new StringPath(metadata);
+            }
+        });
+        register(BooleanPath.class, new PathFactory<BooleanPath>() {
+            @Override
+            public BooleanPath newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                return new BooleanPath(metadata);
+            }
+        });
+        register(NumberPath.class, new PathFactory<NumberPath>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public NumberPath newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                return new NumberPath(type, metadata);
+            }
+        });
+        register(ComparablePath.class, new PathFactory<ComparablePath>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public ComparablePath newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                return new ComparablePath(type, metadata);
+            }
+        });
+        register(EnumPath.class, new PathFactory<EnumPath>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public EnumPath newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                return new EnumPath(type, metadata);
+            }
+        });
+        register(DatePath.class, new PathFactory<DatePath>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public DatePath newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                return new DatePath(type, metadata);
+            }
+        });
+        register(DateTimePath.class, new PathFactory<DateTimePath>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public DateTimePath newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                return new DateTimePath(type, metadata);
+            }
+        });
+        register(TimePath.class, new PathFactory<TimePath>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public TimePath newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                return new TimePath(type, metadata);
+            }
+        });
+        register(SimplePath.class, new PathFactory<SimplePath>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public SimplePath newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                return new SimplePath(type, metadata);
+            }
+        });
+    }
+
+    private static <Q> void register(Class<Q> queryType, PathFactory<? extends Q> factory) {
+        builtIn.put(queryType, factory);
+    }
+
+    /**
+     * Get the factory for the given query type
+     *
+     * <p>The factory is read from the static {@value #FIELD_NAME} field declared by the query
+     * type. If there is no such field, a reflection based factory is returned.</p>
+     *
+     * @param queryType query type
+     * @return factory
+     */
+    @SuppressWarnings("unchecked")
+    static <Q> PathFactory<Q> get(Class<Q> queryType) {
+        PathFactory<Q> factory = (PathFactory<Q>) builtIn.get(queryType);
+        if (factory == null) {
+            factory = (PathFactory<Q>) factories.get(queryType);
+        }
+        if (factory == null) {
+            factory = getDeclaredFactory(queryType);
+            if (factory == null) {
+                factory = new ReflectiveFactory<Q>(queryType);
+            }
+            factories.put(queryType, factory);
+        }
+        return factory;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static <Q> PathFactory<Q> getDeclaredFactory(Class<Q> queryType) {
+        try {
+            Field field = queryType.getDeclaredField(FIELD_NAME);
+            if (Modifier.isStatic(field.getModifiers()) && PathFactory.class.isAssignableFrom(field.getType())) {
+                field.setAccessible(true);
+                return (PathFactory<Q>) field.get(null);
+            } else {
+                return null;
+            }
+        } catch (NoSuchFieldException e) {
+            return null;
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates instances via the constructors of the query type
+     */
+    private static final class ReflectiveFactory<Q> implements PathFactory<Q> {
+
+        private final Class<Q> queryType;
+
+        private final boolean typed;
+
+        @Nullable
+        private final Constructor<Q> constructor, initsConstructor;
+
+        ReflectiveFactory(Class<Q> queryType) {
+            this.queryType = queryType;
+            this.typed = Constants.isTyped(queryType);
+            if (typed) {
+                this.constructor = getConstructor(queryType, Class.class, PathMetadata.class);
+                this.initsConstructor = getConstructor(queryType, Class.class, PathMetadata.class, PathInits.class);
+            } else {
+                this.constructor = getConstructor(queryType, PathMetadata.class);
+                this.initsConstructor = getConstructor(queryType, PathMetadata.class, PathInits.class);
+            }
+        }
+
+        @Nullable
+        private static <Q> Constructor<Q> getConstructor(Class<Q> queryType, Class<?>... parameterTypes) {
+            try {
+                Constructor<Q> constructor = queryType.getDeclaredConstructor(parameterTypes);
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Q newInstance(Class<?> type, PathMetadata metadata, @Nullable PathInits inits) {
+            try {
+                if (inits != null && initsConstructor != null) {
+                    return typed ? initsConstructor.newInstance(type, metadata, inits)
+                                 : initsConstructor.newInstance(metadata, inits);
+                } else if (constructor != null) {
+                    return typed ? constructor.newInstance(type, metadata)
+                                 : constructor.newInstance(metadata);
+                } else {
+                    throw new ExpressionException("No suitable constructor found for " + queryType.getName());
+                }
+            } catch (InstantiationException e) {
+                throw new ExpressionException(e);
+            } catch (IllegalAccessException e) {
+                throw new ExpressionException(e);
+            } catch (InvocationTargetException e) {
+                throw new ExpressionException(e);
+            }
+        }
+
+    }
+
+    private PathFactories() { }
+
+}
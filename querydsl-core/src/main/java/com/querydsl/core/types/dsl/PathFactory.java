@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types.dsl;
+
+import javax.annotation.Nullable;
+
+import com.querydsl.core.types.PathMetadata;
+
+/**
+ * {@code PathFactory} creates instances of a query type for collection elements and map values
+ *
+ * <p>Query types provide their factory via a public static {@code FACTORY} field, which is
+ * generated for query types created by the Querydsl code generators.</p>
+ *
+ * @param <Q> query type
+ */
+public interface PathFactory<Q> {
+
+    /**
+     * Create a new instance of the query type
+     *
+     * @param type element type
+     * @param metadata path metadata
+     * @param inits path inits or null, for the default inits of the query type
+     * @return new instance
+     */
+    Q newInstance(Class<?> type, PathMetadata metadata, @Nullable PathInits inits);
+
+}
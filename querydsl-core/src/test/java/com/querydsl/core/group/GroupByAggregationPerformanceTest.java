@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+import static com.querydsl.core.group.GroupBy.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.support.DummyFetchableQuery;
+import com.querydsl.core.testutil.Benchmark;
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.testutil.Runner;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+
+@Ignore
+@Category(Performance.class)
+public class GroupByAggregationPerformanceTest {
+
+    private static final NumberPath<Integer> key = Expressions.numberPath(Integer.class, "key");
+
+    private static final NumberPath<Long> longValue = Expressions.numberPath(Long.class, "longValue");
+
+    private static final NumberPath<Double> doubleValue = Expressions.numberPath(Double.class, "doubleValue");
+
+    private static final int size = 10000;
+
+    private static List<Tuple> rows = new ArrayList<Tuple>(size);
+
+    @BeforeClass
+    public static void setUpClass() {
+        for (int i = 0; i < size; i++) {
+            rows.add(new MockTuple(new Object[]{i % 10, (long) i, i * 0.5}));
+        }
+    }
+
+    private static void aggregate(String label, final GroupExpression<?, ?>... expressions) throws Exception {
+        Runner.run(label, new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                // each iteration aggregates all rows
+                for (int i = 0; i < times / size + 1; i++) {
+                    new DummyFetchableQuery<Tuple>(rows).transform(groupBy(key).as(expressions));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void bigDecimal_collectors() throws Exception {
+        aggregate("sum, avg", sum(longValue), avg(doubleValue));
+    }
+
+    @Test
+    public void primitive_collectors() throws Exception {
+        aggregate("longSum, doubleAvg", longSum(longValue), doubleAvg(doubleValue));
+    }
+
+    @Test
+    public void exact_primitive_collectors() throws Exception {
+        aggregate("longSumExact, doubleAvgExact", longSumExact(longValue), doubleAvgExact(doubleValue));
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.group;
+
+import static com.querydsl.core.group.GroupBy.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.support.DummyFetchableQuery;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+
+public class GroupByAggregationTest {
+
+    private static final NumberPath<Integer> intPath = Expressions.numberPath(Integer.class, "i");
+
+    private static final NumberPath<Long> longPath = Expressions.numberPath(Long.class, "l");
+
+    private static final NumberPath<Double> doublePath = Expressions.numberPath(Double.class, "d");
+
+    private static <T, R> R aggregate(GroupExpression<T, R> expr, T... values) {
+        GroupCollector<T, R> collector = expr.createGroupCollector();
+        for (T value : values) {
+            collector.add(value);
+        }
+        return collector.get();
+    }
+
+    @Test
+    public void int_aggregates() {
+        assertEquals(Integer.valueOf(6), aggregate(intSum(intPath), 1, 2, null, 3));
+        assertEquals(Integer.valueOf(1), aggregate(intMin(intPath), 3, null, 1, 2));
+        assertEquals(Integer.valueOf(3), aggregate(intMax(intPath), 3, null, 1, 2));
+        assertEquals(Double.valueOf(2.5), aggregate(intAvg(intPath), 2, null, 3));
+    }
+
+    @Test
+    public void long_aggregates() {
+        assertEquals(Long.valueOf(6), aggregate(longSum(longPath), 1L, 2L, null, 3L));
+        assertEquals(Long.valueOf(-4), aggregate(longMin(longPath), 3L, -4L, 2L));
+        assertEquals(Long.valueOf(3), aggregate(longMax(longPath), -3L, 3L, 2L));
+        assertEquals(Double.valueOf(1.5), aggregate(longAvg(longPath), 1L, 2L));
+        assertEquals(Double.valueOf(1.5), aggregate(longAvgExact(longPath), 1L, 2L));
+    }
+
+    @Test
+    public void double_aggregates() {
+        assertEquals(Double.valueOf(3.5), aggregate(doubleSum(doublePath), 1.0, null, 2.5));
+        assertEquals(Double.valueOf(-1.0), aggregate(doubleMin(doublePath), 1.0, -1.0, 2.5));
+        assertEquals(Double.valueOf(2.5), aggregate(doubleMax(doublePath), 1.0, -1.0, 2.5));
+        assertEquals(Double.valueOf(1.75), aggregate(doubleAvg(doublePath), 1.0, 2.5));
+    }
+
+    @Test
+    public void mixed_sources() {
+        assertEquals(Double.valueOf(3.0), aggregate(doubleSum(intPath), 1, 2));
+        assertEquals(Long.valueOf(3), aggregate(longSum(intPath), 1, 2));
+    }
+
+    @Test
+    public void empty() {
+        assertEquals(Long.valueOf(0), aggregate(longSum(longPath)));
+        assertEquals(Double.valueOf(0.0), aggregate(doubleSum(doublePath)));
+        assertNull(aggregate(longMin(longPath)));
+        assertNull(aggregate(doubleMax(doublePath), (Double) null));
+        assertNull(aggregate(longAvg(longPath)));
+        assertNull(aggregate(doubleAvgExact(doublePath)));
+        assertEquals(Long.valueOf(0), aggregate(count(longPath), (Long) null));
+    }
+
+    @Test
+    public void count_() {
+        assertEquals(Long.valueOf(2), aggregate(count(intPath), 1, null, 1));
+    }
+
+    @Test
+    public void exact_double_sum() {
+        Double[] values = new Double[10];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 0.1;
+        }
+        assertFalse(Double.valueOf(1.0).equals(aggregate(doubleSum(doublePath), values)));
+        assertEquals(Double.valueOf(1.0), aggregate(doubleSumExact(doublePath), values));
+        assertEquals(Double.valueOf(0.1), aggregate(doubleAvgExact(doublePath), values));
+    }
+
+    @Test
+    public void overflow() {
+        assertEquals(Integer.valueOf(Integer.MIN_VALUE), aggregate(intSum(intPath), Integer.MAX_VALUE, 1));
+        assertEquals(Long.valueOf(Long.MIN_VALUE), aggregate(longSum(longPath), Long.MAX_VALUE, 1L));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void int_overflow() {
+        aggregate(intSumExact(intPath), Integer.MAX_VALUE, 1);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void long_overflow() {
+        aggregate(longSumExact(longPath), Long.MAX_VALUE, 1L);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void long_underflow() {
+        aggregate(longAvgExact(longPath), Long.MIN_VALUE, -1L);
+    }
+
+    @Test
+    public void transform() {
+        DummyFetchableQuery<Tuple> query = new DummyFetchableQuery<Tuple>(Arrays.<Tuple>asList(
+                new MockTuple(new Object[]{1, 2L, 2L, 2L, 2L}),
+                new MockTuple(new Object[]{2, 5L, 5L, 5L, 5L}),
+                new MockTuple(new Object[]{1, 4L, 4L, 4L, 4L})));
+        Map<Integer, Group> groups = query.transform(groupBy(intPath).as(
+                longSum(longPath), longMax(longPath), longAvg(longPath), count(longPath)));
+        Group group = groups.get(1);
+        assertEquals(Long.valueOf(6), group.getGroup(longSum(longPath)));
+        assertEquals(Long.valueOf(4), group.getGroup(longMax(longPath)));
+        assertEquals(Double.valueOf(3.0), group.getGroup(longAvg(longPath)));
+        assertEquals(Long.valueOf(2), group.getGroup(count(longPath)));
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+
+public class GeneratedAccessorsTest {
+
+    public static class Entity {
+
+        private String name;
+
+        private int age;
+
+        private long id;
+
+        public Entity() { }
+
+        public Entity(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public Entity(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+    }
+
+    private static class PrivateEntity {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    private final StringPath name = Expressions.stringPath("name");
+
+    private final NumberPath<Integer> age = Expressions.numberPath(Integer.class, "age");
+
+    private final NumberPath<Long> id = Expressions.numberPath(Long.class, "id");
+
+    @After
+    public void tearDown() {
+        GeneratedAccessors.setEnabled(true);
+    }
+
+    @Test
+    public void setters() throws NoSuchMethodException {
+        assertNotNull(GeneratedAccessors.setters(Entity.class,
+                Arrays.asList(Entity.class.getMethod("setName", String.class), null)));
+    }
+
+    @Test
+    public void bean() {
+        Entity entity = Projections.bean(Entity.class, name, age).newInstance("John", 30);
+        assertEquals("John", entity.getName());
+        assertEquals(30, entity.getAge());
+    }
+
+    @Test
+    public void bean_null_values() {
+        Entity entity = Projections.bean(Entity.class, name, age).newInstance(null, null);
+        assertNull(entity.getName());
+        assertEquals(0, entity.getAge());
+    }
+
+    @Test
+    public void bean_reflective() {
+        GeneratedAccessors.setEnabled(false);
+        assertNull(GeneratedAccessors.setters(Entity.class, Arrays.<Method>asList()));
+        Entity entity = Projections.bean(Entity.class, name, age).newInstance("John", 30);
+        assertEquals("John", entity.getName());
+        assertEquals(30, entity.getAge());
+    }
+
+    @Test
+    public void bean_private_class() {
+        PrivateEntity entity = new QBean<PrivateEntity>(PrivateEntity.class, name) {
+            @Override
+            protected <T> T create(Class<T> type) throws IllegalAccessException, InstantiationException {
+                return type.cast(new PrivateEntity());
+            }
+        }.newInstance("John");
+        assertEquals("John", entity.getName());
+    }
+
+    @Test
+    public void constructor() throws NoSuchMethodException {
+        Entity entity = Projections.constructor(Entity.class, name, age).newInstance("John", 30);
+        assertEquals("John", entity.getName());
+        assertEquals(30, entity.getAge());
+        assertNotNull(GeneratedAccessors.constructor(Entity.class.getConstructor(String.class, int.class)));
+    }
+
+    @Test
+    public void constructor_reflective() {
+        GeneratedAccessors.setEnabled(false);
+        Entity entity = Projections.constructor(Entity.class, name, age).newInstance("John", 30);
+        assertEquals("John", entity.getName());
+        assertEquals(30, entity.getAge());
+    }
+
+    @Test
+    public void bean_widening() {
+        Entity entity = Projections.bean(Entity.class, name, id).newInstance("John", 1);
+        assertEquals(1L, entity.getId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bean_type_mismatch() {
+        Projections.bean(Entity.class, name, age).newInstance("John", "30");
+    }
+
+    @Test
+    public void constructor_widening() {
+        Entity entity = Projections.constructor(Entity.class, id, name).newInstance(1, "John");
+        assertEquals(1L, entity.getId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_type_mismatch() {
+        Projections.constructor(Entity.class, name, age).newInstance(1, 30);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types;
+
+import org.junit.After;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.querydsl.core.testutil.Benchmark;
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.testutil.Runner;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+
+@Ignore
+@Category(Performance.class)
+public class ProjectionPerformanceTest {
+
+    private static final StringPath name = Expressions.stringPath("name");
+
+    private static final NumberPath<Integer> age = Expressions.numberPath(Integer.class, "age");
+
+    private static final NumberPath<Long> id = Expressions.numberPath(Long.class, "id");
+
+    private static final FactoryExpression<GeneratedAccessorsTest.Entity> bean =
+            Projections.bean(GeneratedAccessorsTest.Entity.class, name, age);
+
+    private static final FactoryExpression<ProjectionExample> constructor =
+            Projections.constructor(ProjectionExample.class, id, name);
+
+    @After
+    public void tearDown() {
+        GeneratedAccessors.setEnabled(true);
+    }
+
+    private static void populate(String label, final FactoryExpression<?> projection,
+            final Object... row) throws Exception {
+        Runner.run(label, new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                for (int i = 0; i < times; i++) {
+                    projection.newInstance(row);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void bean_generated() throws Exception {
+        populate("bean (generated)", bean, "John", 30);
+    }
+
+    @Test
+    public void bean_reflective() throws Exception {
+        GeneratedAccessors.setEnabled(false);
+        populate("bean (reflective)", Projections.bean(GeneratedAccessorsTest.Entity.class, name, age), "John", 30);
+    }
+
+    @Test
+    public void constructor_generated() throws Exception {
+        populate("constructor (generated)", constructor, 1L, "John");
+    }
+
+    @Test
+    public void constructor_reflective() throws Exception {
+        GeneratedAccessors.setEnabled(false);
+        populate("constructor (reflective)", Projections.constructor(ProjectionExample.class, id, name), 1L, "John");
+    }
+
+}
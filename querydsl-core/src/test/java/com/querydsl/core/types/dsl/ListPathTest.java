@@ -14,6 +14,14 @@
 package com.querydsl.core.types.dsl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -45,4 +53,31 @@ public class ListPathTest {
         assertEquals(String.class, stringPath.getParameter(0));
     }
 
+    @Test
+    public void get_cached() {
+        assertSame(stringPath.get(1), stringPath.get(1));
+    }
+
+    @Test
+    public void get_concurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<StringPath>> results = new ArrayList<Future<StringPath>>();
+            for (int i = 0; i < 100; i++) {
+                final int index = i % 10;
+                results.add(executor.submit(new Callable<StringPath>() {
+                    @Override
+                    public StringPath call() {
+                        return stringPath.get(index);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertSame(stringPath.get(i % 10), results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.core.types.dsl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.PathMetadataFactory;
+
+public class PathFactoriesTest {
+
+    public static class Element {
+
+    }
+
+    public static class QRegistered extends BeanPath<Element> {
+
+        private static final long serialVersionUID = 1L;
+
+        static PathInits lastInits;
+
+        public static final PathFactory<QRegistered> FACTORY = new PathFactory<QRegistered>() {
+            @Override
+            public QRegistered newInstance(Class<?> type, PathMetadata metadata, PathInits inits) {
+                lastInits = inits;
+                return new QRegistered(metadata);
+            }
+        };
+
+        public QRegistered(PathMetadata metadata) {
+            super(Element.class, metadata);
+        }
+
+    }
+
+    public static class QUnregistered extends BeanPath<Element> {
+
+        private static final long serialVersionUID = 1L;
+
+        final PathInits inits;
+
+        public QUnregistered(PathMetadata metadata) {
+            this(metadata, null);
+        }
+
+        public QUnregistered(PathMetadata metadata, PathInits inits) {
+            super(Element.class, metadata);
+            this.inits = inits;
+        }
+
+    }
+
+    @Test
+    public void registered_factory() {
+        ListPath<Element, QRegistered> list = new ListPath<Element, QRegistered>(Element.class,
+                QRegistered.class, PathMetadataFactory.forVariable("list"), PathInits.DIRECT2);
+        assertEquals("list.get(0)", list.get(0).toString());
+        assertSame(PathInits.DIRECT2, QRegistered.lastInits);
+    }
+
+    @Test
+    public void registered_factory_for_map_values() {
+        MapPath<String, Element, QRegistered> map = new MapPath<String, Element, QRegistered>(
+                String.class, Element.class, QRegistered.class, "map");
+        assertEquals("map.get(a)", map.get("a").toString());
+        assertNull(QRegistered.lastInits);
+    }
+
+    @Test
+    public void declared_factory_is_cached() {
+        assertSame(QRegistered.FACTORY, PathFactories.get(QRegistered.class));
+        assertSame(PathFactories.get(QUnregistered.class), PathFactories.get(QUnregistered.class));
+    }
+
+    @Test
+    public void reflective_factory() {
+        SetPath<Element, QUnregistered> set = new SetPath<Element, QUnregistered>(Element.class,
+                QUnregistered.class, PathMetadataFactory.forVariable("set"), PathInits.DIRECT2);
+        assertEquals("any(set)", set.any().toString());
+        assertSame(PathInits.DIRECT2, set.any().inits);
+
+        MapPath<String, Element, QUnregistered> map = new MapPath<String, Element, QUnregistered>(
+                String.class, Element.class, QUnregistered.class, "map");
+        assertNull(map.get("a").inits);
+    }
+
+    @Test
+    public void typed_factory() {
+        ListPath<Integer, NumberPath<Integer>> list = new ListPath<Integer, NumberPath<Integer>>(
+                Integer.class, (Class) NumberPath.class, PathMetadataFactory.forVariable("list"));
+        assertEquals(Integer.class, list.get(0).getType());
+        assertEquals("list.get(0)", list.get(0).toString());
+    }
+
+}
@@ -27,7 +27,7 @@ public class DataNucleusTemplates extends JPQLTemplates {
     }
 
     public DataNucleusTemplates(char escape) {
-        super(escape);
+        super(escape, DefaultQueryHandler.DATANUCLEUS);
         add(Ops.LIKE, "{0} like {1}",1);
         add(Ops.MATCHES, "{0} like {1}", 27); // TODO : support real regexes
         add(Ops.MATCHES_IC, "{0} like {1}", 27); // TODO : support real regexes
@@ -13,6 +13,9 @@
  */
 package com.querydsl.jpa;
 
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Iterator;
 
 import javax.annotation.Nullable;
@@ -20,17 +23,48 @@ import javax.persistence.Query;
 
 import com.mysema.commons.lang.CloseableIterator;
 import com.mysema.commons.lang.IteratorAdapter;
+import com.querydsl.core.QueryException;
 import com.querydsl.core.types.FactoryExpression;
 
 /**
  * {@code DefaultQueryHandler} is the default implementation of the {@link QueryHandler} interface
  *
+ * <p>Results are streamed via {@code Query.getResultStream()} when the JPA 2.2 API is available,
+ * otherwise the iteration is based on {@code Query.getResultList()}.</p>
+ *
  * @author tiwe
  *
  */
-public final class DefaultQueryHandler implements QueryHandler {
+public final class DefaultQueryHandler implements QueryHandler, FetchSizeHandler {
+
+    public static final QueryHandler DEFAULT = new DefaultQueryHandler(null);
+
+    static final QueryHandler OPENJPA = new DefaultQueryHandler("openjpa.FetchPlan.FetchBatchSize");
+
+    static final QueryHandler DATANUCLEUS = new DefaultQueryHandler("datanucleus.query.fetchSize");
+
+    @Nullable
+    private static final Method GET_RESULT_STREAM, STREAM_ITERATOR, STREAM_CLOSE;
+
+    static {
+        Method getResultStream = null, iterator = null, close = null;
+        try {
+            getResultStream = Query.class.getMethod("getResultStream");
+            Class<?> baseStream = Class.forName("java.util.stream.BaseStream");
+            iterator = baseStream.getMethod("iterator");
+            close = baseStream.getMethod("close");
+        } catch (NoSuchMethodException e) {
+            getResultStream = null;
+        } catch (ClassNotFoundException e) {
+            getResultStream = null;
+        }
+        GET_RESULT_STREAM = getResultStream;
+        STREAM_ITERATOR = iterator;
+        STREAM_CLOSE = close;
+    }
 
-    public static final QueryHandler DEFAULT = new DefaultQueryHandler();
+    @Nullable
+    private final String fetchSizeHint;
 
     @Override
     public void addEntity(Query query, String alias, Class<?> type) {
@@ -50,6 +84,21 @@ public final class DefaultQueryHandler implements QueryHandler {
     @SuppressWarnings("unchecked")
     @Override
     public <T> CloseableIterator<T> iterate(Query query, @Nullable final FactoryExpression<?> projection) {
+        if (GET_RESULT_STREAM != null) {
+            final Object stream = invoke(GET_RESULT_STREAM, query);
+            Iterator<T> iterator = (Iterator<T>) invoke(STREAM_ITERATOR, stream);
+            Closeable closeable = new Closeable() {
+                @Override
+                public void close() {
+                    invoke(STREAM_CLOSE, stream);
+                }
+            };
+            if (projection != null) {
+                return new TransformingIterator<T>(iterator, closeable, projection);
+            } else {
+                return new IteratorAdapter<T>(iterator, closeable);
+            }
+        }
         Iterator<T> iterator = query.getResultList().iterator();
         if (projection != null) {
             return new TransformingIterator<T>(iterator, projection);
@@ -58,6 +107,13 @@ public final class DefaultQueryHandler implements QueryHandler {
         }
     }
 
+    @Override
+    public void setFetchSize(Query query, int fetchSize) {
+        if (fetchSizeHint != null) {
+            query.setHint(fetchSizeHint, fetchSize);
+        }
+    }
+
     @Override
     public boolean transform(Query query, FactoryExpression<?> projection) {
         return false;
@@ -68,7 +124,21 @@ public final class DefaultQueryHandler implements QueryHandler {
         return false;
     }
 
-    private DefaultQueryHandler() { }
+    private static Object invoke(Method method, Object target) {
+        try {
+            return method.invoke(target);
+        } catch (IllegalAccessException e) {
+            throw new QueryException(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new QueryException(e.getCause());
+        }
+    }
 
+    private DefaultQueryHandler(@Nullable String fetchSizeHint) {
+        this.fetchSizeHint = fetchSizeHint;
+    }
 
 }
@@ -34,7 +34,7 @@ import com.querydsl.core.types.FactoryExpression;
  * @author tiwe
  *
  */
-class EclipseLinkHandler implements QueryHandler {
+class EclipseLinkHandler implements QueryHandler, FetchSizeHandler {
 
     @Override
     public void addEntity(Query query, String alias, Class<?> type) {
@@ -54,30 +54,33 @@ class EclipseLinkHandler implements QueryHandler {
     @SuppressWarnings("unchecked")
     @Override
     public <T> CloseableIterator<T> iterate(Query query, FactoryExpression<?> projection) {
-        Iterator<T> iterator = null;
-        Closeable closeable = null;
         if (query instanceof JpaQuery) {
             JpaQuery<T> elQuery = (JpaQuery<T>) query;
             elQuery.setHint(QueryHints.RESULT_SET_TYPE, ResultSetType.ForwardOnly);
             elQuery.setHint(QueryHints.SCROLLABLE_CURSOR, true);
             final Cursor cursor = elQuery.getResultCursor();
-            closeable = new Closeable() {
+            Closeable closeable = new Closeable() {
                 @Override
                 public void close() throws IOException {
                     cursor.close();
                 }
             };
-            iterator = cursor;
+            Iterator<T> iterator = cursor;
+            if (projection != null) {
+                return new TransformingIterator<T>(iterator, closeable, projection);
+            } else {
+                return new IteratorAdapter<T>(iterator, closeable);
+            }
         } else {
-            iterator = query.getResultList().iterator();
-        }
-        if (projection != null) {
-            return new TransformingIterator<T>(iterator, closeable, projection);
-        } else {
-            return new IteratorAdapter<T>(iterator, closeable);
+            return DefaultQueryHandler.DEFAULT.iterate(query, projection);
         }
     }
 
+    @Override
+    public void setFetchSize(Query query, int fetchSize) {
+        query.setHint(QueryHints.JDBC_FETCH_SIZE, fetchSize);
+    }
+
     @Override
     public boolean transform(Query query, FactoryExpression<?> projection) {
         return false;
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.jpa;
+
+import javax.persistence.Query;
+
+/**
+ * {@code FetchSizeHandler} is an optional extension of {@link QueryHandler} implementations which
+ * support setting the fetch size of queries
+ */
+public interface FetchSizeHandler {
+
+    /**
+     * Set the number of rows to fetch from the database at a time for the given query
+     *
+     * @param query query
+     * @param fetchSize fetch size
+     */
+    void setFetchSize(Query query, int fetchSize);
+
+}
@@ -13,8 +13,6 @@
  */
 package com.querydsl.jpa;
 
-import java.util.Iterator;
-
 import javax.persistence.Query;
 
 import org.hibernate.SQLQuery;
@@ -24,7 +22,6 @@ import org.hibernate.jpa.HibernateQuery;
 import org.hibernate.transform.ResultTransformer;
 
 import com.mysema.commons.lang.CloseableIterator;
-import com.mysema.commons.lang.IteratorAdapter;
 import com.querydsl.core.types.FactoryExpression;
 
 /**
@@ -33,7 +30,9 @@ import com.querydsl.core.types.FactoryExpression;
  * @author tiwe
  *
  */
-class HibernateHandler implements QueryHandler {
+class HibernateHandler implements QueryHandler, FetchSizeHandler {
+
+    private static final String FETCH_SIZE = "org.hibernate.fetchSize";
 
     @Override
     public void addEntity(Query query, String alias, Class<?> type) {
@@ -72,12 +71,16 @@ class HibernateHandler implements QueryHandler {
             }
             return iterator;
         } else {
-            Iterator<T> iterator = query.getResultList().iterator();
-            if (projection != null) {
-                return new TransformingIterator<T>(iterator, projection);
-            } else {
-                return new IteratorAdapter<T>(iterator);
-            }
+            return DefaultQueryHandler.DEFAULT.iterate(query, projection);
+        }
+    }
+
+    @Override
+    public void setFetchSize(Query query, int fetchSize) {
+        if (query instanceof HibernateQuery) {
+            ((HibernateQuery) query).getHibernateQuery().setFetchSize(fetchSize);
+        } else {
+            query.setHint(FETCH_SIZE, fetchSize);
         }
     }
 
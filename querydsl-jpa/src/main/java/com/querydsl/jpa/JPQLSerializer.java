@@ -441,6 +441,49 @@ public class JPQLSerializer extends SerializerBase<JPQLSerializer> {
         wrapElements = oldWrapElements;
     }
 
+    /**
+     * Get whether the serialized form of the given operation depends on the values of its
+     * constant arguments, e.g. for escaped like patterns, normalized numbers and case literals,
+     * instead of only binding them as parameters
+     *
+     * @param operator operator
+     * @param args arguments
+     * @return true, if constant values are rendered
+     */
+    public boolean isRenderingConstants(Operator operator, List<? extends Expression<?>> args) {
+        boolean hasConstants = false;
+        for (Expression<?> arg : args) {
+            hasConstants |= arg instanceof Constant<?>;
+        }
+        if (!hasConstants || operator == Ops.NUMCAST) {
+            return false;
+        } else if (CASE_OPS.contains(operator) && templates.isCaseWithLiterals()) {
+            return true;
+        } else if (operator == Ops.IN || operator == Ops.NOT_IN || operator == Ops.LIKE
+                || operator == Ops.MATCHES || operator == Ops.MATCHES_IC) {
+            return true;
+        } else if (NUMERIC.contains(operator) && getNumericType(args) != null) {
+            // constants of other types are converted
+            Class<?> numType = getNumericType(args);
+            for (Expression<?> arg : args) {
+                if (arg instanceof Constant<?> && Number.class.isAssignableFrom(arg.getType())
+                        && !arg.getType().equals(numType)) {
+                    return true;
+                }
+            }
+        }
+        Template template = templates.getTemplate(operator);
+        if (template != null) {
+            for (Template.Element element : template.getElements()) {
+                // other elements convert their arguments
+                if (!(element instanceof Template.ByIndex) && !(element instanceof Template.StaticText)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private void visitNumCast(List<? extends Expression<?>> args) {
         @SuppressWarnings("unchecked") //this is the second argument's type
         Constant<Class<?>> rightArg = (Constant<Class<?>>) args.get(1);
@@ -503,18 +546,8 @@ public class JPQLSerializer extends SerializerBase<JPQLSerializer> {
         @SuppressWarnings("unchecked")
         List<? extends Expression<? extends Number>> potentialArgs =
                 (List<? extends Expression<? extends Number>>) args;
-        boolean hasConstants = false;
-        Class<? extends Number> numType = null;
-        for (Expression<? extends Number> arg : potentialArgs) {
-            if (Number.class.isAssignableFrom(arg.getType())) {
-                if (arg instanceof Constant<?>) {
-                    hasConstants = true;
-                } else {
-                    numType = arg.getType();
-                }
-            }
-        }
-        if (hasConstants && numType != null) {
+        Class<? extends Number> numType = getNumericType(potentialArgs);
+        if (numType != null) {
             //now we do let the potentialArgs help us
             final List<Expression<?>> newArgs = new ArrayList<Expression<?>>(args.size());
             for (final Expression<? extends Number> arg : potentialArgs) {
@@ -533,4 +566,21 @@ public class JPQLSerializer extends SerializerBase<JPQLSerializer> {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Class<? extends Number> getNumericType(List<? extends Expression<?>> args) {
+        boolean hasConstants = false;
+        Class<? extends Number> numType = null;
+        for (Expression<?> arg : args) {
+            if (Number.class.isAssignableFrom(arg.getType())) {
+                if (arg instanceof Constant<?>) {
+                    hasConstants = true;
+                } else {
+                    numType = (Class<? extends Number>) arg.getType();
+                }
+            }
+        }
+        return hasConstants ? numType : null;
+    }
+
 }
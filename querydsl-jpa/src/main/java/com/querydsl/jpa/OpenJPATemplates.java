@@ -34,7 +34,7 @@ public class OpenJPATemplates extends JPQLTemplates {
     }
 
     public OpenJPATemplates(char escape) {
-        super(escape);
+        super(escape, DefaultQueryHandler.OPENJPA);
     }
 
 }
@@ -14,6 +14,7 @@
 package com.querydsl.jpa.impl;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -30,9 +31,11 @@ import org.slf4j.MDC;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import com.mysema.commons.lang.CloseableIterator;
+import com.mysema.commons.lang.IteratorAdapter;
 import com.querydsl.core.*;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.jpa.FetchSizeHandler;
 import com.querydsl.jpa.JPAQueryBase;
 import com.querydsl.jpa.JPQLSerializer;
 import com.querydsl.jpa.JPQLTemplates;
@@ -65,6 +68,14 @@ public abstract class AbstractJPAQuery<T, Q extends AbstractJPAQuery<T, Q>> exte
     @Nullable
     protected FactoryExpression<?> projection;
 
+    @Nullable
+    protected Integer fetchSize;
+
+    protected boolean streaming = true;
+
+    @Nullable
+    protected JPQLCache cache;
+
     public AbstractJPAQuery(EntityManager em) {
         this(em, JPAProvider.getTemplates(em), new DefaultQueryMetadata());
     }
@@ -95,11 +106,26 @@ public abstract class AbstractJPAQuery<T, Q extends AbstractJPAQuery<T, Q>> exte
     }
 
     private Query createQuery(@Nullable QueryModifiers modifiers, boolean forCount) {
-        JPQLSerializer serializer = serialize(forCount);
-        String queryString = serializer.toString();
-        logQuery(queryString, serializer.getConstantToLabel());
-        Query query = entityManager.createQuery(queryString);
-        JPAUtil.setConstants(query, serializer.getConstantToLabel(), getMetadata().getParams());
+        Query query;
+        if (cache != null) {
+            JPQLCache.Key key = JPQLCache.key(getMetadata(), forCount, getTemplates(), entityManager);
+            JPQLCache.Entry entry = cache.get(key);
+            if (entry == null) {
+                entry = cache.put(key, createSerializer(), entityManager);
+            }
+            if (entry == null) {
+                entry = cache.putValues(key, serialize(forCount));
+            }
+            logQuery(entry.getQueryString(), entry.getConstantToLabel(key));
+            query = entry.createQuery(entityManager);
+            entry.setConstants(query, key, getMetadata().getParams());
+        } else {
+            JPQLSerializer serializer = serialize(forCount);
+            String queryString = serializer.toString();
+            logQuery(queryString, serializer.getConstantToLabel());
+            query = entityManager.createQuery(queryString);
+            JPAUtil.setConstants(query, serializer.getConstantToLabel(), getMetadata().getParams());
+        }
         if (modifiers != null && modifiers.isRestricting()) {
             Integer limit = modifiers.getLimitAsInteger();
             Integer offset = modifiers.getOffsetAsInteger();
@@ -117,6 +143,10 @@ public abstract class AbstractJPAQuery<T, Q extends AbstractJPAQuery<T, Q>> exte
             query.setFlushMode(flushMode);
         }
 
+        if (fetchSize != null && !forCount && queryHandler instanceof FetchSizeHandler) {
+            ((FetchSizeHandler) queryHandler).setFetchSize(query, fetchSize);
+        }
+
         for (Map.Entry<String, Object> entry : hints.entries()) {
             query.setHint(entry.getKey(), entry.getValue());
         }
@@ -185,10 +215,15 @@ public abstract class AbstractJPAQuery<T, Q extends AbstractJPAQuery<T, Q>> exte
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public CloseableIterator<T> iterate() {
         try {
             Query query = createQuery();
-            return queryHandler.iterate(query, projection);
+            if (streaming) {
+                return queryHandler.iterate(query, projection);
+            } else {
+                return new IteratorAdapter<T>((Iterator<T>) getResultList(query).iterator());
+            }
         } finally {
             reset();
         }
@@ -208,13 +243,17 @@ public abstract class AbstractJPAQuery<T, Q extends AbstractJPAQuery<T, Q>> exte
     @Override
     public QueryResults<T> fetchResults() {
         try {
-            Query countQuery = createQuery(null, true);
-            long total = (Long) countQuery.getSingleResult();
+            QueryModifiers modifiers = getMetadata().getModifiers();
+            Query query = createQuery(modifiers, false);
+            @SuppressWarnings("unchecked")
+            List<T> list = (List<T>) getResultList(query);
+            // a partial page makes the count query unnecessary
+            Long total = JPAUtil.getTotalOfPage(modifiers, list.size());
+            if (total == null) {
+                Query countQuery = createQuery(null, true);
+                total = (Long) countQuery.getSingleResult();
+            }
             if (total > 0) {
-                QueryModifiers modifiers = getMetadata().getModifiers();
-                Query query = createQuery(modifiers, false);
-                @SuppressWarnings("unchecked")
-                List<T> list = (List<T>) getResultList(query);
                 return new QueryResults<T>(list, modifiers, total);
             } else {
                 return QueryResults.emptyResults();
@@ -279,6 +318,47 @@ public abstract class AbstractJPAQuery<T, Q extends AbstractJPAQuery<T, Q>> exte
         return (Q) this;
     }
 
+    /**
+     * Use the given cache for the rendered JPQL of this query
+     *
+     * @param cache cache
+     * @return the current object
+     */
+    @SuppressWarnings("unchecked")
+    public Q setCache(@Nullable JPQLCache cache) {
+        this.cache = cache;
+        return (Q) this;
+    }
+
+    /**
+     * Set the number of rows to fetch from the database at a time. The fetch size is applied
+     * if the {@link QueryHandler} of the templates is a {@link FetchSizeHandler}.
+     *
+     * @param fetchSize fetch size
+     * @return the current object
+     */
+    @SuppressWarnings("unchecked")
+    public Q setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return (Q) this;
+    }
+
+    /**
+     * Set whether {@link #iterate()} streams the results from the database with the provider
+     * specific means of the {@link QueryHandler} or loads all results before returning the
+     * iterator. Defaults to true.
+     *
+     * <p>Streamed results need to be consumed while the underlying connection is open.</p>
+     *
+     * @param streaming true, to stream the results
+     * @return the current object
+     */
+    @SuppressWarnings("unchecked")
+    public Q setStreaming(boolean streaming) {
+        this.streaming = streaming;
+        return (Q) this;
+    }
+
     @Override
     protected JPQLSerializer createSerializer() {
         return new JPQLSerializer(getTemplates(), entityManager);
@@ -289,6 +369,9 @@ public abstract class AbstractJPAQuery<T, Q extends AbstractJPAQuery<T, Q>> exte
         flushMode = query.flushMode;
         hints.putAll(query.hints);
         lockMode = query.lockMode;
+        fetchSize = query.fetchSize;
+        streaming = query.streaming;
+        cache = query.cache;
     }
 
     /**
@@ -37,6 +37,9 @@ public class JPAQueryFactory implements JPQLQueryFactory  {
 
     private final Provider<EntityManager> entityManager;
 
+    @Nullable
+    private JPQLCache cache;
+
     public JPAQueryFactory(final EntityManager entityManager) {
         this.entityManager = new Provider<EntityManager>() {
             @Override
@@ -132,11 +135,22 @@ public class JPAQueryFactory implements JPQLQueryFactory  {
 
     @Override
     public JPAQuery<?> query() {
+        JPAQuery<?> query;
         if (templates != null) {
-            return new JPAQuery<Void>(entityManager.get(), templates);
+            query = new JPAQuery<Void>(entityManager.get(), templates);
         } else {
-            return new JPAQuery<Void>(entityManager.get());
+            query = new JPAQuery<Void>(entityManager.get());
         }
+        return query.setCache(cache);
+    }
+
+    /**
+     * Set the cache for the rendered JPQL of the created queries
+     *
+     * @param cache cache
+     */
+    public void setCache(@Nullable JPQLCache cache) {
+        this.cache = cache;
     }
 
 }
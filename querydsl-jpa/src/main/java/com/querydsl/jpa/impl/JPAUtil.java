@@ -15,9 +15,11 @@ package com.querydsl.jpa.impl;
 
 import java.util.Map;
 
+import javax.annotation.Nullable;
 import javax.persistence.Parameter;
 import javax.persistence.Query;
 
+import com.querydsl.core.QueryModifiers;
 import com.querydsl.core.types.ParamExpression;
 import com.querydsl.core.types.ParamNotSetException;
 import com.querydsl.core.types.dsl.Param;
@@ -36,24 +38,52 @@ public final class JPAUtil {
     public static void setConstants(Query query, Map<Object,String> constants, Map<ParamExpression<?>, Object> params) {
         boolean hasParameters = !query.getParameters().isEmpty();
         for (Map.Entry<Object,String> entry : constants.entrySet()) {
-            String key = entry.getValue();
-            Object val = entry.getKey();
-            if (Param.class.isInstance(val)) {
-                val = params.get(val);
-                if (val == null) {
-                    throw new ParamNotSetException((Param<?>) entry.getKey());
-                }
+            setConstant(query, hasParameters, entry.getValue(), entry.getKey(), params);
+        }
+    }
+
+    static void setConstant(Query query, boolean hasParameters, String key, Object constant,
+            Map<ParamExpression<?>, Object> params) {
+        Object val = constant;
+        if (Param.class.isInstance(val)) {
+            val = params.get(val);
+            if (val == null) {
+                throw new ParamNotSetException((Param<?>) constant);
             }
-            if (hasParameters) {
-                Parameter parameter = query.getParameter(Integer.parseInt(key));
-                Class parameterType = parameter != null ? parameter.getParameterType() : null;
-                if (parameterType != null && !parameterType.isInstance(val)) {
-                    if (val instanceof Number && Number.class.isAssignableFrom(parameterType)) {
-                        val = MathUtils.cast((Number) val, parameterType);
-                    }
+        }
+        if (hasParameters) {
+            Parameter parameter = query.getParameter(Integer.parseInt(key));
+            Class parameterType = parameter != null ? parameter.getParameterType() : null;
+            if (parameterType != null && !parameterType.isInstance(val)) {
+                if (val instanceof Number && Number.class.isAssignableFrom(parameterType)) {
+                    val = MathUtils.cast((Number) val, parameterType);
                 }
             }
-            query.setParameter(Integer.valueOf(key), val);
+        }
+        query.setParameter(Integer.valueOf(key), val);
+    }
+
+    /**
+     * Get the total amount of results based on the size of the given result page, if possible
+     *
+     * <p>A page which is smaller than the limit is the last page, so the total is the
+     * offset plus the size of the page.</p>
+     *
+     * @param modifiers modifiers of the page
+     * @param size size of the page
+     * @return total amount of results or null, if the results need to be counted
+     */
+    @Nullable
+    public static Long getTotalOfPage(QueryModifiers modifiers, int size) {
+        Long limit = modifiers.getLimit();
+        long offset = modifiers.getOffset() != null ? modifiers.getOffset() : 0L;
+        if (size == 0 && offset > 0) {
+            // the offset might be beyond the last result
+            return null;
+        } else if (limit == null || size < limit) {
+            return offset + size;
+        } else {
+            return null;
         }
     }
 
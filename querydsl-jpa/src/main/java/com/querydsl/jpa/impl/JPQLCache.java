@@ -0,0 +1,515 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.jpa.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.MapMaker;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.support.ReplaceVisitor;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.SubQueryExpressionImpl;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+
+/**
+ * {@code JPQLCache} caches the rendered JPQL of {@link AbstractJPAQuery} instances by query shape
+ *
+ * <p>The shape of a query consists of its metadata with the constants replaced by positional
+ * slots and without the values of the {@link ParamExpression} instances and without limit and
+ * offset. Queries which only differ in these share the rendered JPQL, which is serialized only
+ * once. The constant values and parameter values are bound per execution.</p>
+ *
+ * <p>Some constants are rendered depending on their value, for example escaped like patterns or
+ * literals in case expressions, as reported by
+ * {@link JPQLSerializer#isRenderingConstants(com.querydsl.core.types.Operator, List)}. Queries
+ * with such constants are cached by shape and constant values instead. Queries with collection,
+ * map or array constants are not cached, since those values are mutable.</p>
+ *
+ * <p>Optionally the rendered queries are registered as named queries via
+ * {@link EntityManagerFactory#addNamedQuery(String, Query)}, so that the JPA provider can
+ * reuse its compiled form. Only queries whose JPQL is independent of the constant values are
+ * registered. Named queries can't be removed from the factory, so each rendered query is
+ * registered once per factory and reused after eviction. The registry grows with the amount
+ * of distinct query shapes, which makes the option suitable for applications with a fixed
+ * set of queries.</p>
+ *
+ * <p>Instances are thread-safe and are meant to be shared, e.g. via
+ * {@link JPAQueryFactory#setCache(JPQLCache)}.</p>
+ */
+public final class JPQLCache {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 512;
+
+    private static final AtomicLong cacheCounter = new AtomicLong();
+
+    private static final char SLOT_MARKER = '\u0000';
+
+    private static final ReplaceVisitor<Key.Builder> SHAPE = new ReplaceVisitor<Key.Builder>() {
+        @Override
+        public Expression<?> visit(Operation<?> expr, Key.Builder context) {
+            Expression<?> rv = super.visit(expr, context);
+            if (rv != expr && rv instanceof Operation) {
+                // the arguments contain slots
+                context.operations.add((Operation<?>) rv);
+            }
+            return rv;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Expression<?> visit(Constant<?> expr, Key.Builder context) {
+            Object constant = expr.getConstant();
+            if (constant instanceof Collection || constant instanceof Map
+                    || constant.getClass().isArray()) {
+                context.mutable = true;
+                return expr;
+            } else if (constant instanceof Class) {
+                // class constants are rendered as type names
+                return expr;
+            } else {
+                Slot slot = new Slot(context.constants.size(), expr.getType());
+                context.constants.add(constant);
+                return ConstantImpl.create((Class) expr.getType(), slot);
+            }
+        }
+    };
+
+    private final Cache<Key, Entry> cache;
+
+    private final Cache<Key, Boolean> valueSensitiveShapes;
+
+    private final boolean registerNamedQueries;
+
+    private final String namePrefix;
+
+    private final AtomicLong nameCounter = new AtomicLong();
+
+    private final ConcurrentMap<EntityManagerFactory, ConcurrentMap<String, String>> queryNames =
+            new MapMaker().weakKeys().makeMap();
+
+    public JPQLCache() {
+        this(DEFAULT_MAXIMUM_SIZE, false);
+    }
+
+    /**
+     * Create a new cache
+     *
+     * @param maximumSize maximum amount of cached queries
+     * @param registerNamedQueries true, to register the queries as named queries
+     */
+    public JPQLCache(int maximumSize, boolean registerNamedQueries) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.valueSensitiveShapes = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        this.registerNamedQueries = registerNamedQueries;
+        this.namePrefix = "querydsl.jpql." + cacheCounter.incrementAndGet() + ".";
+    }
+
+    /**
+     * Get the hit and miss statistics of the cache
+     *
+     * @return statistics
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Get the amount of cached queries
+     *
+     * @return size
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Remove all cached queries
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        valueSensitiveShapes.invalidateAll();
+    }
+
+    @Nullable
+    Entry get(Key key) {
+        if (valueSensitiveShapes.getIfPresent(key) != null) {
+            return cache.getIfPresent(key.withConstants());
+        } else {
+            return cache.getIfPresent(key);
+        }
+    }
+
+    /**
+     * Serialize the shape of the given query and cache it, if its JPQL is independent of the
+     * constant values
+     *
+     * @param key shape of the query
+     * @param serializer serializer for the shape
+     * @param entityManager entity manager
+     * @return the entry for the shape or null, if the query needs to be cached by its values via
+     * {@link #putValues(Key, JPQLSerializer)}
+     */
+    @Nullable
+    Entry put(Key key, JPQLSerializer serializer, EntityManager entityManager) {
+        if (key.mutable || valueSensitiveShapes.getIfPresent(key) != null) {
+            return null;
+        } else if (key.shape.getJoins().isEmpty()) {
+            throw new IllegalArgumentException("No sources given");
+        }
+        for (Operation<?> operation : key.operations) {
+            if (serializer.isRenderingConstants(operation.getOperator(), operation.getArgs())) {
+                valueSensitiveShapes.put(key, Boolean.TRUE);
+                return null;
+            }
+        }
+        serializer.serialize(key.shape, key.forCount, null);
+        String queryString = serializer.toString();
+        Map<Object, String> constantToLabel = serializer.getConstantToLabel();
+        int slots = 0;
+        boolean valueSensitive = queryString.indexOf(SLOT_MARKER) > -1;
+        for (Object constant : constantToLabel.keySet()) {
+            if (constant instanceof Slot) {
+                slots++;
+            } else if (String.valueOf(constant).indexOf(SLOT_MARKER) > -1) {
+                // a constant derived from a slot, e.g. an escaped like pattern
+                valueSensitive = true;
+            }
+        }
+        if (valueSensitive || slots < key.constants.size()) {
+            valueSensitiveShapes.put(key, Boolean.TRUE);
+            return null;
+        }
+        String queryName = null;
+        if (registerNamedQueries) {
+            queryName = getQueryName(queryString, entityManager);
+        }
+        Entry entry = new Entry(queryString, ImmutableMap.copyOf(constantToLabel), queryName);
+        cache.put(key, entry);
+        return entry;
+    }
+
+    private String getQueryName(String queryString, EntityManager entityManager) {
+        EntityManagerFactory factory = entityManager.getEntityManagerFactory();
+        ConcurrentMap<String, String> names = queryNames.get(factory);
+        if (names == null) {
+            names = new ConcurrentHashMap<String, String>();
+            ConcurrentMap<String, String> existing = queryNames.putIfAbsent(factory, names);
+            if (existing != null) {
+                names = existing;
+            }
+        }
+        String queryName = names.get(queryString);
+        if (queryName == null) {
+            synchronized (names) {
+                queryName = names.get(queryString);
+                if (queryName == null) {
+                    queryName = namePrefix + nameCounter.incrementAndGet();
+                    factory.addNamedQuery(queryName, entityManager.createQuery(queryString));
+                    names.put(queryString, queryName);
+                }
+            }
+        }
+        return queryName;
+    }
+
+    /**
+     * Cache the given serialized query by its shape and constant values
+     *
+     * @param key shape of the query
+     * @param serializer serializer of the query
+     * @return the entry for the serialized query
+     */
+    Entry putValues(Key key, JPQLSerializer serializer) {
+        Entry entry = new Entry(serializer.toString(), ImmutableMap.copyOf(serializer.getConstantToLabel()), null);
+        if (!key.mutable) {
+            cache.put(key.withConstants(), entry);
+        }
+        return entry;
+    }
+
+    static Key key(QueryMetadata metadata, boolean forCount, JPQLTemplates templates,
+            EntityManager entityManager) {
+        Key.Builder builder = new Key.Builder();
+        QueryMetadata shape = ((SubQueryExpression<?>) new SubQueryExpressionImpl<Object>(Object.class, metadata)
+                .accept(SHAPE, builder)).getMetadata();
+        return new Key(shape, ImmutableList.copyOf(builder.constants), ImmutableList.copyOf(builder.operations),
+                builder.mutable, forCount, templates, entityManager.getEntityManagerFactory(), false);
+    }
+
+    /**
+     * Position of a constant in the shape of a query
+     */
+    static final class Slot {
+
+        private final int index;
+
+        private final Class<?> type;
+
+        Slot(int index, Class<?> type) {
+            this.index = index;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (o instanceof Slot) {
+                Slot s = (Slot) o;
+                return s.index == index && s.type.equals(type);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * index + type.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            // marks slots which end up in the rendered JPQL
+            return SLOT_MARKER + String.valueOf(index) + SLOT_MARKER;
+        }
+
+    }
+
+    /**
+     * Shape of a query
+     */
+    static final class Key {
+
+        /**
+         * Collects the constants of a query while its shape is created
+         */
+        static final class Builder {
+
+            private final List<Object> constants = new ArrayList<Object>();
+
+            private final List<Operation<?>> operations = new ArrayList<Operation<?>>();
+
+            private boolean mutable;
+
+        }
+
+        private final QueryMetadata shape;
+
+        private final List<Object> constants;
+
+        private final List<Operation<?>> operations;
+
+        private final boolean mutable;
+
+        private final List<JoinExpression> joins;
+
+        @Nullable
+        private final Predicate where;
+
+        private final List<Expression<?>> groupBy;
+
+        @Nullable
+        private final Predicate having;
+
+        private final List<OrderSpecifier<?>> orderBy;
+
+        @Nullable
+        private final Expression<?> projection;
+
+        private final boolean distinct, unique, forCount, withConstants;
+
+        private final ImmutableSet<QueryFlag> flags;
+
+        private final ImmutableSet<ParamExpression<?>> params;
+
+        private final JPQLTemplates templates;
+
+        private final EntityManagerFactory entityManagerFactory;
+
+        private final int hashCode;
+
+        Key(QueryMetadata shape, List<Object> constants, List<Operation<?>> operations, boolean mutable,
+                boolean forCount, JPQLTemplates templates, EntityManagerFactory entityManagerFactory,
+                boolean withConstants) {
+            this.shape = shape;
+            this.constants = constants;
+            this.operations = operations;
+            this.mutable = mutable;
+            this.joins = ImmutableList.copyOf(shape.getJoins());
+            this.where = shape.getWhere();
+            this.groupBy = ImmutableList.copyOf(shape.getGroupBy());
+            this.having = shape.getHaving();
+            this.orderBy = ImmutableList.copyOf(shape.getOrderBy());
+            this.projection = shape.getProjection();
+            this.distinct = shape.isDistinct();
+            this.unique = shape.isUnique();
+            this.forCount = forCount;
+            this.withConstants = withConstants;
+            this.flags = ImmutableSet.copyOf(shape.getFlags());
+            this.params = ImmutableSet.copyOf(shape.getParams().keySet());
+            this.templates = templates;
+            this.entityManagerFactory = entityManagerFactory;
+            this.hashCode = Objects.hashCode(joins, where, groupBy, having, orderBy, projection,
+                    distinct, unique, forCount, flags, params)
+                    + (withConstants ? constants.hashCode() : 0);
+        }
+
+        /**
+         * @return key of this shape with the given constant values
+         */
+        Key withConstants() {
+            return new Key(shape, constants, operations, mutable, forCount, templates, entityManagerFactory, true);
+        }
+
+        /**
+         * @return value of the given slot or the given constant
+         */
+        Object resolve(Object constant) {
+            if (constant instanceof Slot) {
+                return constants.get(((Slot) constant).index);
+            } else {
+                return constant;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (o instanceof Key) {
+                Key k = (Key) o;
+                return k.hashCode == hashCode
+                    && k.templates == templates
+                    && k.entityManagerFactory == entityManagerFactory
+                    && k.distinct == distinct
+                    && k.unique == unique
+                    && k.forCount == forCount
+                    && k.withConstants == withConstants
+                    && k.joins.equals(joins)
+                    && Objects.equal(k.where, where)
+                    && k.groupBy.equals(groupBy)
+                    && Objects.equal(k.having, having)
+                    && k.orderBy.equals(orderBy)
+                    && Objects.equal(k.projection, projection)
+                    && k.flags.equals(flags)
+                    && k.params.equals(params)
+                    && (!withConstants || k.constants.equals(constants));
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+    /**
+     * Rendered query
+     */
+    static final class Entry {
+
+        private final String queryString;
+
+        private final Map<Object, String> constantToLabel;
+
+        @Nullable
+        private final String queryName;
+
+        Entry(String queryString, Map<Object, String> constantToLabel,
+                @Nullable String queryName) {
+            this.queryString = queryString;
+            this.constantToLabel = constantToLabel;
+            this.queryName = queryName;
+        }
+
+        public String getQueryString() {
+            return queryString;
+        }
+
+        public Map<Object, String> getConstantToLabel() {
+            return constantToLabel;
+        }
+
+        /**
+         * Get the labels of the constants of the given query
+         *
+         * @param key shape of the query
+         * @return constant to label mapping
+         */
+        public Map<Object, String> getConstantToLabel(Key key) {
+            Map<Object, String> rv = new LinkedHashMap<Object, String>();
+            for (Map.Entry<Object, String> entry : constantToLabel.entrySet()) {
+                rv.put(key.resolve(entry.getKey()), entry.getValue());
+            }
+            return rv;
+        }
+
+        public Query createQuery(EntityManager entityManager) {
+            if (queryName != null) {
+                return entityManager.createNamedQuery(queryName);
+            } else {
+                return entityManager.createQuery(queryString);
+            }
+        }
+
+        /**
+         * Bind the constants and parameters of the given query
+         *
+         * @param query JPA query
+         * @param key shape of the query
+         * @param params parameter values
+         */
+        public void setConstants(Query query, Key key, Map<ParamExpression<?>, Object> params) {
+            boolean hasParameters = !query.getParameters().isEmpty();
+            for (Map.Entry<Object, String> entry : constantToLabel.entrySet()) {
+                JPAUtil.setConstant(query, hasParameters, entry.getValue(), key.resolve(entry.getKey()),
+                        params);
+            }
+        }
+
+    }
+
+}
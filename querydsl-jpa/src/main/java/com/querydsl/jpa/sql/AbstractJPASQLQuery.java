@@ -14,6 +14,7 @@
 package com.querydsl.jpa.sql;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -56,6 +57,11 @@ public abstract class AbstractJPASQLQuery<T, Q extends AbstractJPASQLQuery<T, Q>
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractJPASQLQuery.class);
 
+    private static final String ROW_COUNT_ALIAS = "querydsl_row_count";
+
+    private static final QueryFlag rowCountFlag = new QueryFlag(QueryFlag.Position.AFTER_PROJECTION,
+            ", count(*) over() as " + ROW_COUNT_ALIAS + " ");
+
     private final EntityManager entityManager;
 
     protected final Multimap<String,Object> hints = HashMultimap.create();
@@ -95,6 +101,7 @@ public abstract class AbstractJPASQLQuery<T, Q extends AbstractJPASQLQuery<T, Q>
     }
 
     private Query createQuery(boolean forCount) {
+        boolean rowCount = queryMixin.getMetadata().getFlags().contains(rowCountFlag);
         NativeSQLSerializer serializer = (NativeSQLSerializer) serialize(forCount);
         String queryString = serializer.toString();
         logQuery(queryString, serializer.getConstantToLabel());
@@ -140,6 +147,9 @@ public abstract class AbstractJPASQLQuery<T, Q extends AbstractJPASQLQuery<T, Q>
                     }
                 }
             }
+            if (rowCount && !used.isEmpty()) {
+                queryHandler.addScalar(query, ROW_COUNT_ALIAS, Long.class);
+            }
         }
 
         if (lockMode != null) {
@@ -159,7 +169,8 @@ public abstract class AbstractJPASQLQuery<T, Q extends AbstractJPASQLQuery<T, Q>
         this.projection = null; // necessary when query is reused
 
         if (projection instanceof FactoryExpression) {
-            if (!queryHandler.transform(query, (FactoryExpression<?>) projection)) {
+            // the row count column is removed before the projection is applied
+            if (rowCount || !queryHandler.transform(query, (FactoryExpression<?>) projection)) {
                 this.projection = (FactoryExpression<?>) projection;
             }
         }
@@ -255,13 +266,38 @@ public abstract class AbstractJPASQLQuery<T, Q extends AbstractJPASQLQuery<T, Q>
     public QueryResults<T> fetchResults() {
         // TODO : handle entity projections as well
         try {
-            Query query = createQuery(true);
-            long total = ((Number) query.getSingleResult()).longValue();
-            if (total > 0) {
-                QueryModifiers modifiers = queryMixin.getMetadata().getModifiers();
-                query = createQuery(false);
+            QueryModifiers modifiers = queryMixin.getMetadata().getModifiers();
+            List<T> list;
+            Long total = null;
+            if (isCountViaAnalytics()) {
+                Query query;
+                queryMixin.addFlag(rowCountFlag);
+                try {
+                    query = createQuery(false);
+                } finally {
+                    queryMixin.removeFlag(rowCountFlag);
+                }
+                List<?> rows = query.getResultList();
+                list = new ArrayList<T>(rows.size());
+                for (Object row : rows) {
+                    Object[] arr = (Object[]) row;
+                    total = ((Number) arr[arr.length - 1]).longValue();
+                    list.add(this.<T>transform(Arrays.copyOf(arr, arr.length - 1)));
+                }
+            } else {
                 @SuppressWarnings("unchecked")
-                List<T> list = (List<T>) getResultList(query);
+                List<T> results = (List<T>) getResultList(createQuery(false));
+                list = results;
+            }
+            if (total == null) {
+                // a partial page makes the count query unnecessary
+                total = JPAUtil.getTotalOfPage(modifiers, list.size());
+            }
+            if (total == null) {
+                Query query = createQuery(true);
+                total = ((Number) query.getSingleResult()).longValue();
+            }
+            if (total > 0) {
                 return new QueryResults<T>(list, modifiers, total);
             } else {
                 return QueryResults.emptyResults();
@@ -272,6 +308,43 @@ public abstract class AbstractJPASQLQuery<T, Q extends AbstractJPASQLQuery<T, Q>
 
     }
 
+    /**
+     * Whether the total can be fetched together with the results via a window function
+     */
+    private boolean isCountViaAnalytics() {
+        QueryMetadata metadata = queryMixin.getMetadata();
+        Expression<?> projection = metadata.getProjection();
+        if (!configuration.getTemplates().isCountViaAnalytics() || !metadata.getGroupBy().isEmpty()) {
+            return false;
+        } else if (projection instanceof FactoryExpression) {
+            for (Expression<?> arg : ((FactoryExpression<?>) projection).getArgs()) {
+                if (isEntityExpression(arg)) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            return !isEntityExpression(projection);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private <U> U transform(Object[] row) {
+        if (projection != null) {
+            if (projection.getArgs().size() < row.length) {
+                Object[] shortened = new Object[projection.getArgs().size()];
+                System.arraycopy(row, 0, shortened, 0, shortened.length);
+                row = shortened;
+            }
+            return (U) projection.newInstance(row);
+        } else if (row.length == 1) {
+            return (U) row[0];
+        } else {
+            return (U) row;
+        }
+    }
+
     protected void logQuery(String queryString, Map<Object, String> parameters) {
         if (logger.isDebugEnabled()) {
             String normalizedQuery = queryString.replace('\n', ' ');
@@ -654,6 +654,20 @@ public abstract class AbstractJPATest {
         assertEquals(6, query().from(cat).leftJoin(cat.kittens, kitten).select(kitten.countDistinct()).fetchCount());
     }
 
+    @Test
+    public void fetchResults_partial_page() {
+        QueryResults<Cat> results = query().from(cat).limit(10).select(cat).fetchResults();
+        assertEquals(6, results.getResults().size());
+        assertEquals(6L, results.getTotal());
+    }
+
+    @Test
+    public void fetchResults_offset_beyond_results() {
+        QueryResults<Cat> results = query().from(cat).limit(2).offset(10).select(cat).fetchResults();
+        assertTrue(results.getResults().isEmpty());
+        assertEquals(6L, results.getTotal());
+    }
+
     @Test
     public void distinctResults() {
         System.out.println("-- fetch results");
@@ -216,6 +216,23 @@ public abstract class AbstractSQLTest {
         assertEquals(6L, results.getTotal());
     }
 
+    @Test
+    public void list_results_partial_page() {
+        QueryResults<Tuple> results = query().from(cat).limit(10).orderBy(cat.name.asc())
+                .select(cat.id, cat.name).fetchResults();
+        assertEquals(6, results.getResults().size());
+        assertEquals("Beck", results.getResults().get(0).get(cat.name));
+        assertEquals(6L, results.getTotal());
+    }
+
+    @Test
+    public void list_results_offset_beyond_results() {
+        QueryResults<String> results = query().from(cat).limit(3).offset(10).orderBy(cat.name.asc())
+                .select(cat.name).fetchResults();
+        assertTrue(results.getResults().isEmpty());
+        assertEquals(6L, results.getTotal());
+    }
+
     @Test
     @ExcludeIn(Target.H2)
     public void list_wildcard() {
@@ -34,6 +34,7 @@ import org.junit.rules.TestRule;
 import org.junit.runner.RunWith;
 
 import com.mysema.commons.lang.CloseableIterator;
+import com.mysema.commons.lang.IteratorAdapter;
 import com.querydsl.core.DefaultQueryMetadata;
 import com.querydsl.core.Target;
 import com.querydsl.core.Tuple;
@@ -41,9 +42,11 @@ import com.querydsl.core.testutil.ExcludeIn;
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Param;
 import com.querydsl.jpa.domain.*;
 import com.querydsl.jpa.impl.JPADeleteClause;
 import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPQLCache;
 import com.querydsl.jpa.testutil.JPATestRunner;
 
 /**
@@ -207,6 +210,53 @@ public class JPABase extends AbstractJPATest implements JPATest {
         cats.close();
     }
 
+    @Test
+    @ExcludeIn(Target.DERBY) // same iteration as iterate(), which is excluded for Derby
+    public void iterate_with_fetchSize() {
+        CloseableIterator<Cat> cats = query().from(cat).setFetchSize(2).select(cat).iterate();
+        int count = 0;
+        while (cats.hasNext()) {
+            assertNotNull(cats.next());
+            count++;
+        }
+        cats.close();
+        assertEquals(query().from(cat).fetchCount(), count);
+    }
+
+    @Test
+    public void iterate_not_streaming() {
+        CloseableIterator<String> names = query().from(cat).setStreaming(false)
+                .orderBy(cat.name.asc()).select(cat.name).iterate();
+        assertEquals(query().from(cat).orderBy(cat.name.asc()).select(cat.name).fetch(),
+                IteratorAdapter.asList(names));
+    }
+
+    @Test
+    public void jpqlCache() {
+        JPQLCache cache = new JPQLCache();
+        Param<String> name = new Param<String>(String.class, "name");
+        for (String n : new String[]{"Bob123", "Ruth123", "Bob123"}) {
+            Cat result = query().from(cat).where(cat.name.eq(name)).set(name, n)
+                    .setCache(cache).select(cat).fetchOne();
+            assertEquals(n, result.getName());
+        }
+        assertEquals(1, cache.getStats().missCount());
+        assertEquals(2, cache.getStats().hitCount());
+    }
+
+    @Test
+    public void jpqlCache_constants() {
+        JPQLCache cache = new JPQLCache();
+        for (String n : new String[]{"Bob123", "Ruth123", "Bob123"}) {
+            Cat result = query().from(cat).where(cat.name.eq(n))
+                    .setCache(cache).select(cat).fetchOne();
+            assertEquals(n, result.getName());
+        }
+        assertEquals(1, cache.getStats().missCount());
+        assertEquals(2, cache.getStats().hitCount());
+        assertEquals(1, cache.size());
+    }
+
     @Test
     public void limit1_uniqueResult() {
         assertNotNull(query().from(cat).limit(1).select(cat).fetchOne());
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.jpa.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.querydsl.core.QueryModifiers;
+
+public class JPAUtilTest {
+
+    @Test
+    public void totalOfPage_partial_page() {
+        assertEquals(Long.valueOf(3), JPAUtil.getTotalOfPage(new QueryModifiers(5L, null), 3));
+        assertEquals(Long.valueOf(13), JPAUtil.getTotalOfPage(new QueryModifiers(5L, 10L), 3));
+        assertEquals(Long.valueOf(0), JPAUtil.getTotalOfPage(new QueryModifiers(5L, null), 0));
+    }
+
+    @Test
+    public void totalOfPage_no_limit() {
+        assertEquals(Long.valueOf(7), JPAUtil.getTotalOfPage(QueryModifiers.EMPTY, 7));
+        assertEquals(Long.valueOf(17), JPAUtil.getTotalOfPage(new QueryModifiers(null, 10L), 7));
+    }
+
+    @Test
+    public void totalOfPage_full_page() {
+        assertNull(JPAUtil.getTotalOfPage(new QueryModifiers(5L, null), 5));
+        assertNull(JPAUtil.getTotalOfPage(new QueryModifiers(5L, 10L), 5));
+    }
+
+    @Test
+    public void totalOfPage_empty_page_with_offset() {
+        assertNull(JPAUtil.getTotalOfPage(new QueryModifiers(5L, 10L), 0));
+        assertNull(JPAUtil.getTotalOfPage(new QueryModifiers(null, 10L), 0));
+    }
+
+}
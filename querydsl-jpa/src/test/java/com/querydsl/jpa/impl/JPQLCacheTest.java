@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.jpa.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Parameter;
+import javax.persistence.Query;
+
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.domain.QCat;
+
+public class JPQLCacheTest {
+
+    private final QCat cat = QCat.cat;
+
+    private final Param<String> name = new Param<String>(String.class, "name");
+
+    private EntityManagerFactory factoryMock;
+
+    private EntityManager mock;
+
+    @Before
+    public void setUp() {
+        factoryMock = EasyMock.createMock(EntityManagerFactory.class);
+        mock = EasyMock.createMock(EntityManager.class);
+        EasyMock.expect(mock.getEntityManagerFactory()).andReturn(factoryMock).anyTimes();
+    }
+
+    private JPAQuery<?> query() {
+        return new JPAQuery<Void>(mock, JPQLTemplates.DEFAULT);
+    }
+
+    private JPQLCache.Key key(JPAQuery<?> query) {
+        return JPQLCache.key(query.getMetadata(), false, JPQLTemplates.DEFAULT, mock);
+    }
+
+    private JPQLSerializer serialize(JPAQuery<?> query) {
+        JPQLSerializer serializer = new JPQLSerializer(JPQLTemplates.DEFAULT);
+        serializer.serialize(query.getMetadata(), false, null);
+        return serializer;
+    }
+
+    private JPQLSerializer serializer() {
+        return new JPQLSerializer(JPQLTemplates.DEFAULT);
+    }
+
+    @Test
+    public void same_shape() {
+        EasyMock.replay(mock, factoryMock);
+        JPAQuery<?> query1 = query().from(cat).where(cat.name.eq(name), cat.bodyWeight.gt(1.0))
+                .set(name, "Bob").limit(10);
+        JPAQuery<?> query2 = query().from(cat).where(cat.name.eq(name), cat.bodyWeight.gt(1.0))
+                .set(name, "Ruth").limit(5).offset(5);
+        assertEquals(key(query1), key(query2));
+        assertEquals(key(query1).hashCode(), key(query2).hashCode());
+    }
+
+    @Test
+    public void same_shape_with_different_constants() {
+        EasyMock.replay(mock, factoryMock);
+        JPQLCache.Key key = key(query().from(cat).where(cat.bodyWeight.gt(1.0)));
+        assertEquals(key, key(query().from(cat).where(cat.bodyWeight.gt(2.0))));
+        assertEquals(key.hashCode(), key(query().from(cat).where(cat.bodyWeight.gt(2.0))).hashCode());
+    }
+
+    @Test
+    public void different_shape() {
+        EasyMock.replay(mock, factoryMock);
+        JPQLCache.Key key = key(query().from(cat).where(cat.bodyWeight.gt(1.0)));
+        assertFalse(key.equals(key(query().from(cat).where(cat.bodyWeight.lt(1.0)))));
+        assertFalse(key.equals(key(query().from(cat).where(cat.name.eq("1.0")))));
+        assertFalse(key.equals(JPQLCache.key(query().from(cat).where(cat.bodyWeight.gt(1.0)).getMetadata(),
+                true, JPQLTemplates.DEFAULT, mock)));
+    }
+
+    @Test
+    public void put() {
+        EasyMock.replay(mock, factoryMock);
+        JPQLCache cache = new JPQLCache();
+        JPAQuery<?> query = query().from(cat).where(cat.name.eq(name), cat.bodyWeight.gt(1.0));
+        JPQLCache.Key key = key(query);
+        assertNull(cache.get(key));
+        JPQLCache.Entry entry = cache.put(key, serializer(), mock);
+        assertEquals("select cat\nfrom Cat cat\nwhere cat.name = ?1 and cat.bodyWeight > ?2",
+                entry.getQueryString());
+        assertSame(entry, cache.get(key(query().from(cat).where(cat.name.eq(name), cat.bodyWeight.gt(1.0)))));
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void different_constants_share_entry() {
+        Query queryMock = EasyMock.createMock(Query.class);
+        EasyMock.expect(queryMock.getParameters()).andReturn(Collections.<Parameter<?>>emptySet());
+        EasyMock.expect(queryMock.setParameter(1, "Ruth")).andReturn(queryMock);
+        EasyMock.expect(queryMock.setParameter(2, "Ruth")).andReturn(queryMock);
+        EasyMock.replay(mock, factoryMock, queryMock);
+
+        JPQLCache cache = new JPQLCache();
+        JPQLCache.Key key1 = key(query().from(cat).where(cat.name.eq("Bob").or(cat.name.eq("Bob"))));
+        JPQLCache.Entry entry = cache.put(key1, serializer(), mock);
+        assertEquals("select cat\nfrom Cat cat\nwhere cat.name = ?1 or cat.name = ?2", entry.getQueryString());
+
+        JPQLCache.Key key2 = key(query().from(cat).where(cat.name.eq("Ruth").or(cat.name.eq("Ruth"))));
+        assertSame(entry, cache.get(key2));
+        assertEquals(1, cache.size());
+        entry.setConstants(queryMock, key2, Collections.<ParamExpression<?>, Object>emptyMap());
+        EasyMock.verify(queryMock);
+    }
+
+    @Test
+    public void value_sensitive_constants() {
+        EasyMock.replay(mock, factoryMock);
+        JPQLCache cache = new JPQLCache(10, true);
+        JPAQuery<?> query = query().from(cat).where(cat.name.like("Bob!%"));
+        JPQLCache.Key key = key(query);
+        assertNull(cache.put(key, serializer(), mock));
+        JPQLCache.Entry entry = cache.putValues(key, serialize(query));
+        assertSame(entry, cache.get(key(query().from(cat).where(cat.name.like("Bob!%")))));
+        assertNull(cache.get(key(query().from(cat).where(cat.name.like("Ruth!%")))));
+        // no named queries are registered
+        EasyMock.verify(mock, factoryMock);
+    }
+
+    @Test
+    public void converted_constants() {
+        EasyMock.replay(mock, factoryMock);
+        JPQLCache cache = new JPQLCache();
+        // the integer constant is rendered as a double
+        JPAQuery<?> query = query().from(cat).where(
+                Expressions.predicate(Ops.GT, cat.bodyWeight, ConstantImpl.create(1)));
+        assertNull(cache.put(key(query), serializer(), mock));
+        assertNull(cache.put(key(query().from(cat).where(cat.name.contains("Bob"))), serializer(), mock));
+    }
+
+    @Test
+    public void collection_constants_are_not_cached() {
+        EasyMock.replay(mock, factoryMock);
+        JPQLCache cache = new JPQLCache();
+        JPAQuery<?> query = query().from(cat).where(cat.name.in(Arrays.asList("Bob", "Ruth")));
+        assertNull(cache.put(key(query), serializer(), mock));
+        cache.putValues(key(query), serialize(query));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void named_queries() {
+        Query queryMock = EasyMock.createMock(Query.class);
+        Query namedQueryMock = EasyMock.createMock(Query.class);
+        EasyMock.expect(mock.createQuery("select cat\nfrom Cat cat\nwhere cat.name = ?1")).andReturn(queryMock);
+        factoryMock.addNamedQuery(EasyMock.anyString(), EasyMock.same(queryMock));
+        EasyMock.expect(mock.createNamedQuery(EasyMock.anyString())).andReturn(namedQueryMock);
+        EasyMock.replay(mock, factoryMock);
+
+        JPQLCache cache = new JPQLCache(10, true);
+        JPAQuery<?> query = query().from(cat).where(cat.name.eq(name));
+        JPQLCache.Entry entry = cache.put(key(query), serializer(), mock);
+        assertSame(namedQueryMock, entry.createQuery(mock));
+        EasyMock.verify(mock, factoryMock);
+    }
+
+    @Test
+    public void named_queries_are_registered_once() {
+        Query queryMock = EasyMock.createMock(Query.class);
+        EasyMock.expect(mock.createQuery("select cat\nfrom Cat cat\nwhere cat.name = ?1")).andReturn(queryMock);
+        factoryMock.addNamedQuery(EasyMock.anyString(), EasyMock.same(queryMock));
+        EasyMock.replay(mock, factoryMock);
+
+        JPQLCache cache = new JPQLCache(10, true);
+        JPQLCache.Entry entry = cache.put(key(query().from(cat).where(cat.name.eq(name))), serializer(), mock);
+        cache.invalidateAll();
+        JPQLCache.Entry reregistered = cache.put(key(query().from(cat).where(cat.name.eq(name))), serializer(), mock);
+        assertNotSame(entry, reregistered);
+        EasyMock.verify(mock, factoryMock);
+    }
+
+}
@@ -48,6 +48,8 @@ import com.querydsl.core.types.Predicate;
  */
 public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>> implements SimpleQuery<Q>, Fetchable<T> {
 
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
     private final QueryMixin<Q> queryMixin;
 
     private final IndexSearcher searcher;
@@ -67,6 +69,8 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
     @Nullable
     private Sort querySort;
 
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
     @SuppressWarnings("unchecked")
     public AbstractLuceneQuery(LuceneSerializer serializer, IndexSearcher searcher,
             Function<Document, T> transformer) {
@@ -168,10 +172,9 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
     @Override
     public CloseableIterator<T> iterate() {
         final QueryMetadata metadata = queryMixin.getMetadata();
-        final List<OrderSpecifier<?>> orderBys = metadata.getOrderBy();
         final Integer queryLimit = metadata.getModifiers().getLimitAsInteger();
         final Integer queryOffset = metadata.getModifiers().getOffsetAsInteger();
-        Sort sort = querySort;
+        Sort sort = getSort();
         int limit;
         final int offset = queryOffset != null ? queryOffset : 0;
         try {
@@ -187,8 +190,11 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
         if (queryLimit != null && queryLimit < limit) {
             limit = queryLimit;
         }
-        if (sort == null && !orderBys.isEmpty()) {
-            sort = serializer.toSort(orderBys);
+        if (sort == null) {
+            // relevance ordered results can be fetched lazily page by page
+            int pageLimit = queryLimit != null ? queryLimit : Integer.MAX_VALUE;
+            return new PagingResultIterator<T>(searcher, createQuery(), getFilter(),
+                    offset, pageLimit, pageSize, fieldSelector, transformer);
         }
 
         try {
@@ -197,11 +203,7 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
             if (sumOfLimitAndOffset < 1) {
                 throw new QueryException("The given limit (" + limit + ") and offset (" + offset + ") cause an integer overflow.");
             }
-            if (sort != null) {
-                scoreDocs = searcher.search(createQuery(), getFilter(), sumOfLimitAndOffset, sort).scoreDocs;
-            } else {
-                scoreDocs = searcher.search(createQuery(), getFilter(), sumOfLimitAndOffset).scoreDocs;
-            }
+            scoreDocs = searcher.search(createQuery(), getFilter(), sumOfLimitAndOffset, sort).scoreDocs;
             if (offset < scoreDocs.length) {
                 return new ResultIterator<T>(scoreDocs, offset, searcher, fieldSelector, transformer);
             }
@@ -282,6 +284,25 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
         return queryMixin.set(param, value);
     }
 
+    /**
+     * Set the amount of hits to be fetched per search when iterating over results in relevance
+     * order (default: 1000)
+     *
+     * <p>Hits in relevance order are fetched lazily page by page, so only one page of hits is
+     * kept in memory at a time. Sorted results are fetched with a single search.</p>
+     *
+     * @param pageSize amount of hits per page
+     * @return the current object
+     */
+    @SuppressWarnings("unchecked")
+    public Q pageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive, got " + pageSize);
+        }
+        this.pageSize = pageSize;
+        return (Q) this;
+    }
+
     @SuppressWarnings("unchecked")
     public Q sort(Sort sort) {
         this.querySort = sort;
@@ -295,17 +316,25 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
             if (maxDoc == 0) {
                 return null;
             }
-            final ScoreDoc[] scoreDocs = searcher.search(createQuery(), getFilter(), maxDoc).scoreDocs;
-            int index = 0;
             QueryModifiers modifiers = queryMixin.getMetadata().getModifiers();
             Long offset = modifiers.getOffset();
-            if (offset != null) {
-                index = offset.intValue();
-            }
+            int index = offset != null ? offset.intValue() : 0;
             Long limit = modifiers.getLimit();
-            if (unique && (limit == null ? scoreDocs.length - index > 1 :
-                                           limit > 1 && scoreDocs.length > 1)) {
-                throw new NonUniqueResultException("Unique result requested, but " + scoreDocs.length + " found.");
+            // a second hit within the limit is enough to detect non-unique results
+            int size = unique && (limit == null || limit > 1) ? 2 : 1;
+            int numHits = (int) Math.min((long) index + size, maxDoc);
+            if (numHits <= index) {
+                return null;
+            }
+            Sort sort = getSort();
+            final ScoreDoc[] scoreDocs;
+            if (sort != null) {
+                scoreDocs = searcher.search(createQuery(), getFilter(), numHits, sort).scoreDocs;
+            } else {
+                scoreDocs = searcher.search(createQuery(), getFilter(), numHits).scoreDocs;
+            }
+            if (unique && scoreDocs.length - index > 1) {
+                throw new NonUniqueResultException("Unique result requested, but more than one result found.");
             } else if (scoreDocs.length > index) {
                 Document document;
                 if (fieldSelector != null) {
@@ -349,6 +378,15 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
         return CharMatcher.JAVA_ISO_CONTROL.replaceFrom(str, '_');
     }
 
+    @Nullable
+    private Sort getSort() {
+        List<OrderSpecifier<?>> orderBys = queryMixin.getMetadata().getOrderBy();
+        if (querySort == null && !orderBys.isEmpty()) {
+            return serializer.toSort(orderBys);
+        }
+        return querySort;
+    }
+
     private int maxDoc() throws IOException {
         return searcher.maxDoc();
     }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.lucene3;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import javax.annotation.Nullable;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.FieldSelector;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+
+import com.google.common.base.Function;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.QueryException;
+
+/**
+ * {@code PagingResultIterator} is a {@link CloseableIterator} implementation for Lucene query
+ * results which fetches the hits lazily in pages via
+ * {@link IndexSearcher#searchAfter(ScoreDoc, Query, Filter, int)}
+ *
+ * <p>Only one page of hits is kept at a time, so the memory use is bounded by the page size
+ * instead of the size of the index. Lucene 3 supports paging only for results in relevance
+ * order.</p>
+ *
+ * @param <T> projection type
+ */
+public final class PagingResultIterator<T> implements CloseableIterator<T> {
+
+    private static final ScoreDoc[] NO_HITS = new ScoreDoc[0];
+
+    private final IndexSearcher searcher;
+
+    private final Query query;
+
+    @Nullable
+    private final Filter filter;
+
+    private final int pageSize;
+
+    @Nullable
+    private final FieldSelector fieldSelector;
+
+    private final Function<Document, T> transformer;
+
+    private ScoreDoc[] scoreDocs = NO_HITS;
+
+    private int cursor;
+
+    @Nullable
+    private ScoreDoc after;
+
+    private int skip;
+
+    private int remaining;
+
+    private boolean exhausted;
+
+    public PagingResultIterator(IndexSearcher searcher, Query query, @Nullable Filter filter,
+            int offset, int limit, int pageSize,
+            @Nullable FieldSelector fieldSelector, Function<Document, T> transformer) {
+        this.searcher = searcher;
+        this.query = query;
+        this.filter = filter;
+        this.skip = offset;
+        this.remaining = limit;
+        this.pageSize = pageSize;
+        this.fieldSelector = fieldSelector;
+        this.transformer = transformer;
+    }
+
+    private void fetchPage() {
+        // the hits of the offset are skipped page by page as well
+        int n = (int) Math.min(pageSize, (long) skip + remaining);
+        try {
+            if (after == null) {
+                scoreDocs = searcher.search(query, filter, n).scoreDocs;
+            } else {
+                scoreDocs = searcher.searchAfter(after, query, filter, n).scoreDocs;
+            }
+        } catch (IOException e) {
+            throw new QueryException(e);
+        }
+        exhausted = scoreDocs.length < n;
+        if (scoreDocs.length > 0) {
+            after = scoreDocs[scoreDocs.length - 1];
+        }
+        cursor = Math.min(skip, scoreDocs.length);
+        skip -= cursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (cursor == scoreDocs.length) {
+            if (exhausted || remaining == 0) {
+                return false;
+            }
+            fetchPage();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        remaining--;
+        try {
+            Document document;
+            if (fieldSelector != null) {
+                document = searcher.doc(scoreDocs[cursor++].doc, fieldSelector);
+            } else {
+                document = searcher.doc(scoreDocs[cursor++].doc);
+            }
+            return transformer.apply(document);
+        } catch (IOException e) {
+            throw new QueryException(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+}
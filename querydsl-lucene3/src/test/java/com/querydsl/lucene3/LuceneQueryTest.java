@@ -326,6 +326,48 @@ public class LuceneQueryTest {
         assertEquals("1990", documents.get(3).get("year"));
     }
 
+    @Test
+    public void list_paged() {
+        query.where(year.between(1800, 2000));
+        query.orderBy(year.asc());
+        query.pageSize(1);
+        final List<Document> documents = query.fetch();
+        assertEquals(4, documents.size());
+        assertEquals("1864", documents.get(0).get("year"));
+        assertEquals("1954", documents.get(1).get("year"));
+        assertEquals("1990", documents.get(2).get("year"));
+        assertEquals("1990", documents.get(3).get("year"));
+    }
+
+    @Test
+    public void list_paged_restrict_limit_2_offset_1() {
+        query.where(year.between(1800, 2000));
+        query.restrict(new QueryModifiers(2L, 1L));
+        query.orderBy(year.asc());
+        query.pageSize(1);
+        final List<Document> documents = query.fetch();
+        assertEquals(2, documents.size());
+        assertEquals("1954", documents.get(0).get("year"));
+        assertEquals("1990", documents.get(1).get("year"));
+    }
+
+    @Test
+    public void list_paged_not_sorted() {
+        final List<Document> expected = new LuceneQuery(new LuceneSerializer(true, true), searcher)
+                .where(year.between(1800, 2000)).fetch();
+        final List<Document> documents = query.where(year.between(1800, 2000))
+                .offset(1).pageSize(2).fetch();
+        assertEquals(3, documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            assertEquals(expected.get(i + 1).get("title"), documents.get(i).get("title"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pageSize_must_be_positive() {
+        query.pageSize(0);
+    }
+
     @Test
     public void list_distinct_property() {
         assertEquals(4, query.fetch().size());
@@ -500,6 +542,24 @@ public class LuceneQueryTest {
         assertEquals("The Lord of the Rings", query.where(title.ne("")).limit(1).offset(2).fetchFirst().get("title"));
     }
 
+    @Test
+    public void single_result_considers_order() {
+        assertEquals("Nummisuutarit", query.where(title.ne("")).orderBy(year.asc())
+                .fetchFirst().get("title"));
+    }
+
+    @Test
+    public void single_result_considers_filter() {
+        assertEquals("Nummisuutarit", query.where(title.ne("")).distinct(year)
+                .fetchFirst().get("title"));
+    }
+
+    @Test
+    public void unique_result_considers_filter() {
+        assertEquals("Introduction to Algorithms", query.where(year.eq(1990)).distinct(year)
+                .fetchOne().get("title"));
+    }
+
     @Test(expected = NonUniqueResultException.class)
     public void uniqueResult_contract() {
         query.where(title.ne("")).fetchOne();
@@ -50,6 +50,8 @@ import com.querydsl.core.types.Predicate;
  */
 public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>> implements SimpleQuery<Q>, Fetchable<T> {
 
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
     private final QueryMixin<Q> queryMixin;
 
     private final IndexSearcher searcher;
@@ -69,6 +71,8 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
     @Nullable
     private Sort querySort;
 
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
     @SuppressWarnings("unchecked")
     public AbstractLuceneQuery(LuceneSerializer serializer, IndexSearcher searcher,
             Function<Document, T> transformer) {
@@ -169,16 +173,18 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
 
     @Override
     public CloseableIterator<T> iterate() {
+        return iterate(pageSize);
+    }
+
+    private CloseableIterator<T> iterate(int pageSize) {
         final QueryMetadata metadata = queryMixin.getMetadata();
-        final List<OrderSpecifier<?>> orderBys = metadata.getOrderBy();
         final Integer queryLimit = metadata.getModifiers().getLimitAsInteger();
         final Integer queryOffset = metadata.getModifiers().getOffsetAsInteger();
-        Sort sort = querySort;
-        int limit;
+        Sort sort = getSort();
+        final int limit = queryLimit != null ? queryLimit : Integer.MAX_VALUE;
         final int offset = queryOffset != null ? queryOffset : 0;
         try {
-            limit = maxDoc();
-            if (limit == 0) {
+            if (maxDoc() == 0) {
                 return new EmptyCloseableIterator<T>();
             }
         } catch (IOException e) {
@@ -186,35 +192,29 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
         } catch (IllegalArgumentException e) {
             throw new QueryException(e);
         }
-        if (queryLimit != null && queryLimit < limit) {
-            limit = queryLimit;
-        }
-        if (sort == null && !orderBys.isEmpty()) {
-            sort = serializer.toSort(orderBys);
-        }
+        return new PagingResultIterator<T>(searcher, createQuery(), getFilter(),
+                sort != null ? sort : Sort.INDEXORDER, offset, limit, pageSize, fieldsToLoad, transformer);
+    }
 
-        try {
-            ScoreDoc[] scoreDocs;
-            int sumOfLimitAndOffset = limit + offset;
-            if (sumOfLimitAndOffset < 1) {
-                throw new QueryException("The given limit (" + limit + ") and offset (" + offset + ") cause an integer overflow.");
-            }
-            if (sort != null) {
-                scoreDocs = searcher.search(createQuery(), getFilter(), sumOfLimitAndOffset, sort, false, false).scoreDocs;
-            } else {
-                scoreDocs = searcher.search(createQuery(), getFilter(), sumOfLimitAndOffset, Sort.INDEXORDER, false, false).scoreDocs;
-            }
-            if (offset < scoreDocs.length) {
-                return new ResultIterator<T>(scoreDocs, offset, searcher, fieldsToLoad, transformer);
+    /**
+     * Get the page size for results which are fetched at once. Results with a limit are
+     * fetched with a single search, the others page by page.
+     */
+    private int getFetchSize() {
+        final QueryModifiers modifiers = queryMixin.getMetadata().getModifiers();
+        final Integer limit = modifiers.getLimitAsInteger();
+        if (limit != null) {
+            final Integer offset = modifiers.getOffsetAsInteger();
+            long hits = (offset != null ? (long) offset : 0L) + limit;
+            if (hits <= Integer.MAX_VALUE) {
+                return Math.max(pageSize, (int) hits);
             }
-            return new EmptyCloseableIterator<T>();
-        } catch (final IOException e) {
-            throw new QueryException(e);
         }
+        return pageSize;
     }
 
     private List<T> innerList() {
-        return new IteratorAdapter<T>(iterate()).asList();
+        return new IteratorAdapter<T>(iterate(getFetchSize())).asList();
     }
 
     @Override
@@ -284,6 +284,24 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
         return queryMixin.set(param, value);
     }
 
+    /**
+     * Set the amount of hits to be fetched per search when iterating over the results (default: 1000)
+     *
+     * <p>Hits are fetched lazily page by page, so only one page of hits is kept in memory at a time.
+     * Fetched results with a limit are searched at once instead.</p>
+     *
+     * @param pageSize amount of hits per page
+     * @return the current object
+     */
+    @SuppressWarnings("unchecked")
+    public Q pageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive, got " + pageSize);
+        }
+        this.pageSize = pageSize;
+        return (Q) this;
+    }
+
     @SuppressWarnings("unchecked")
     public Q sort(Sort sort) {
         this.querySort = sort;
@@ -297,17 +315,21 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
             if (maxDoc == 0) {
                 return null;
             }
-            final ScoreDoc[] scoreDocs = searcher.search(createQuery(), getFilter(), maxDoc, Sort.INDEXORDER, false, false).scoreDocs;
-            int index = 0;
             QueryModifiers modifiers = queryMixin.getMetadata().getModifiers();
             Long offset = modifiers.getOffset();
-            if (offset != null) {
-                index = offset.intValue();
-            }
+            int index = offset != null ? offset.intValue() : 0;
             Long limit = modifiers.getLimit();
-            if (unique && (limit == null ? scoreDocs.length - index > 1 :
-                                           limit > 1 && scoreDocs.length > 1)) {
-                throw new NonUniqueResultException("Unique result requested, but " + scoreDocs.length + " found.");
+            // a second hit within the limit is enough to detect non-unique results
+            int size = unique && (limit == null || limit > 1) ? 2 : 1;
+            int numHits = (int) Math.min((long) index + size, maxDoc);
+            if (numHits <= index) {
+                return null;
+            }
+            Sort sort = getSort();
+            final ScoreDoc[] scoreDocs = searcher.search(createQuery(), getFilter(), numHits,
+                    sort != null ? sort : Sort.INDEXORDER, false, false).scoreDocs;
+            if (unique && scoreDocs.length - index > 1) {
+                throw new NonUniqueResultException("Unique result requested, but more than one result found.");
             } else if (scoreDocs.length > index) {
                 Document document;
                 if (fieldsToLoad != null) {
@@ -351,6 +373,15 @@ public abstract class AbstractLuceneQuery<T,Q extends AbstractLuceneQuery<T,Q>>
         return CharMatcher.JAVA_ISO_CONTROL.replaceFrom(str, '_');
     }
 
+    @Nullable
+    private Sort getSort() {
+        List<OrderSpecifier<?>> orderBys = queryMixin.getMetadata().getOrderBy();
+        if (querySort == null && !orderBys.isEmpty()) {
+            return serializer.toSort(orderBys);
+        }
+        return querySort;
+    }
+
     private int maxDoc() throws IOException {
         return searcher.getIndexReader().maxDoc();
     }
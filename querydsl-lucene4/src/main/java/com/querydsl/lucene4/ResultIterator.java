@@ -32,7 +32,9 @@ import com.querydsl.core.QueryException;
  * @author tiwe
  *
  * @param <T>
+ * @deprecated the query results are fetched via {@link PagingResultIterator}
  */
+@Deprecated
 public final class ResultIterator<T> implements CloseableIterator<T> {
 
     private final ScoreDoc[] scoreDocs;
@@ -54,6 +54,8 @@ import com.querydsl.core.types.Predicate;
 public abstract class AbstractLuceneQuery<T, Q extends AbstractLuceneQuery<T, Q>>
         implements SimpleQuery<Q>, Fetchable<T> {
 
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
     private final QueryMixin<Q> queryMixin;
 
     private final IndexSearcher searcher;
@@ -73,6 +75,8 @@ public abstract class AbstractLuceneQuery<T, Q extends AbstractLuceneQuery<T, Q>
     @Nullable
     private Sort querySort;
 
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
     @SuppressWarnings("unchecked")
     public AbstractLuceneQuery(LuceneSerializer serializer,
             IndexSearcher searcher, Function<Document, T> transformer) {
@@ -195,59 +199,107 @@ public abstract class AbstractLuceneQuery<T, Q extends AbstractLuceneQuery<T, Q>
 
     @Override
     public CloseableIterator<T> iterate() {
-        final QueryMetadata metadata = queryMixin.getMetadata();
-        final List<OrderSpecifier<?>> orderBys = metadata.getOrderBy();
-        final Integer queryLimit = metadata.getModifiers().getLimitAsInteger();
-        final Integer queryOffset = metadata.getModifiers()
-                .getOffsetAsInteger();
-        Sort sort = querySort;
-        int limit;
-        final int offset = queryOffset != null ? queryOffset : 0;
+        return iterate(pageSize);
+    }
+
+    private CloseableIterator<T> iterate(int pageSize) {
+        if (isEmpty()) {
+            return new EmptyCloseableIterator<T>();
+        }
+        return new PagingResultIterator<T>(searcher, createQuery(),
+                getSortOrIndexOrder(), getOffset(), getLimit(), pageSize,
+                fieldsToLoad, transformer);
+    }
+
+    /**
+     * Iterate over the values of the given paths of the results
+     *
+     * <p>
+     * The values are read column-wise from the DocValues of the fields, so the
+     * stored documents are not loaded. Fields without DocValues fall back to
+     * the stored fields.
+     * </p>
+     *
+     * @param paths
+     *            paths to project
+     * @return result iterator
+     */
+    public CloseableIterator<Tuple> iterateValues(Path<?>... paths) {
+        return iterateValues(pageSize, paths);
+    }
+
+    private CloseableIterator<Tuple> iterateValues(int pageSize, Path<?>... paths) {
+        if (isEmpty()) {
+            return new EmptyCloseableIterator<Tuple>();
+        }
+        String[] fields = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            fields[i] = serializer.toField(paths[i]);
+        }
+        DocValuesLoader loader = new DocValuesLoader(searcher.getIndexReader()
+                .leaves(), paths, fields);
+        return new PagingResultIterator<Tuple>(searcher, createQuery(),
+                getSortOrIndexOrder(), getOffset(), getLimit(), pageSize,
+                loader);
+    }
+
+    /**
+     * Get the values of the given paths of the results
+     *
+     * @param paths
+     *            paths to project
+     * @return results
+     * @see #iterateValues(Path...)
+     */
+    public List<Tuple> fetchValues(Path<?>... paths) {
+        return new IteratorAdapter<Tuple>(iterateValues(getFetchSize(), paths)).asList();
+    }
+
+    private boolean isEmpty() {
         try {
-            limit = maxDoc();
-            if (limit == 0) {
-                return new EmptyCloseableIterator<T>();
-            }
+            return maxDoc() == 0;
         } catch (IOException e) {
             throw new QueryException(e);
         } catch (IllegalArgumentException e) {
             throw new QueryException(e);
         }
-        if (queryLimit != null && queryLimit < limit) {
-            limit = queryLimit;
-        }
-        if (sort == null && !orderBys.isEmpty()) {
-            sort = serializer.toSort(orderBys);
-        }
+    }
 
-        try {
-            ScoreDoc[] scoreDocs;
-            int sumOfLimitAndOffset = limit + offset;
-            if (sumOfLimitAndOffset < 1) {
-                throw new QueryException("The given limit (" + limit
-                        + ") and offset (" + offset
-                        + ") cause an integer overflow.");
-            }
-            if (sort != null) {
-                scoreDocs = searcher.search(createQuery(),
-                // sumOfLimitAndOffset).scoreDocs;
-                        sumOfLimitAndOffset, sort, false, false).scoreDocs;
-            } else {
-                scoreDocs = searcher.search(createQuery(),
-                        sumOfLimitAndOffset, Sort.INDEXORDER, false, false).scoreDocs;
-            }
-            if (offset < scoreDocs.length) {
-                return new ResultIterator<T>(scoreDocs, offset, searcher,
-                        fieldsToLoad, transformer);
+    private int getOffset() {
+        Integer offset = queryMixin.getMetadata().getModifiers()
+                .getOffsetAsInteger();
+        return offset != null ? offset : 0;
+    }
+
+    private int getLimit() {
+        Integer limit = queryMixin.getMetadata().getModifiers()
+                .getLimitAsInteger();
+        return limit != null ? limit : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Get the page size for results which are fetched at once. Results with a
+     * limit are fetched with a single search, the others page by page.
+     */
+    private int getFetchSize() {
+        Integer limit = queryMixin.getMetadata().getModifiers()
+                .getLimitAsInteger();
+        if (limit != null) {
+            long hits = (long) getOffset() + limit;
+            if (hits <= Integer.MAX_VALUE) {
+                return Math.max(pageSize, (int) hits);
             }
-            return new EmptyCloseableIterator<T>();
-        } catch (final IOException e) {
-            throw new QueryException(e);
         }
+        return pageSize;
+    }
+
+    private Sort getSortOrIndexOrder() {
+        Sort sort = getSort();
+        return sort != null ? sort : Sort.INDEXORDER;
     }
 
     private List<T> innerList() {
-        return new IteratorAdapter<T>(iterate()).asList();
+        return new IteratorAdapter<T>(iterate(getFetchSize())).asList();
     }
 
     @Override
@@ -320,6 +372,30 @@ public abstract class AbstractLuceneQuery<T, Q extends AbstractLuceneQuery<T, Q>
         return queryMixin.set(param, value);
     }
 
+    /**
+     * Set the amount of hits to be fetched per search when iterating over the
+     * results (default: 1000)
+     *
+     * <p>
+     * Hits are fetched lazily page by page, so only one page of hits is kept
+     * in memory at a time. Fetched results with a limit are searched at once
+     * instead.
+     * </p>
+     *
+     * @param pageSize
+     *            amount of hits per page
+     * @return the current object
+     */
+    @SuppressWarnings("unchecked")
+    public Q pageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive, got "
+                    + pageSize);
+        }
+        this.pageSize = pageSize;
+        return (Q) this;
+    }
+
     @SuppressWarnings("unchecked")
     public Q sort(Sort sort) {
         this.querySort = sort;
@@ -333,21 +409,30 @@ public abstract class AbstractLuceneQuery<T, Q extends AbstractLuceneQuery<T, Q>
             if (maxDoc == 0) {
                 return null;
             }
-            final ScoreDoc[] scoreDocs = searcher.search(createQuery(),
-                    maxDoc, Sort.INDEXORDER, false, false).scoreDocs;
-            int index = 0;
             QueryModifiers modifiers = queryMixin.getMetadata().getModifiers();
             Long offset = modifiers.getOffset();
-            if (offset != null) {
-                index = offset.intValue();
-            }
+            int index = offset != null ? offset.intValue() : 0;
             Long limit = modifiers.getLimit();
-            if (unique
-                    && (limit == null ? scoreDocs.length - index > 1
-                            : limit > 1 && scoreDocs.length > 1)) {
+            // a second hit within the limit is enough to detect non-unique
+            // results
+            int size = unique && (limit == null || limit > 1) ? 2 : 1;
+            int numHits = (int) Math.min((long) index + size, maxDoc);
+            if (numHits <= index) {
+                return null;
+            }
+            final ScoreDoc[] scoreDocs;
+            Sort sort = getSort();
+            if (sort != null) {
+                scoreDocs = searcher.search(createQuery(), numHits, sort,
+                        false, false).scoreDocs;
+            } else {
+                FirstHitsCollector collector = new FirstHitsCollector(numHits);
+                searcher.search(createQuery(), collector);
+                scoreDocs = collector.getScoreDocs();
+            }
+            if (unique && scoreDocs.length - index > 1) {
                 throw new NonUniqueResultException(
-                        "Unique result requested, but " + scoreDocs.length
-                                + " found.");
+                        "Unique result requested, but more than one result found.");
             } else if (scoreDocs.length > index) {
                 Document document;
                 if (fieldsToLoad != null) {
@@ -391,6 +476,15 @@ public abstract class AbstractLuceneQuery<T, Q extends AbstractLuceneQuery<T, Q>
         return CharMatcher.JAVA_ISO_CONTROL.replaceFrom(str, '_');
     }
 
+    @Nullable
+    private Sort getSort() {
+        List<OrderSpecifier<?>> orderBys = queryMixin.getMetadata().getOrderBy();
+        if (querySort == null && !orderBys.isEmpty()) {
+            return serializer.toSort(orderBys);
+        }
+        return querySort;
+    }
+
     private int maxDoc() throws IOException {
         return searcher.getIndexReader().maxDoc();
     }
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.lucene5;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.util.Bits;
+
+import com.google.common.base.Function;
+import com.querydsl.core.QueryException;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.util.MathUtils;
+
+/**
+ * {@code DocValuesLoader} reads the values of the given fields of the hits
+ * from the DocValues of the index instead of the stored documents
+ *
+ * <p>
+ * The DocValues of each field are looked up once per leaf reader and then
+ * read for all hits of the leaf. Fields without DocValues are read from the
+ * stored fields of the document instead.
+ * </p>
+ */
+final class DocValuesLoader implements Function<ScoreDoc, Tuple> {
+
+    private final List<LeafReaderContext> leaves;
+
+    private final FactoryExpression<Tuple> projection;
+
+    private final String[] fields;
+
+    private final Class<?>[] types;
+
+    // columns per leaf, created lazily
+    private final Column[][] columns;
+
+    DocValuesLoader(List<LeafReaderContext> leaves, Path<?>[] paths,
+            String[] fields) {
+        this.leaves = leaves;
+        this.projection = Projections.tuple(paths);
+        this.fields = fields;
+        this.types = new Class<?>[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            types[i] = paths[i].getType();
+        }
+        this.columns = new Column[leaves.size()][];
+    }
+
+    @Override
+    public Tuple apply(ScoreDoc scoreDoc) {
+        int index = ReaderUtil.subIndex(scoreDoc.doc, leaves);
+        LeafReaderContext leaf = leaves.get(index);
+        int doc = scoreDoc.doc - leaf.docBase;
+        try {
+            if (columns[index] == null) {
+                columns[index] = createColumns(leaf.reader());
+            }
+            Column[] leafColumns = columns[index];
+            Object[] values = new Object[fields.length];
+            Document document = null;
+            for (int i = 0; i < fields.length; i++) {
+                if (leafColumns[i] != null) {
+                    values[i] = leafColumns[i].get(doc);
+                } else {
+                    if (document == null) {
+                        document = leaf.reader().document(doc,
+                                storedFields(leafColumns));
+                    }
+                    values[i] = storedValue(document.getField(fields[i]),
+                            types[i]);
+                }
+            }
+            return projection.newInstance(values);
+        } catch (IOException e) {
+            throw new QueryException(e);
+        }
+    }
+
+    private Column[] createColumns(LeafReader reader) throws IOException {
+        Column[] rv = new Column[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            FieldInfo info = reader.getFieldInfos().fieldInfo(fields[i]);
+            if (info == null) {
+                continue;
+            }
+            switch (info.getDocValuesType()) {
+            case NUMERIC:
+                rv[i] = new NumericColumn(
+                        reader.getNumericDocValues(fields[i]),
+                        reader.getDocsWithField(fields[i]), types[i]);
+                break;
+            case BINARY:
+                rv[i] = new BinaryColumn(reader.getBinaryDocValues(fields[i]),
+                        reader.getDocsWithField(fields[i]), types[i]);
+                break;
+            case SORTED:
+                rv[i] = new BinaryColumn(reader.getSortedDocValues(fields[i]),
+                        reader.getDocsWithField(fields[i]), types[i]);
+                break;
+            default:
+                // no single valued DocValues, use the stored field
+            }
+        }
+        return rv;
+    }
+
+    private Set<String> storedFields(Column[] leafColumns) {
+        Set<String> rv = new HashSet<String>();
+        for (int i = 0; i < fields.length; i++) {
+            if (leafColumns[i] == null) {
+                rv.add(fields[i]);
+            }
+        }
+        return rv;
+    }
+
+    @Nullable
+    private static Object storedValue(@Nullable IndexableField field,
+            Class<?> type) {
+        if (field == null) {
+            return null;
+        } else if (field.numericValue() != null) {
+            return convert(field.numericValue(), type);
+        } else {
+            return convert(field.stringValue(), type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object convert(Number value, Class<?> type) {
+        if (Number.class.isAssignableFrom(type)) {
+            return MathUtils.cast(value, (Class<Number>) type);
+        } else if (type.equals(String.class)) {
+            return value.toString();
+        } else if (type.equals(Boolean.class)) {
+            return value.longValue() != 0;
+        } else {
+            return value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Object convert(@Nullable String value, Class<?> type) {
+        if (value == null || type.isAssignableFrom(String.class)) {
+            return value;
+        } else if (Number.class.isAssignableFrom(type)) {
+            return MathUtils.cast(new BigDecimal(value), (Class<Number>) type);
+        } else if (type.equals(Boolean.class)) {
+            return Boolean.valueOf(value);
+        } else if (type.equals(Character.class) && value.length() == 1) {
+            return value.charAt(0);
+        } else {
+            throw new IllegalArgumentException("Unsupported type "
+                    + type.getName());
+        }
+    }
+
+    /**
+     * Column of a single field in a leaf reader
+     */
+    private abstract static class Column {
+
+        private final Bits docsWithField;
+
+        protected final Class<?> type;
+
+        Column(Bits docsWithField, Class<?> type) {
+            this.docsWithField = docsWithField;
+            this.type = type;
+        }
+
+        @Nullable
+        Object get(int doc) {
+            return docsWithField.get(doc) ? getValue(doc) : null;
+        }
+
+        protected abstract Object getValue(int doc);
+
+    }
+
+    private static final class NumericColumn extends Column {
+
+        private final NumericDocValues values;
+
+        NumericColumn(NumericDocValues values, Bits docsWithField,
+                Class<?> type) {
+            super(docsWithField, type);
+            this.values = values;
+        }
+
+        @Override
+        protected Object getValue(int doc) {
+            long value = values.get(doc);
+            // DoubleDocValuesField and FloatDocValuesField store the raw bits
+            if (type.equals(Double.class)) {
+                return Double.longBitsToDouble(value);
+            } else if (type.equals(Float.class)) {
+                return Float.intBitsToFloat((int) value);
+            } else {
+                return convert(value, type);
+            }
+        }
+
+    }
+
+    private static final class BinaryColumn extends Column {
+
+        private final BinaryDocValues values;
+
+        BinaryColumn(BinaryDocValues values, Bits docsWithField,
+                Class<?> type) {
+            super(docsWithField, type);
+            this.values = values;
+        }
+
+        @Override
+        protected Object getValue(int doc) {
+            return convert(values.get(doc).utf8ToString(), type);
+        }
+
+    }
+
+}
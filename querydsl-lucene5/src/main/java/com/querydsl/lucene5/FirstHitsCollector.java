@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.lucene5;
+
+import java.io.IOException;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SimpleCollector;
+
+/**
+ * {@code FirstHitsCollector} collects the first hits in index order and
+ * terminates the collection as soon as enough hits have been collected
+ */
+final class FirstHitsCollector extends SimpleCollector {
+
+    private final ScoreDoc[] scoreDocs;
+
+    private int count;
+
+    private int docBase;
+
+    FirstHitsCollector(int numHits) {
+        this.scoreDocs = new ScoreDoc[numHits];
+    }
+
+    @Override
+    protected void doSetNextReader(LeafReaderContext context)
+            throws IOException {
+        if (count == scoreDocs.length) {
+            throw new CollectionTerminatedException();
+        }
+        docBase = context.docBase;
+    }
+
+    @Override
+    public void collect(int doc) throws IOException {
+        scoreDocs[count++] = new ScoreDoc(docBase + doc, Float.NaN);
+        if (count == scoreDocs.length) {
+            throw new CollectionTerminatedException();
+        }
+    }
+
+    @Override
+    public boolean needsScores() {
+        return false;
+    }
+
+    /**
+     * Get the collected hits
+     *
+     * @return hits in index order
+     */
+    public ScoreDoc[] getScoreDocs() {
+        if (count == scoreDocs.length) {
+            return scoreDocs;
+        }
+        ScoreDoc[] rv = new ScoreDoc[count];
+        System.arraycopy(scoreDocs, 0, rv, 0, count);
+        return rv;
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.lucene5;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+
+import com.google.common.base.Function;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.QueryException;
+
+/**
+ * {@code PagingResultIterator} is a {@link CloseableIterator} implementation
+ * for Lucene query results which fetches the hits lazily in pages via
+ * {@link IndexSearcher#searchAfter(ScoreDoc, Query, int, Sort, boolean, boolean)}
+ *
+ * <p>
+ * Only one page of hits is kept at a time, so the memory use is bounded by the
+ * page size instead of the size of the index.
+ * </p>
+ *
+ * @param <T>
+ *            projection type
+ */
+public final class PagingResultIterator<T> implements CloseableIterator<T> {
+
+    private static final ScoreDoc[] NO_HITS = new ScoreDoc[0];
+
+    private final IndexSearcher searcher;
+
+    private final Query query;
+
+    private final Sort sort;
+
+    private final int pageSize;
+
+    private final Function<ScoreDoc, T> loader;
+
+    private ScoreDoc[] scoreDocs = NO_HITS;
+
+    private int cursor;
+
+    @Nullable
+    private ScoreDoc after;
+
+    private int skip;
+
+    private int remaining;
+
+    private boolean exhausted;
+
+    public PagingResultIterator(IndexSearcher searcher, Query query,
+            Sort sort, int offset, int limit, int pageSize,
+            @Nullable Set<String> fieldsToLoad,
+            Function<Document, T> transformer) {
+        this(searcher, query, sort, offset, limit, pageSize,
+                new DocumentLoader<T>(searcher, fieldsToLoad, transformer));
+    }
+
+    PagingResultIterator(IndexSearcher searcher, Query query, Sort sort,
+            int offset, int limit, int pageSize, Function<ScoreDoc, T> loader) {
+        this.searcher = searcher;
+        this.query = query;
+        this.sort = sort;
+        this.skip = offset;
+        this.remaining = limit;
+        this.pageSize = pageSize;
+        this.loader = loader;
+    }
+
+    private void fetchPage() {
+        // the hits of the offset are skipped page by page as well
+        int n = (int) Math.min(pageSize, (long) skip + remaining);
+        try {
+            if (after == null) {
+                scoreDocs = searcher.search(query, n, sort, false, false).scoreDocs;
+            } else {
+                scoreDocs = searcher.searchAfter(after, query, n, sort, false,
+                        false).scoreDocs;
+            }
+        } catch (IOException e) {
+            throw new QueryException(e);
+        }
+        exhausted = scoreDocs.length < n;
+        if (scoreDocs.length > 0) {
+            after = scoreDocs[scoreDocs.length - 1];
+        }
+        cursor = Math.min(skip, scoreDocs.length);
+        skip -= cursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (cursor == scoreDocs.length) {
+            if (exhausted || remaining == 0) {
+                return false;
+            }
+            fetchPage();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        remaining--;
+        return loader.apply(scoreDocs[cursor++]);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+    /**
+     * Loads the stored documents of the hits
+     */
+    private static final class DocumentLoader<T> implements
+            Function<ScoreDoc, T> {
+
+        private final IndexSearcher searcher;
+
+        @Nullable
+        private final Set<String> fieldsToLoad;
+
+        private final Function<Document, T> transformer;
+
+        DocumentLoader(IndexSearcher searcher,
+                @Nullable Set<String> fieldsToLoad,
+                Function<Document, T> transformer) {
+            this.searcher = searcher;
+            this.fieldsToLoad = fieldsToLoad;
+            this.transformer = transformer;
+        }
+
+        @Override
+        public T apply(ScoreDoc scoreDoc) {
+            try {
+                Document document;
+                if (fieldsToLoad != null) {
+                    document = searcher.doc(scoreDoc.doc, fieldsToLoad);
+                } else {
+                    document = searcher.doc(scoreDoc.doc);
+                }
+                return transformer.apply(document);
+            } catch (IOException e) {
+                throw new QueryException(e);
+            }
+        }
+
+    }
+
+}
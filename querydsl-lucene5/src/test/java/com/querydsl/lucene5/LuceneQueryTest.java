@@ -24,6 +24,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -46,7 +47,9 @@ import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.sandbox.queries.DuplicateFilter;
 import org.apache.lucene.search.Filter;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopFieldDocs;
 import org.apache.lucene.store.RAMDirectory;
 import org.apache.lucene.util.BytesRef;
 import org.junit.After;
@@ -59,6 +62,7 @@ import com.querydsl.core.NonUniqueResultException;
 import com.querydsl.core.QueryException;
 import com.querydsl.core.QueryModifiers;
 import com.querydsl.core.QueryResults;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.ParamNotSetException;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberPath;
@@ -403,6 +407,117 @@ public class LuceneQueryTest {
         assertEquals("1990", documents.get(3).get("year"));
     }
 
+    @Test
+    public void list_paged() {
+        query.where(year.between(1800, 2000));
+        query.orderBy(year.asc());
+        query.pageSize(1);
+        final List<Document> documents = query.fetch();
+        assertEquals(4, documents.size());
+        assertEquals("1864", documents.get(0).get("year"));
+        assertEquals("1954", documents.get(1).get("year"));
+        assertEquals("1990", documents.get(2).get("year"));
+        assertEquals("1990", documents.get(3).get("year"));
+    }
+
+    @Test
+    public void fetchValues() {
+        query.where(year.between(1800, 2000));
+        query.orderBy(year.asc(), title.asc());
+        final List<Tuple> values = query.fetchValues(title, year, gross);
+        assertEquals(4, values.size());
+        assertEquals("Nummisuutarit", values.get(0).get(title));
+        assertEquals(Integer.valueOf(1864), values.get(0).get(year));
+        assertEquals(Double.valueOf(10.00), values.get(0).get(gross));
+        assertEquals("Introduction to Algorithms", values.get(2).get(title));
+        assertEquals(Double.valueOf(30.50), values.get(2).get(gross));
+    }
+
+    @Test
+    public void fetchValues_restrict_limit_2_offset_1() {
+        query.where(year.between(1800, 2000));
+        query.restrict(new QueryModifiers(2L, 1L));
+        query.orderBy(year.asc());
+        query.pageSize(1);
+        final List<Tuple> values = query.fetchValues(year);
+        assertEquals(2, values.size());
+        assertEquals(Integer.valueOf(1954), values.get(0).get(year));
+        assertEquals(Integer.valueOf(1990), values.get(1).get(year));
+    }
+
+    @Test
+    public void fetchValues_stored_fields() throws Exception {
+        RAMDirectory storedIdx = new RAMDirectory();
+        IndexWriter storedWriter = createWriter(storedIdx);
+        Document document = new Document();
+        document.add(new TextField("title", "Jurassic Park", Store.YES));
+        document.add(new IntField("year", 1990, Store.YES));
+        document.add(new NumericDocValuesField("year", 1990));
+        storedWriter.addDocument(document);
+        storedWriter.close();
+
+        IndexReader reader = DirectoryReader.open(storedIdx);
+        try {
+            final List<Tuple> values = new LuceneQuery(
+                    new LuceneSerializer(true, true), new IndexSearcher(reader))
+                    .fetchValues(title, year);
+            assertEquals(1, values.size());
+            assertEquals("Jurassic Park", values.get(0).get(title));
+            assertEquals(Integer.valueOf(1990), values.get(0).get(year));
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void list_paged_restrict_limit_2_offset_1() {
+        query.where(year.between(1800, 2000));
+        query.restrict(new QueryModifiers(2L, 1L));
+        query.orderBy(year.asc());
+        query.pageSize(1);
+        final List<Document> documents = query.fetch();
+        assertEquals(2, documents.size());
+        assertEquals("1954", documents.get(0).get("year"));
+        assertEquals("1990", documents.get(1).get("year"));
+    }
+
+    @Test
+    public void list_paged_restrict_searched_at_once() {
+        final List<Integer> hits = new ArrayList<Integer>();
+        IndexSearcher countingSearcher = new IndexSearcher(searcher.getIndexReader()) {
+            @Override
+            public TopFieldDocs search(Query query, int n, Sort sort,
+                    boolean doDocScores, boolean doMaxScore) throws IOException {
+                hits.add(n);
+                return super.search(query, n, sort, doDocScores, doMaxScore);
+            }
+        };
+        query = new LuceneQuery(new LuceneSerializer(true, true), countingSearcher);
+        query.where(year.between(1800, 2000));
+        query.restrict(new QueryModifiers(2L, 1L));
+        query.orderBy(year.asc());
+        query.pageSize(1);
+        assertEquals(2, query.fetch().size());
+        assertEquals(Collections.singletonList(3), hits);
+    }
+
+    @Test
+    public void list_paged_not_sorted() {
+        final List<Document> expected = new LuceneQuery(new LuceneSerializer(true, true), searcher)
+                .where(year.between(1800, 2000)).fetch();
+        final List<Document> documents = query.where(year.between(1800, 2000))
+                .offset(1).pageSize(2).fetch();
+        assertEquals(3, documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            assertEquals(expected.get(i + 1).get("title"), documents.get(i).get("title"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pageSize_must_be_positive() {
+        query.pageSize(0);
+    }
+
     @Test
     public void list_distinct_property() {
         assertEquals(4, query.fetch().size());
@@ -578,6 +693,24 @@ public class LuceneQueryTest {
                 .limit(1).offset(2).fetchFirst().get("title"));
     }
 
+    @Test
+    public void single_result_considers_order() {
+        assertEquals("Nummisuutarit", query.where(title.ne("")).orderBy(year.asc())
+                .fetchFirst().get("title"));
+    }
+
+    @Test
+    public void single_result_considers_filter() {
+        assertEquals("Nummisuutarit", query.where(title.ne("")).distinct(year)
+                .fetchFirst().get("title"));
+    }
+
+    @Test
+    public void unique_result_considers_filter() {
+        assertEquals("Introduction to Algorithms", query.where(year.eq(1990)).distinct(year)
+                .fetchOne().get("title"));
+    }
+
     @Test(expected = NonUniqueResultException.class)
     public void uniqueResult_contract() {
         query.where(title.ne("")).fetchOne();
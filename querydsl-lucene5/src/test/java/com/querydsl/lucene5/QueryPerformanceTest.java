@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.lucene5;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.IntField;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.querydsl.core.testutil.Benchmark;
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.testutil.Runner;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+
+@Ignore
+@Category(Performance.class)
+public class QueryPerformanceTest {
+
+    private static final int size = 200000;
+
+    private static final StringPath title = Expressions.stringPath("title");
+
+    private static final NumberPath<Integer> year = Expressions.numberPath(Integer.class, "year");
+
+    private static RAMDirectory idx;
+
+    private static DirectoryReader reader;
+
+    private static IndexSearcher searcher;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        idx = new RAMDirectory();
+        IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer())
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        IndexWriter writer = new IndexWriter(idx, config);
+        for (int i = 0; i < size; i++) {
+            Document document = new Document();
+            document.add(new StringField("title", "title" + i, Store.YES));
+            document.add(new IntField("year", 1900 + i % 100, Store.YES));
+            document.add(new NumericDocValuesField("year", 1900 + i % 100));
+            writer.addDocument(document);
+        }
+        writer.close();
+        reader = DirectoryReader.open(idx);
+        searcher = new IndexSearcher(reader);
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        reader.close();
+        idx.close();
+    }
+
+    private LuceneQuery query() {
+        return new LuceneQuery(searcher);
+    }
+
+    @Test
+    public void fetchFirst_maxDoc_hits() throws Exception {
+        // the former implementation, which collected maxDoc hits in index order
+        Runner.run("fetchFirst maxDoc hits", new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                for (int i = 0; i < times; i++) {
+                    ScoreDoc[] scoreDocs = searcher.search(query().where(year.gt(1950)).createQuery(),
+                            reader.maxDoc(), Sort.INDEXORDER, false, false).scoreDocs;
+                    searcher.doc(scoreDocs[0].doc);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void fetchFirst() throws Exception {
+        Runner.run("fetchFirst", new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                for (int i = 0; i < times; i++) {
+                    query().where(year.gt(1950)).fetchFirst();
+                }
+            }
+        });
+    }
+
+    @Test
+    public void fetchFirst_ordered() throws Exception {
+        Runner.run("fetchFirst ordered", new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                for (int i = 0; i < times; i++) {
+                    query().where(year.gt(1950)).orderBy(year.desc()).fetchFirst();
+                }
+            }
+        });
+    }
+
+    @Test
+    public void fetchOne() throws Exception {
+        Runner.run("fetchOne", new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                for (int i = 0; i < times; i++) {
+                    query().where(title.eq("title" + (i % size))).fetchOne();
+                }
+            }
+        });
+    }
+
+}
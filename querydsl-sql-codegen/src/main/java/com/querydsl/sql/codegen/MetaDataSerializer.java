@@ -153,6 +153,11 @@ public class MetaDataSerializer extends EntitySerializer {
         return builder.toString();
     }
 
+    @Override
+    protected void introPathFactory(CodeWriter writer, EntityType model) throws IOException {
+        // relational paths are not used as collection elements
+    }
+
     @Override
     protected void introDefaultInstance(CodeWriter writer, EntityType entityType, String defaultName) throws IOException {
         String variableName = !defaultName.isEmpty() ? defaultName : namingStrategy.getDefaultVariableName(entityType);
@@ -13,7 +13,6 @@
  */
 package com.querydsl.sql;
 
-import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -201,11 +200,6 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
         return serializer;
     }
 
-    @Nullable
-    private <U> U get(ResultSet rs, Expression<?> expr, int i, Class<U> type) throws SQLException {
-        return configuration.get(rs, expr instanceof Path ? (Path<?>) expr : null, i, type);
-    }
-
     private void set(PreparedStatement stmt, Path<?> path, int i, Object value) throws SQLException {
         configuration.set(stmt, path, i, value);
     }
@@ -314,6 +308,25 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
         }
     }
 
+    /**
+     * Compile the query into an immutable and thread-safe form which can be executed many times
+     * against different connections and parameter values without serializing it again.
+     *
+     * <p>Parameters set via {@link #set(ParamExpression, Object)} are used as defaults for the
+     * executions of the compiled query.</p>
+     *
+     * @return compiled query
+     */
+    public CompiledSQLQuery<T> compile() {
+        try {
+            SQLSerializer serializer = serialize(false);
+            return new CompiledSQLQuery<T>(configuration, new SQLListeners(listeners),
+                    queryMixin.getMetadata().clone(), statementOptions, serializer);
+        } finally {
+            reset();
+        }
+    }
+
     private PreparedStatement getPreparedStatement(String queryString) throws SQLException {
         PreparedStatement statement = connection().prepareStatement(queryString);
         if (statementOptions.getFetchSize() != null) {
@@ -370,39 +383,13 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
             final ResultSet rs = stmt.executeQuery();
             listeners.executed(context);
 
-            if (expr == null) {
-                return new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
-                    @Override
-                    public T produceNext(ResultSet rs) throws Exception {
-                        return (T) rs.getObject(1);
-                    }
-                };
-            } else if (expr instanceof FactoryExpression) {
-                return new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
-                    @Override
-                    public T produceNext(ResultSet rs) throws Exception {
-                        return newInstance((FactoryExpression<T>) expr, rs, 0);
-                    }
-                };
-            } else if (expr.equals(Wildcard.all)) {
-                return new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
-                    @Override
-                    public T produceNext(ResultSet rs) throws Exception {
-                        Object[] rv = new Object[rs.getMetaData().getColumnCount()];
-                        for (int i = 0; i < rv.length; i++) {
-                            rv[i] = rs.getObject(i + 1);
-                        }
-                        return (T) rv;
-                    }
-                };
-            } else {
-                return new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
-                    @Override
-                    public T produceNext(ResultSet rs) throws Exception {
-                        return get(rs, expr, 1, expr.getType());
-                    }
-                };
-            }
+            final RowReader<T> reader = RowReader.create(configuration, expr).bind(rs);
+            return new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
+                @Override
+                public T produceNext(ResultSet rs) throws Exception {
+                    return reader.read(rs);
+                }
+            };
 
         } catch (SQLException e) {
             onException(context, e);
@@ -448,46 +435,26 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
                 try {
                     lastCell = null;
                     final List<T> rv = new ArrayList<T>();
-                    if (expr instanceof FactoryExpression) {
-                        FactoryExpression<T> fe = (FactoryExpression<T>) expr;
-                        while (rs.next()) {
-                            if (getLastCell) {
-                                lastCell = rs.getObject(fe.getArgs().size() + 1);
-                                getLastCell = false;
-                            }
-                            rv.add(newInstance(fe, rs, 0));
-                        }
-                    } else if (expr.equals(Wildcard.all)) {
-                        while (rs.next()) {
-                            Object[] row = new Object[rs.getMetaData().getColumnCount()];
-                            if (getLastCell) {
-                                lastCell = rs.getObject(row.length);
-                                getLastCell = false;
-                            }
-                            for (int i = 0; i < row.length; i++) {
-                                row[i] = rs.getObject(i + 1);
-                            }
-                            rv.add((T) row);
+                    final RowReader<T> reader = RowReader.create(configuration, expr).bind(rs);
+                    if (getLastCell) {
+                        int lastCellIndex;
+                        if (expr instanceof FactoryExpression) {
+                            lastCellIndex = ((FactoryExpression<T>) expr).getArgs().size() + 1;
+                        } else if (expr.equals(Wildcard.all)) {
+                            lastCellIndex = rs.getMetaData().getColumnCount();
+                        } else {
+                            lastCellIndex = 2;
                         }
-                    } else {
-                        while (rs.next()) {
-                            if (getLastCell) {
-                                lastCell = rs.getObject(2);
-                                getLastCell = false;
-                            }
-                            rv.add(get(rs, expr, 1, expr.getType()));
+                        if (rs.next()) {
+                            lastCell = rs.getObject(lastCellIndex);
+                            rv.add(reader.read(rs));
                         }
+                        getLastCell = false;
+                    }
+                    while (rs.next()) {
+                        rv.add(reader.read(rs));
                     }
                     return rv;
-                } catch (IllegalAccessException e) {
-                    onException(context, e);
-                    throw new QueryException(e);
-                } catch (InvocationTargetException e) {
-                    onException(context,e);
-                    throw new QueryException(e);
-                } catch (InstantiationException e) {
-                    onException(context,e);
-                    throw new QueryException(e);
                 } catch (SQLException e) {
                     onException(context,e);
                     throw configuration.translate(queryString, constants, e);
@@ -506,6 +473,63 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
         }
     }
 
+    /**
+     * Process the result rows with the given handler. The handler gets a cursor positioned on
+     * each row, no projection instances are created.
+     *
+     * @param handler row handler
+     * @return amount of processed rows
+     */
+    public long forEachRow(RowHandler handler) {
+        Expression<?> expr = queryMixin.getMetadata().getProjection();
+        SQLListenerContextImpl context = startContext(connection(), queryMixin.getMetadata());
+        String queryString = null;
+        List<Object> constants = ImmutableList.of();
+
+        try {
+            listeners.preRender(context);
+            SQLSerializer serializer = serialize(false);
+            queryString = serializer.toString();
+            logQuery(queryString, serializer.getConstants());
+            context.addSQL(queryString);
+            listeners.rendered(context);
+
+            listeners.notifyQuery(queryMixin.getMetadata());
+            constants = serializer.getConstants();
+
+            listeners.prePrepare(context);
+            final PreparedStatement stmt = getPreparedStatement(queryString);
+            try {
+                setParameters(stmt, constants, serializer.getConstantPaths(), queryMixin.getMetadata().getParams());
+                context.addPreparedStatement(stmt);
+                listeners.prepared(context);
+
+                listeners.preExecute(context);
+                final ResultSet rs = stmt.executeQuery();
+                listeners.executed(context);
+                try {
+                    RowCursor cursor = new RowCursor(configuration, expr, rs, queryString, constants);
+                    long rows = 0;
+                    while (rs.next()) {
+                        handler.handle(cursor);
+                        rows++;
+                    }
+                    return rows;
+                } finally {
+                    rs.close();
+                }
+            } finally {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            onException(context, e);
+            throw configuration.translate(queryString, constants, e);
+        } finally {
+            endContext(context);
+            reset();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public QueryResults<T> fetchResults() {
@@ -553,13 +577,69 @@ public abstract class AbstractSQLQuery<T, Q extends AbstractSQLQuery<T, Q>> exte
         }
     }
 
-    private <RT> RT newInstance(FactoryExpression<RT> c, ResultSet rs, int offset)
-        throws InstantiationException, IllegalAccessException, InvocationTargetException, SQLException {
-        Object[] args = new Object[c.getArgs().size()];
-        for (int i = 0; i < args.length; i++) {
-            args[i] = get(rs, c.getArgs().get(i), offset + i + 1, c.getArgs().get(i).getType());
+    /**
+     * Get a page of the results in keyset pagination mode
+     *
+     * <p>Instead of skipping rows via an offset, the page starts after the row the given
+     * continuation token was created for, based on a seek predicate on the order of the query.
+     * This way each page costs the same regardless of its depth. The order expressions need to
+     * be non-null and unique in combination, e.g. by ordering by the primary key last. Limit
+     * and offset of the query are ignored.</p>
+     *
+     * @param token continuation token of the previous page or null for the first page
+     * @param pageSize maximum amount of results in the page
+     * @return page of results and continuation token of the next page
+     */
+    @SuppressWarnings("unchecked")
+    public KeysetPage<T> fetchPage(@Nullable String token, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive, got " + pageSize);
+        }
+        QueryMetadata metadata = queryMixin.getMetadata();
+        List<OrderSpecifier<?>> orderBy = metadata.getOrderBy();
+        Expression<?> projection = metadata.getProjection();
+        if (orderBy.isEmpty()) {
+            throw new IllegalStateException("Keyset pagination requires an ordered query");
+        } else if (projection == null || projection.equals(Wildcard.all)) {
+            throw new IllegalStateException("Keyset pagination requires an explicit projection");
+        }
+
+        // the order keys are selected after the projection to create the token of the next page
+        Expression<?>[] args = new Expression<?>[orderBy.size() + 1];
+        args[0] = projection;
+        for (int i = 0; i < orderBy.size(); i++) {
+            args[i + 1] = orderBy.get(i).getTarget();
+        }
+        Q query = clone(connection());
+        query.setStatementOptions(statementOptions);
+        query.queryMixin.setProjection(Projections.tuple(args));
+        if (token != null) {
+            Predicate seek = Keyset.predicate(configuration.getTemplates(), orderBy, Keyset.decode(orderBy, token));
+            if (metadata.getGroupBy().isEmpty()) {
+                query.queryMixin.where(seek);
+            } else {
+                query.queryMixin.having(seek);
+            }
+        }
+        // one extra row to find out whether there is a next page
+        query.queryMixin.restrict(QueryModifiers.limit(pageSize + 1L));
+        List<Tuple> rows = (List<Tuple>) query.fetch();
+
+        int size = Math.min(rows.size(), pageSize);
+        List<T> results = new ArrayList<T>(size);
+        for (int i = 0; i < size; i++) {
+            results.add((T) rows.get(i).get(0, Object.class));
+        }
+        String nextToken = null;
+        if (rows.size() > pageSize) {
+            Tuple last = rows.get(pageSize - 1);
+            Object[] values = new Object[orderBy.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = last.get(i + 1, Object.class);
+            }
+            nextToken = Keyset.encode(orderBy, values);
         }
-        return c.newInstance(args);
+        return new KeysetPage<T>(results, nextToken);
     }
 
     private void reset() {
@@ -21,6 +21,7 @@ import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.sql.dml.SQLBulkLoadClause;
 import com.querydsl.sql.dml.SQLDeleteClause;
 import com.querydsl.sql.dml.SQLInsertClause;
 import com.querydsl.sql.dml.SQLMergeClause;
@@ -68,6 +69,16 @@ public abstract class AbstractSQLQueryFactory<Q extends SQLCommonQuery<?>> imple
         return (Q) query().from(subQuery, alias);
     }
 
+    /**
+     * Create a new bulk load clause
+     *
+     * @param path table to load the rows into
+     * @return bulk load clause
+     */
+    public final SQLBulkLoadClause bulkLoad(RelationalPath<?> path) {
+        return new SQLBulkLoadClause(connection, configuration, path);
+    }
+
     @Override
     public final SQLInsertClause insert(RelationalPath<?> path) {
         return new SQLInsertClause(connection, configuration, path);
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableMap;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.*;
+
+/**
+ * {@code CompiledSQLQuery} is an immutable, thread-safe representation of a serialized SQL query.
+ *
+ * <p>The SQL string, the constant to {@link Path} bindings and the row mapping are computed once
+ * when the query is compiled via {@link AbstractSQLQuery#compile()}. Executions only bind the
+ * parameter values and read the rows, the expression tree is not traversed again.</p>
+ *
+ * <p>Column types are resolved against the {@link Configuration} at compile time, so type
+ * registrations done after compilation are not visible to the compiled query.</p>
+ *
+ * <pre>
+ * Param&lt;String&gt; name = new Param&lt;String&gt;(String.class, "name");
+ * CompiledSQLQuery&lt;Long&gt; query = queryFactory.select(employee.id).from(employee)
+ *     .where(employee.firstname.eq(name)).compile();
+ * List&lt;Long&gt; ids = query.fetch(connection, ImmutableMap.of(name, "Mike"));
+ * </pre>
+ *
+ * @param <T> result type
+ */
+@Immutable
+public final class CompiledSQLQuery<T> {
+
+    private final Configuration configuration;
+
+    private final SQLListeners listeners;
+
+    private final QueryMetadata metadata;
+
+    private final StatementOptions statementOptions;
+
+    private final String sql;
+
+    private final List<Object> constants;
+
+    private final List<Path<?>> constantPaths;
+
+    private final Map<ParamExpression<?>, Object> defaultParams;
+
+    private final RowReader<T> rowReader;
+
+    @SuppressWarnings("unchecked")
+    CompiledSQLQuery(Configuration configuration, SQLListeners listeners, QueryMetadata metadata,
+                     StatementOptions statementOptions, SQLSerializer serializer) {
+        this.configuration = configuration;
+        this.listeners = listeners;
+        this.metadata = metadata;
+        this.statementOptions = statementOptions;
+        this.sql = serializer.toString();
+        this.constants = Collections.unmodifiableList(new ArrayList<Object>(serializer.getConstants()));
+        this.constantPaths = Collections.unmodifiableList(new ArrayList<Path<?>>(serializer.getConstantPaths()));
+        this.defaultParams = Collections.unmodifiableMap(new HashMap<ParamExpression<?>, Object>(metadata.getParams()));
+        if (constants.size() != constantPaths.size()) {
+            throw new IllegalArgumentException("Expected " + constants.size() +
+                    " paths, but got " + constantPaths.size());
+        }
+
+        this.rowReader = RowReader.create(configuration, (Expression<T>) metadata.getProjection());
+    }
+
+    /**
+     * Get the rendered SQL string
+     *
+     * @return SQL string
+     */
+    public String getSQL() {
+        return sql;
+    }
+
+    /**
+     * Get the constants of the query in binding order, parameters are included as
+     * {@link ParamExpression} instances
+     *
+     * @return constants
+     */
+    public List<Object> getConstants() {
+        return constants;
+    }
+
+    /**
+     * Execute the query with the parameter values that were set at compile time
+     *
+     * @param conn connection to use
+     * @return results
+     */
+    public List<T> fetch(Connection conn) {
+        return fetch(conn, ImmutableMap.<ParamExpression<?>, Object>of());
+    }
+
+    /**
+     * Execute the query with the given parameter values
+     *
+     * @param conn connection to use
+     * @param params parameter values, override the values set at compile time
+     * @return results
+     */
+    public List<T> fetch(Connection conn, Map<? extends ParamExpression<?>, ?> params) {
+        SQLListenerContextImpl context = startContext(conn);
+        List<Object> bindings = constants;
+        try {
+            listeners.prePrepare(context);
+            PreparedStatement stmt = prepare(conn);
+            try {
+                bindings = setParameters(stmt, params);
+                context.addPreparedStatement(stmt);
+                listeners.prepared(context);
+
+                listeners.preExecute(context);
+                ResultSet rs = stmt.executeQuery();
+                listeners.executed(context);
+                try {
+                    RowReader<T> reader = rowReader.bind(rs);
+                    List<T> rv = new ArrayList<T>();
+                    while (rs.next()) {
+                        rv.add(reader.read(rs));
+                    }
+                    return rv;
+                } finally {
+                    rs.close();
+                }
+            } finally {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            onException(context, e);
+            throw configuration.translate(sql, bindings, e);
+        } finally {
+            listeners.end(context);
+        }
+    }
+
+    /**
+     * Execute the query with the parameter values that were set at compile time and
+     * return the results as an iterator
+     *
+     * @param conn connection to use
+     * @return result iterator
+     */
+    public CloseableIterator<T> iterate(Connection conn) {
+        return iterate(conn, ImmutableMap.<ParamExpression<?>, Object>of());
+    }
+
+    /**
+     * Execute the query with the given parameter values and return the results as an iterator
+     *
+     * @param conn connection to use
+     * @param params parameter values, override the values set at compile time
+     * @return result iterator
+     */
+    public CloseableIterator<T> iterate(Connection conn, Map<? extends ParamExpression<?>, ?> params) {
+        SQLListenerContextImpl context = startContext(conn);
+        List<Object> bindings = constants;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        boolean success = false;
+        try {
+            listeners.prePrepare(context);
+            stmt = prepare(conn);
+            bindings = setParameters(stmt, params);
+            context.addPreparedStatement(stmt);
+            listeners.prepared(context);
+
+            listeners.preExecute(context);
+            rs = stmt.executeQuery();
+            listeners.executed(context);
+
+            final RowReader<T> reader = rowReader.bind(rs);
+            CloseableIterator<T> rv = new SQLResultIterator<T>(configuration, stmt, rs, listeners, context) {
+                @Override
+                protected T produceNext(ResultSet rs) throws Exception {
+                    return reader.read(rs);
+                }
+            };
+            success = true;
+            return rv;
+        } catch (SQLException e) {
+            onException(context, e);
+            throw configuration.translate(sql, bindings, e);
+        } finally {
+            if (!success) {
+                // the iterator owns the statement and the context only once it is returned
+                close(rs, stmt);
+                listeners.end(context);
+            }
+        }
+    }
+
+    private static void close(@Nullable ResultSet rs, @Nullable PreparedStatement stmt) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+        } catch (SQLException e) {
+            // ignore, the original failure is reported
+        }
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            // ignore, the original failure is reported
+        }
+    }
+
+    /**
+     * Execute the query with the given parameter values and return the first result
+     *
+     * @param conn connection to use
+     * @param params parameter values, override the values set at compile time
+     * @return first result or null
+     */
+    @Nullable
+    public T fetchFirst(Connection conn, Map<? extends ParamExpression<?>, ?> params) {
+        CloseableIterator<T> it = iterate(conn, params);
+        try {
+            return it.hasNext() ? it.next() : null;
+        } finally {
+            it.close();
+        }
+    }
+
+    private SQLListenerContextImpl startContext(Connection conn) {
+        SQLListenerContextImpl context = new SQLListenerContextImpl(metadata, conn);
+        listeners.start(context);
+        context.addSQL(sql);
+        return context;
+    }
+
+    private void onException(SQLListenerContextImpl context, Exception e) {
+        context.setException(e);
+        listeners.exception(context);
+    }
+
+    private PreparedStatement prepare(Connection conn) throws SQLException {
+        PreparedStatement statement = conn.prepareStatement(sql);
+        if (statementOptions.getFetchSize() != null) {
+            statement.setFetchSize(statementOptions.getFetchSize());
+        }
+        if (statementOptions.getMaxFieldSize() != null) {
+            statement.setMaxFieldSize(statementOptions.getMaxFieldSize());
+        }
+        if (statementOptions.getQueryTimeout() != null) {
+            statement.setQueryTimeout(statementOptions.getQueryTimeout());
+        }
+        if (statementOptions.getMaxRows() != null) {
+            statement.setMaxRows(statementOptions.getMaxRows());
+        }
+        return statement;
+    }
+
+    private List<Object> setParameters(PreparedStatement stmt, Map<? extends ParamExpression<?>, ?> params)
+            throws SQLException {
+        List<Object> bindings = new ArrayList<Object>(constants.size());
+        for (int i = 0; i < constants.size(); i++) {
+            Object o = constants.get(i);
+            if (o instanceof ParamExpression) {
+                if (params.containsKey(o)) {
+                    o = params.get(o);
+                } else if (defaultParams.containsKey(o)) {
+                    o = defaultParams.get(o);
+                } else {
+                    throw new ParamNotSetException((ParamExpression<?>) o);
+                }
+            }
+            bindings.add(o);
+            configuration.set(stmt, constantPaths.get(i), i + 1, o);
+        }
+        return bindings;
+    }
+
+}
@@ -60,7 +60,7 @@ public final class Configuration {
 
     private final SQLListeners listeners = new SQLListeners();
 
-    private boolean hasTableColumnTypes = false;
+    private volatile boolean hasTableColumnTypes = false;
 
     private boolean useLiterals = false;
 
@@ -119,6 +119,20 @@ public final class Configuration {
         }
     }
 
+    /**
+     * Get the unquoted literal representation of the given value, using the type registered
+     * for the given column or otherwise the type registered for the class of the value
+     *
+     * @param path column path
+     * @param value value
+     * @return literal representation
+     */
+    @SuppressWarnings("unchecked")
+    public String getLiteral(@Nullable Path<?> path, Object value) {
+        Type type = getType(path, value.getClass());
+        return type.getLiteral(value);
+    }
+
     public SQLTemplates getTemplates() {
         return templates;
     }
@@ -240,8 +254,16 @@ public final class Configuration {
         }
     }
 
+    /**
+     * Get the type for the given path and class
+     *
+     * @param <T> java type
+     * @param path path
+     * @param clazz java type
+     * @return type
+     */
     @SuppressWarnings({ "unchecked", "rawtypes" })
-    private <T> Type<T> getType(@Nullable Path<?> path, Class<T> clazz) {
+    <T> Type<T> getType(@Nullable Path<?> path, Class<T> clazz) {
         if (hasTableColumnTypes && path != null && !clazz.equals(Null.class)
                 && path.getMetadata().getParent() instanceof RelationalPath) {
             String table = ((RelationalPath) path.getMetadata().getParent()).getTableName();
@@ -372,8 +394,8 @@ public final class Configuration {
      * @param type type
      */
     public void register(Type<?> type) {
-        jdbcTypeMapping.register(type.getSQLTypes()[0], type.getReturnedClass());
         javaTypeMapping.register(type);
+        jdbcTypeMapping.register(type.getSQLTypes()[0], type.getReturnedClass());
     }
 
     /**
@@ -437,6 +459,29 @@ public final class Configuration {
         hasTableColumnTypes = true;
     }
 
+    /**
+     * Freeze the type registrations of this configuration
+     *
+     * <p>The registered {@link Type} instances are compiled into flat lookup tables, which are
+     * used for the type resolution of bindings and result set columns. Registering types after
+     * freezing results in an {@link IllegalStateException}.</p>
+     *
+     * <p>Lookups are thread-safe also without freezing, freezing is intended for configurations
+     * which are fully set up at startup and then shared between threads.</p>
+     */
+    public void freeze() {
+        javaTypeMapping.freeze();
+    }
+
+    /**
+     * Get whether the type registrations of this configuration are frozen
+     *
+     * @return true, if frozen
+     */
+    public boolean isFrozen() {
+        return javaTypeMapping.isFrozen();
+    }
+
     /**
      * Translate the given SQLException
      *
@@ -50,6 +50,7 @@ public class H2Templates extends SQLTemplates {
         setNativeMerge(true);
         setMaxLimit(2 ^ 31);
         setLimitRequired(true);
+        setRowValueComparisonSupported(true);
         setCountDistinctMultipleColumns(true);
 
         setPrecedence(Precedence.ARITH_LOW + 1, Ops.CONCAT);
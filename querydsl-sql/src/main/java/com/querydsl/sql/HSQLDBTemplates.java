@@ -52,6 +52,7 @@ public class HSQLDBTemplates extends SQLTemplates {
         setDefaultValues("\ndefault values");
         setFunctionJoinsWrapped(true);
         setUnionsWrapped(false);
+        setRowValueComparisonSupported(true);
 
         setPrecedence(Precedence.ARITH_HIGH, Ops.CONCAT);
         setPrecedence(Precedence.ARITH_LOW + 1, Ops.NOT);
@@ -16,9 +16,12 @@ package com.querydsl.sql;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nullable;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Primitives;
 import com.querydsl.core.util.ReflectionUtils;
 import com.querydsl.sql.types.*;
@@ -26,6 +29,8 @@ import com.querydsl.sql.types.*;
 /**
  * {@code JavaTypeMapping} provides a mapping from Class to Type instances
  *
+ * <p>Lookups are safe for concurrent use, resolved types are cached lock-free.</p>
+ *
  * @author tiwe
  *
  */
@@ -94,15 +99,24 @@ class JavaTypeMapping {
         }
     }
 
-    private final Map<Class<?>,Type<?>> typeByClass = new HashMap<Class<?>,Type<?>>();
+    private final Map<Class<?>,Type<?>> typeByClass = new ConcurrentHashMap<Class<?>,Type<?>>();
+
+    // replaced on registration, so that resolutions based on the previous registrations end up
+    // in a discarded map
+    private volatile ConcurrentMap<Class<?>,Type<?>> resolvedTypesByClass = new ConcurrentHashMap<Class<?>,Type<?>>();
 
-    private final Map<Class<?>,Type<?>> resolvedTypesByClass = new HashMap<Class<?>,Type<?>>();
+    private final ConcurrentMap<String, Map<String,Type<?>>> typeByColumn = new ConcurrentHashMap<String,Map<String,Type<?>>>();
 
-    private final Map<String, Map<String,Type<?>>> typeByColumn = new HashMap<String,Map<String,Type<?>>>();
+    @Nullable
+    private volatile ImmutableMap<Class<?>,Type<?>> frozenTypesByClass;
+
+    @Nullable
+    private volatile ImmutableMap<String, ImmutableMap<String,Type<?>>> frozenTypeByColumn;
 
     @Nullable
     public Type<?> getType(String table, String column) {
-        Map<String,Type<?>> columns = typeByColumn.get(table);
+        ImmutableMap<String, ImmutableMap<String,Type<?>>> frozen = frozenTypeByColumn;
+        Map<String,Type<?>> columns = frozen != null ? frozen.get(table) : typeByColumn.get(table);
         if (columns != null) {
             return columns.get(column);
         } else {
@@ -112,13 +126,21 @@ class JavaTypeMapping {
 
     @SuppressWarnings("unchecked")
     public <T> Type<T> getType(Class<T> clazz) {
-        Type<?> resolvedType = resolvedTypesByClass.get(clazz);
+        ImmutableMap<Class<?>,Type<?>> frozen = frozenTypesByClass;
+        Type<?> resolvedType = frozen != null ? frozen.get(clazz) : null;
         if (resolvedType == null) {
-            resolvedType = findType(clazz);
-            if (resolvedType != null) {
-                resolvedTypesByClass.put(clazz, resolvedType);
-            } else {
-                return (Type) DEFAULT;
+            ConcurrentMap<Class<?>,Type<?>> resolved = resolvedTypesByClass;
+            resolvedType = resolved.get(clazz);
+            if (resolvedType == null) {
+                resolvedType = findType(clazz);
+                if (resolvedType == null) {
+                    resolvedType = DEFAULT;
+                }
+                // concurrent resolutions of the same class yield the same type
+                Type<?> existing = resolved.putIfAbsent(clazz, resolvedType);
+                if (existing != null) {
+                    resolvedType = existing;
+                }
             }
         }
         return (Type<T>) resolvedType;
@@ -135,7 +157,7 @@ class JavaTypeMapping {
                 return defaultTypes.get(cl);
             }
             cl = cl.getSuperclass();
-        } while (!cl.equals(Object.class));
+        } while (cl != null && !cl.equals(Object.class));
 
         //Look for a registered type in any implemented interfaces
         Set<Class<?>> interfaces = ReflectionUtils.getImplementedInterfaces(clazz);
@@ -150,22 +172,62 @@ class JavaTypeMapping {
     }
 
     public void register(Type<?> type) {
+        checkNotFrozen();
         typeByClass.put(type.getReturnedClass(), type);
         Class<?> primitive = Primitives.unwrap(type.getReturnedClass());
         if (primitive != null) {
             typeByClass.put(primitive, type);
         }
-        // Clear previous resolved types, so they won't impact future lookups
-        resolvedTypesByClass.clear();
+        // Discard previous resolved types, so they won't impact future lookups
+        resolvedTypesByClass = new ConcurrentHashMap<Class<?>,Type<?>>();
     }
 
     public void setType(String table, String column, Type<?> type) {
+        checkNotFrozen();
         Map<String,Type<?>> columns = typeByColumn.get(table);
         if (columns == null) {
-            columns = new HashMap<String, Type<?>>();
-            typeByColumn.put(table, columns);
+            columns = new ConcurrentHashMap<String, Type<?>>();
+            Map<String,Type<?>> existing = typeByColumn.putIfAbsent(table, columns);
+            if (existing != null) {
+                columns = existing;
+            }
         }
         columns.put(column, type);
     }
 
-}
\ No newline at end of file
+    /**
+     * Compile the registered and default types into flat immutable lookup tables. Further
+     * registrations are rejected with an {@link IllegalStateException}.
+     */
+    public synchronized void freeze() {
+        if (frozenTypesByClass != null) {
+            return;
+        }
+        Map<Class<?>,Type<?>> types = new HashMap<Class<?>,Type<?>>();
+        for (Class<?> cl : defaultTypes.keySet()) {
+            types.put(cl, getType(cl));
+        }
+        for (Class<?> cl : typeByClass.keySet()) {
+            types.put(cl, getType(cl));
+        }
+        types.putAll(resolvedTypesByClass);
+
+        ImmutableMap.Builder<String, ImmutableMap<String,Type<?>>> columns = ImmutableMap.builder();
+        for (Map.Entry<String, Map<String,Type<?>>> entry : typeByColumn.entrySet()) {
+            columns.put(entry.getKey(), ImmutableMap.copyOf(entry.getValue()));
+        }
+        frozenTypeByColumn = columns.build();
+        frozenTypesByClass = ImmutableMap.copyOf(types);
+    }
+
+    public boolean isFrozen() {
+        return frozenTypesByClass != null;
+    }
+
+    private void checkNotFrozen() {
+        if (frozenTypesByClass != null) {
+            throw new IllegalStateException("Type mappings are frozen");
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.common.io.BaseEncoding;
+import com.querydsl.core.QueryException;
+import com.querydsl.core.types.*;
+import com.querydsl.core.util.MathUtils;
+
+/**
+ * {@code Keyset} provides the seek predicates and continuation tokens of keyset pagination
+ *
+ * <p>A continuation token contains a signature of the order of the query followed by the
+ * order key values of the last row of a page in string form. The values are converted back
+ * based on the types of the order expressions, which are limited to strings, numbers, booleans,
+ * characters, dates, enums, UUIDs and types with a static {@code parse(String)} factory method
+ * such as the Joda-Time types.</p>
+ */
+final class Keyset {
+
+    private static final BaseEncoding ENCODING = BaseEncoding.base64Url().omitPadding();
+
+    private Keyset() { }
+
+    /**
+     * Create a predicate which matches the rows after the given order key values
+     *
+     * <p>If all keys have the same direction and the templates support row value comparisons,
+     * the predicate is rendered as {@code (k1, k2) > (?, ?)}, otherwise it is expanded to
+     * {@code k1 >= ? and (k1 > ? or k1 = ? and k2 > ?)}.</p>
+     *
+     * @param templates templates
+     * @param orderBy order of the query
+     * @param values order key values of the last row
+     * @return seek predicate
+     */
+    @SuppressWarnings("unchecked")
+    static Predicate predicate(SQLTemplates templates, List<OrderSpecifier<?>> orderBy, Object[] values) {
+        List<Expression<?>> keys = new ArrayList<Expression<?>>(orderBy.size());
+        List<Expression<?>> constants = new ArrayList<Expression<?>>(orderBy.size());
+        boolean ascending = orderBy.get(0).isAscending();
+        boolean sameDirection = true;
+        for (int i = 0; i < orderBy.size(); i++) {
+            keys.add(orderBy.get(i).getTarget());
+            constants.add(ConstantImpl.create(values[i]));
+            sameDirection &= orderBy.get(i).isAscending() == ascending;
+        }
+
+        if (keys.size() > 1 && sameDirection && templates.isRowValueComparisonSupported()) {
+            return ExpressionUtils.predicate(ascending ? Ops.GT : Ops.LT,
+                    ExpressionUtils.list(Object.class, keys), ExpressionUtils.list(Object.class, constants));
+        }
+
+        Predicate rv = null;
+        Predicate equalPrefix = null;
+        for (int i = 0; i < keys.size(); i++) {
+            Expression<Object> key = (Expression<Object>) keys.get(i);
+            Operator operator = orderBy.get(i).isAscending() ? Ops.GT : Ops.LT;
+            rv = ExpressionUtils.or(rv, ExpressionUtils.and(equalPrefix,
+                    ExpressionUtils.predicate(operator, key, constants.get(i))));
+            equalPrefix = ExpressionUtils.and(equalPrefix, ExpressionUtils.eq(key, constants.get(i)));
+        }
+        if (keys.size() > 1) {
+            // lower bound on the first key to make the predicate usable as an index range
+            Operator operator = ascending ? Ops.GOE : Ops.LOE;
+            rv = ExpressionUtils.and(ExpressionUtils.predicate(operator, keys.get(0), constants.get(0)), rv);
+        }
+        return rv;
+    }
+
+    /**
+     * Encode the given order key values into a continuation token
+     *
+     * @param orderBy order of the query
+     * @param values order key values of the last row
+     * @return continuation token
+     */
+    static String encode(List<OrderSpecifier<?>> orderBy, Object[] values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(signature(orderBy));
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    throw new IllegalStateException("Keyset pagination requires non-null order keys, " +
+                            "got null for " + orderBy.get(i).getTarget());
+                }
+                out.writeUTF(toString(values[i]));
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new QueryException(e);
+        }
+        return ENCODING.encode(bytes.toByteArray());
+    }
+
+    /**
+     * Decode the order key values of the given continuation token
+     *
+     * @param orderBy order of the query
+     * @param token continuation token
+     * @return order key values
+     */
+    static Object[] decode(List<OrderSpecifier<?>> orderBy, String token) {
+        byte[] bytes;
+        try {
+            bytes = ENCODING.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token " + token, e);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        try {
+            if (in.readInt() != signature(orderBy)) {
+                throw new IllegalArgumentException("Continuation token " + token
+                        + " doesn't match the order of the query");
+            }
+            Object[] values = new Object[orderBy.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = fromString(orderBy.get(i).getTarget().getType(), in.readUTF());
+            }
+            if (in.read() != -1) {
+                throw new IllegalArgumentException("Invalid continuation token " + token);
+            }
+            return values;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid continuation token " + token, e);
+        }
+    }
+
+    private static int signature(List<OrderSpecifier<?>> orderBy) {
+        return orderBy.toString().hashCode();
+    }
+
+    private static String toString(Object value) {
+        if (value instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) value;
+            return timestamp.getTime() + "." + timestamp.getNanos();
+        } else if (value instanceof java.util.Date) {
+            return String.valueOf(((java.util.Date) value).getTime());
+        } else if (value instanceof Enum<?>) {
+            return ((Enum<?>) value).name();
+        } else {
+            return value.toString();
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object fromString(Class<?> type, String value) {
+        try {
+            if (type.equals(String.class)) {
+                return value;
+            } else if (Number.class.isAssignableFrom(type)) {
+                BigDecimal number = new BigDecimal(value);
+                return type.equals(Number.class) ? number : MathUtils.cast(number, (Class) type);
+            } else if (type.equals(Boolean.class)) {
+                return Boolean.valueOf(value);
+            } else if (type.equals(Character.class)) {
+                return value.charAt(0);
+            } else if (type.equals(Timestamp.class)) {
+                return toTimestamp(value);
+            } else if (type.equals(java.sql.Date.class)) {
+                return new java.sql.Date(Long.parseLong(value));
+            } else if (type.equals(Time.class)) {
+                return new Time(Long.parseLong(value));
+            } else if (type.equals(java.util.Date.class)) {
+                // java.util.Date columns are read as Timestamps, keep their fractional seconds
+                return value.indexOf('.') >= 0 ? toTimestamp(value) : new java.util.Date(Long.parseLong(value));
+            } else if (type.isEnum()) {
+                return Enum.valueOf((Class) type, value);
+            } else if (type.equals(UUID.class)) {
+                return UUID.fromString(value);
+            } else {
+                Method parse = type.getMethod("parse", String.class);
+                return parse.invoke(null, value);
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Unsupported keyset type " + type.getName(), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Unsupported keyset type " + type.getName(), e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("Invalid keyset value " + value, e.getCause());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid keyset value " + value, e);
+        }
+    }
+
+    private static Timestamp toTimestamp(String value) {
+        int separator = value.indexOf('.');
+        Timestamp timestamp = new Timestamp(Long.parseLong(value.substring(0, separator)));
+        timestamp.setNanos(Integer.parseInt(value.substring(separator + 1)));
+        return timestamp;
+    }
+
+}
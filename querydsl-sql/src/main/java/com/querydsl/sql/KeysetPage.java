@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * {@code KeysetPage} bundles the results of a keyset paginated query with the continuation
+ * token of the next page
+ *
+ * @param <T> type of result elements
+ *
+ * @see AbstractSQLQuery#fetchPage(String, int)
+ */
+public final class KeysetPage<T> implements Serializable {
+
+    private static final long serialVersionUID = 3154936829510478230L;
+
+    private final List<T> results;
+
+    @Nullable
+    private final String nextToken;
+
+    /**
+     * Create a new {@link KeysetPage} instance
+     *
+     * @param results page results
+     * @param nextToken continuation token of the next page or null, if this is the last page
+     */
+    public KeysetPage(List<T> results, @Nullable String nextToken) {
+        this.results = results;
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Get the results of this page
+     *
+     * @return results
+     */
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * Get the continuation token of the next page
+     *
+     * @return token or null, if this is the last page
+     */
+    @Nullable
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /**
+     * Return whether there is a page after this one
+     *
+     * @return true, if there are more results
+     */
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+}
@@ -65,6 +65,11 @@ public class MySQLTemplates extends SQLTemplates {
         setNullsLast(null);
 
         setForShareSupported(true);
+        setRowValueComparisonSupported(true);
+        setMaxBindParameters(65535);
+        // max_allowed_packet defaults to 4 MB and a character takes up to four bytes
+        setMaxStatementLength(1024 * 1024);
+        setBulkLoadTemplate("load data local infile 'querydsl.tsv' into table {0} character set utf8mb4 ({1})");
         setForShareFlag(new QueryFlag(Position.END, LOCK_IN_SHARE_MODE));
 
         setPrecedence(Precedence.COMPARISON, Ops.EQ, Ops.EQ_IGNORE_CASE, Ops.NE);
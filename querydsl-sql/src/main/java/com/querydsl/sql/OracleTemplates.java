@@ -78,6 +78,7 @@ public class OracleTemplates extends SQLTemplates {
         setWithRecursive("with ");
         setCountViaAnalytics(true);
         setListMaxSize(1000);
+        setMaxBindParameters(65535);
 
         setPrecedence(Precedence.COMPARISON, Ops.EQ, Ops.EQ_IGNORE_CASE, Ops.NE);
         setPrecedence(Precedence.COMPARISON + 1, Ops.IS_NULL, Ops.IS_NOT_NULL, Ops.LIKE, Ops.LIKE_ESCAPE, Ops.BETWEEN,
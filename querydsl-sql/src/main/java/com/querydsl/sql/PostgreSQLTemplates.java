@@ -56,6 +56,9 @@ public class PostgreSQLTemplates extends SQLTemplates {
         setSupportsUnquotedReservedWordsAsIdentifier(true);
 
         setForShareSupported(true);
+        setRowValueComparisonSupported(true);
+        setMaxBindParameters(Short.MAX_VALUE);
+        setBulkLoadTemplate("copy {0} ({1}) from stdin");
 
         setPrecedence(Precedence.COMPARISON - 3, Ops.IS_NULL, Ops.IS_NOT_NULL);
         setPrecedence(Precedence.COMPARISON - 2, Ops.CONCAT, Ops.MATCHES);
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.Wildcard;
+
+/**
+ * {@code RowCursor} gives access to the current row of a query result without creating
+ * projection instances
+ *
+ * <p>The column indices of the projection expressions and the {@link com.querydsl.sql.types.Type}
+ * of each column are resolved once per query. The primitive accessors read directly from the
+ * {@link ResultSet}, the other accessors use the type mappings of the {@link Configuration}.</p>
+ *
+ * <pre>
+ * final double[] total = new double[1];
+ * queryFactory.select(employee.id, employee.salary).from(employee).forEachRow(new RowHandler() {
+ *     &#64;Override
+ *     public void handle(RowCursor row) {
+ *         total[0] += row.getDouble(employee.salary);
+ *     }
+ * });
+ * </pre>
+ */
+public final class RowCursor {
+
+    private final Configuration configuration;
+
+    private final ResultSet rs;
+
+    private final String queryString;
+
+    private final List<Object> constants;
+
+    private final Map<Expression<?>, Integer> indices = new HashMap<Expression<?>, Integer>();
+
+    @Nullable
+    private final RowReader.ColumnReader[] columns;
+
+    RowCursor(Configuration configuration, @Nullable Expression<?> projection, ResultSet rs,
+            String queryString, List<Object> constants) {
+        this.configuration = configuration;
+        this.rs = rs;
+        this.queryString = queryString;
+        this.constants = constants;
+        List<Expression<?>> args;
+        if (projection == null || projection.equals(Wildcard.all)) {
+            args = ImmutableList.of();
+        } else if (projection instanceof FactoryExpression) {
+            args = ((FactoryExpression<?>) projection).getArgs();
+        } else {
+            args = ImmutableList.<Expression<?>>of(projection);
+        }
+        if (!args.isEmpty()) {
+            columns = new RowReader.ColumnReader[args.size()];
+            for (int i = 0; i < columns.length; i++) {
+                Expression<?> arg = args.get(i);
+                columns[i] = new RowReader.ColumnReader(configuration, arg, i + 1);
+                register(arg, i + 1);
+            }
+        } else {
+            columns = null;
+        }
+    }
+
+    private void register(Expression<?> expr, int index) {
+        if (!indices.containsKey(expr)) {
+            indices.put(expr, index);
+        }
+        if (expr instanceof Operation && ((Operation<?>) expr).getOperator() == Ops.ALIAS) {
+            // expr as alias is accessible via the aliased expression and the alias
+            Operation<?> alias = (Operation<?>) expr;
+            register(alias.getArg(0), index);
+            register(alias.getArg(1), index);
+        }
+    }
+
+    /**
+     * Get the column index of the given projection expression
+     *
+     * @param expr projection expression
+     * @return column index, starting from 1
+     * @throws IllegalArgumentException if the expression is not part of the projection
+     */
+    public int indexOf(Expression<?> expr) {
+        Integer index = indices.get(expr);
+        if (index == null) {
+            throw new IllegalArgumentException(expr + " is not part of the projection");
+        }
+        return index;
+    }
+
+    /**
+     * Get the value of the given expression in the current row
+     *
+     * @param expr projection expression
+     * @param <T> value type
+     * @return value
+     */
+    @Nullable
+    public <T> T get(Expression<T> expr) {
+        return get(indexOf(expr), expr.getType());
+    }
+
+    /**
+     * Get the value of the given column in the current row
+     *
+     * @param index column index, starting from 1
+     * @param type value type
+     * @param <T> value type
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T> T get(int index, Class<T> type) {
+        try {
+            if (columns != null && index <= columns.length) {
+                return (T) columns[index - 1].read(rs);
+            } else {
+                return configuration.get(rs, null, index, type);
+            }
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    /**
+     * Get the value of the given expression in the current row as int, 0 for null
+     *
+     * @param expr projection expression
+     * @return value
+     */
+    public int getInt(Expression<?> expr) {
+        return getInt(indexOf(expr));
+    }
+
+    /**
+     * Get the value of the given column in the current row as int, 0 for null
+     *
+     * @param index column index, starting from 1
+     * @return value
+     */
+    public int getInt(int index) {
+        try {
+            return rs.getInt(index);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    /**
+     * Get the value of the given expression in the current row as long, 0 for null
+     *
+     * @param expr projection expression
+     * @return value
+     */
+    public long getLong(Expression<?> expr) {
+        return getLong(indexOf(expr));
+    }
+
+    /**
+     * Get the value of the given column in the current row as long, 0 for null
+     *
+     * @param index column index, starting from 1
+     * @return value
+     */
+    public long getLong(int index) {
+        try {
+            return rs.getLong(index);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    /**
+     * Get the value of the given expression in the current row as double, 0 for null
+     *
+     * @param expr projection expression
+     * @return value
+     */
+    public double getDouble(Expression<?> expr) {
+        return getDouble(indexOf(expr));
+    }
+
+    /**
+     * Get the value of the given column in the current row as double, 0 for null
+     *
+     * @param index column index, starting from 1
+     * @return value
+     */
+    public double getDouble(int index) {
+        try {
+            return rs.getDouble(index);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    /**
+     * Get whether the last column read via a primitive accessor was null
+     *
+     * @return true, if the value was null
+     */
+    public boolean wasNull() {
+        try {
+            return rs.wasNull();
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+    }
+
+    private RuntimeException translate(SQLException e) {
+        return configuration.translate(queryString, constants, e);
+    }
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+/**
+ * {@code RowHandler} processes the rows of a query via {@link AbstractSQLQuery#forEachRow(RowHandler)}
+ */
+public interface RowHandler {
+
+    /**
+     * Process the current row of the cursor. The cursor is only valid during the invocation.
+     *
+     * @param row cursor positioned on the current row
+     */
+    void handle(RowCursor row);
+
+}
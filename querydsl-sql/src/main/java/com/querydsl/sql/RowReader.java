@@ -0,0 +1,172 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.sql.types.Type;
+
+/**
+ * {@code RowReader} maps result set rows to projection instances.
+ *
+ * <p>The {@link Type} of each column is resolved once when the reader is created, reading a row
+ * is a single pass over the column readers.</p>
+ *
+ * @param <T> projection type
+ */
+abstract class RowReader<T> {
+
+    /**
+     * Create a reader for the given projection
+     *
+     * @param configuration configuration used for the type resolution
+     * @param expr projection, or null to read the first column as is
+     * @param <T> projection type
+     * @return row reader
+     */
+    @SuppressWarnings("unchecked")
+    static <T> RowReader<T> create(Configuration configuration, @Nullable Expression<T> expr) {
+        if (expr == null) {
+            return (RowReader<T>) new ColumnRowReader<Object>(null);
+        } else if (expr instanceof FactoryExpression) {
+            FactoryExpression<T> factoryExpr = (FactoryExpression<T>) expr;
+            List<Expression<?>> args = factoryExpr.getArgs();
+            ColumnReader[] columns = new ColumnReader[args.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = new ColumnReader(configuration, args.get(i), i + 1);
+            }
+            return new FactoryRowReader<T>(factoryExpr, columns);
+        } else if (expr.equals(Wildcard.all)) {
+            return (RowReader<T>) new WildcardRowReader(-1);
+        } else {
+            return new ColumnRowReader<T>(new ColumnReader(configuration, expr, 1));
+        }
+    }
+
+    /**
+     * Get a reader bound to the given result set, the returned reader may cache result set
+     * metadata and must not be used for other result sets
+     *
+     * @param rs result set
+     * @return bound reader
+     * @throws SQLException
+     */
+    RowReader<T> bind(ResultSet rs) throws SQLException {
+        return this;
+    }
+
+    /**
+     * Read the current row of the given result set
+     *
+     * @param rs result set
+     * @return projection instance
+     * @throws SQLException
+     */
+    abstract T read(ResultSet rs) throws SQLException;
+
+    /**
+     * {@code ColumnReader} reads a single column with a resolved {@link Type}
+     */
+    static final class ColumnReader {
+
+        private final Type<?> type;
+
+        private final int index;
+
+        ColumnReader(Configuration configuration, Expression<?> expr, int index) {
+            this.type = configuration.getType(expr instanceof Path ? (Path<?>) expr : null, expr.getType());
+            this.index = index;
+        }
+
+        @Nullable
+        Object read(ResultSet rs) throws SQLException {
+            return type.getValue(rs, index);
+        }
+
+    }
+
+    private static final class ColumnRowReader<T> extends RowReader<T> {
+
+        @Nullable
+        private final ColumnReader column;
+
+        ColumnRowReader(@Nullable ColumnReader column) {
+            this.column = column;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        T read(ResultSet rs) throws SQLException {
+            return column != null ? (T) column.read(rs) : (T) rs.getObject(1);
+        }
+
+    }
+
+    private static final class FactoryRowReader<T> extends RowReader<T> {
+
+        private final FactoryExpression<T> factoryExpr;
+
+        private final ColumnReader[] columns;
+
+        FactoryRowReader(FactoryExpression<T> factoryExpr, ColumnReader[] columns) {
+            this.factoryExpr = factoryExpr;
+            this.columns = columns;
+        }
+
+        @Override
+        T read(ResultSet rs) throws SQLException {
+            // a new array per row, since factory expressions such as QTuple keep the given array
+            Object[] args = new Object[columns.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = columns[i].read(rs);
+            }
+            return factoryExpr.newInstance(args);
+        }
+
+    }
+
+    private static final class WildcardRowReader extends RowReader<Object[]> {
+
+        private final int columnCount;
+
+        WildcardRowReader(int columnCount) {
+            this.columnCount = columnCount;
+        }
+
+        @Override
+        RowReader<Object[]> bind(ResultSet rs) throws SQLException {
+            return new WildcardRowReader(rs.getMetaData().getColumnCount());
+        }
+
+        @Override
+        Object[] read(ResultSet rs) throws SQLException {
+            int count = columnCount >= 0 ? columnCount : rs.getMetaData().getColumnCount();
+            Object[] row = new Object[count];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        }
+
+    }
+
+}
@@ -555,10 +555,19 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
 
     void serializeForInsert(QueryMetadata metadata, RelationalPath<?> entity, List<SQLInsertBatch> batches) {
         serializeForInsert(metadata, entity, batches.get(0).getColumns(), batches.get(0).getValues(), null);
+        List<Path<?>> columns = batches.get(0).getColumns();
         for (int i = 1; i < batches.size(); i++) {
+            List<Expression<?>> values = batches.get(i).getValues();
+            if (!useLiterals) {
+                for (int j = 0; j < columns.size(); j++) {
+                    if (values.get(j) instanceof Constant<?>) {
+                        constantPaths.add(columns.get(j));
+                    }
+                }
+            }
             append(COMMA);
             append("(");
-            handle(COMMA, batches.get(i).getValues());
+            handle(COMMA, values);
             append(")");
         }
     }
@@ -610,6 +619,15 @@ public class SQLSerializer extends SerializerBase<SQLSerializer> {
 
     }
 
+    public void serializeBulkLoad(RelationalPath<?> entity, List<Path<?>> columns) {
+        this.entity = entity;
+        dmlWithSchema = true;
+        skipParent = true;
+        handle(templates.getBulkLoadTemplate(), entity, ExpressionUtils.list(Object.class, columns));
+        skipParent = false;
+        dmlWithSchema = false;
+    }
+
     public void serializeUpdate(QueryMetadata metadata, RelationalPath<?> entity,
             Map<Path<?>, Expression<?>> updates) {
         templates.serializeUpdate(metadata, entity, updates, this);
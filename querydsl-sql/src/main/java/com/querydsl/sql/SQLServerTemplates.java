@@ -70,6 +70,9 @@ public class SQLServerTemplates extends SQLTemplates {
         setNullsLast(null);
         setDefaultValues("\ndefault values");
         setArraysSupported(false);
+        // 2100 parameters per request, drivers may use two of them internally
+        setMaxBindParameters(2098);
+        setMaxBulkInsertRows(1000);
         setForUpdateFlag(new QueryFlag(Position.BEFORE_FILTERS, FOR_UPDATE));
 
         setForShareSupported(true);
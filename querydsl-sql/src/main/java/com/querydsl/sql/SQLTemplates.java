@@ -238,12 +238,22 @@ public class SQLTemplates extends Templates {
 
     private boolean batchToBulkSupported = true;
 
+    private boolean rowValueComparisonSupported = false;
+
     private int listMaxSize = 0;
 
     private boolean supportsUnquotedReservedWordsAsIdentifier = false;
 
     private int maxLimit = Integer.MAX_VALUE;
 
+    private int maxBindParameters = Integer.MAX_VALUE;
+
+    private int maxBulkInsertRows = Integer.MAX_VALUE;
+
+    private int maxStatementLength = Integer.MAX_VALUE;
+
+    private String bulkLoadTemplate = null;
+
     private QueryFlag forShareFlag = new QueryFlag(Position.END, FOR_SHARE);
 
     private QueryFlag forUpdateFlag = new QueryFlag(Position.END, FOR_UPDATE);
@@ -785,6 +795,26 @@ public class SQLTemplates extends Templates {
         return batchToBulkSupported;
     }
 
+    public final int getMaxBindParameters() {
+        return maxBindParameters;
+    }
+
+    public final int getMaxBulkInsertRows() {
+        return maxBulkInsertRows;
+    }
+
+    public final int getMaxStatementLength() {
+        return maxStatementLength;
+    }
+
+    public final String getBulkLoadTemplate() {
+        return bulkLoadTemplate;
+    }
+
+    public final boolean isRowValueComparisonSupported() {
+        return rowValueComparisonSupported;
+    }
+
     public final QueryFlag getForShareFlag() {
         return forShareFlag;
     }
@@ -1208,6 +1238,32 @@ public class SQLTemplates extends Templates {
         this.batchToBulkSupported = b;
     }
 
+    protected void setMaxBindParameters(int i) {
+        this.maxBindParameters = i;
+    }
+
+    protected void setMaxBulkInsertRows(int i) {
+        this.maxBulkInsertRows = i;
+    }
+
+    /**
+     * Set the maximum length of a statement in characters including the bound values,
+     * which limits the size of bulk insert chunks
+     *
+     * @param i maximum statement length
+     */
+    protected void setMaxStatementLength(int i) {
+        this.maxStatementLength = i;
+    }
+
+    protected void setBulkLoadTemplate(String bulkLoadTemplate) {
+        this.bulkLoadTemplate = bulkLoadTemplate;
+    }
+
+    protected void setRowValueComparisonSupported(boolean b) {
+        this.rowValueComparisonSupported = b;
+    }
+
     protected void setForShareFlag(QueryFlag flag) {
         forShareFlag = flag;
     }
@@ -15,6 +15,11 @@ package com.querydsl.sql.dml;
 
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
 import com.querydsl.core.types.Path;
 import com.querydsl.sql.RelationalPath;
@@ -28,6 +33,18 @@ import com.querydsl.sql.RelationalPath;
  */
 public abstract class AbstractMapper<T> implements Mapper<T> {
 
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * Column bindings by bean class and entity instance
+     *
+     * <p>The keys are held weakly and compared by identity, since relational paths of different
+     * tables are equal, if they share the same alias. The bindings refer to both keys via their
+     * columns and accessors, so they are held softly to allow classes to be unloaded.</p>
+     */
+    private final Cache<Class<?>, Cache<RelationalPath<?>, Optional<ColumnBindings>>> bindings =
+            CacheBuilder.newBuilder().weakKeys().maximumSize(CACHE_SIZE).build();
+
     protected Map<String, Path<?>> getColumns(RelationalPath<?> path) {
         Map<String, Path<?>> columns = Maps.newLinkedHashMap();
         for (Path<?> column : path.getColumns()) {
@@ -41,4 +58,42 @@ public abstract class AbstractMapper<T> implements Mapper<T> {
             && parent.getPrimaryKey().getLocalColumns().contains(property);
     }
 
+    /**
+     * Get the cached column bindings for the given entity and bean class
+     *
+     * @param entity entity
+     * @param beanClass bean class
+     * @return column bindings or null, if the mapper doesn't provide them
+     */
+    @Nullable
+    final ColumnBindings getBindings(RelationalPath<?> entity, Class<?> beanClass) {
+        Cache<RelationalPath<?>, Optional<ColumnBindings>> byEntity = bindings.getIfPresent(beanClass);
+        if (byEntity == null) {
+            byEntity = CacheBuilder.newBuilder().weakKeys().softValues().build();
+            Cache<RelationalPath<?>, Optional<ColumnBindings>> existing =
+                    bindings.asMap().putIfAbsent(beanClass, byEntity);
+            if (existing != null) {
+                byEntity = existing;
+            }
+        }
+        Optional<ColumnBindings> rv = byEntity.getIfPresent(entity);
+        if (rv == null) {
+            rv = Optional.fromNullable(createBindings(entity, beanClass));
+            byEntity.put(entity, rv);
+        }
+        return rv.orNull();
+    }
+
+    /**
+     * Create the column bindings for the given entity and bean class
+     *
+     * @param entity entity
+     * @param beanClass bean class
+     * @return column bindings or null, if the mapper doesn't provide them
+     */
+    @Nullable
+    ColumnBindings createBindings(RelationalPath<?> entity, Class<?> beanClass) {
+        return null;
+    }
+
 }
@@ -181,6 +181,52 @@ public abstract class AbstractSQLClause<C extends AbstractSQLClause<C>> implemen
         }
     }
 
+    /**
+     * Prepare the serialized statement for streaming execution
+     *
+     * @param serializer serializer with the serialized statement
+     * @param metadata metadata of the statement
+     * @param entity target entity
+     * @param chunkSize amount of rows per executed batch
+     * @param params parameters to be bound per row
+     * @return batch stream
+     */
+    protected SQLBatchStream createBatchStream(SQLSerializer serializer, QueryMetadata metadata,
+            RelationalPath<?> entity, int chunkSize, List<ParamExpression<?>> params) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize needs to be positive, got " + chunkSize);
+        }
+        if (useLiterals) {
+            throw new IllegalStateException("Batch streams require parameter bindings, but literals are used");
+        }
+        String queryString = serializer.toString();
+        SQLListenerContextImpl context = startContext(connection(), metadata, entity);
+        PreparedStatement stmt = null;
+        try {
+            context.addSQL(queryString);
+            listeners.rendered(context);
+
+            listeners.prePrepare(context);
+            stmt = connection().prepareStatement(queryString);
+            context.addPreparedStatement(stmt);
+            listeners.prepared(context);
+            return new SQLBatchStream(configuration, listeners, context, stmt, queryString,
+                    serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams(),
+                    params, chunkSize);
+        } catch (SQLException e) {
+            onException(context, e);
+            listeners.end(context);
+            throw configuration.translate(queryString, serializer.getConstants(), e);
+        } catch (RuntimeException e) {
+            onException(context, e);
+            if (stmt != null) {
+                close(stmt);
+            }
+            listeners.end(context);
+            throw e;
+        }
+    }
+
     private long executeBatch(PreparedStatement stmt) throws SQLException {
         if (configuration.getUseLiterals()) {
             return stmt.executeUpdate();
@@ -17,13 +17,11 @@ import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
 
-import com.querydsl.core.QueryException;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.util.ReflectionUtils;
 import com.querydsl.sql.Column;
 import com.querydsl.sql.ColumnMetadata;
 import com.querydsl.sql.RelationalPath;
-import com.querydsl.sql.types.Null;
 
 /**
  * Creates the mapping via @Column annotated fields in the object. Field names don't have to match those in the RelationalPath.
@@ -31,7 +29,7 @@ import com.querydsl.sql.types.Null;
  * @author tiwe
  *
  */
-public class AnnotationMapper implements Mapper<Object> {
+public class AnnotationMapper extends AbstractMapper<Object> {
 
     public static final AnnotationMapper DEFAULT = new AnnotationMapper(false);
 
@@ -49,31 +47,23 @@ public class AnnotationMapper implements Mapper<Object> {
 
     @Override
     public Map<Path<?>, Object> createMap(RelationalPath<?> path, Object object) {
-        try {
-            Map<String, Path<?>> columnToPath = new HashMap<String, Path<?>>();
-            for (Path<?> column : path.getColumns()) {
-                columnToPath.put(ColumnMetadata.getName(column), column);
-            }
-            Map<Path<?>, Object> values = new HashMap<Path<?>, Object>();
-            for (Field field : ReflectionUtils.getFields(object.getClass())) {
-                Column ann = field.getAnnotation(Column.class);
-                if (ann != null) {
-                    field.setAccessible(true);
-                    Object propertyValue = field.get(object);
-                    if (propertyValue != null) {
-                        if (columnToPath.containsKey(ann.value())) {
-                            values.put(columnToPath.get(ann.value()), propertyValue);
-                        }
-                    } else if (withNullBindings) {
-                        values.put(columnToPath.get(ann.value()), Null.DEFAULT);
-                    }
-                }
+        return getBindings(path, object.getClass()).createMap(object);
+    }
+
+    @Override
+    ColumnBindings createBindings(RelationalPath<?> path, Class<?> beanClass) {
+        Map<String, Path<?>> columnToPath = new HashMap<String, Path<?>>();
+        for (Path<?> column : path.getColumns()) {
+            columnToPath.put(ColumnMetadata.getName(column), column);
+        }
+        ColumnBindings.Builder builder = new ColumnBindings.Builder();
+        for (Field field : ReflectionUtils.getFields(beanClass)) {
+            Column ann = field.getAnnotation(Column.class);
+            if (ann != null && columnToPath.containsKey(ann.value())) {
+                builder.add(columnToPath.get(ann.value()), field, withNullBindings);
             }
-            return values;
-        } catch (IllegalAccessException e) {
-            throw new QueryException(e);
         }
-
+        return builder.build();
     }
 
 }
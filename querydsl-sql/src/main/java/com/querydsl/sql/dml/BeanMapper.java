@@ -13,13 +13,16 @@
  */
 package com.querydsl.sql.dml;
 
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 
-import com.google.common.collect.Maps;
+import com.querydsl.core.QueryException;
 import com.querydsl.core.types.Path;
-import com.querydsl.core.util.BeanMap;
 import com.querydsl.sql.RelationalPath;
-import com.querydsl.sql.types.Null;
 
 /**
  * Creates the mapping by inspecting object via bean inspection.
@@ -45,25 +48,33 @@ public class BeanMapper extends AbstractMapper<Object> {
         this.withNullBindings = withNullBindings;
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     public Map<Path<?>, Object> createMap(RelationalPath<?> entity, Object bean) {
-        Map<Path<?>, Object> values = Maps.newLinkedHashMap();
-        Map<String, Object> map = new BeanMap(bean);
-        Map<String, Path<?>> columns = getColumns(entity);
+        return getBindings(entity, bean.getClass()).createMap(bean);
+    }
+
+    @Override
+    ColumnBindings createBindings(RelationalPath<?> entity, Class<?> beanClass) {
+        Map<String, Method> getters = new HashMap<String, Method>();
+        try {
+            for (PropertyDescriptor property : Introspector.getBeanInfo(beanClass).getPropertyDescriptors()) {
+                if (property.getReadMethod() != null) {
+                    getters.put(property.getName(), property.getReadMethod());
+                }
+            }
+        } catch (IntrospectionException e) {
+            throw new QueryException(e);
+        }
+        ColumnBindings.Builder builder = new ColumnBindings.Builder();
         // populate in column order
-        for (Map.Entry<String, Path<?>> entry : columns.entrySet()) {
+        for (Map.Entry<String, Path<?>> entry : getColumns(entity).entrySet()) {
             Path<?> path = entry.getValue();
-            if (map.containsKey(entry.getKey())) {
-                Object value = map.get(entry.getKey());
-                if (value != null) {
-                    values.put(path, value);
-                } else if (withNullBindings && !isPrimaryKeyColumn(entity, path)) {
-                    values.put(path, Null.DEFAULT);
-                }
+            Method getter = getters.get(entry.getKey());
+            if (getter != null) {
+                builder.add(path, getter, withNullBindings && !isPrimaryKeyColumn(entity, path));
             }
         }
-        return values;
+        return builder.build();
     }
 
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * {@code ChainedResultSet} reads the rows of the given result sets one after the other,
+ * e.g. the generated keys of several statements
+ *
+ * <p>All methods but {@link ResultSet#next()} and {@link ResultSet#close()} are delegated
+ * to the current result set.</p>
+ */
+final class ChainedResultSet implements InvocationHandler {
+
+    /**
+     * Create a result set which reads the rows of the given result sets in order
+     *
+     * @param resultSets result sets to be chained
+     * @return chained result set
+     */
+    static ResultSet create(List<ResultSet> resultSets) {
+        if (resultSets.size() == 1) {
+            return resultSets.get(0);
+        }
+        return (ResultSet) Proxy.newProxyInstance(ChainedResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new ChainedResultSet(resultSets));
+    }
+
+    private final List<ResultSet> resultSets;
+
+    private int index;
+
+    private ChainedResultSet(List<ResultSet> resultSets) {
+        this.resultSets = resultSets;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.equals("next") && method.getParameterTypes().length == 0) {
+            return next();
+        } else if (name.equals("close") && method.getParameterTypes().length == 0) {
+            close();
+            return null;
+        }
+        try {
+            return method.invoke(resultSets.get(index), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private boolean next() throws SQLException {
+        while (!resultSets.get(index).next()) {
+            if (index == resultSets.size() - 1) {
+                return false;
+            }
+            index++;
+        }
+        return true;
+    }
+
+    private void close() throws SQLException {
+        SQLException exception = null;
+        for (ResultSet rs : resultSets) {
+            try {
+                rs.close();
+            } catch (SQLException e) {
+                if (exception == null) {
+                    exception = e;
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+}
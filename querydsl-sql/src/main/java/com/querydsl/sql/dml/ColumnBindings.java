@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.querydsl.core.QueryException;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.types.Null;
+
+/**
+ * {@code ColumnBindings} is the precomputed mapping of the columns of a relational path to
+ * the fields or getters of a bean class
+ *
+ * <p>The bindings are created once per entity and bean class by the built-in {@link Mapper}
+ * implementations, so the population of beans doesn't need to introspect the bean class.</p>
+ */
+final class ColumnBindings {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * Builder for column bindings
+     */
+    static final class Builder {
+
+        private final List<Path<?>> columns = new ArrayList<Path<?>>();
+
+        private final List<AccessibleObject> accessors = new ArrayList<AccessibleObject>();
+
+        private final List<Boolean> nullBindings = new ArrayList<Boolean>();
+
+        /**
+         * Bind the column to the given field
+         *
+         * @param column column
+         * @param field field
+         * @param nullBinding true, if null values are bound as {@link Null#DEFAULT}
+         * @return the current object
+         */
+        Builder add(Path<?> column, Field field, boolean nullBinding) {
+            field.setAccessible(true);
+            return add(column, (AccessibleObject) field, nullBinding);
+        }
+
+        /**
+         * Bind the column to the given getter
+         *
+         * @param column column
+         * @param getter getter method
+         * @param nullBinding true, if null values are bound as {@link Null#DEFAULT}
+         * @return the current object
+         */
+        Builder add(Path<?> column, Method getter, boolean nullBinding) {
+            return add(column, (AccessibleObject) getter, nullBinding);
+        }
+
+        private Builder add(Path<?> column, AccessibleObject accessor, boolean nullBinding) {
+            columns.add(column);
+            accessors.add(accessor);
+            nullBindings.add(nullBinding);
+            return this;
+        }
+
+        ColumnBindings build() {
+            boolean[] nulls = new boolean[nullBindings.size()];
+            for (int i = 0; i < nulls.length; i++) {
+                nulls[i] = nullBindings.get(i);
+            }
+            return new ColumnBindings(columns.toArray(new Path<?>[columns.size()]),
+                    accessors.toArray(new AccessibleObject[accessors.size()]), nulls);
+        }
+
+    }
+
+    private final Path<?>[] columns;
+
+    private final AccessibleObject[] accessors;
+
+    private final boolean[] nullBindings;
+
+    private ColumnBindings(Path<?>[] columns, AccessibleObject[] accessors, boolean[] nullBindings) {
+        this.columns = columns;
+        this.accessors = accessors;
+        this.nullBindings = nullBindings;
+    }
+
+    /**
+     * Get the positions of the given columns in these bindings
+     *
+     * @param paths columns
+     * @return positions, -1 for unbound columns
+     */
+    int[] indexOf(Path<?>[] paths) {
+        int[] indices = new int[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            indices[i] = -1;
+            for (int j = 0; j < columns.length; j++) {
+                if (columns[j].equals(paths[i])) {
+                    indices[i] = j;
+                    break;
+                }
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Get the value of the binding at the given position
+     *
+     * @param bean bean
+     * @param i position
+     * @return value, {@link Null#DEFAULT} for null values with null binding or null
+     */
+    @Nullable
+    Object getValue(Object bean, int i) {
+        Object value = read(bean, accessors[i]);
+        if (value == null && nullBindings[i]) {
+            return Null.DEFAULT;
+        } else {
+            return value;
+        }
+    }
+
+    /**
+     * Create the bindings of the given bean in column order
+     *
+     * @param bean bean
+     * @return values by column
+     */
+    Map<Path<?>, Object> createMap(Object bean) {
+        Map<Path<?>, Object> values = new LinkedHashMap<Path<?>, Object>(columns.length * 2);
+        for (int i = 0; i < columns.length; i++) {
+            Object value = getValue(bean, i);
+            if (value != null) {
+                values.put(columns[i], value);
+            }
+        }
+        return values;
+    }
+
+    private static Object read(Object bean, AccessibleObject accessor) {
+        try {
+            if (accessor instanceof Field) {
+                return ((Field) accessor).get(bean);
+            } else {
+                return ((Method) accessor).invoke(bean, NO_ARGS);
+            }
+        } catch (IllegalAccessException e) {
+            throw new QueryException(e);
+        } catch (InvocationTargetException e) {
+            throw new QueryException(e.getCause());
+        }
+    }
+
+}
@@ -17,12 +17,9 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Map;
 
-import com.google.common.collect.Maps;
-import com.querydsl.core.QueryException;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.util.ReflectionUtils;
 import com.querydsl.sql.RelationalPath;
-import com.querydsl.sql.types.Null;
 
 /**
  * Creates the mapping by inspecting the RelationalPath and Object via reflection.
@@ -50,30 +47,21 @@ public class DefaultMapper extends AbstractMapper<Object> {
 
     @Override
     public Map<Path<?>, Object> createMap(RelationalPath<?> entity, Object bean) {
-        try {
-            Map<Path<?>, Object> values = Maps.newLinkedHashMap();
-            Class<?> beanClass = bean.getClass();
-            Map<String, Path<?>> columns = getColumns(entity);
-            // populate in column order
-            for (Map.Entry<String, Path<?>> entry : columns.entrySet()) {
-                Path<?> path = entry.getValue();
-                Field beanField = ReflectionUtils.getFieldOrNull(beanClass, entry.getKey());
-                if (beanField != null && !Modifier.isStatic(beanField.getModifiers())) {
-                    beanField.setAccessible(true);
-                    Object propertyValue = beanField.get(bean);
-                    if (propertyValue != null) {
-                        values.put(path, propertyValue);
-                    } else if (withNullBindings && !isPrimaryKeyColumn(entity, path)) {
-                        values.put(path, Null.DEFAULT);
-                    }
-                }
+        return getBindings(entity, bean.getClass()).createMap(bean);
+    }
+
+    @Override
+    ColumnBindings createBindings(RelationalPath<?> entity, Class<?> beanClass) {
+        ColumnBindings.Builder builder = new ColumnBindings.Builder();
+        // populate in column order
+        for (Map.Entry<String, Path<?>> entry : getColumns(entity).entrySet()) {
+            Path<?> path = entry.getValue();
+            Field beanField = ReflectionUtils.getFieldOrNull(beanClass, entry.getKey());
+            if (beanField != null && !Modifier.isStatic(beanField.getModifiers())) {
+                builder.add(path, beanField, withNullBindings && !isPrimaryKeyColumn(entity, path));
             }
-            return values;
-        } catch (IllegalAccessException e) {
-            throw new QueryException(e);
         }
+        return builder.build();
     }
 
-
-
 }
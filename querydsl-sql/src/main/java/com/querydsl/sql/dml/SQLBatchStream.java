@@ -0,0 +1,321 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import java.io.Closeable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.ParamNotSetException;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLListenerContextImpl;
+import com.querydsl.sql.SQLListeners;
+
+/**
+ * {@code SQLBatchStream} executes a DML statement for a stream of rows with constant memory usage.
+ *
+ * <p>The statement is rendered and prepared once. Each added row is bound directly to the
+ * {@link PreparedStatement} and the batch is executed every {@code chunkSize} rows. The
+ * remaining rows are executed and the statement is closed by {@link #execute()}. A stream which
+ * is abandoned before that, e.g. because the row source fails, needs to be released via
+ * {@link #close()}.</p>
+ *
+ * <pre>
+ * SQLBatchStream stream = queryFactory.insert(survey).columns(survey.id, survey.name).batchStream(1000);
+ * try {
+ *     for (Survey s : surveys) {
+ *         stream.add(s.getId(), s.getName());
+ *     }
+ *     long rows = stream.execute();
+ * } finally {
+ *     stream.close();
+ * }
+ * </pre>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+public class SQLBatchStream implements Closeable {
+
+    private final Configuration configuration;
+
+    private final SQLListeners listeners;
+
+    private final SQLListenerContextImpl context;
+
+    private final PreparedStatement stmt;
+
+    private final String queryString;
+
+    private final List<ParamExpression<?>> params;
+
+    private final Path<?>[] paths;
+
+    private final int[] paramIndex;
+
+    private final Object[] fixedValues;
+
+    private final int chunkSize;
+
+    @Nullable
+    private RelationalPath<?> entity;
+
+    @Nullable
+    private Path<?>[] columns;
+
+    @Nullable
+    private Object[] row;
+
+    @Nullable
+    private ColumnBindings bindings;
+
+    @Nullable
+    private int[] bindingIndex;
+
+    private int pending;
+
+    private long rowCount;
+
+    private boolean closed;
+
+    SQLBatchStream(Configuration configuration, SQLListeners listeners, SQLListenerContextImpl context,
+                   PreparedStatement stmt, String queryString, List<Object> constants, List<Path<?>> constantPaths,
+                   Map<ParamExpression<?>, Object> metadataParams, List<ParamExpression<?>> params, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize needs to be positive, got " + chunkSize);
+        }
+        this.configuration = configuration;
+        this.listeners = listeners;
+        this.context = context;
+        this.stmt = stmt;
+        this.queryString = queryString;
+        this.params = ImmutableList.copyOf(params);
+        this.chunkSize = chunkSize;
+        this.paths = constantPaths.toArray(new Path<?>[constantPaths.size()]);
+        this.paramIndex = new int[constants.size()];
+        this.fixedValues = new Object[constants.size()];
+        for (int i = 0; i < paramIndex.length; i++) {
+            Object constant = constants.get(i);
+            paramIndex[i] = this.params.indexOf(constant);
+            if (paramIndex[i] < 0) {
+                if (constant instanceof ParamExpression) {
+                    if (!metadataParams.containsKey(constant)) {
+                        throw new ParamNotSetException((ParamExpression<?>) constant);
+                    }
+                    constant = metadataParams.get(constant);
+                }
+                fixedValues[i] = constant;
+            }
+        }
+    }
+
+    /**
+     * Add a row with the given values in the order of the stream parameters
+     *
+     * @param values values for the parameters
+     * @return the current object
+     */
+    public SQLBatchStream add(Object... values) {
+        if (values.length != params.size()) {
+            throw new IllegalArgumentException("Expected " + params.size() + " values, but got " + values.length);
+        }
+        if (closed) {
+            throw new IllegalStateException("Batch stream has already been executed or closed");
+        }
+        try {
+            for (int i = 0; i < paramIndex.length; i++) {
+                Object value = paramIndex[i] >= 0 ? values[paramIndex[i]] : fixedValues[i];
+                configuration.set(stmt, paths[i], i + 1, value);
+            }
+            stmt.addBatch();
+            if (++pending == chunkSize) {
+                flush();
+            }
+        } catch (SQLException e) {
+            throw fail(e);
+        }
+        return this;
+    }
+
+    /**
+     * Add a row with the given parameter values
+     *
+     * @param values values by parameter
+     * @return the current object
+     */
+    public SQLBatchStream add(Map<? extends ParamExpression<?>, ?> values) {
+        Object[] row = new Object[params.size()];
+        for (int i = 0; i < row.length; i++) {
+            ParamExpression<?> param = params.get(i);
+            if (!values.containsKey(param)) {
+                throw new ParamNotSetException(param);
+            }
+            row[i] = values.get(param);
+        }
+        return add(row);
+    }
+
+    /**
+     * Set the columns of the stream parameters, which enables population from beans
+     *
+     * @param entity target entity
+     * @param columns columns in parameter order
+     */
+    void setColumns(RelationalPath<?> entity, List<Path<?>> columns) {
+        this.entity = entity;
+        this.columns = columns.toArray(new Path<?>[columns.size()]);
+        this.row = new Object[this.columns.length];
+    }
+
+    /**
+     * Add a row with the properties of the given bean using the given Mapper. Columns without
+     * mapped value are bound as null. Only available for batch streams created for the
+     * columns of a clause.
+     *
+     * <p>The built-in mappers bind the properties directly to the statement via column
+     * bindings which are cached per bean class, other mappers and subclasses go through
+     * {@link Mapper#createMap(RelationalPath, Object)}.</p>
+     *
+     * @param bean bean to use for population
+     * @param mapper mapper to use
+     * @return the current object
+     */
+    public <T> SQLBatchStream populate(T bean, Mapper<T> mapper) {
+        if (columns == null) {
+            throw new IllegalStateException("Population is only available for batch streams of columns");
+        }
+        ColumnBindings beanBindings = null;
+        if (hasBindings(mapper)) {
+            beanBindings = ((AbstractMapper<T>) mapper).getBindings(entity, bean.getClass());
+        }
+        if (beanBindings != null) {
+            if (beanBindings != bindings) {
+                bindingIndex = beanBindings.indexOf(columns);
+                bindings = beanBindings;
+            }
+            for (int i = 0; i < row.length; i++) {
+                row[i] = bindingIndex[i] >= 0 ? beanBindings.getValue(bean, bindingIndex[i]) : null;
+            }
+        } else {
+            Map<Path<?>, Object> values = mapper.createMap(entity, bean);
+            for (int i = 0; i < row.length; i++) {
+                row[i] = values.get(columns[i]);
+            }
+        }
+        return add(row);
+    }
+
+    private static boolean hasBindings(Mapper<?> mapper) {
+        // subclasses may override createMap
+        Class<?> type = mapper.getClass();
+        return type == DefaultMapper.class || type == BeanMapper.class || type == AnnotationMapper.class;
+    }
+
+    /**
+     * Execute the remaining rows and release the statement
+     *
+     * @return the aggregated amount of affected rows
+     */
+    public long execute() {
+        if (closed) {
+            throw new IllegalStateException("Batch stream has already been executed or closed");
+        }
+        try {
+            if (pending > 0) {
+                flush();
+            }
+            closed = true;
+            stmt.close();
+            listeners.end(context);
+            return rowCount;
+        } catch (SQLException e) {
+            throw fail(e);
+        }
+    }
+
+    /**
+     * Discard the pending rows and release the statement, if the stream has not yet been
+     * executed. Rows of already executed chunks are not affected.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                context.setException(e);
+                listeners.exception(context);
+                throw configuration.translate(queryString, ImmutableList.<Object>of(), e);
+            } finally {
+                listeners.end(context);
+            }
+        }
+    }
+
+    /**
+     * Get the amount of rows added, but not yet executed
+     *
+     * @return pending row count
+     */
+    public int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * Get the aggregated amount of affected rows of the executed chunks
+     *
+     * @return affected row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    private void flush() throws SQLException {
+        listeners.preExecute(context);
+        if (configuration.getTemplates().isBatchCountViaGetUpdateCount()) {
+            stmt.executeBatch();
+            rowCount += stmt.getUpdateCount();
+        } else {
+            for (int i : stmt.executeBatch()) {
+                rowCount += i;
+            }
+        }
+        pending = 0;
+        listeners.executed(context);
+    }
+
+    private RuntimeException fail(SQLException e) {
+        context.setException(e);
+        listeners.exception(context);
+        if (!closed) {
+            closed = true;
+            try {
+                stmt.close();
+            } catch (SQLException e2) {
+                e.setNextException(e2);
+            }
+            listeners.end(context);
+        }
+        return configuration.translate(queryString, ImmutableList.<Object>of(), e);
+    }
+
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+
+import javax.annotation.Nullable;
+import javax.inject.Provider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.sql.*;
+
+/**
+ * {@code SQLBulkLoadClause} loads large amounts of rows into a table via the native bulk load
+ * protocol of the database
+ *
+ * <p>For PostgreSQL the rows are streamed via {@code COPY ... FROM STDIN} and for MySQL they
+ * are loaded in chunks via {@code LOAD DATA LOCAL INFILE} from memory, the statements are declared
+ * via {@link SQLTemplates#getBulkLoadTemplate()}. For other databases, for drivers without bulk
+ * load support and for binary columns the rows are inserted in chunks of JDBC batches instead.</p>
+ *
+ * <pre>
+ * SQLBulkLoadClause load = queryFactory.bulkLoad(survey).columns(survey.id, survey.name);
+ * try {
+ *     for (Survey s : surveys) {
+ *         load.add(s.getId(), s.getName());
+ *     }
+ *     long rows = load.execute();
+ * } finally {
+ *     load.close();
+ * }
+ * </pre>
+ *
+ * <p>The load starts with the first added row and the rows are transferred while they are
+ * added, so the memory use is bounded by the chunk size. Columns which are not part of the
+ * load get their default values. MySQL requires local infile loading to be enabled for the
+ * connection.</p>
+ *
+ * <p>A load which is abandoned before {@link #execute()} needs to be released via
+ * {@link #close()}. After a failed or closed load no further rows are accepted.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+public class SQLBulkLoadClause extends AbstractSQLClause<SQLBulkLoadClause> implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SQLBulkLoadClause.class);
+
+    private static final int DEFAULT_CHUNK_SIZE = 10000;
+
+    private final RelationalPath<?> entity;
+
+    private final QueryMetadata metadata = new DefaultQueryMetadata();
+
+    private final List<Path<?>> columns = new ArrayList<Path<?>>();
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    @Nullable
+    private TextBulkLoader loader;
+
+    @Nullable
+    private SQLBatchStream batchStream;
+
+    private transient String queryString;
+
+    private boolean closed;
+
+    public SQLBulkLoadClause(Connection connection, Configuration configuration,
+            RelationalPath<?> entity) {
+        super(configuration, connection);
+        this.entity = entity;
+        metadata.addJoin(JoinType.DEFAULT, entity);
+    }
+
+    public SQLBulkLoadClause(Provider<Connection> connection, Configuration configuration,
+            RelationalPath<?> entity) {
+        super(configuration, connection);
+        this.entity = entity;
+        metadata.addJoin(JoinType.DEFAULT, entity);
+    }
+
+    /**
+     * Set the columns of the rows. Defaults to all columns of the table.
+     *
+     * @param columns columns
+     * @return the current object
+     */
+    public SQLBulkLoadClause columns(Path<?>... columns) {
+        checkNotStarted();
+        this.columns.addAll(Arrays.asList(columns));
+        return this;
+    }
+
+    /**
+     * Set the amount of rows which are transferred at once. For MySQL this is the amount of rows
+     * per {@code LOAD DATA} statement, for batch inserts the amount of rows per batch.
+     *
+     * @param chunkSize amount of rows per chunk
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize needs to be positive, got " + chunkSize);
+        }
+        checkNotStarted();
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Add a row with the given values in column order
+     *
+     * @param values values of the row
+     * @return the current object
+     */
+    public SQLBulkLoadClause add(Object... values) {
+        checkNotClosed();
+        if (loader == null && batchStream == null) {
+            start();
+        }
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, but got " + values.length);
+        }
+        if (batchStream != null) {
+            batchStream.add(values);
+        } else {
+            try {
+                loader.add(values);
+            } catch (SQLException e) {
+                throw fail(e);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add a row with the properties of the given bean using the {@link DefaultMapper}
+     *
+     * @param bean bean to use for population
+     * @return the current object
+     */
+    public SQLBulkLoadClause populate(Object bean) {
+        return populate(bean, DefaultMapper.DEFAULT);
+    }
+
+    /**
+     * Add a row with the properties of the given bean using the given Mapper.
+     * Columns without mapped value are loaded as null.
+     *
+     * @param bean bean to use for population
+     * @param mapper mapper to use
+     * @return the current object
+     */
+    public <T> SQLBulkLoadClause populate(T bean, Mapper<T> mapper) {
+        checkNotClosed();
+        if (loader == null && batchStream == null) {
+            start();
+        }
+        Map<Path<?>, Object> values = mapper.createMap(entity, bean);
+        Object[] row = new Object[columns.size()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = values.get(columns.get(i));
+        }
+        return add(row);
+    }
+
+    private void checkNotStarted() {
+        if (loader != null || batchStream != null) {
+            throw new IllegalStateException("Bulk load has already been started");
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Bulk load has failed or has been closed");
+        }
+    }
+
+    private void start() {
+        if (columns.isEmpty()) {
+            columns.addAll(entity.getColumns());
+        }
+        if (configuration.getTemplates().getBulkLoadTemplate() != null) {
+            context = startContext(connection(), metadata, entity);
+            try {
+                listeners.preRender(context);
+                SQLSerializer serializer = createSerializer();
+                serializer.serializeBulkLoad(entity, columns);
+                queryString = serializer.toString();
+                context.addSQL(queryString);
+                listeners.rendered(context);
+                logQuery(logger, queryString, Collections.emptyList());
+                loader = TextBulkLoader.create(connection(), configuration, queryString,
+                        columns.toArray(new Path<?>[columns.size()]), chunkSize);
+            } catch (SQLException e) {
+                throw fail(e);
+            } catch (RuntimeException e) {
+                // e.g. the reflective lookup of the driver API failed
+                onException(context, e);
+                closed = true;
+                endContext(context);
+                throw e;
+            }
+            if (loader != null) {
+                return;
+            }
+            endContext(context);
+        }
+        // insert the rows in batches
+        List<ParamExpression<?>> params = createParams(columns);
+        SQLSerializer serializer = createSerializer();
+        serializer.serializeInsert(metadata, entity, columns,
+                ImmutableList.<Expression<?>>copyOf(params), null);
+        batchStream = createBatchStream(serializer, metadata, entity, chunkSize, params);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ParamExpression<?>> createParams(List<Path<?>> columns) {
+        List<ParamExpression<?>> params = new ArrayList<ParamExpression<?>>(columns.size());
+        for (Path<?> column : columns) {
+            params.add(new Param<Object>((Class) column.getType()));
+        }
+        return params;
+    }
+
+    private RuntimeException fail(SQLException e) {
+        onException(context, e);
+        closed = true;
+        if (loader != null) {
+            try {
+                loader.close();
+            } catch (SQLException e2) {
+                e.setNextException(e2);
+            }
+            loader = null;
+        }
+        reset();
+        endContext(context);
+        return configuration.translate(queryString, ImmutableList.<Object>of(), e);
+    }
+
+    /**
+     * Transfer the remaining rows and finish the load
+     *
+     * @return amount of loaded rows
+     */
+    @Override
+    public long execute() {
+        checkNotClosed();
+        if (batchStream != null) {
+            try {
+                return batchStream.execute();
+            } catch (RuntimeException e) {
+                closed = true;
+                throw e;
+            } finally {
+                batchStream = null;
+            }
+        } else if (loader != null) {
+            try {
+                listeners.preExecute(context);
+                long rv = loader.execute();
+                listeners.executed(context);
+                loader.close();
+                loader = null;
+                reset();
+                endContext(context);
+                return rv;
+            } catch (SQLException e) {
+                throw fail(e);
+            }
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Abort the load, if it has not yet been executed, and release the resources. For PostgreSQL
+     * no rows are loaded, for MySQL and batch inserts the rows of already transferred chunks
+     * remain, unless the transaction is rolled back.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (batchStream != null) {
+            try {
+                batchStream.close();
+            } finally {
+                batchStream = null;
+            }
+        } else if (loader != null) {
+            TextBulkLoader current = loader;
+            loader = null;
+            try {
+                current.close();
+            } catch (SQLException e) {
+                onException(context, e);
+                throw configuration.translate(queryString, ImmutableList.<Object>of(), e);
+            } finally {
+                reset();
+                endContext(context);
+            }
+        }
+    }
+
+    @Override
+    public List<SQLBindings> getSQL() {
+        List<Path<?>> cols = columns.isEmpty() ? entity.getColumns() : columns;
+        SQLSerializer serializer = createSerializer();
+        if (configuration.getTemplates().getBulkLoadTemplate() != null) {
+            serializer.serializeBulkLoad(entity, cols);
+        } else {
+            serializer.serializeInsert(metadata, entity, cols,
+                    ImmutableList.<Expression<?>>copyOf(createParams(cols)), null);
+        }
+        return ImmutableList.of(new SQLBindings(serializer.toString(), ImmutableList.of()));
+    }
+
+    /**
+     * Clear the columns, not possible after the load has been started
+     */
+    @Override
+    public void clear() {
+        checkNotStarted();
+        columns.clear();
+    }
+
+    /**
+     * Get the amount of rows added, but not yet transferred
+     *
+     * @return pending row count
+     */
+    @Override
+    public int getBatchCount() {
+        if (batchStream != null) {
+            return batchStream.getPendingCount();
+        } else if (loader != null) {
+            return loader.getPendingCount();
+        } else {
+            return 0;
+        }
+    }
+
+}
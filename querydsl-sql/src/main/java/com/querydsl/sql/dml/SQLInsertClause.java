@@ -23,7 +23,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.querydsl.core.DefaultQueryMetadata;
 import com.querydsl.core.JoinType;
 import com.querydsl.core.QueryFlag;
@@ -31,6 +33,7 @@ import com.querydsl.core.QueryFlag.Position;
 import com.querydsl.core.QueryMetadata;
 import com.querydsl.core.dml.InsertClause;
 import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.Param;
 import com.querydsl.core.util.ResultSetAdapter;
 import com.querydsl.sql.*;
 import com.querydsl.sql.types.Null;
@@ -146,8 +149,53 @@ public class SQLInsertClause extends AbstractSQLClause<SQLInsertClause> implemen
     }
 
     /**
-     * Set whether batches should be optimized into a single bulk operation.
-     * Will revert to batches, if bulk is not supported
+     * Create a batch stream for the columns of this clause. Rows are added to the stream via
+     * {@link SQLBatchStream#add(Object...)} with the values in column order or via
+     * {@link SQLBatchStream#populate(Object, Mapper)}.
+     *
+     * @param chunkSize amount of rows per executed batch
+     * @return batch stream
+     */
+    @SuppressWarnings("unchecked")
+    public SQLBatchStream batchStream(int chunkSize) {
+        if (columns.isEmpty() || !values.isEmpty() || subQuery != null || subQueryBuilder != null) {
+            throw new IllegalStateException("Batch streams need columns, but no values or subqueries");
+        }
+        List<ParamExpression<?>> params = new ArrayList<ParamExpression<?>>(columns.size());
+        for (Path<?> column : columns) {
+            params.add(new Param<Object>((Class) column.getType()));
+        }
+        values.addAll(params);
+        try {
+            SQLBatchStream stream = batchStream(chunkSize, params.toArray(new ParamExpression<?>[params.size()]));
+            stream.setColumns(entity, columns);
+            return stream;
+        } finally {
+            values.clear();
+        }
+    }
+
+    /**
+     * Create a batch stream for the current state of this clause. The given parameters
+     * are bound per row, other constants and parameters are bound once.
+     *
+     * @param chunkSize amount of rows per executed batch
+     * @param params parameters to be bound per row
+     * @return batch stream
+     */
+    public SQLBatchStream batchStream(int chunkSize, ParamExpression<?>... params) {
+        if (!batches.isEmpty()) {
+            throw new IllegalStateException("Batch streams can't be combined with batches");
+        }
+        SQLSerializer serializer = createSerializer();
+        serializer.serializeInsert(metadata, entity, columns, values, subQuery);
+        return createBatchStream(serializer, metadata, entity, chunkSize, Arrays.asList(params));
+    }
+
+    /**
+     * Set whether batches should be optimized into bulk operations. The batches are split
+     * into multi-row statements which stay within the bind parameter and row limits of the
+     * templates. Will revert to batches, if bulk is not supported
      */
     public void setBatchToBulk(boolean b) {
         this.batchToBulk = b && configuration.getTemplates().isBatchToBulkSupported();
@@ -260,11 +308,7 @@ public class SQLInsertClause extends AbstractSQLClause<SQLInsertClause> implemen
             values.clear();
         }
 
-        if (!batches.isEmpty() && batchToBulk) {
-            serializer.serializeInsert(metadata, entity, batches);
-        } else {
-            serializer.serializeInsert(metadata, entity, columns, values, subQuery);
-        }
+        serializer.serializeInsert(metadata, entity, columns, values, subQuery);
         context.addSQL(serializer.toString());
         listeners.rendered(context);
         return prepareStatementAndSetParameters(serializer, withKeys);
@@ -320,6 +364,104 @@ public class SQLInsertClause extends AbstractSQLClause<SQLInsertClause> implemen
         return stmts.values();
     }
 
+    /**
+     * Split the batches into chunks which stay within the bind parameter, row and statement
+     * length limits of the templates. All chunks but the last one have the same size.
+     *
+     * @return chunks of batches
+     */
+    private List<List<SQLInsertBatch>> getBulkChunks() {
+        SQLTemplates templates = configuration.getTemplates();
+        int chunkSize = Math.min(templates.getMaxBulkInsertRows(), batches.size());
+        if (batches.size() > 1 && !configuration.getUseLiterals()
+                && templates.getMaxBindParameters() < Integer.MAX_VALUE) {
+            // the bindings of a statement consist of a fixed part and a part per row
+            int one = countBindings(batches.subList(0, 1));
+            int perRow = countBindings(batches.subList(0, 2)) - one;
+            if (perRow > 0) {
+                chunkSize = Math.min(chunkSize,
+                        (templates.getMaxBindParameters() - one + perRow) / perRow);
+            }
+        }
+        if (chunkSize > 1 && templates.getMaxStatementLength() < Integer.MAX_VALUE) {
+            // the fixed part is estimated from the first two rows, the longest row bounds the
+            // length per row
+            int fixed = getLength(batches.subList(0, 1)) + getLength(batches.subList(1, 2))
+                    - getLength(batches.subList(0, 2));
+            int perRow = 1;
+            for (int i = 0; i < batches.size(); i++) {
+                perRow = Math.max(perRow, getLength(batches.subList(i, i + 1)) - fixed);
+            }
+            chunkSize = Math.min(chunkSize, (templates.getMaxStatementLength() - fixed) / perRow);
+        }
+        return Lists.partition(batches, Math.max(chunkSize, 1));
+    }
+
+    private int countBindings(List<SQLInsertBatch> chunk) {
+        SQLSerializer serializer = createSerializer();
+        serializer.serializeInsert(metadata, entity, chunk);
+        return serializer.getConstants().size();
+    }
+
+    private int getLength(List<SQLInsertBatch> chunk) {
+        SQLSerializer serializer = createSerializer();
+        serializer.serializeInsert(metadata, entity, chunk);
+        // drivers may inline the bound values
+        int length = serializer.toString().length();
+        for (Object constant : serializer.getConstants()) {
+            length += String.valueOf(constant).length();
+        }
+        return length;
+    }
+
+    private List<PreparedStatement> createBulkStatements(boolean withKeys,
+            Set<PreparedStatement> batched) throws SQLException {
+        List<PreparedStatement> stmts = new ArrayList<PreparedStatement>();
+        Map<String, PreparedStatement> stmtsBySQL = Maps.newHashMap();
+        try {
+            for (List<SQLInsertBatch> chunk : getBulkChunks()) {
+                listeners.preRender(context);
+                SQLSerializer serializer = createSerializer();
+                serializer.serializeInsert(metadata, entity, chunk);
+                context.addSQL(serializer.toString());
+                listeners.rendered(context);
+
+                // chunks of the same size share the statement, if parameters are used and
+                // no keys are requested, since the keys of batched executions are not portable
+                PreparedStatement stmt = configuration.getUseLiterals() || withKeys ? null
+                        : stmtsBySQL.get(serializer.toString());
+                if (stmt == null) {
+                    stmt = prepareStatementAndSetParameters(serializer, withKeys);
+                    stmtsBySQL.put(serializer.toString(), stmt);
+                    stmts.add(stmt);
+                } else {
+                    stmt.addBatch();
+                    batched.add(stmt);
+                    setParameters(stmt, serializer.getConstants(), serializer.getConstantPaths(),
+                            metadata.getParams());
+                }
+            }
+            return stmts;
+        } catch (SQLException e) {
+            close(stmts);
+            throw e;
+        }
+    }
+
+    private long executeBulk(List<PreparedStatement> stmts, Set<PreparedStatement> batched)
+            throws SQLException {
+        long rv = 0;
+        for (PreparedStatement stmt : stmts) {
+            if (batched.contains(stmt)) {
+                stmt.addBatch();
+                rv += executeBatch(Collections.singleton(stmt));
+            } else {
+                rv += stmt.executeUpdate();
+            }
+        }
+        return rv;
+    }
+
     private PreparedStatement prepareStatementAndSetParameters(SQLSerializer serializer,
             boolean withKeys) throws SQLException {
         listeners.prePrepare(context);
@@ -358,6 +500,7 @@ public class SQLInsertClause extends AbstractSQLClause<SQLInsertClause> implemen
      */
     public ResultSet executeWithKeys() {
         context = startContext(connection(), metadata, entity);
+        List<PreparedStatement> bulkStmts = null;
         try {
             PreparedStatement stmt = null;
             if (batches.isEmpty()) {
@@ -368,12 +511,31 @@ public class SQLInsertClause extends AbstractSQLClause<SQLInsertClause> implemen
                 stmt.executeUpdate();
                 listeners.executed(context);
             } else if (batchToBulk) {
-                stmt = createStatement(true);
+                Set<PreparedStatement> batched = Sets.newIdentityHashSet();
+                bulkStmts = createBulkStatements(true, batched);
                 listeners.notifyInserts(entity, metadata, batches);
 
                 listeners.preExecute(context);
-                stmt.executeUpdate();
+                executeBulk(bulkStmts, batched);
                 listeners.executed(context);
+
+                final List<PreparedStatement> stmts = bulkStmts;
+                List<ResultSet> keys = new ArrayList<ResultSet>(stmts.size());
+                for (PreparedStatement s : stmts) {
+                    keys.add(s.getGeneratedKeys());
+                }
+                return new ResultSetAdapter(ChainedResultSet.create(keys)) {
+                    @Override
+                    public void close() throws SQLException {
+                        try {
+                            super.close();
+                        } finally {
+                            SQLInsertClause.this.close(stmts);
+                            reset();
+                            endContext(context);
+                        }
+                    }
+                };
             } else {
                 Collection<PreparedStatement> stmts = createStatements(true);
                 if (stmts != null && stmts.size() > 1) {
@@ -403,6 +565,9 @@ public class SQLInsertClause extends AbstractSQLClause<SQLInsertClause> implemen
             };
         } catch (SQLException e) {
             onException(context, e);
+            if (bulkStmts != null) {
+                close(bulkStmts);
+            }
             reset();
             endContext(context);
             throw configuration.translate(queryString, constants, e);
@@ -424,11 +589,13 @@ public class SQLInsertClause extends AbstractSQLClause<SQLInsertClause> implemen
                 listeners.executed(context);
                 return rc;
             } else if (batchToBulk) {
-                stmt = createStatement(false);
+                Set<PreparedStatement> batched = Sets.newIdentityHashSet();
+                List<PreparedStatement> bulkStmts = createBulkStatements(false, batched);
+                stmts = bulkStmts;
                 listeners.notifyInserts(entity, metadata, batches);
 
                 listeners.preExecute(context);
-                int rc = stmt.executeUpdate();
+                long rc = executeBulk(bulkStmts, batched);
                 listeners.executed(context);
                 return rc;
             } else {
@@ -462,9 +629,13 @@ public class SQLInsertClause extends AbstractSQLClause<SQLInsertClause> implemen
             serializer.serializeInsert(metadata, entity, columns, values, subQuery);
             return ImmutableList.of(createBindings(metadata, serializer));
         } else if (batchToBulk) {
-            SQLSerializer serializer = createSerializer();
-            serializer.serializeInsert(metadata, entity, batches);
-            return ImmutableList.of(createBindings(metadata, serializer));
+            ImmutableList.Builder<SQLBindings> builder = ImmutableList.builder();
+            for (List<SQLInsertBatch> chunk : getBulkChunks()) {
+                SQLSerializer serializer = createSerializer();
+                serializer.serializeInsert(metadata, entity, chunk);
+                builder.add(createBindings(metadata, serializer));
+            }
+            return builder.build();
         } else {
             ImmutableList.Builder<SQLBindings> builder = ImmutableList.builder();
             for (SQLInsertBatch batch : batches) {
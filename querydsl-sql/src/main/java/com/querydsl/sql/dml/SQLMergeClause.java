@@ -29,6 +29,7 @@ import com.querydsl.core.QueryFlag.Position;
 import com.querydsl.core.dml.StoreClause;
 import com.querydsl.core.types.*;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Param;
 import com.querydsl.core.util.ResultSetAdapter;
 import com.querydsl.sql.*;
 import com.querydsl.sql.types.Null;
@@ -130,6 +131,57 @@ public class SQLMergeClause extends AbstractSQLClause<SQLMergeClause> implements
         return this;
     }
 
+    /**
+     * Create a batch stream for the keys and columns of this clause. Rows are added to the stream
+     * via {@link SQLBatchStream#add(Object...)} with the values in column order or via
+     * {@link SQLBatchStream#populate(Object, Mapper)}.
+     *
+     * <p>Only supported for databases that support native merge.</p>
+     *
+     * @param chunkSize amount of rows per executed batch
+     * @return batch stream
+     */
+    @SuppressWarnings("unchecked")
+    public SQLBatchStream batchStream(int chunkSize) {
+        if (columns.isEmpty() || !values.isEmpty() || subQuery != null) {
+            throw new IllegalStateException("Batch streams need columns, but no values or subqueries");
+        }
+        List<ParamExpression<?>> params = new ArrayList<ParamExpression<?>>(columns.size());
+        for (Path<?> column : columns) {
+            params.add(new Param<Object>((Class) column.getType()));
+        }
+        values.addAll(params);
+        try {
+            SQLBatchStream stream = batchStream(chunkSize, params.toArray(new ParamExpression<?>[params.size()]));
+            stream.setColumns(entity, columns);
+            return stream;
+        } finally {
+            values.clear();
+        }
+    }
+
+    /**
+     * Create a batch stream for the current state of this clause. The given parameters
+     * are bound per row, other constants and parameters are bound once.
+     *
+     * <p>Only supported for databases that support native merge.</p>
+     *
+     * @param chunkSize amount of rows per executed batch
+     * @param params parameters to be bound per row
+     * @return batch stream
+     */
+    public SQLBatchStream batchStream(int chunkSize, ParamExpression<?>... params) {
+        if (!configuration.getTemplates().isNativeMerge()) {
+            throw new IllegalStateException("batch streams only supported for databases that support native merge");
+        }
+        if (!batches.isEmpty()) {
+            throw new IllegalStateException("Batch streams can't be combined with batches");
+        }
+        SQLSerializer serializer = createSerializer();
+        serializer.serializeMerge(metadata, entity, keys, columns, values, subQuery);
+        return createBatchStream(serializer, metadata, entity, chunkSize, Arrays.asList(params));
+    }
+
     @Override
     public void clear() {
         batches.clear();
@@ -31,6 +31,7 @@ import com.querydsl.core.QueryFlag.Position;
 import com.querydsl.core.dml.UpdateClause;
 import com.querydsl.core.types.ConstantImpl;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ParamExpression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.sql.*;
@@ -111,6 +112,30 @@ public class SQLUpdateClause extends AbstractSQLClause<SQLUpdateClause> implemen
         return this;
     }
 
+    /**
+     * Create a batch stream for the current state of this clause. The given parameters
+     * are bound per row, other constants and parameters are bound once.
+     *
+     * <pre>
+     * Param&lt;String&gt; name = new Param&lt;String&gt;(String.class);
+     * Param&lt;Integer&gt; id = new Param&lt;Integer&gt;(Integer.class);
+     * SQLBatchStream stream = queryFactory.update(survey).set(survey.name, name)
+     *     .where(survey.id.eq(id)).batchStream(1000, name, id);
+     * </pre>
+     *
+     * @param chunkSize amount of rows per executed batch
+     * @param params parameters to be bound per row
+     * @return batch stream
+     */
+    public SQLBatchStream batchStream(int chunkSize, ParamExpression<?>... params) {
+        if (!batches.isEmpty()) {
+            throw new IllegalStateException("Batch streams can't be combined with batches");
+        }
+        SQLSerializer serializer = createSerializer();
+        serializer.serializeUpdate(metadata, entity, updates);
+        return createBatchStream(serializer, metadata, entity, chunkSize, Arrays.asList(params));
+    }
+
     @Override
     public void clear() {
         batches.clear();
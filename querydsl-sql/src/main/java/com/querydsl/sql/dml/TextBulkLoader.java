@@ -0,0 +1,405 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.joda.time.LocalDateTime;
+import org.joda.time.ReadableInstant;
+
+import com.google.common.base.Charsets;
+import com.querydsl.core.QueryException;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.types.Null;
+
+/**
+ * {@code TextBulkLoader} streams rows in the tab separated text format to the native bulk
+ * load protocol of the JDBC driver
+ *
+ * <p>The format is understood by both PostgreSQL {@code COPY ... FROM STDIN} and MySQL
+ * {@code LOAD DATA LOCAL INFILE} in their default settings: columns are separated by tabs,
+ * rows by newlines, backslashes, tabs and line breaks are escaped with a backslash and
+ * {@code \N} denotes null. Values are encoded via their literal representation of the
+ * {@link com.querydsl.sql.types.Type} registered in the {@link Configuration}.</p>
+ *
+ * <p>The driver specific APIs are accessed reflectively, so that the drivers are not
+ * needed at compile time.</p>
+ */
+abstract class TextBulkLoader {
+
+    private static final String NULL = "\\N";
+
+    protected final Buffer buffer = new Buffer();
+
+    protected final String queryString;
+
+    private final Configuration configuration;
+
+    private final Path<?>[] columns;
+
+    private final int chunkSize;
+
+    private final StringBuilder row = new StringBuilder();
+
+    private final Map<Class<?>, Method> nanoGetters = new HashMap<Class<?>, Method>();
+
+    private int pending;
+
+    TextBulkLoader(Configuration configuration, String queryString, Path<?>[] columns,
+            int chunkSize) {
+        this.configuration = configuration;
+        this.queryString = queryString;
+        this.columns = columns;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Create a loader for the given statement, if the driver of the connection supports it
+     *
+     * @param connection connection
+     * @param configuration configuration
+     * @param queryString rendered bulk load statement
+     * @param columns columns of the rows
+     * @param chunkSize amount of rows per transfer
+     * @return loader or null, if native loading is not available
+     * @throws SQLException
+     */
+    @Nullable
+    static TextBulkLoader create(Connection connection, Configuration configuration,
+            String queryString, Path<?>[] columns, int chunkSize) throws SQLException {
+        for (Path<?> column : columns) {
+            if (!isTextType(column.getType())) {
+                return null;
+            }
+        }
+        Class<?> pgConnection = findClass(connection, "org.postgresql.PGConnection");
+        if (pgConnection != null && connection.isWrapperFor(pgConnection)) {
+            return new Copy(connection.unwrap(pgConnection), pgConnection, configuration,
+                    queryString, columns, chunkSize);
+        }
+        for (String className : new String[]{"com.mysql.jdbc.Statement",
+                "com.mysql.cj.jdbc.JdbcStatement"}) {
+            Class<?> mysqlStatement = findClass(connection, className);
+            if (mysqlStatement != null) {
+                Statement stmt = connection.createStatement();
+                TextBulkLoader loader = null;
+                try {
+                    if (stmt.isWrapperFor(mysqlStatement)) {
+                        loader = new LoadData(stmt, mysqlStatement, configuration, queryString,
+                                columns, chunkSize);
+                        return loader;
+                    }
+                } finally {
+                    if (loader == null) {
+                        stmt.close();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isTextType(Class<?> type) {
+        return !type.isArray()
+            && !Blob.class.isAssignableFrom(type)
+            && !Clob.class.isAssignableFrom(type)
+            && !InputStream.class.isAssignableFrom(type)
+            && !Reader.class.isAssignableFrom(type);
+    }
+
+    @Nullable
+    private static Class<?> findClass(Connection connection, String className) {
+        try {
+            return Class.forName(className, false, connection.getClass().getClassLoader());
+        } catch (ClassNotFoundException e) {
+            try {
+                return Class.forName(className);
+            } catch (ClassNotFoundException e2) {
+                return null;
+            }
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            } else {
+                throw new QueryException(e.getCause());
+            }
+        } catch (IllegalAccessException e) {
+            throw new QueryException(e);
+        }
+    }
+
+    private static Method getMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        try {
+            return clazz.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new QueryException(e);
+        }
+    }
+
+    /**
+     * Add a row, the values are given in column order
+     *
+     * @param values values
+     * @throws SQLException
+     */
+    void add(Object[] values) throws SQLException {
+        row.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append('\t');
+            }
+            encode(columns[i], values[i]);
+        }
+        row.append('\n');
+        byte[] bytes = row.toString().getBytes(Charsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+        if (++pending == chunkSize) {
+            flush();
+            buffer.reset();
+            pending = 0;
+        }
+    }
+
+    private void encode(Path<?> column, @Nullable Object value) throws SQLException {
+        if (value == null || value instanceof Null) {
+            row.append(NULL);
+            return;
+        }
+        String str = configuration.getLiteral(column, value);
+        // date time literals are truncated to seconds
+        if (isDateTimeLiteral(str)) {
+            int nanos = getNanos(value);
+            if (nanos > 0) {
+                String fraction = String.valueOf(1000000000 + nanos);
+                int end = fraction.length();
+                while (fraction.charAt(end - 1) == '0') {
+                    end--;
+                }
+                str = str + "." + fraction.substring(1, end);
+            }
+        }
+        for (int i = 0; i < str.length(); i++) {
+            char ch = str.charAt(i);
+            switch (ch) {
+            case '\\': row.append("\\\\"); break;
+            case '\t': row.append("\\t"); break;
+            case '\n': row.append("\\n"); break;
+            case '\r': row.append("\\r"); break;
+            default: row.append(ch);
+            }
+        }
+    }
+
+    private static boolean isDateTimeLiteral(String str) {
+        return str.length() == 19 && str.charAt(10) == ' ' && str.charAt(16) == ':';
+    }
+
+    private int getNanos(Object value) throws SQLException {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).getNanos();
+        } else if (value instanceof java.util.Date) {
+            return millisOfSecond(((java.util.Date) value).getTime()) * 1000000;
+        } else if (value instanceof ReadableInstant) {
+            return millisOfSecond(((ReadableInstant) value).getMillis()) * 1000000;
+        } else if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).getMillisOfSecond() * 1000000;
+        } else if (value.getClass().getName().startsWith("java.time.")) {
+            // JSR-310 types are only available on Java 8
+            Class<?> type = value.getClass();
+            if (!nanoGetters.containsKey(type)) {
+                Method method = null;
+                try {
+                    method = type.getMethod("getNano");
+                } catch (NoSuchMethodException e) {
+                    // not a time of day
+                }
+                nanoGetters.put(type, method);
+            }
+            Method method = nanoGetters.get(type);
+            return method != null ? (Integer) invoke(method, value) : 0;
+        } else {
+            return 0;
+        }
+    }
+
+    private static int millisOfSecond(long millis) {
+        return (int) (((millis % 1000) + 1000) % 1000);
+    }
+
+    /**
+     * Get the amount of rows added, but not yet transferred
+     *
+     * @return pending row count
+     */
+    int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * Transfer the remaining rows and finish the load
+     *
+     * @return amount of loaded rows
+     * @throws SQLException
+     */
+    long execute() throws SQLException {
+        if (pending > 0) {
+            flush();
+            buffer.reset();
+            pending = 0;
+        }
+        return finish();
+    }
+
+    /**
+     * Transfer the buffered rows
+     *
+     * @throws SQLException
+     */
+    protected abstract void flush() throws SQLException;
+
+    protected abstract long finish() throws SQLException;
+
+    /**
+     * Release the resources of the loader, an unfinished load is aborted
+     *
+     * @throws SQLException
+     */
+    abstract void close() throws SQLException;
+
+    /**
+     * PostgreSQL {@code COPY} via {@code org.postgresql.copy.CopyManager}
+     */
+    private static final class Copy extends TextBulkLoader {
+
+        private final Object copyIn;
+
+        private final Method writeToCopy, endCopy, isActive, cancelCopy;
+
+        Copy(Object pgConnection, Class<?> pgConnectionClass, Configuration configuration,
+                String queryString, Path<?>[] columns, int chunkSize) throws SQLException {
+            super(configuration, queryString, columns, chunkSize);
+            Class<?> copyManagerClass = findClass(pgConnectionClass, "org.postgresql.copy.CopyManager");
+            Class<?> copyInClass = findClass(pgConnectionClass, "org.postgresql.copy.CopyIn");
+            Object copyManager = invoke(getMethod(pgConnectionClass, "getCopyAPI"), pgConnection);
+            this.writeToCopy = getMethod(copyInClass, "writeToCopy", byte[].class, int.class, int.class);
+            this.endCopy = getMethod(copyInClass, "endCopy");
+            this.isActive = getMethod(copyInClass, "isActive");
+            this.cancelCopy = getMethod(copyInClass, "cancelCopy");
+            this.copyIn = invoke(getMethod(copyManagerClass, "copyIn", String.class),
+                    copyManager, queryString);
+        }
+
+        private static Class<?> findClass(Class<?> context, String className) {
+            try {
+                return Class.forName(className, false, context.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new QueryException(e);
+            }
+        }
+
+        @Override
+        protected void flush() throws SQLException {
+            invoke(writeToCopy, copyIn, buffer.array(), 0, buffer.size());
+        }
+
+        @Override
+        protected long finish() throws SQLException {
+            return (Long) invoke(endCopy, copyIn);
+        }
+
+        @Override
+        void close() throws SQLException {
+            if ((Boolean) invoke(isActive, copyIn)) {
+                invoke(cancelCopy, copyIn);
+            }
+        }
+
+    }
+
+    /**
+     * MySQL {@code LOAD DATA LOCAL INFILE} with the rows given as an in-memory stream
+     * via {@code setLocalInfileInputStream}. Each chunk of rows is loaded by a statement of
+     * its own.
+     */
+    private static final class LoadData extends TextBulkLoader {
+
+        private final Statement stmt;
+
+        private final Object mysqlStmt;
+
+        private final Method setLocalInfileInputStream;
+
+        private long rowCount;
+
+        LoadData(Statement stmt, Class<?> mysqlStatement, Configuration configuration,
+                String queryString, Path<?>[] columns, int chunkSize) throws SQLException {
+            super(configuration, queryString, columns, chunkSize);
+            this.stmt = stmt;
+            this.mysqlStmt = stmt.unwrap(mysqlStatement);
+            this.setLocalInfileInputStream = getMethod(mysqlStatement,
+                    "setLocalInfileInputStream", InputStream.class);
+        }
+
+        @Override
+        protected void flush() throws SQLException {
+            invoke(setLocalInfileInputStream, mysqlStmt,
+                    new ByteArrayInputStream(buffer.array(), 0, buffer.size()));
+            rowCount += stmt.executeUpdate(queryString);
+        }
+
+        @Override
+        protected long finish() throws SQLException {
+            return rowCount;
+        }
+
+        @Override
+        void close() throws SQLException {
+            stmt.close();
+        }
+
+    }
+
+    /**
+     * Buffer of encoded rows
+     */
+    static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(1 << 16);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.ParamNotSetException;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.sql.domain.QSurvey;
+
+public class CompiledSQLQueryTest {
+
+    private final QSurvey survey = QSurvey.survey;
+
+    private boolean closed;
+
+    private int ended;
+
+    private final PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    if (method.getName().equals("close")) {
+                        closed = true;
+                    }
+                    return null;
+                }
+            });
+
+    private final Connection connection = (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{Connection.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    return method.getName().equals("prepareStatement") ? statement : null;
+                }
+            });
+
+    @Test
+    public void iterate_closes_statement_when_param_is_not_set() {
+        Configuration configuration = new Configuration(new H2Templates());
+        configuration.addListener(new SQLBaseListener() {
+            @Override
+            public void end(SQLListenerContext context) {
+                ended++;
+            }
+        });
+        Param<String> name = new Param<String>(String.class, "name");
+        CompiledSQLQuery<String> compiled = new SQLQuery<Void>(configuration)
+                .from(survey).where(survey.name.eq(name))
+                .select(survey.name).compile();
+        try {
+            compiled.iterate(connection, ImmutableMap.<ParamExpression<?>, Object>of());
+            fail("Expected ParamNotSetException");
+        } catch (ParamNotSetException e) {
+            assertTrue(closed);
+            assertEquals(1, ended);
+        }
+    }
+
+}
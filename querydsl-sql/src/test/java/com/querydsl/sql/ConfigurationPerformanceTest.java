@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.easymock.EasyMock;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.querydsl.core.testutil.Benchmark;
+import com.querydsl.core.testutil.Performance;
+import com.querydsl.core.testutil.Runner;
+import com.querydsl.sql.domain.QSurvey;
+
+@Category(Performance.class)
+public class ConfigurationPerformanceTest {
+
+    private final PreparedStatement stmt = EasyMock.createNiceMock(PreparedStatement.class);
+
+    private final ResultSet rs = EasyMock.createNiceMock(ResultSet.class);
+
+    private final QSurvey survey = QSurvey.survey;
+
+    private Configuration createConfiguration(boolean frozen) {
+        Configuration configuration = new Configuration(new H2Templates());
+        configuration.register("SURVEY", "NAME", new EncryptedString());
+        if (frozen) {
+            configuration.freeze();
+        }
+        return configuration;
+    }
+
+    private void getAndSet(String label, final Configuration configuration) throws Exception {
+        Runner.run(label, new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                for (int i = 0; i < times; i++) {
+                    configuration.set(stmt, survey.id, 1, i);
+                    configuration.set(stmt, survey.name, 2, "name");
+                    configuration.get(rs, survey.id, 1, Integer.class);
+                    configuration.get(rs, survey.name, 2, String.class);
+                }
+            }
+        });
+    }
+
+    private void columnLookup(String label, final Configuration configuration) throws Exception {
+        Runner.run(label, new Benchmark() {
+            @Override
+            public void run(int times) throws Exception {
+                for (int i = 0; i < times; i++) {
+                    configuration.getType(survey.name, String.class);
+                    configuration.getType(survey.id, Integer.class);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void columnLookup() throws Exception {
+        columnLookup("configuration column lookup", createConfiguration(false));
+    }
+
+    @Test
+    public void columnLookup_frozen() throws Exception {
+        columnLookup("frozen configuration column lookup", createConfiguration(true));
+    }
+
+    @Test
+    public void getAndSet() throws Exception {
+        EasyMock.replay(stmt, rs);
+        getAndSet("configuration get/set", createConfiguration(false));
+    }
+
+    @Test
+    public void getAndSet_frozen() throws Exception {
+        EasyMock.replay(stmt, rs);
+        getAndSet("frozen configuration get/set", createConfiguration(true));
+    }
+
+}
@@ -14,6 +14,7 @@
 package com.querydsl.sql;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.InputStream;
 import java.math.BigInteger;
@@ -58,6 +59,23 @@ public class ConfigurationTest {
         configuration.set(stmt, QSurvey.survey.name, 0, Null.DEFAULT);
     }
 
+    @Test
+    public void freeze() {
+        Configuration configuration = new Configuration(new H2Templates());
+        configuration.register("SURVEY", "NAME", new EncryptedString());
+        configuration.freeze();
+        assertTrue(configuration.isFrozen());
+        assertEquals(EncryptedString.class, configuration.getType(QSurvey.survey.name, String.class).getClass());
+        assertEquals(IntegerType.class, configuration.getType(QSurvey.survey.id, Integer.class).getClass());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void register_after_freeze() {
+        Configuration configuration = new Configuration(new H2Templates());
+        configuration.freeze();
+        configuration.register(new InputStreamType());
+    }
+
     @Test
     public void get_schema() {
         Configuration configuration = new Configuration(new H2Templates());
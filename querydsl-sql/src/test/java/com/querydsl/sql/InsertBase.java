@@ -21,6 +21,7 @@ import static org.junit.Assert.*;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -31,6 +32,7 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableMap;
 import com.querydsl.core.QueryFlag.Position;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.testutil.ExcludeIn;
@@ -41,6 +43,8 @@ import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.Param;
 import com.querydsl.sql.dml.DefaultMapper;
 import com.querydsl.sql.dml.Mapper;
+import com.querydsl.sql.dml.SQLBatchStream;
+import com.querydsl.sql.dml.SQLBulkLoadClause;
 import com.querydsl.sql.dml.SQLInsertClause;
 import com.querydsl.sql.domain.*;
 
@@ -160,6 +164,100 @@ public class InsertBase extends AbstractBaseTest {
         assertEquals(1L, query().from(survey).where(survey.name.eq("66")).fetchCount());
     }
 
+    @Test
+    public void insert_batch_stream() {
+        if (!configuration.getUseLiterals()) {
+            SQLBatchStream stream = insert(survey).columns(survey.id, survey.name).batchStream(2);
+            for (int i = 5; i < 10; i++) {
+                stream.add(i, String.valueOf(i * 11));
+            }
+            assertEquals(1, stream.getPendingCount());
+            assertEquals(5, stream.execute());
+
+            assertEquals(1L, query().from(survey).where(survey.name.eq("55")).fetchCount());
+            assertEquals(1L, query().from(survey).where(survey.name.eq("99")).fetchCount());
+        }
+    }
+
+    @Test
+    public void insert_batch_stream_populate() {
+        if (!configuration.getUseLiterals()) {
+            SQLBatchStream stream = insert(survey).columns(survey.name).batchStream(2);
+            for (int i = 0; i < 3; i++) {
+                Survey bean = new Survey();
+                bean.setName("populated");
+                stream.populate(bean, DefaultMapper.DEFAULT);
+            }
+            Survey bean = new Survey();
+            bean.setName("mapped");
+            stream.populate(bean, new Mapper<Survey>() {
+                @Override
+                public Map<Path<?>, Object> createMap(RelationalPath<?> path, Survey object) {
+                    return ImmutableMap.<Path<?>, Object>of(survey.name, object.getName());
+                }
+            });
+            stream.populate(bean, new DefaultMapper() {
+                @Override
+                public Map<Path<?>, Object> createMap(RelationalPath<?> path, Object object) {
+                    return ImmutableMap.<Path<?>, Object>of(survey.name, "overridden");
+                }
+            });
+            assertEquals(5, stream.execute());
+
+            assertEquals(3L, query().from(survey).where(survey.name.eq("populated")).fetchCount());
+            assertEquals(1L, query().from(survey).where(survey.name.eq("mapped")).fetchCount());
+            assertEquals(1L, query().from(survey).where(survey.name.eq("overridden")).fetchCount());
+        }
+    }
+
+    @Test
+    public void insert_batch_stream_with_params() {
+        if (!configuration.getUseLiterals()) {
+            Param<Integer> id = new Param<Integer>(Integer.class, "id");
+            SQLBatchStream stream = insert(survey)
+                    .set(survey.id, id)
+                    .set(survey.name, "streamed")
+                    .batchStream(10, id);
+            stream.add(ImmutableMap.of(id, 5));
+            stream.add(ImmutableMap.of(id, 6));
+            assertEquals(2, stream.execute());
+
+            assertEquals(2L, query().from(survey).where(survey.name.eq("streamed")).fetchCount());
+        }
+    }
+
+    @Test
+    public void bulk_load() {
+        if (!configuration.getUseLiterals()) {
+            SQLBulkLoadClause load = new SQLBulkLoadClause(connection, configuration, survey)
+                    .columns(survey.id, survey.name, survey.name2);
+            load.setChunkSize(2);
+            for (int i = 5; i < 10; i++) {
+                load.add(i, "loaded\t" + i, i % 2 == 0 ? null : "name2");
+            }
+            assertEquals(5, load.execute());
+
+            assertEquals(5L, query().from(survey).where(survey.name.startsWith("loaded\t")).fetchCount());
+            assertEquals(2L, query().from(survey).where(survey.id.goe(5), survey.name2.isNull()).fetchCount());
+        }
+    }
+
+    @Test
+    public void bulk_load_beans() {
+        if (!configuration.getUseLiterals()) {
+            SQLBulkLoadClause load = new SQLBulkLoadClause(connection, configuration, survey)
+                    .columns(survey.name);
+            for (int i = 5; i < 10; i++) {
+                Survey bean = new Survey();
+                bean.setName("loaded");
+                load.populate(bean);
+            }
+            assertEquals(5, load.execute());
+
+            assertEquals(5L, query().from(survey).where(survey.name.eq("loaded")).fetchCount());
+        }
+    }
+
     @Test
     public void insert_batch_Templates() {
         SQLInsertClause insert = insert(survey)
@@ -249,6 +347,39 @@ public class InsertBase extends AbstractBaseTest {
 
     }
 
+    @Test
+    public void insert_batch_to_bulk_chunked() {
+        // exceeds the bind parameter limits of SQL Server and SQLite
+        SQLInsertClause insert = insert(survey);
+        insert.setBatchToBulk(true);
+        for (int i = 0; i < 1500; i++) {
+            insert.set(survey.name, "bulk" + i).addBatch();
+        }
+        assertEquals(1500, insert.execute());
+        assertEquals(1500L, query().from(survey).where(survey.name.startsWith("bulk")).fetchCount());
+    }
+
+    @Test
+    @ExcludeIn({CUBRID, SQLSERVER})
+    public void insert_batch_to_bulk_chunked_with_keys() throws SQLException {
+        SQLInsertClause insert = insert(survey);
+        insert.setBatchToBulk(true);
+        for (int i = 0; i < 1500; i++) {
+            insert.set(survey.name, "bulk" + i).addBatch();
+        }
+        int chunks = insert.getSQL().size();
+        ResultSet rs = insert.executeWithKeys();
+        int keys = 0;
+        while (rs.next()) {
+            assertNotNull(rs.getObject(1));
+            keys++;
+        }
+        rs.close();
+        // some drivers only return the key of the last row of each statement
+        assertTrue(keys >= chunks);
+        assertEquals(1500L, query().from(survey).where(survey.name.startsWith("bulk")).fetchCount());
+    }
+
     @Test
     public void insert_with_columns() {
         assertEquals(1, insert(survey)
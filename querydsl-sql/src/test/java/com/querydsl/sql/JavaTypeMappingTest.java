@@ -15,12 +15,15 @@ package com.querydsl.sql;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.FileInputStream;
 import java.io.InputStream;
 
 import org.junit.Test;
 
+import com.querydsl.core.testutil.ThreadSafety;
 import com.querydsl.sql.types.*;
 
 public class JavaTypeMappingTest {
@@ -56,4 +59,55 @@ public class JavaTypeMappingTest {
         assertEquals(CharacterType.class, typeMapping.getType(char.class).getClass());
     }
 
+    @Test
+    public void getType_for_interface() {
+        assertEquals(ObjectType.class, typeMapping.getType(Runnable.class).getClass());
+    }
+
+    @Test
+    public void register_after_resolution() {
+        assertEquals(ObjectType.class, typeMapping.getType(FileInputStream.class).getClass());
+        typeMapping.register(new InputStreamType());
+        assertEquals(InputStreamType.class, typeMapping.getType(FileInputStream.class).getClass());
+    }
+
+    @Test
+    public void freeze() {
+        typeMapping.register(new InputStreamType());
+        typeMapping.setType("person", "secureId", new EncryptedString());
+        typeMapping.freeze();
+        assertTrue(typeMapping.isFrozen());
+        assertEquals(InputStreamType.class, typeMapping.getType(InputStream.class).getClass());
+        assertEquals(InputStreamType.class, typeMapping.getType(FileInputStream.class).getClass());
+        assertEquals(StringType.class, typeMapping.getType(String.class).getClass());
+        assertEquals(EncryptedString.class, typeMapping.getType("person", "secureId").getClass());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void register_after_freeze() {
+        typeMapping.freeze();
+        typeMapping.register(new InputStreamType());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void setType_after_freeze() {
+        typeMapping.freeze();
+        typeMapping.setType("person", "secureId", new EncryptedString());
+    }
+
+    @Test
+    public void getType_concurrently() {
+        final Type<?> expected = typeMapping.getType(Long.class);
+        Runnable lookup = new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 1000; i++) {
+                    assertSame(expected, typeMapping.getType(Long.class));
+                    assertEquals(BlobType.class, typeMapping.getType(DummyBlob.class).getClass());
+                }
+            }
+        };
+        ThreadSafety.check(lookup, lookup, lookup, lookup);
+    }
+
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.domain.QEmployee;
+
+public class KeysetTest {
+
+    private static final QEmployee employee = QEmployee.employee;
+
+    private static String serialize(SQLTemplates templates, Predicate predicate) {
+        SQLSerializer serializer = new SQLSerializer(new Configuration(templates));
+        serializer.handle(predicate);
+        return serializer.toString();
+    }
+
+    private static List<OrderSpecifier<?>> orderBy(OrderSpecifier<?>... order) {
+        return Arrays.<OrderSpecifier<?>>asList(order);
+    }
+
+    @Test
+    public void row_value_comparison() {
+        Predicate predicate = Keyset.predicate(new H2Templates(), orderBy(
+                employee.lastname.asc(), employee.id.asc()), new Object[]{"Smith", 3});
+        assertEquals("(EMPLOYEE.LASTNAME, EMPLOYEE.ID) > (?, ?)", serialize(new H2Templates(), predicate));
+
+        predicate = Keyset.predicate(new PostgreSQLTemplates(), orderBy(
+                employee.lastname.desc(), employee.id.desc()), new Object[]{"Smith", 3});
+        assertEquals("(EMPLOYEE.LASTNAME, EMPLOYEE.ID) < (?, ?)", serialize(new PostgreSQLTemplates(), predicate));
+    }
+
+    @Test
+    public void expanded() {
+        Predicate predicate = Keyset.predicate(new OracleTemplates(), orderBy(
+                employee.lastname.asc(), employee.firstname.asc(), employee.id.asc()),
+                new Object[]{"Smith", "John", 3});
+        assertEquals("EMPLOYEE.LASTNAME >= ? and (EMPLOYEE.LASTNAME > ? " +
+                "or EMPLOYEE.LASTNAME = ? and EMPLOYEE.FIRSTNAME > ? " +
+                "or EMPLOYEE.LASTNAME = ? and EMPLOYEE.FIRSTNAME = ? and EMPLOYEE.ID > ?)",
+                serialize(new OracleTemplates(), predicate));
+    }
+
+    @Test
+    public void mixed_directions() {
+        Predicate predicate = Keyset.predicate(new H2Templates(), orderBy(
+                employee.salary.desc(), employee.id.asc()), new Object[]{new BigDecimal("100.5"), 3});
+        assertEquals("EMPLOYEE.SALARY <= ? and (EMPLOYEE.SALARY < ? " +
+                "or EMPLOYEE.SALARY = ? and EMPLOYEE.ID > ?)", serialize(new H2Templates(), predicate));
+    }
+
+    @Test
+    public void single_key() {
+        Predicate predicate = Keyset.predicate(new H2Templates(), orderBy(employee.id.desc()), new Object[]{3});
+        assertEquals("EMPLOYEE.ID < ?", serialize(new H2Templates(), predicate));
+    }
+
+    @Test
+    public void query() {
+        SQLQuery<?> query = new SQLQuery<Void>(new H2Templates());
+        query.from(employee).orderBy(employee.lastname.asc(), employee.id.asc())
+             .where(Keyset.predicate(new H2Templates(), query.getMetadata().getOrderBy(), new Object[]{"Smith", 3}))
+             .select(employee.id);
+        assertEquals("select EMPLOYEE.ID from EMPLOYEE EMPLOYEE " +
+                "where (EMPLOYEE.LASTNAME, EMPLOYEE.ID) > (?, ?) " +
+                "order by EMPLOYEE.LASTNAME asc, EMPLOYEE.ID asc", query.getSQL().getSQL().replace('\n', ' '));
+        assertEquals(Arrays.<Object>asList("Smith", 3), query.getSQL().getBindings());
+    }
+
+    @Test
+    public void token() {
+        List<OrderSpecifier<?>> orderBy = orderBy(employee.lastname.asc(), employee.salary.desc(),
+                employee.datefield.asc(), employee.timefield.asc(), employee.id.asc());
+        Object[] values = new Object[]{"Sm:ith", new BigDecimal("100.50"), Date.valueOf("2000-01-01"),
+                Time.valueOf("12:30:00"), 3};
+        String token = Keyset.encode(orderBy, values);
+        assertArrayEquals(values, Keyset.decode(orderBy, token));
+    }
+
+    @Test
+    public void timestamp_token() {
+        Timestamp timestamp = Timestamp.valueOf("2000-01-01 12:30:00.123456789");
+        List<OrderSpecifier<?>> orderBy = orderBy(
+                Expressions.dateTimePath(Timestamp.class, "ts").asc());
+        String token = Keyset.encode(orderBy, new Object[]{timestamp});
+        assertEquals(timestamp, Keyset.decode(orderBy, token)[0]);
+    }
+
+    @Test
+    public void util_date_token() {
+        List<OrderSpecifier<?>> orderBy = orderBy(
+                Expressions.dateTimePath(java.util.Date.class, "created").asc());
+        // UtilDateType reads the values as Timestamps
+        Timestamp timestamp = Timestamp.valueOf("2000-01-01 12:30:00.123456");
+        String token = Keyset.encode(orderBy, new Object[]{timestamp});
+        assertEquals(timestamp, Keyset.decode(orderBy, token)[0]);
+
+        java.util.Date date = new java.util.Date(946729800123L);
+        token = Keyset.encode(orderBy, new Object[]{date});
+        assertEquals(date, Keyset.decode(orderBy, token)[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void token_for_other_order() {
+        String token = Keyset.encode(orderBy(employee.id.asc()), new Object[]{3});
+        Keyset.decode(orderBy(employee.id.desc()), token);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_token() {
+        Keyset.decode(orderBy(employee.id.asc()), "not a token");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void null_key() {
+        Keyset.encode(orderBy(employee.lastname.asc()), new Object[]{null});
+    }
+
+}
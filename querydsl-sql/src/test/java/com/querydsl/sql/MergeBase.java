@@ -32,6 +32,7 @@ import com.querydsl.core.testutil.IncludeIn;
 import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.dml.SQLBatchStream;
 import com.querydsl.sql.dml.SQLMergeClause;
 import com.querydsl.sql.domain.QSurvey;
 
@@ -95,6 +96,20 @@ public class MergeBase extends AbstractBaseTest {
                 query().from(survey2).select(survey2.id.add(1), survey2.name, survey2.name2)).execute());
     }
 
+    @Test
+    @IncludeIn(H2)
+    public void merge_batch_stream() {
+        if (!configuration.getUseLiterals()) {
+            SQLBatchStream stream = merge(survey).keys(survey.id)
+                    .columns(survey.id, survey.name)
+                    .batchStream(10);
+            stream.add(1, "Hello");
+            stream.add(5, "Hello World");
+            assertEquals(2, stream.execute());
+            assertEquals(1L, query().from(survey).where(survey.name.eq("Hello")).fetchCount());
+        }
+    }
+
     @Test
     @IncludeIn(H2)
     public void merge_with_keys_and_values() {
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import org.easymock.EasyMock;
+import org.junit.Test;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.sql.domain.QSurvey;
+
+public class RowCursorTest {
+
+    private final Configuration configuration = new Configuration(new H2Templates());
+
+    private final QSurvey survey = QSurvey.survey;
+
+    private RowCursor cursor(Expression<?> projection, ResultSet rs) {
+        return new RowCursor(configuration, projection, rs, "select", Collections.emptyList());
+    }
+
+    @Test
+    public void indexOf() {
+        NumberPath<Integer> idAlias = new PathBuilder<Object>(Object.class, "x").getNumber("id2", Integer.class);
+        RowCursor cursor = cursor(Projections.tuple(survey.id, survey.name, survey.id.as(idAlias)),
+                EasyMock.createNiceMock(ResultSet.class));
+        assertEquals(1, cursor.indexOf(survey.id));
+        assertEquals(2, cursor.indexOf(survey.name));
+        assertEquals(3, cursor.indexOf(idAlias));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indexOf_unknown() {
+        cursor(survey.name, EasyMock.createNiceMock(ResultSet.class)).indexOf(survey.id);
+    }
+
+    @Test
+    public void primitives() throws SQLException {
+        ResultSet rs = EasyMock.createMock(ResultSet.class);
+        EasyMock.expect(rs.getLong(1)).andReturn(5L);
+        EasyMock.expect(rs.getDouble(1)).andReturn(0.0);
+        EasyMock.expect(rs.wasNull()).andReturn(true);
+        EasyMock.replay(rs);
+
+        RowCursor cursor = cursor(Projections.tuple(survey.id, survey.name), rs);
+        assertEquals(5L, cursor.getLong(survey.id));
+        assertEquals(0.0, cursor.getDouble(survey.id), 0.0);
+        assertTrue(cursor.wasNull());
+        EasyMock.verify(rs);
+    }
+
+    @Test
+    public void get_uses_type_mappings() throws SQLException {
+        configuration.register("SURVEY", "NAME", new EncryptedString());
+        ResultSet rs = EasyMock.createMock(ResultSet.class);
+        EasyMock.expect(rs.getString(2)).andReturn("cba");
+        EasyMock.replay(rs);
+
+        RowCursor cursor = cursor(Projections.tuple(survey.id, survey.name), rs);
+        assertEquals("cba", cursor.get(survey.name));
+        EasyMock.verify(rs);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.querydsl.sql;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.easymock.EasyMock;
+import org.junit.Test;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.sql.domain.QSurvey;
+import com.querydsl.sql.types.StringType;
+
+public class RowReaderTest {
+
+    public static class ReversedString extends StringType {
+
+        @Override
+        public String getValue(ResultSet rs, int startIndex) throws SQLException {
+            String value = super.getValue(rs, startIndex);
+            return value != null ? new StringBuilder(value).reverse().toString() : null;
+        }
+
+    }
+
+    private final Configuration configuration = new Configuration(new H2Templates());
+
+    private final QSurvey survey = QSurvey.survey;
+
+    @Test
+    public void single_column() throws SQLException {
+        ResultSet rs = EasyMock.createNiceMock(ResultSet.class);
+        EasyMock.expect(rs.getString(1)).andReturn("abc");
+        EasyMock.replay(rs);
+
+        RowReader<String> reader = RowReader.create(configuration, survey.name).bind(rs);
+        assertEquals("abc", reader.read(rs));
+        EasyMock.verify(rs);
+    }
+
+    @Test
+    public void tuple() throws SQLException {
+        ResultSet rs = EasyMock.createNiceMock(ResultSet.class);
+        EasyMock.expect(rs.getInt(1)).andReturn(1);
+        EasyMock.expect(rs.getString(2)).andReturn("abc");
+        EasyMock.replay(rs);
+
+        RowReader<Tuple> reader = RowReader.create(configuration, Projections.tuple(survey.id, survey.name)).bind(rs);
+        Tuple tuple = reader.read(rs);
+        assertEquals(Integer.valueOf(1), tuple.get(survey.id));
+        assertEquals("abc", tuple.get(survey.name));
+        EasyMock.verify(rs);
+    }
+
+    @Test
+    public void table_column_type() throws SQLException {
+        configuration.register("SURVEY", "NAME", new ReversedString());
+        ResultSet rs = EasyMock.createNiceMock(ResultSet.class);
+        EasyMock.expect(rs.getString(1)).andReturn("abc");
+        EasyMock.replay(rs);
+
+        RowReader<String> reader = RowReader.create(configuration, survey.name).bind(rs);
+        assertEquals("cba", reader.read(rs));
+        EasyMock.verify(rs);
+    }
+
+    @Test
+    public void wildcard_reads_metadata_once() throws SQLException {
+        ResultSetMetaData md = EasyMock.createMock(ResultSetMetaData.class);
+        EasyMock.expect(md.getColumnCount()).andReturn(2).once();
+        ResultSet rs = EasyMock.createNiceMock(ResultSet.class);
+        EasyMock.expect(rs.getMetaData()).andReturn(md).once();
+        EasyMock.expect(rs.getObject(1)).andReturn(1).times(2);
+        EasyMock.expect(rs.getObject(2)).andReturn("abc").times(2);
+        EasyMock.replay(md, rs);
+
+        RowReader<Object[]> reader = RowReader.create(configuration, Wildcard.all).bind(rs);
+        assertArrayEquals(new Object[]{1, "abc"}, reader.read(rs));
+        assertArrayEquals(new Object[]{1, "abc"}, reader.read(rs));
+        EasyMock.verify(md, rs);
+    }
+
+}
@@ -32,6 +32,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.mysema.commons.lang.CloseableIterator;
@@ -1025,6 +1026,24 @@ public class SelectBase extends AbstractBaseTest {
                 .select(employee.firstname).fetch());
     }
 
+    @Test
+    public void keyset_pagination() {
+        List<Integer> ids = new ArrayList<Integer>();
+        String token = null;
+        do {
+            KeysetPage<Integer> page = query().from(employee)
+                    .orderBy(employee.firstname.desc(), employee.id.asc())
+                    .select(employee.id).fetchPage(token, 4);
+            assertTrue(page.getResults().size() <= 4);
+            ids.addAll(page.getResults());
+            token = page.getNextToken();
+        } while (token != null);
+
+        assertEquals(query().from(employee)
+                .orderBy(employee.firstname.desc(), employee.id.asc())
+                .select(employee.id).fetch(), ids);
+    }
+
     @Test
     @IncludeIn(DERBY)
     public void limit_and_offset_In_Derby() throws SQLException {
@@ -1347,6 +1366,43 @@ public class SelectBase extends AbstractBaseTest {
                 .select(employee.firstname).fetchFirst());
     }
 
+    @Test
+    public void compiled_query() {
+        Param<String> name = new Param<String>(String.class, "name");
+        CompiledSQLQuery<String> compiled = query()
+                .from(employee).where(employee.firstname.eq(name))
+                .select(employee.firstname).compile();
+        assertEquals(ImmutableList.of("Mike"), compiled.fetch(connection, ImmutableMap.of(name, "Mike")));
+        assertEquals(ImmutableList.of("Mary"), compiled.fetch(connection, ImmutableMap.of(name, "Mary")));
+        assertEquals("Mike", compiled.fetchFirst(connection, ImmutableMap.of(name, "Mike")));
+    }
+
+    @Test
+    public void compiled_query_tuple() {
+        Param<String> name = new Param<String>(String.class, "name");
+        CompiledSQLQuery<Tuple> compiled = query()
+                .from(employee).where(employee.firstname.eq(name))
+                .set(name, "Mike")
+                .select(employee.firstname, employee.lastname).compile();
+        CloseableIterator<Tuple> iterator = compiled.iterate(connection);
+        try {
+            assertTrue(iterator.hasNext());
+            Tuple row = iterator.next();
+            assertEquals("Mike", row.get(employee.firstname));
+            assertEquals("Smith", row.get(employee.lastname));
+            assertFalse(iterator.hasNext());
+        } finally {
+            iterator.close();
+        }
+    }
+
+    @Test(expected = ParamNotSetException.class)
+    public void compiled_query_params_not_set() {
+        Param<String> name = new Param<String>(String.class, "name");
+        query().from(employee).where(employee.firstname.eq(name))
+                .select(employee.firstname).compile().fetch(connection);
+    }
+
     @Test(expected = ParamNotSetException.class)
     public void params_not_set() {
         Param<String> name = new Param<String>(String.class,"name");
@@ -1415,6 +1471,36 @@ public class SelectBase extends AbstractBaseTest {
         }
     }
 
+    @Test
+    public void forEachRow() {
+        final long[] idSum = new long[1];
+        final double[] salarySum = new double[1];
+        final List<String> names = new ArrayList<String>();
+        long rows = query().from(employee).select(employee.id, employee.salary, employee.firstname)
+                .forEachRow(new RowHandler() {
+                    @Override
+                    public void handle(RowCursor row) {
+                        idSum[0] += row.getLong(employee.id);
+                        salarySum[0] += row.getDouble(employee.salary);
+                        names.add(row.get(employee.firstname));
+                    }
+                });
+
+        List<Tuple> expected = query().from(employee).select(employee.id, employee.salary, employee.firstname).fetch();
+        assertEquals(expected.size(), rows);
+        long expectedIdSum = 0;
+        double expectedSalarySum = 0;
+        Set<String> expectedNames = new HashSet<String>();
+        for (Tuple tuple : expected) {
+            expectedIdSum += tuple.get(employee.id);
+            expectedSalarySum += tuple.get(employee.salary).doubleValue();
+            expectedNames.add(tuple.get(employee.firstname));
+        }
+        assertEquals(expectedIdSum, idSum[0]);
+        assertEquals(expectedSalarySum, salarySum[0], 0.001);
+        assertEquals(expectedNames, new HashSet<String>(names));
+    }
+
     @Test
     public void projection2() throws IOException {
         CloseableIterator<Tuple> results = query().from(survey).select(survey.id, survey.name).iterate();
@@ -32,6 +32,7 @@ import com.querydsl.core.types.Path;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.Param;
 import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.dml.SQLBatchStream;
 import com.querydsl.sql.dml.SQLUpdateClause;
 import com.querydsl.sql.domain.QEmployee;
 import com.querydsl.sql.domain.QSurvey;
@@ -149,6 +150,26 @@ public class UpdateBase extends AbstractBaseTest {
         assertEquals(2, update.execute());
     }
 
+    @Test
+    public void batch_stream() throws SQLException {
+        if (!configuration.getUseLiterals()) {
+            assertEquals(1, insert(survey).values(2, "A","B").execute());
+            assertEquals(1, insert(survey).values(3, "B","C").execute());
+
+            Param<String> name = new Param<String>(String.class, "name");
+            Param<String> oldName = new Param<String>(String.class, "oldName");
+            SQLBatchStream stream = update(survey)
+                    .set(survey.name, name)
+                    .where(survey.name.eq(oldName))
+                    .batchStream(1, name, oldName);
+            stream.add("AA", "A");
+            stream.add("BB", "B");
+            assertEquals(0, stream.getPendingCount());
+            assertEquals(2, stream.execute());
+            assertEquals(1L, query().from(survey).where(survey.name.eq("BB")).fetchCount());
+        }
+    }
+
     @Test
     public void batch_templates() throws SQLException {
         assertEquals(1, insert(survey).values(2, "A","B").execute());
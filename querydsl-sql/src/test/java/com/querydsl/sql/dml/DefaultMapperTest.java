@@ -1,14 +1,16 @@
 package com.querydsl.sql.dml;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 import java.util.*;
 
 import org.junit.Test;
 
 import com.querydsl.core.types.Path;
+import com.querydsl.sql.domain.Employee;
 import com.querydsl.sql.domain.QEmployee;
+import com.querydsl.sql.domain.QSurvey;
+import com.querydsl.sql.types.Null;
 
 public class DefaultMapperTest extends AbstractMapperTest {
 
@@ -31,6 +33,33 @@ public class DefaultMapperTest extends AbstractMapperTest {
         assertTrue(values.isEmpty());
     }
 
+    @Test
+    public void bindings_are_cached() {
+        ColumnBindings bindings = DefaultMapper.DEFAULT.getBindings(emp, Employee.class);
+        assertSame(bindings, DefaultMapper.DEFAULT.getBindings(emp, Employee.class));
+        assertNotSame(bindings, DefaultMapper.WITH_NULL_BINDINGS.getBindings(emp, Employee.class));
+        assertTrue(Arrays.equals(new int[]{1, -1}, bindings.indexOf(new Path<?>[]{emp.firstname, QSurvey.survey.name})));
+    }
+
+    @Test
+    public void bindings_per_table() {
+        QEmployee employeeX = new QEmployee("x");
+        QSurvey surveyX = new QSurvey("x");
+        assertEquals(employeeX, surveyX);
+        assertEquals(6, DefaultMapper.DEFAULT.createMap(employeeX, employee).size());
+        Map<Path<?>, Object> values = DefaultMapper.DEFAULT.createMap(surveyX, employee);
+        assertTrue(values.isEmpty());
+        assertTrue(Arrays.equals(new int[]{0},
+                DefaultMapper.DEFAULT.getBindings(surveyX, Employee.class).indexOf(new Path<?>[]{surveyX.id})));
+    }
+
+    @Test
+    public void extract_null_bindings() {
+        Map<Path<?>, Object> values = DefaultMapper.WITH_NULL_BINDINGS.createMap(emp, new Employee());
+        assertFalse(values.containsKey(emp.id));
+        assertEquals(Null.DEFAULT, values.get(emp.firstname));
+    }
+
     @Test
     public void preservedColumnOrder() {
         final Map<String, Path<?>> columns = DefaultMapper.DEFAULT.getColumns(emp);
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import org.junit.Test;
+
+import com.querydsl.sql.*;
+import com.querydsl.sql.domain.QSurvey;
+
+public class SQLBatchStreamTest {
+
+    private final QSurvey survey = QSurvey.survey;
+
+    private boolean closed;
+
+    private int executed, ended;
+
+    private final PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    if (method.getName().equals("close")) {
+                        closed = true;
+                    } else if (method.getName().equals("executeBatch")) {
+                        executed++;
+                        return new int[]{1};
+                    }
+                    return null;
+                }
+            });
+
+    private final Connection connection = (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{Connection.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    return method.getName().equals("prepareStatement") ? statement : null;
+                }
+            });
+
+    private SQLBatchStream createStream() {
+        Configuration configuration = new Configuration(new H2Templates());
+        configuration.addListener(new SQLBaseListener() {
+            @Override
+            public void end(SQLListenerContext context) {
+                ended++;
+            }
+        });
+        return new SQLInsertClause(connection, configuration, survey)
+                .columns(survey.id, survey.name).batchStream(10);
+    }
+
+    @Test
+    public void close_releases_statement() {
+        SQLBatchStream stream = createStream();
+        stream.add(1, "a");
+        stream.close();
+        assertTrue(closed);
+        assertEquals(0, executed);
+        assertEquals(1, ended);
+
+        stream.close();
+        assertEquals(1, ended);
+    }
+
+    @Test
+    public void close_after_execute() {
+        SQLBatchStream stream = createStream();
+        try {
+            stream.add(1, "a");
+            assertEquals(1, stream.execute());
+        } finally {
+            stream.close();
+        }
+        assertTrue(closed);
+        assertEquals(1, executed);
+        assertEquals(1, ended);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void add_after_close() {
+        SQLBatchStream stream = createStream();
+        stream.close();
+        stream.add(1, "a");
+    }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2015, The Querydsl Team (http://www.querydsl.com/team)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.querydsl.sql.dml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.joda.time.LocalDateTime;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.querydsl.core.QueryException;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.*;
+import com.querydsl.sql.domain.QSurvey;
+import com.querydsl.sql.types.Null;
+
+public class SQLBulkLoadClauseTest {
+
+    private final QSurvey survey = QSurvey.survey;
+
+    private boolean closed, failing;
+
+    private int ended;
+
+    private final PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+                    if (method.getName().equals("close")) {
+                        closed = true;
+                    } else if (method.getName().equals("executeBatch")) {
+                        if (failing) {
+                            throw new SQLException("failed");
+                        }
+                        return new int[]{1, 1};
+                    }
+                    return null;
+                }
+            });
+
+    private final Connection connection = (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{Connection.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    return method.getName().equals("prepareStatement") ? statement : null;
+                }
+            });
+
+    private SQLBulkLoadClause createLoad() {
+        Configuration configuration = new Configuration(new H2Templates());
+        configuration.addListener(new SQLBaseListener() {
+            @Override
+            public void end(SQLListenerContext context) {
+                ended++;
+            }
+        });
+        SQLBulkLoadClause load = new SQLBulkLoadClause(connection, configuration, survey);
+        load.columns(survey.id, survey.name);
+        load.setChunkSize(2);
+        return load;
+    }
+
+    private String getSQL(SQLTemplates templates) {
+        SQLBulkLoadClause load = new SQLBulkLoadClause((Connection) null,
+                new Configuration(templates), survey);
+        load.columns(survey.id, survey.name);
+        return load.getSQL().get(0).getSQL();
+    }
+
+    @Test
+    public void postgreSQL() {
+        assertEquals("copy SURVEY (ID, NAME) from stdin", getSQL(new PostgreSQLTemplates()));
+    }
+
+    @Test
+    public void mySQL() {
+        assertEquals("load data local infile 'querydsl.tsv' into table SURVEY character set utf8mb4 (ID, NAME)",
+                getSQL(new MySQLTemplates()));
+    }
+
+    @Test
+    public void batch_insert() {
+        assertEquals("insert into SURVEY (ID, NAME)\nvalues (?, ?)", getSQL(new H2Templates()));
+    }
+
+    @Test
+    public void close_releases_batch() {
+        SQLBulkLoadClause load = createLoad();
+        load.add(1, "a");
+        load.close();
+        assertTrue(closed);
+        assertEquals(1, ended);
+
+        load.close();
+        assertEquals(1, ended);
+    }
+
+    @Test
+    public void close_after_execute() {
+        SQLBulkLoadClause load = createLoad();
+        try {
+            load.add(1, "a");
+            load.add(2, "b");
+            assertEquals(2, load.execute());
+        } finally {
+            load.close();
+        }
+        assertTrue(closed);
+        assertEquals(1, ended);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void add_after_close() {
+        SQLBulkLoadClause load = createLoad();
+        load.close();
+        load.add(1, "a");
+    }
+
+    @Test
+    public void add_after_failure() {
+        SQLBulkLoadClause load = createLoad();
+        failing = true;
+        load.add(1, "a");
+        try {
+            load.add(2, "b");
+            fail("Expected QueryException");
+        } catch (QueryException e) {
+            assertTrue(closed);
+            assertEquals(1, ended);
+        }
+        try {
+            load.add(3, "c");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals(1, ended);
+        }
+    }
+
+    @Test
+    public void add_after_failed_execute() {
+        SQLBulkLoadClause load = createLoad();
+        failing = true;
+        load.add(1, "a");
+        try {
+            load.execute();
+            fail("Expected QueryException");
+        } catch (QueryException e) {
+            assertEquals(1, ended);
+        }
+        try {
+            load.add(2, "b");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals(1, ended);
+        }
+    }
+
+    @Test
+    public void text_format() throws SQLException {
+        final List<String> chunks = new ArrayList<String>();
+        TextBulkLoader loader = new TextBulkLoader(new Configuration(new PostgreSQLTemplates()), "",
+                new Path<?>[]{survey.id, survey.name, survey.name2}, 2) {
+            @Override
+            protected void flush() {
+                chunks.add(new String(buffer.array(), 0, buffer.size(), Charsets.UTF_8));
+            }
+
+            @Override
+            protected long finish() {
+                return 0;
+            }
+
+            @Override
+            void close() { }
+        };
+        loader.add(new Object[]{1, "a\tb\\c", null});
+        loader.add(new Object[]{2, "line\nbreak\r", Null.DEFAULT});
+        loader.add(new Object[]{3, "ä", new Timestamp(1500L)});
+        assertEquals(1, loader.getPendingCount());
+        loader.execute();
+
+        assertEquals(2, chunks.size());
+        assertEquals("1\ta\\tb\\\\c\t\\N\n2\tline\\nbreak\\r\t\\N\n", chunks.get(0));
+        assertEquals("3\tä\t" + new Timestamp(1500L) + "\n", chunks.get(1));
+    }
+
+    @Test
+    public void text_format_keeps_fractional_seconds() throws SQLException {
+        final StringBuilder text = new StringBuilder();
+        TextBulkLoader loader = new TextBulkLoader(new Configuration(new PostgreSQLTemplates()), "",
+                new Path<?>[]{survey.name}, 10) {
+            @Override
+            protected void flush() {
+                text.append(new String(buffer.array(), 0, buffer.size(), Charsets.UTF_8));
+            }
+
+            @Override
+            protected long finish() {
+                return 0;
+            }
+
+            @Override
+            void close() { }
+        };
+        long millis = 1431252061123L;
+        Timestamp timestamp = new Timestamp(millis);
+        timestamp.setNanos(123456789);
+        loader.add(new Object[]{new java.util.Date(millis)});
+        loader.add(new Object[]{timestamp});
+        loader.add(new Object[]{new DateTime(millis)});
+        loader.add(new Object[]{new LocalDateTime(millis)});
+        loader.add(new Object[]{java.time.LocalDateTime.of(2015, 5, 10, 12, 1, 1, 123000000)});
+        loader.add(new Object[]{new Timestamp(1431252061000L)});
+        loader.execute();
+
+        String[] lines = text.toString().split("\n");
+        assertEquals(6, lines.length);
+        assertEquals(millis, Timestamp.valueOf(lines[0]).getTime());
+        assertEquals(timestamp, Timestamp.valueOf(lines[1]));
+        assertEquals(millis, Timestamp.valueOf(lines[2]).getTime());
+        assertEquals(millis, Timestamp.valueOf(lines[3]).getTime());
+        assertEquals("2015-05-10 12:01:01.123", lines[4]);
+        assertEquals(1431252061000L, Timestamp.valueOf(lines[5]).getTime());
+    }
+
+}
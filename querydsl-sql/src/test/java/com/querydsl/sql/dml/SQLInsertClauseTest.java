@@ -1,14 +1,21 @@
 package com.querydsl.sql.dml;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
 
 import org.junit.Test;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.querydsl.core.QueryFlag;
 import com.querydsl.sql.KeyAccessorsTest.QEmployee;
+import com.querydsl.sql.MySQLTemplates;
 import com.querydsl.sql.SQLBindings;
+import com.querydsl.sql.SQLServer2012Templates;
 import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.domain.QSurvey;
 
 public class SQLInsertClauseTest {
 
@@ -20,6 +27,14 @@ public class SQLInsertClauseTest {
         insert.execute();
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void batchStream_invalid_chunkSize() {
+        QEmployee emp1 = new QEmployee("emp1");
+        SQLInsertClause insert = new SQLInsertClause(null, SQLTemplates.DEFAULT, emp1);
+        insert.columns(emp1.id);
+        insert.batchStream(0);
+    }
+
     @Test
     public void getSQL() {
         QEmployee emp1 = new QEmployee("emp1");
@@ -46,6 +61,82 @@ public class SQLInsertClauseTest {
 
     }
 
+    @Test
+    public void bulk_chunked_by_max_bind_parameters() {
+        com.querydsl.sql.domain.QEmployee emp1 = new com.querydsl.sql.domain.QEmployee("emp1");
+        SQLInsertClause insert = new SQLInsertClause(null, new SQLServer2012Templates(), emp1);
+        for (int i = 0; i < 1500; i++) {
+            insert.set(emp1.id, i).set(emp1.firstname, "first" + i).set(emp1.lastname, "last" + i);
+            insert.addBatch();
+        }
+        insert.setBatchToBulk(true);
+
+        // 2098 parameters allow 699 rows of three columns
+        List<SQLBindings> sql = insert.getSQL();
+        assertEquals(3, sql.size());
+        assertEquals(2097, sql.get(0).getBindings().size());
+        assertEquals(2097, sql.get(1).getBindings().size());
+        assertEquals(306, sql.get(2).getBindings().size());
+        assertEquals(sql.get(0).getSQL(), sql.get(1).getSQL());
+        assertEquals(ImmutableList.of(699, "first699", "last699"),
+                sql.get(1).getBindings().subList(0, 3));
+    }
+
+    @Test
+    public void bulk_chunked_by_max_rows() {
+        QEmployee emp1 = new QEmployee("emp1");
+        SQLInsertClause insert = new SQLInsertClause(null, new SQLServer2012Templates(), emp1);
+        for (int i = 0; i < 2500; i++) {
+            insert.set(emp1.id, i);
+            insert.addBatch();
+        }
+        insert.setBatchToBulk(true);
+
+        List<SQLBindings> sql = insert.getSQL();
+        assertEquals(3, sql.size());
+        assertEquals(1000, sql.get(0).getBindings().size());
+        assertEquals(1000, sql.get(1).getBindings().size());
+        assertEquals(500, sql.get(2).getBindings().size());
+    }
+
+    @Test
+    public void bulk_not_chunked() {
+        QEmployee emp1 = new QEmployee("emp1");
+        SQLInsertClause insert = new SQLInsertClause(null, SQLTemplates.DEFAULT, emp1);
+        for (int i = 0; i < 2500; i++) {
+            insert.set(emp1.id, i);
+            insert.addBatch();
+        }
+        insert.setBatchToBulk(true);
+
+        List<SQLBindings> sql = insert.getSQL();
+        assertEquals(1, sql.size());
+        assertEquals(2500, sql.get(0).getBindings().size());
+    }
+
+    @Test
+    public void bulk_chunked_by_statement_length() {
+        QSurvey survey = QSurvey.survey;
+        SQLTemplates templates = new MySQLTemplates();
+        SQLInsertClause insert = new SQLInsertClause(null, templates, survey);
+        String name = Strings.repeat("x", 300000);
+        for (int i = 0; i < 10; i++) {
+            insert.set(survey.id, i);
+            insert.set(survey.name, name);
+            insert.addBatch();
+        }
+        insert.setBatchToBulk(true);
+
+        List<SQLBindings> sql = insert.getSQL();
+        assertEquals(4, sql.size());
+        assertEquals(6, sql.get(0).getBindings().size());
+        assertEquals(2, sql.get(3).getBindings().size());
+        for (SQLBindings bindings : sql) {
+            assertTrue(bindings.getSQL().length() + bindings.getBindings().size() / 2 * name.length()
+                    < templates.getMaxStatementLength());
+        }
+    }
+
     @Test
     public void getSQLWithPreservedColumnOrder() {
         com.querydsl.sql.domain.QEmployee emp1 = new com.querydsl.sql.domain.QEmployee("emp1");